@@ -22,6 +22,11 @@ type CartItemUpdatePayload = {
   quantity: number
 }
 
+export type CartBulkOperationPayload =
+  | { op: 'add'; product_id: number; quantity: number }
+  | { op: 'update'; cart_item_id: number; quantity: number }
+  | { op: 'remove'; cart_item_id: number }
+
 const withCredentials = { withCredentials: true }
 
 export const getCart = async (): Promise<CartResponsePayload> => {
@@ -34,6 +39,17 @@ export const addCartItem = async (payload: CartItemCreatePayload): Promise<CartR
   return response.data
 }
 
+export const applyCartBulk = async (
+  operations: CartBulkOperationPayload[],
+): Promise<CartResponsePayload> => {
+  const response = await http.post<CartResponsePayload>(
+    `${endpoints.cartItems}/bulk`,
+    { operations },
+    withCredentials,
+  )
+  return response.data
+}
+
 export const updateCartItemQuantity = async (
   cartItemId: number,
   payload: CartItemUpdatePayload,
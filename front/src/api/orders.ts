@@ -6,7 +6,7 @@ import type {
   OrderDetailResponse,
   OrderStatusUpdateRequest,
   OrderStatusUpdateResponse,
-  OrderSummaryResponse,
+  OrderSummaryPageResponse,
 } from './types/orders'
 
 const withCredentials = { withCredentials: true }
@@ -18,8 +18,13 @@ export const createOrder = async (
   return response.data
 }
 
-export const getMyOrders = async (): Promise<OrderSummaryResponse[]> => {
-  const response = await http.get<OrderSummaryResponse[]>(endpoints.orders, withCredentials)
+export const getMyOrders = async (
+  params: { cursor?: string; size?: number } = {},
+): Promise<OrderSummaryPageResponse> => {
+  const response = await http.get<OrderSummaryPageResponse>(endpoints.orders, {
+    ...withCredentials,
+    params,
+  })
   return response.data
 }
 
@@ -24,6 +24,12 @@ export interface OrderSummaryResponse {
   created_at: string
 }
 
+export interface OrderSummaryPageResponse {
+  items: OrderSummaryResponse[]
+  next_cursor: string | null
+  has_next: boolean
+}
+
 export interface OrderItemResponse {
   product_id: number
   quantity: number
@@ -3,6 +3,7 @@ package com.deskit.deskit.cart.controller;
 import com.deskit.deskit.account.entity.Member;
 import com.deskit.deskit.account.oauth.CustomOAuth2User;
 import com.deskit.deskit.account.repository.MemberRepository;
+import com.deskit.deskit.cart.dto.CartBulkRequest;
 import com.deskit.deskit.cart.dto.CartItemCreateRequest;
 import com.deskit.deskit.cart.dto.CartItemUpdateRequest;
 import com.deskit.deskit.cart.dto.CartResponse;
@@ -62,6 +63,22 @@ public class CartController {
     return cartService.addItem(memberId, request.getProductId(), request.getQuantity());
   }
 
+  /**
+   * 장바구니 일괄 변경
+   * POST /api/cart/items/bulk
+   * body: { operations: [ { op: "add", product_id, quantity } | { op: "update", cart_item_id, quantity } | { op: "remove", cart_item_id } ] }
+   * - 셋업 상품 전체 담기처럼 여러 건을 요청 한 번으로 처리, 전부 적용되거나 하나도 적용되지 않음
+   * - 최종 장바구니를 한 번만 내려줌
+   */
+  @PostMapping("/items/bulk")
+  public CartResponse applyBulk(
+          @AuthenticationPrincipal CustomOAuth2User user,
+          @Valid @RequestBody CartBulkRequest request
+  ) {
+    Long memberId = resolveMemberId(user);
+    return cartService.applyBulk(memberId, request.getOperations());
+  }
+
   /**
    * 장바구니 아이템 수량 변경
    * PATCH /api/cart/items/{cartItemId}
@@ -0,0 +1,40 @@
+package com.deskit.deskit.cart.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 장바구니 일괄 변경의 작업 한 건
+ * - add    : product_id, quantity (이미 담긴 상품이면 수량 누적)
+ * - update : cart_item_id, quantity
+ * - remove : cart_item_id
+ */
+@Getter
+@Setter
+public class CartBulkOperation {
+
+  public enum Type {
+    @JsonProperty("add") ADD,
+    @JsonProperty("update") UPDATE,
+    @JsonProperty("remove") REMOVE
+  }
+
+  @JsonProperty("op")
+  @NotNull
+  private Type op;
+
+  @JsonProperty("product_id")
+  @Positive
+  private Long productId;
+
+  @JsonProperty("cart_item_id")
+  @Positive
+  private Long cartItemId;
+
+  @JsonProperty("quantity")
+  @Positive
+  private Integer quantity;
+}
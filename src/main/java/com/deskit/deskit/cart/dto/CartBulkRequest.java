@@ -0,0 +1,19 @@
+package com.deskit.deskit.cart.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CartBulkRequest {
+
+  @JsonProperty("operations")
+  @NotEmpty
+  @Size(max = 100)
+  private List<@Valid CartBulkOperation> operations;
+}
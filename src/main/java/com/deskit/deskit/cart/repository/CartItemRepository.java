@@ -2,10 +2,15 @@ package com.deskit.deskit.cart.repository;
 
 import com.deskit.deskit.cart.entity.CartItem;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
@@ -36,4 +41,57 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     Optional<CartItem> findByCart_IdAndProduct_IdAndDeletedAtIsNull(Long cartId, Long productId);
 
     Optional<CartItem> findByIdAndDeletedAtIsNull(Long cartItemId);
+
+    /**
+     * 장바구니 write-behind: Redis 장바구니의 아이템 한 건을 그대로 반영
+     * - cart_item_id는 Redis에서 발급한 값을 그대로 쓴다.
+     * - 같은 (cart_id, product_id)의 논리삭제 행이 남아 있으면(uk_cart_item) 그 행을 새 id로 되살린다.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO cart_item (cart_item_id, cart_id, product_id, quantity, price_snapshot, created_at, updated_at)
+            VALUES (:cartItemId, :cartId, :productId, :quantity, :priceSnapshot, :now, :now)
+            ON DUPLICATE KEY UPDATE
+                cart_item_id = VALUES(cart_item_id),
+                quantity = VALUES(quantity),
+                price_snapshot = VALUES(price_snapshot),
+                updated_at = VALUES(updated_at),
+                deleted_at = NULL
+            """, nativeQuery = true)
+    int upsert(@Param("cartItemId") Long cartItemId,
+               @Param("cartId") Long cartId,
+               @Param("productId") Long productId,
+               @Param("quantity") Integer quantity,
+               @Param("priceSnapshot") Integer priceSnapshot,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * 장바구니 write-behind: Redis 장바구니에 더 이상 없는 아이템을 논리삭제
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE cart_item
+            SET deleted_at = :now
+            WHERE cart_id = :cartId
+              AND deleted_at IS NULL
+              AND cart_item_id NOT IN (:keepIds)
+            """, nativeQuery = true)
+    int softDeleteExcept(@Param("cartId") Long cartId,
+                         @Param("keepIds") Collection<Long> keepIds,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+            UPDATE cart_item
+            SET deleted_at = :now
+            WHERE cart_id = :cartId
+              AND deleted_at IS NULL
+            """, nativeQuery = true)
+    int softDeleteAll(@Param("cartId") Long cartId, @Param("now") LocalDateTime now);
+
+    /**
+     * Redis cart_item_id 카운터 초기값
+     */
+    @Query("SELECT COALESCE(MAX(ci.id), 0) FROM CartItem ci")
+    long findMaxId();
 }
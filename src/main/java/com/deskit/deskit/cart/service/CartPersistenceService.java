@@ -0,0 +1,134 @@
+package com.deskit.deskit.cart.service;
+
+import com.deskit.deskit.account.entity.Member;
+import com.deskit.deskit.account.repository.MemberRepository;
+import com.deskit.deskit.cart.dto.CartItemResponse;
+import com.deskit.deskit.cart.entity.Cart;
+import com.deskit.deskit.cart.repository.CartItemRepository;
+import com.deskit.deskit.cart.repository.CartRepository;
+import com.deskit.deskit.cart.service.CartStore.CartSnapshot;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 장바구니의 DB(cart / cart_item) 쪽 처리
+ *
+ * - loadCart : Redis에 장바구니가 없을 때(최초 / 만료) DB에서 읽어 적재한다.
+ * - flush    : Redis 장바구니를 cart_item에 그대로 맞춘다. (write-behind, CartWriteBehindScheduler가 호출)
+ *   Redis에 있는 아이템은 upsert, 없는 아이템은 논리삭제하므로 몇 번을 다시 반영해도 결과가 같다.
+ */
+@Service
+public class CartPersistenceService {
+
+  private final CartRepository cartRepository;
+  private final CartItemRepository cartItemRepository;
+  private final MemberRepository memberRepository;
+  private final CartStore cartStore;
+  private final EntityManager entityManager; // getReference()로 Member 프록시를 만들 때 사용
+
+  public CartPersistenceService(CartRepository cartRepository,
+                                CartItemRepository cartItemRepository,
+                                MemberRepository memberRepository,
+                                CartStore cartStore,
+                                EntityManager entityManager) {
+    this.cartRepository = cartRepository;
+    this.cartItemRepository = cartItemRepository;
+    this.memberRepository = memberRepository;
+    this.cartStore = cartStore;
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * 회원의 장바구니를 가져오거나(없으면 생성) 아이템과 함께 Redis에 적재한다.
+   * - cart 테이블은 member_id UNIQUE라서 회원당 1개만 존재해야 함
+   * - deleted_at != null 인 장바구니/아이템은 논리삭제로 간주하고 제외
+   */
+  @Transactional
+  public void loadCart(Long memberId) {
+    Cart cart = cartRepository.findByMember_MemberIdAndDeletedAtIsNull(memberId)
+        .orElseGet(() -> cartRepository.save(new Cart(getMemberReference(memberId))));
+
+    List<CartItemResponse> items = cartItemRepository
+        .findAllByCart_IdAndDeletedAtIsNullOrderByIdAsc(cart.getId())
+        .stream()
+        .map(CartItemResponse::from)
+        .collect(Collectors.toList());
+
+    cartStore.load(memberId, cart.getId(), items);
+  }
+
+  /**
+   * cart_item_id 카운터가 없을 때(최초 / Redis 초기화) DB 최대 id로 맞춘다.
+   */
+  @Transactional(readOnly = true)
+  public void seedItemSequence() {
+    cartStore.seedItemSequence(cartItemRepository.findMaxId());
+  }
+
+  /**
+   * 회원의 Redis 장바구니를 DB에 반영한다. dirty 해제는 커밋 후에, 그 사이 바뀌지 않았을 때만 한다.
+   */
+  @Transactional
+  public void flush(Long memberId) {
+    CartSnapshot snapshot = cartStore.read(memberId);
+    if (snapshot == null) {
+      // 반영 전에 만료된 장바구니: 되살릴 내용이 없으므로 dirty만 정리
+      cartStore.clearDirty(memberId);
+      return;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    for (CartItemResponse item : snapshot.items()) {
+      cartItemRepository.upsert(
+          item.cartItemId(),
+          snapshot.cartId(),
+          item.productId(),
+          item.quantity(),
+          item.priceSnapshot(),
+          now
+      );
+    }
+    List<Long> keepIds = snapshot.items().stream()
+        .map(CartItemResponse::cartItemId)
+        .collect(Collectors.toList());
+    if (keepIds.isEmpty()) {
+      cartItemRepository.softDeleteAll(snapshot.cartId(), now);
+    } else {
+      cartItemRepository.softDeleteExcept(snapshot.cartId(), keepIds, now);
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          cartStore.ackFlushed(memberId, snapshot.seq());
+        }
+      });
+    } else {
+      cartStore.ackFlushed(memberId, snapshot.seq());
+    }
+  }
+
+  /**
+   * Cart 생성 시 Member 엔티티를 FK로 물려야 하는데,
+   * Member 전체를 조회(findById)까지 할 필요는 없음.
+   *
+   * - existsById로 "실제로 존재하는 회원인지"만 확인하고
+   * - getReference(Member.class, id)로 프록시(참조)만 만들어서 Cart에 세팅
+   *   => 불필요한 SELECT를 줄이는 패턴
+   */
+  private Member getMemberReference(Long memberId) {
+    if (memberId == null || !memberRepository.existsById(memberId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "member not found");
+    }
+    return entityManager.getReference(Member.class, memberId);
+  }
+}
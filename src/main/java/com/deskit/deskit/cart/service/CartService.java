@@ -1,146 +1,200 @@
 package com.deskit.deskit.cart.service;
 
-import com.deskit.deskit.account.entity.Member;
-import com.deskit.deskit.account.repository.MemberRepository;
-import com.deskit.deskit.cart.dto.CartItemResponse;
+import com.deskit.deskit.cart.dto.CartBulkOperation;
 import com.deskit.deskit.cart.dto.CartResponse;
-import com.deskit.deskit.cart.entity.Cart;
-import com.deskit.deskit.cart.entity.CartItem;
-import com.deskit.deskit.cart.repository.CartItemRepository;
-import com.deskit.deskit.cart.repository.CartRepository;
+import com.deskit.deskit.cart.service.CartStore.BulkOperation;
+import com.deskit.deskit.cart.service.CartStore.BulkResult;
+import com.deskit.deskit.cart.service.CartStore.CartSnapshot;
+import com.deskit.deskit.cart.service.CartStore.MutationResult;
 import com.deskit.deskit.product.entity.Product;
 import com.deskit.deskit.product.repository.ProductRepository;
-import jakarta.persistence.EntityManager;
+import com.deskit.deskit.product.repository.ProductRepository.ProductPriceRow;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * 장바구니 서비스
+ *
+ * - 활성 장바구니는 Redis(CartStore)가 원본이다. 조회/변경은 Redis 스크립트 한 번으로 끝나고,
+ *   변경 후 장바구니도 같은 호출에서 받아서 응답한다.
+ * - Redis에 없으면(최초 / 만료) DB에서 적재한 뒤 다시 시도한다. (CartPersistenceService.loadCart)
+ * - DB(cart_item) 반영은 CartWriteBehindScheduler가 비동기로 한다.
+ * - DB를 직접 읽는 경우는 캐시 미스와 "처음 담는 상품"의 상품 조회(존재 확인 + 가격 스냅샷)뿐이다.
+ */
 @Service
-@Transactional // 이 서비스의 public 메서드들은 기본적으로 트랜잭션 안에서 동작(조회/수정 일관성 보장)
 public class CartService {
 
-  private final CartRepository cartRepository;
-  private final CartItemRepository cartItemRepository;
+  // 캐시 미스 적재 / 가격 조회 / id 카운터 초기화가 겹쳐도 이 안에 끝난다.
+  private static final int MAX_ATTEMPTS = 4;
+  private static final int MAX_BULK_OPERATIONS = 100;
+
+  private final CartStore cartStore;
+  private final CartPersistenceService cartPersistenceService;
   private final ProductRepository productRepository;
-  private final MemberRepository memberRepository;
-  private final EntityManager entityManager; // getReference()로 Member 프록시를 만들 때 사용
-
-  public CartService(CartRepository cartRepository,
-                     CartItemRepository cartItemRepository,
-                     ProductRepository productRepository,
-                     MemberRepository memberRepository,
-                     EntityManager entityManager) {
-    this.cartRepository = cartRepository;
-    this.cartItemRepository = cartItemRepository;
-    this.productRepository = productRepository;
-    this.memberRepository = memberRepository;
-    this.entityManager = entityManager;
-  }
 
-  /**
-   * 회원의 장바구니를 가져오거나(있으면),
-   * 없으면 새로 만들어 저장한 뒤 반환한다.
-   *
-   * - cart 테이블은 member_id UNIQUE라서 회원당 1개만 존재해야 함
-   * - deleted_at != null 인 장바구니는 논리삭제로 간주하고 제외
-   */
-  public Cart getOrCreateCart(Long memberId) {
-    return cartRepository.findByMember_MemberIdAndDeletedAtIsNull(memberId)
-            .orElseGet(() -> cartRepository.save(new Cart(getMemberReference(memberId))));
+  public CartService(CartStore cartStore,
+                     CartPersistenceService cartPersistenceService,
+                     ProductRepository productRepository) {
+    this.cartStore = cartStore;
+    this.cartPersistenceService = cartPersistenceService;
+    this.productRepository = productRepository;
   }
 
   /**
    * 장바구니 조회 API에서 사용할 응답 DTO 생성.
-   * - 장바구니가 없으면 생성 후 빈 items로 내려갈 수 있음(현재 로직은 무조건 생성)
-   * - cart_item은 deleted_at null만 조회
+   * - 장바구니가 없으면 생성 후 빈 items로 내려감
+   * - 아이템은 cart_item_id 오름차순(= 담은 순서)
    */
   public CartResponse getCart(Long memberId) {
-    Cart cart = getOrCreateCart(memberId);
-
-    // cart_id 기준으로 아이템 목록을 가져와 DTO로 변환
-    List<CartItemResponse> items = cartItemRepository
-            .findAllByCart_IdAndDeletedAtIsNullOrderByIdAsc(cart.getId())
-            .stream()
-            .map(CartItemResponse::from)
-            .collect(Collectors.toList());
-
-    return new CartResponse(cart.getId(), items);
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      CartSnapshot snapshot = cartStore.read(memberId);
+      if (snapshot != null) {
+        return snapshot.toResponse();
+      }
+      cartPersistenceService.loadCart(memberId);
+    }
+    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "cart unavailable");
   }
 
   /**
    * 장바구니에 상품 추가.
    * - quantity 검증(>=1)
-   * - 상품 존재 여부 확인(+ deleted_at null)
-   * - 동일 상품이 이미 담겨있으면 quantity 누적
-   * - 없으면 새 CartItem 생성(담을 당시 가격을 price_snapshot에 저장)
+   * - 동일 상품이 이미 담겨있으면 quantity 누적 (상품 조회 없음)
+   * - 처음 담는 상품이면 존재 여부(+ deleted_at null)를 확인하고 담을 당시 가격을 price_snapshot에 저장
    */
   public CartResponse addItem(Long memberId, Long productId, Integer quantity) {
     validateQuantity(quantity);
 
-    Cart cart = getOrCreateCart(memberId);
-
-    // 상품이 없으면 404
-    Product product = productRepository.findByIdAndDeletedAtIsNull(productId)
+    Integer priceSnapshot = null;
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      MutationResult result = cartStore.addItem(memberId, productId, quantity, priceSnapshot);
+      if (result.status() == CartStore.OK) {
+        return result.snapshot().toResponse();
+      }
+      if (result.status() == CartStore.NOT_LOADED) {
+        cartPersistenceService.loadCart(memberId);
+      } else if (result.status() == CartStore.NEED_PRICE) {
+        // 상품이 없으면 404
+        Product product = productRepository.findByIdAndDeletedAtIsNull(productId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "product not found"));
-
-    // 같은 cart + product 조합이 이미 있으면(uk_cart_item) 수량만 누적
-    CartItem item = cartItemRepository
-            .findByCart_IdAndProduct_IdAndDeletedAtIsNull(cart.getId(), product.getId())
-            .orElse(null);
-
-    if (item != null) {
-      item.changeQuantity(item.getQuantity() + quantity);
-      return getCart(memberId); // 변경 후 최신 장바구니를 다시 내려줌
+        priceSnapshot = product.getPrice();
+      } else if (result.status() == CartStore.NEED_SEQ) {
+        cartPersistenceService.seedItemSequence();
+      }
     }
-
-    // 새 아이템 추가(담는 시점 가격 스냅샷 저장)
-    cartItemRepository.save(new CartItem(cart, product, quantity, product.getPrice()));
-    return getCart(memberId);
+    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "cart unavailable");
   }
 
   /**
    * 장바구니 아이템 수량 변경.
    * - quantity 검증(>=1)
-   * - cart_item 존재 여부 확인(+ deleted_at null)
-   * - "내 장바구니의 아이템"인지 검증(다른 사람 아이템 수정 방지)
+   * - 내 장바구니에 없는 아이템이면 404 (다른 사람 아이템 수정 방지, 권한 유추 방지)
    */
   public CartResponse updateItemQuantity(Long memberId, Long cartItemId, Integer quantity) {
     validateQuantity(quantity);
-
-    Cart cart = getOrCreateCart(memberId);
-
-    CartItem item = cartItemRepository.findByIdAndDeletedAtIsNull(cartItemId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "cart item not found"));
-
-    // 현재 회원의 cart_id와 item의 cart_id가 다르면 404로 숨김 처리(권한 유추 방지)
-    if (!item.getCart().getId().equals(cart.getId())) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "cart item not found");
-    }
-
-    item.changeQuantity(quantity);
-    return getCart(memberId);
+    return mutate(memberId, () -> cartStore.updateQuantity(memberId, cartItemId, quantity)).toResponse();
   }
 
   /**
-   * 장바구니 아이템 삭제(논리삭제).
-   * - cart_item 존재 여부 확인(+ deleted_at null)
-   * - 내 장바구니 아이템인지 검증
-   * - 실제 DELETE가 아니라 deleted_at을 채우는 soft delete
+   * 장바구니 아이템 삭제.
+   * - 내 장바구니에 없는 아이템이면 404
+   * - DB에는 write-behind로 deleted_at을 채우는 soft delete로 반영된다.
    */
   public void deleteItem(Long memberId, Long cartItemId) {
-    Cart cart = getOrCreateCart(memberId);
+    mutate(memberId, () -> cartStore.deleteItem(memberId, cartItemId));
+  }
+
+  /**
+   * 장바구니 일괄 변경 (예: 셋업 상품 전체 담기).
+   * - add / update / remove 작업을 요청 순서대로, 전부 성공하거나 전부 실패하게(원자적으로) 적용
+   * - add 상품은 IN 쿼리 한 번으로 존재 여부(+ deleted_at null)와 가격을 확인
+   * - 없는 상품 / 내 장바구니에 없는 아이템이 하나라도 있으면 404, 아무것도 바뀌지 않음
+   * - 최종 장바구니를 한 번만 내려줌
+   */
+  public CartResponse applyBulk(Long memberId, List<CartBulkOperation> operations) {
+    if (operations == null || operations.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "operations must not be empty");
+    }
+    if (operations.size() > MAX_BULK_OPERATIONS) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "too many operations");
+    }
+
+    Set<Long> productIds = new LinkedHashSet<>();
+    for (CartBulkOperation operation : operations) {
+      if (operation == null || operation.getOp() == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "op is required");
+      }
+      switch (operation.getOp()) {
+        case ADD -> {
+          requireId(operation.getProductId(), "product_id");
+          validateQuantity(operation.getQuantity());
+          productIds.add(operation.getProductId());
+        }
+        case UPDATE -> {
+          requireId(operation.getCartItemId(), "cart_item_id");
+          validateQuantity(operation.getQuantity());
+        }
+        case REMOVE -> requireId(operation.getCartItemId(), "cart_item_id");
+      }
+    }
+
+    Map<Long, Integer> priceByProductId = productIds.isEmpty()
+        ? Map.of()
+        : productRepository.findPricesByIds(productIds).stream()
+            .collect(Collectors.toMap(ProductPriceRow::getProductId, ProductPriceRow::getPrice));
+    if (priceByProductId.size() != productIds.size()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "product not found");
+    }
 
-    CartItem item = cartItemRepository.findByIdAndDeletedAtIsNull(cartItemId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "cart item not found"));
+    List<BulkOperation> bulk = new ArrayList<>(operations.size());
+    for (CartBulkOperation operation : operations) {
+      bulk.add(switch (operation.getOp()) {
+        case ADD -> new BulkOperation(BulkOperation.Type.ADD, operation.getProductId(),
+            operation.getQuantity(), priceByProductId.get(operation.getProductId()));
+        case UPDATE -> new BulkOperation(BulkOperation.Type.UPDATE, operation.getCartItemId(),
+            operation.getQuantity(), null);
+        case REMOVE -> new BulkOperation(BulkOperation.Type.REMOVE, operation.getCartItemId(), 0, null);
+      });
+    }
 
-    if (!item.getCart().getId().equals(cart.getId())) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "cart item not found");
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      BulkResult result = cartStore.applyBulk(memberId, bulk);
+      if (result.status() == CartStore.OK) {
+        return result.snapshot().toResponse();
+      }
+      if (result.status() == CartStore.ITEM_NOT_FOUND) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+            "cart item not found: " + operations.get(result.failedIndex()).getCartItemId());
+      }
+      if (result.status() == CartStore.NEED_SEQ) {
+        cartPersistenceService.seedItemSequence();
+      } else {
+        cartPersistenceService.loadCart(memberId);
+      }
     }
+    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "cart unavailable");
+  }
 
-    item.softDelete();
+  private CartSnapshot mutate(Long memberId, Supplier<MutationResult> mutation) {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      MutationResult result = mutation.get();
+      if (result.status() == CartStore.OK) {
+        return result.snapshot();
+      }
+      if (result.status() == CartStore.ITEM_NOT_FOUND) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "cart item not found");
+      }
+      cartPersistenceService.loadCart(memberId);
+    }
+    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "cart unavailable");
   }
 
   /**
@@ -154,18 +208,9 @@ public class CartService {
     }
   }
 
-  /**
-   * Cart 생성 시 Member 엔티티를 FK로 물려야 하는데,
-   * Member 전체를 조회(findById)까지 할 필요는 없음.
-   *
-   * - existsById로 "실제로 존재하는 회원인지"만 확인하고
-   * - getReference(Member.class, id)로 프록시(참조)만 만들어서 Cart에 세팅
-   *   => 불필요한 SELECT를 줄이는 패턴
-   */
-  private Member getMemberReference(Long memberId) {
-    if (memberId == null || !memberRepository.existsById(memberId)) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "member not found");
+  private void requireId(Long id, String name) {
+    if (id == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " is required");
     }
-    return entityManager.getReference(Member.class, memberId);
   }
-}
\ No newline at end of file
+}
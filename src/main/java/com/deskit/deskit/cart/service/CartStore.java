@@ -0,0 +1,448 @@
+package com.deskit.deskit.cart.service;
+
+import com.deskit.deskit.cart.dto.CartItemResponse;
+import com.deskit.deskit.cart.dto.CartResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis 장바구니 저장소 (활성 장바구니의 원본)
+ *
+ * - 회원별 해시 cart:{cart}:member:{memberId}
+ *   cart_id / seq(변경 버전) / item:{cartItemId} = "상품id:수량:가격스냅샷" / product:{productId} = cartItemId
+ * - 변경은 Lua 스크립트 한 번으로 처리하고, 같은 호출에서 변경 후 해시 전체를 돌려준다. (응답용 재조회 없음)
+ * - 변경된 회원은 dirty ZSET에 올라가고, CartPersistenceService가 비동기로 cart_item에 반영한다.
+ * - 해시가 없으면(최초 / TTL 만료) 호출 측이 DB에서 적재한 뒤 다시 시도한다.
+ * - cart_item_id는 item-seq 카운터로 발급한다. (카운터가 없으면 DB의 최대 id로 초기화)
+ *
+ * 키는 모두 같은 해시 태그({cart})를 써서 클러스터에서도 한 슬롯에 모인다.
+ */
+@Service
+public class CartStore {
+
+  static final String KEY_PREFIX = "cart:{cart}:";
+  static final String DIRTY_KEY = KEY_PREFIX + "dirty";
+  static final String ITEM_SEQ_KEY = KEY_PREFIX + "item-seq";
+  static final String FLUSH_LOCK_KEY = KEY_PREFIX + "flush-lock";
+  private static final Duration FLUSH_LOCK_TTL = Duration.ofSeconds(30);
+
+  static final String CART_ID_FIELD = "cart_id";
+  static final String SEQ_FIELD = "seq";
+  static final String ITEM_FIELD = "item:";
+  static final String PRODUCT_FIELD = "product:";
+
+  // 스크립트 반환 상태값 (결과 리스트의 첫 번째 원소)
+  static final long OK = 0;
+  static final long NOT_LOADED = -1;
+  static final long NEED_PRICE = -2;
+  static final long NEED_SEQ = -3;
+  static final long ITEM_NOT_FOUND = -4;
+
+  /*
+   * 변경 스크립트 공통부
+   * KEYS[1]=장바구니 해시, KEYS[2]=dirty ZSET, ARGV[1]=memberId, ARGV[2]=TTL(초), ARGV[3]=현재 시각(epoch ms)
+   */
+  private static final String MUTATION_PRELUDE =
+    "local function done(status) " +
+    "  if status == 0 then " +
+    "    redis.call('HINCRBY', KEYS[1], 'seq', 1) " +
+    "    redis.call('ZADD', KEYS[2], 'NX', ARGV[3], ARGV[1]) " +
+    "  end " +
+    "  redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+    "  local snapshot = redis.call('HGETALL', KEYS[1]) " +
+    "  table.insert(snapshot, 1, tostring(status)) " +
+    "  return snapshot " +
+    "end " +
+    "if redis.call('EXISTS', KEYS[1]) == 0 then return {'-1'} end ";
+
+  /**
+   * KEYS[3]=item-seq, ARGV[4]=productId, ARGV[5]=수량, ARGV[6]=가격 스냅샷(모르면 빈 문자열)
+   * 이미 담긴 상품이면 수량만 누적하고, 새 상품인데 가격을 모르면 -2로 돌려보낸다.
+   */
+  @SuppressWarnings("rawtypes")
+  static final DefaultRedisScript<List> ADD_SCRIPT = new DefaultRedisScript<>(
+    MUTATION_PRELUDE +
+    "local itemId = redis.call('HGET', KEYS[1], 'product:' .. ARGV[4]) " +
+    "if itemId then " +
+    "  local item = redis.call('HGET', KEYS[1], 'item:' .. itemId) " +
+    "  local pid, qty, price = string.match(item, '(%d+):(%d+):(%d+)') " +
+    "  redis.call('HSET', KEYS[1], 'item:' .. itemId, pid .. ':' .. (tonumber(qty) + tonumber(ARGV[5])) .. ':' .. price) " +
+    "  return done(0) " +
+    "end " +
+    "if ARGV[6] == '' then return {'-2'} end " +
+    "if redis.call('EXISTS', KEYS[3]) == 0 then return {'-3'} end " +
+    "itemId = redis.call('INCR', KEYS[3]) " +
+    "redis.call('HSET', KEYS[1], 'item:' .. itemId, ARGV[4] .. ':' .. ARGV[5] .. ':' .. ARGV[6], 'product:' .. ARGV[4], itemId) " +
+    "return done(0)",
+    List.class
+  );
+
+  /**
+   * ARGV[4]=cartItemId, ARGV[5]=수량
+   */
+  @SuppressWarnings("rawtypes")
+  static final DefaultRedisScript<List> UPDATE_SCRIPT = new DefaultRedisScript<>(
+    MUTATION_PRELUDE +
+    "local item = redis.call('HGET', KEYS[1], 'item:' .. ARGV[4]) " +
+    "if not item then return done(-4) end " +
+    "local pid, qty, price = string.match(item, '(%d+):(%d+):(%d+)') " +
+    "redis.call('HSET', KEYS[1], 'item:' .. ARGV[4], pid .. ':' .. ARGV[5] .. ':' .. price) " +
+    "return done(0)",
+    List.class
+  );
+
+  /**
+   * ARGV[4]=cartItemId
+   */
+  @SuppressWarnings("rawtypes")
+  static final DefaultRedisScript<List> DELETE_SCRIPT = new DefaultRedisScript<>(
+    MUTATION_PRELUDE +
+    "local item = redis.call('HGET', KEYS[1], 'item:' .. ARGV[4]) " +
+    "if not item then return done(-4) end " +
+    "local pid = string.match(item, '(%d+):') " +
+    "redis.call('HDEL', KEYS[1], 'item:' .. ARGV[4], 'product:' .. pid) " +
+    "return done(0)",
+    List.class
+  );
+
+  /**
+   * 일괄 변경. 작업마다 ARGV 4개 [종류(a/u/r), 상품 id 또는 cartItemId, 수량, 가격 스냅샷]
+   * 전부 검사한 뒤에 적용하므로, 하나라도 실패하면 아무것도 바뀌지 않는다.
+   * 없는 아이템을 수정/삭제하면 {-4, 작업 순번(1부터)}
+   */
+  @SuppressWarnings("rawtypes")
+  static final DefaultRedisScript<List> BULK_SCRIPT = new DefaultRedisScript<>(
+    MUTATION_PRELUDE +
+    "local present = {} " +
+    "local adds = false " +
+    "for i = 4, #ARGV, 4 do " +
+    "  local op, id = ARGV[i], ARGV[i + 1] " +
+    "  if op == 'a' then " +
+    "    adds = true " +
+    "  else " +
+    "    if present[id] == nil then present[id] = redis.call('HEXISTS', KEYS[1], 'item:' .. id) == 1 end " +
+    "    if not present[id] then return {'-4', tostring((i - 4) / 4 + 1)} end " +
+    "    if op == 'r' then present[id] = false end " +
+    "  end " +
+    "end " +
+    "if adds and redis.call('EXISTS', KEYS[3]) == 0 then return {'-3'} end " +
+    "for i = 4, #ARGV, 4 do " +
+    "  local op, id, qty, price = ARGV[i], ARGV[i + 1], ARGV[i + 2], ARGV[i + 3] " +
+    "  if op == 'a' then " +
+    "    local itemId = redis.call('HGET', KEYS[1], 'product:' .. id) " +
+    "    if itemId then " +
+    "      local pid, cur, snap = string.match(redis.call('HGET', KEYS[1], 'item:' .. itemId), '(%d+):(%d+):(%d+)') " +
+    "      redis.call('HSET', KEYS[1], 'item:' .. itemId, pid .. ':' .. (tonumber(cur) + tonumber(qty)) .. ':' .. snap) " +
+    "    else " +
+    "      itemId = redis.call('INCR', KEYS[3]) " +
+    "      redis.call('HSET', KEYS[1], 'item:' .. itemId, id .. ':' .. qty .. ':' .. price, 'product:' .. id, itemId) " +
+    "    end " +
+    "  else " +
+    "    local pid, cur, snap = string.match(redis.call('HGET', KEYS[1], 'item:' .. id), '(%d+):(%d+):(%d+)') " +
+    "    if op == 'u' then " +
+    "      redis.call('HSET', KEYS[1], 'item:' .. id, pid .. ':' .. qty .. ':' .. snap) " +
+    "    else " +
+    "      redis.call('HDEL', KEYS[1], 'item:' .. id, 'product:' .. pid) " +
+    "    end " +
+    "  end " +
+    "end " +
+    "return done(0)",
+    List.class
+  );
+
+  /**
+   * KEYS[1]=장바구니 해시, ARGV[1]=TTL(초). 있으면 TTL을 연장하고 해시 전체, 없으면 빈 리스트.
+   */
+  @SuppressWarnings("rawtypes")
+  static final DefaultRedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 0 then return {} end " +
+    "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+    "return redis.call('HGETALL', KEYS[1])",
+    List.class
+  );
+
+  /**
+   * KEYS[1]=장바구니 해시, ARGV[1]=TTL(초), ARGV[2..]=(필드, 값) 쌍
+   * 다른 요청이 먼저 적재했으면 덮어쓰지 않는다. (그 사이 변경이 사라지지 않도록)
+   */
+  static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+    "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) " +
+    "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+    "return 1",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=장바구니 해시, KEYS[2]=dirty ZSET, ARGV[1]=memberId, ARGV[2]=DB에 반영한 seq
+   * 반영하는 동안 더 바뀌지 않았을 때만 dirty에서 뺀다.
+   */
+  static final DefaultRedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>(
+    "local seq = redis.call('HGET', KEYS[1], 'seq') " +
+    "if seq and seq ~= ARGV[2] then return 0 end " +
+    "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+    "return 1",
+    Long.class
+  );
+
+  // KEYS[1]=flush 락, ARGV[1]=내 토큰
+  static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+    "return 0",
+    Long.class
+  );
+
+  // KEYS[1]=flush 락, ARGV[1]=내 토큰, ARGV[2]=연장할 TTL(ms)
+  static final DefaultRedisScript<Long> RENEW_LOCK_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+    "return redis.call('PEXPIRE', KEYS[1], ARGV[2])",
+    Long.class
+  );
+
+  /**
+   * 장바구니 해시 한 건의 내용. items는 cart_item_id 오름차순(= 담은 순서).
+   */
+  public record CartSnapshot(Long cartId, long seq, List<CartItemResponse> items) {
+
+    public CartResponse toResponse() {
+      return new CartResponse(cartId, items);
+    }
+  }
+
+  /**
+   * 변경 스크립트 결과. status가 OK가 아니면 snapshot은 null일 수 있다.
+   */
+  public record MutationResult(long status, CartSnapshot snapshot) {}
+
+  /**
+   * 일괄 변경 작업 한 건. ADD는 targetId=상품 id(priceSnapshot 필수), UPDATE/REMOVE는 targetId=cartItemId.
+   */
+  public record BulkOperation(Type type, Long targetId, int quantity, Integer priceSnapshot) {
+
+    public enum Type {
+      ADD("a"),
+      UPDATE("u"),
+      REMOVE("r");
+
+      private final String code;
+
+      Type(String code) {
+        this.code = code;
+      }
+    }
+  }
+
+  /**
+   * 일괄 변경 결과. ITEM_NOT_FOUND면 failedIndex가 실패한 작업 순번(0부터)
+   */
+  public record BulkResult(long status, int failedIndex, CartSnapshot snapshot) {}
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final Duration cartTtl;
+
+  public CartStore(RedisTemplate<String, String> redisTemplate,
+                   @Value("${cart.cache.ttl-days:7}") long cartTtlDays) {
+    this.redisTemplate = redisTemplate;
+    this.cartTtl = Duration.ofDays(cartTtlDays);
+  }
+
+  /**
+   * @return 적재되지 않은 장바구니면 null
+   */
+  public CartSnapshot read(Long memberId) {
+    List<?> result = redisTemplate.execute(READ_SCRIPT, List.of(cartKey(memberId)), String.valueOf(cartTtl.toSeconds()));
+    if (result == null || result.isEmpty()) {
+      return null;
+    }
+    return parse(result, 0);
+  }
+
+  /**
+   * DB에서 읽은 장바구니를 적재한다. 이미 적재되어 있으면 그대로 둔다.
+   */
+  public void load(Long memberId, Long cartId, List<CartItemResponse> items) {
+    List<String> args = new ArrayList<>(items.size() * 4 + 5);
+    args.add(String.valueOf(cartTtl.toSeconds()));
+    args.add(CART_ID_FIELD);
+    args.add(String.valueOf(cartId));
+    args.add(SEQ_FIELD);
+    args.add("0");
+    for (CartItemResponse item : items) {
+      args.add(ITEM_FIELD + item.cartItemId());
+      args.add(item.productId() + ":" + item.quantity() + ":" + item.priceSnapshot());
+      args.add(PRODUCT_FIELD + item.productId());
+      args.add(String.valueOf(item.cartItemId()));
+    }
+    redisTemplate.execute(LOAD_SCRIPT, List.of(cartKey(memberId)), args.toArray());
+  }
+
+  /**
+   * @param priceSnapshot 새 상품을 담을 때의 가격. null이면 이미 담긴 상품일 때만 성공한다. (NEED_PRICE)
+   */
+  public MutationResult addItem(Long memberId, Long productId, int quantity, Integer priceSnapshot) {
+    return mutate(ADD_SCRIPT, memberId, List.of(
+      String.valueOf(productId),
+      String.valueOf(quantity),
+      priceSnapshot != null ? String.valueOf(priceSnapshot) : ""
+    ));
+  }
+
+  public MutationResult updateQuantity(Long memberId, Long cartItemId, int quantity) {
+    return mutate(UPDATE_SCRIPT, memberId, List.of(String.valueOf(cartItemId), String.valueOf(quantity)));
+  }
+
+  public MutationResult deleteItem(Long memberId, Long cartItemId) {
+    return mutate(DELETE_SCRIPT, memberId, List.of(String.valueOf(cartItemId)));
+  }
+
+  public BulkResult applyBulk(Long memberId, List<BulkOperation> operations) {
+    List<String> args = new ArrayList<>(operations.size() * 4 + 3);
+    args.add(String.valueOf(memberId));
+    args.add(String.valueOf(cartTtl.toSeconds()));
+    args.add(String.valueOf(System.currentTimeMillis()));
+    for (BulkOperation operation : operations) {
+      args.add(operation.type().code);
+      args.add(String.valueOf(operation.targetId()));
+      args.add(String.valueOf(operation.quantity()));
+      args.add(operation.priceSnapshot() != null ? String.valueOf(operation.priceSnapshot()) : "");
+    }
+
+    List<?> result = redisTemplate.execute(BULK_SCRIPT, List.of(cartKey(memberId), DIRTY_KEY, ITEM_SEQ_KEY), args.toArray());
+    if (result == null || result.isEmpty()) {
+      throw new IllegalStateException("cart script returned no result");
+    }
+    long status = Long.parseLong(result.get(0).toString());
+    if (status == ITEM_NOT_FOUND) {
+      return new BulkResult(status, Integer.parseInt(result.get(1).toString()) - 1, null);
+    }
+    return new BulkResult(status, -1, status == OK ? parse(result, 1) : null);
+  }
+
+  /**
+   * item-seq 카운터가 없을 때 DB 최대 id로 초기화한다. (이미 있으면 그대로)
+   */
+  public void seedItemSequence(long maxCartItemId) {
+    redisTemplate.opsForValue().setIfAbsent(ITEM_SEQ_KEY, String.valueOf(maxCartItemId));
+  }
+
+  /**
+   * 반영을 미뤄둔 지 delay 이상 지난 회원 id
+   */
+  public List<Long> findDirtyMembers(Duration delay, int limit) {
+    long maxScore = System.currentTimeMillis() - delay.toMillis();
+    Set<String> members = redisTemplate.opsForZSet().rangeByScore(DIRTY_KEY, 0, maxScore, 0, limit);
+    if (members == null || members.isEmpty()) {
+      return List.of();
+    }
+    return members.stream().map(Long::valueOf).collect(Collectors.toList());
+  }
+
+  /**
+   * DB 반영을 마친 뒤 호출. 그 사이 바뀌었으면 dirty로 남겨서 다음 주기에 다시 반영한다.
+   */
+  public boolean ackFlushed(Long memberId, long seq) {
+    Long result = redisTemplate.execute(
+      ACK_SCRIPT,
+      List.of(cartKey(memberId), DIRTY_KEY),
+      String.valueOf(memberId),
+      String.valueOf(seq)
+    );
+    return result != null && result == 1;
+  }
+
+  /**
+   * 만료 등으로 해시가 사라진 회원을 dirty에서 뺀다.
+   */
+  public void clearDirty(Long memberId) {
+    redisTemplate.opsForZSet().remove(DIRTY_KEY, String.valueOf(memberId));
+  }
+
+  /**
+   * 여러 노드가 같은 장바구니를 동시에 DB에 반영하지 않도록 짧은 락을 잡는다.
+   * 한 배치가 TTL보다 오래 걸릴 수 있으므로 호출 측이 장바구니마다 renewFlushLock으로 연장한다.
+   *
+   * @return 락 토큰. 다른 노드가 잡고 있으면 null
+   */
+  public String tryLockFlush() {
+    String token = UUID.randomUUID().toString();
+    if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(FLUSH_LOCK_KEY, token, FLUSH_LOCK_TTL))) {
+      return token;
+    }
+    return null;
+  }
+
+  /**
+   * @return 락을 잃었으면(만료 후 다른 노드가 잡음) false
+   */
+  public boolean renewFlushLock(String token) {
+    Long renewed = redisTemplate.execute(
+      RENEW_LOCK_SCRIPT,
+      List.of(FLUSH_LOCK_KEY),
+      token,
+      String.valueOf(FLUSH_LOCK_TTL.toMillis())
+    );
+    return renewed != null && renewed == 1;
+  }
+
+  /**
+   * 내 토큰일 때만 푼다. (만료 후 다른 노드가 잡은 락은 건드리지 않는다)
+   */
+  public void unlockFlush(String token) {
+    redisTemplate.execute(UNLOCK_SCRIPT, List.of(FLUSH_LOCK_KEY), token);
+  }
+
+  static String cartKey(Long memberId) {
+    return KEY_PREFIX + "member:" + memberId;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private MutationResult mutate(DefaultRedisScript<List> script, Long memberId, List<String> opArgs) {
+    List<String> args = new ArrayList<>(opArgs.size() + 3);
+    args.add(String.valueOf(memberId));
+    args.add(String.valueOf(cartTtl.toSeconds()));
+    args.add(String.valueOf(System.currentTimeMillis()));
+    args.addAll(opArgs);
+
+    List<?> result = redisTemplate.execute(script, List.of(cartKey(memberId), DIRTY_KEY, ITEM_SEQ_KEY), args.toArray());
+    if (result == null || result.isEmpty()) {
+      throw new IllegalStateException("cart script returned no result");
+    }
+    long status = Long.parseLong(result.get(0).toString());
+    return new MutationResult(status, result.size() > 1 ? parse(result, 1) : null);
+  }
+
+  // HGETALL 결과(필드, 값 교대)를 offset부터 읽는다.
+  static CartSnapshot parse(List<?> flat, int offset) {
+    Long cartId = null;
+    long seq = 0;
+    List<CartItemResponse> items = new ArrayList<>();
+    for (int i = offset; i + 1 < flat.size(); i += 2) {
+      String field = flat.get(i).toString();
+      String value = flat.get(i + 1).toString();
+      if (CART_ID_FIELD.equals(field)) {
+        cartId = Long.valueOf(value);
+      } else if (SEQ_FIELD.equals(field)) {
+        seq = Long.parseLong(value);
+      } else if (field.startsWith(ITEM_FIELD)) {
+        String[] parts = value.split(":");
+        items.add(new CartItemResponse(
+          Long.valueOf(field.substring(ITEM_FIELD.length())),
+          Long.valueOf(parts[0]),
+          Integer.valueOf(parts[1]),
+          Integer.valueOf(parts[2])
+        ));
+      }
+    }
+    items.sort(Comparator.comparing(CartItemResponse::cartItemId));
+    return new CartSnapshot(cartId, seq, items);
+  }
+}
@@ -0,0 +1,68 @@
+package com.deskit.deskit.cart.service;
+
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장바구니 write-behind 주기 작업
+ * - 1초마다, 마지막 반영 후 flush-delay 이상 지난 장바구니를 DB에 반영
+ *   (연속 클릭은 한 번의 반영으로 묶인다)
+ * - 한 노드만 반영한다. 장바구니마다 락을 연장하고, 락을 잃었으면 남은 배치는 락을 잡은 노드에 넘긴다.
+ */
+@Component
+public class CartWriteBehindScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(CartWriteBehindScheduler.class);
+  private static final int FLUSH_BATCH_SIZE = 200;
+
+  private final CartStore cartStore;
+  private final CartPersistenceService cartPersistenceService;
+  private final Duration flushDelay;
+
+  public CartWriteBehindScheduler(CartStore cartStore,
+                                  CartPersistenceService cartPersistenceService,
+                                  @Value("${cart.write-behind.delay-ms:2000}") long flushDelayMillis) {
+    this.cartStore = cartStore;
+    this.cartPersistenceService = cartPersistenceService;
+    this.flushDelay = Duration.ofMillis(flushDelayMillis);
+  }
+
+  @Scheduled(fixedDelay = 1000)
+  public void flushDirtyCarts() {
+    String lockToken;
+    try {
+      lockToken = cartStore.tryLockFlush();
+    } catch (Exception e) {
+      log.error("cart flush lock failed: {}", e.getMessage());
+      return;
+    }
+    if (lockToken == null) {
+      return;
+    }
+
+    try {
+      List<Long> memberIds = cartStore.findDirtyMembers(flushDelay, FLUSH_BATCH_SIZE);
+      for (Long memberId : memberIds) {
+        if (!cartStore.renewFlushLock(lockToken)) {
+          log.warn("cart flush lock lost, stopping batch");
+          return;
+        }
+        try {
+          cartPersistenceService.flush(memberId);
+        } catch (Exception e) {
+          // dirty로 남아 있으므로 다음 주기에 다시 반영된다.
+          log.error("cart flush failed: memberId={}, {}", memberId, e.getMessage());
+        }
+      }
+    } catch (Exception e) {
+      log.error("cart flush failed: {}", e.getMessage());
+    } finally {
+      cartStore.unlockFlush(lockToken);
+    }
+  }
+}
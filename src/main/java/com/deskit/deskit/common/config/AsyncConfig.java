@@ -1,9 +1,12 @@
 package com.deskit.deskit.common.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import java.util.concurrent.Executor;
 
 @Configuration
@@ -19,4 +22,42 @@ public class AsyncConfig { // 비동기 쓰레드풀 설정
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "vodIngestExecutor")
+    public Executor vodIngestExecutor(@Value("${live.vod.ingest.max-concurrent:2}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // VodIngestService가 같은 설정값만큼만 선점하므로 풀도 그 수에 맞춘다 (녹화 다운로드/업로드는 I/O가 커서 소수만)
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(maxConcurrent); // 끝난 작업의 스레드가 반납되기 전에 다음 작업이 들어오는 경우용
+        executor.setThreadNamePrefix("VodIngest-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "imageVariantExecutor")
+    public Executor imageVariantExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);       // 리사이즈는 CPU 작업이라 소수만
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("ImageVariant-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "idempotencyLeaseScheduler")
+    public ThreadPoolTaskScheduler idempotencyLeaseScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);          // 주문 멱등성 선점 연장 (Redis 호출 한 번이라 짧다)
+        scheduler.setThreadNamePrefix("IdempotencyLease-");
+        return scheduler;
+    }
+
+    // TaskScheduler 빈이 하나라도 있으면 Boot 기본 스케줄러가 빠지고 @Scheduled가 위 전용 스케줄러로 가므로,
+    // @Scheduled용 taskScheduler를 Boot와 같은 설정(spring.task.scheduling.*)으로 직접 등록한다
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
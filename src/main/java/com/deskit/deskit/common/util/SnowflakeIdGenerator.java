@@ -0,0 +1,92 @@
+package com.deskit.deskit.common.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake 방식 64bit ID 생성기 (주문번호 등 업무 키 공용)
+ *
+ * [부호 1bit(0)] [기준 시각 이후 밀리초 41bit] [노드 id 10bit] [밀리초 내 순번 12bit]
+ *
+ * - 노드당 밀리초마다 4,096개, 초당 약 409만 개까지 중복 없이 만든다. 순번이 바닥나면 다음 밀리초까지 대기한다.
+ * - 마지막 (시각, 순번)을 AtomicLong 하나에 담아 CAS로 갱신하므로 락이 없다.
+ * - 시계가 뒤로 가도 허용 범위(max-backward-ms) 안이면 마지막 시각을 그대로 이어 써서 단조 증가를 유지하고,
+ *   그보다 크게 뒤로 가면 중복 위험이 있으므로 예외를 던진다.
+ *   이어 쓰던 시각의 순번까지 바닥나면 시계가 따라올 때까지 스레드를 재운다. (CPU를 태우며 돌지 않는다)
+ * - 노드 id는 인스턴스마다 달라야 한다. (id-generator.node-id, 0~1023)
+ *   모든 인스턴스가 같은 기본값으로 뜨면 주문번호가 겹칠 수 있으므로 기본값을 두지 않는다. 설정이 없으면 기동에 실패한다.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    // 2025-01-01T00:00:00Z
+    static final long EPOCH_MILLIS = 1735689600000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long SEQUENCE_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final long nodeId;
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+
+    // (마지막 발급 시각 << SEQUENCE_BITS) | 순번
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(@Value("${id-generator.node-id}") long nodeId,
+                                @Value("${id-generator.max-backward-ms:5000}") long maxBackwardMillis) {
+        this(nodeId, maxBackwardMillis, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, long maxBackwardMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long last = lastState.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                if (lastMillis - now > maxBackwardMillis) {
+                    throw new IllegalStateException("clock moved backwards by " + (lastMillis - now) + "ms");
+                }
+                if ((last & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                    // 이번 밀리초 순번 소진 → 시계가 넘어갈 때까지 재운다.
+                    // 시계가 뒤로 간 상태면 최대 max-backward-ms까지 걸릴 수 있으므로 뒤처진 만큼 재운다.
+                    long behindMillis = lastMillis - now;
+                    LockSupport.parkNanos(behindMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(behindMillis) : SEQUENCE_WAIT_NANOS);
+                    continue;
+                }
+                next = last + 1;
+            }
+
+            if (lastState.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    // 예: nextKey("ORD") → ORD-12345678901234567
+    public String nextKey(String prefix) {
+        return prefix + "-" + nextId();
+    }
+}
@@ -2,6 +2,7 @@ package com.deskit.deskit.home.controller;
 
 import com.deskit.deskit.home.dto.HomePopularProductResponse;
 import com.deskit.deskit.home.service.HomePopularProductService;
+import com.deskit.deskit.home.service.PopularityService.Ranking;
 import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,9 +24,18 @@ public class HomePopularProductController {
 
   @GetMapping("/popular-products")
   public List<HomePopularProductResponse> getPopularProducts(
-      @RequestParam(value = "limit", required = false) String limit) {
+      @RequestParam(value = "limit", required = false) String limit,
+      @RequestParam(value = "sort", required = false) String sort) {
     int resolvedLimit = resolveLimit(limit);
-    return homePopularProductService.getPopularProducts(resolvedLimit);
+    return homePopularProductService.getPopularProducts(resolvedLimit, resolveRanking(sort));
+  }
+
+  // sort=trending 이면 최근 판매 가중 랭킹, 그 외에는 누적 판매 랭킹
+  private Ranking resolveRanking(String sort) {
+    if (sort != null && "trending".equalsIgnoreCase(sort.trim())) {
+      return Ranking.TRENDING;
+    }
+    return Ranking.SOLD;
   }
 
   private int resolveLimit(String limit) {
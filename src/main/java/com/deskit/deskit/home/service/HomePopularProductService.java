@@ -1,20 +1,95 @@
 package com.deskit.deskit.home.service;
 
 import com.deskit.deskit.home.dto.HomePopularProductResponse;
+import com.deskit.deskit.home.service.PopularityService.Ranked;
+import com.deskit.deskit.home.service.PopularityService.Ranking;
 import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.PopularProductRow;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 @Service
 public class HomePopularProductService {
 
+  private static final Logger log = LoggerFactory.getLogger(HomePopularProductService.class);
+
+  // 랭킹에 남아 있는 삭제 상품을 건너뛰어도 limit을 채울 수 있도록 조금 더 읽는다.
+  private static final int RANKING_SLACK = 10;
+
   private final ProductRepository productRepository;
+  private final PopularityService popularityService;
 
-  public HomePopularProductService(ProductRepository productRepository) {
+  public HomePopularProductService(ProductRepository productRepository,
+                                   PopularityService popularityService) {
     this.productRepository = productRepository;
+    this.popularityService = popularityService;
   }
 
   public List<HomePopularProductResponse> getPopularProducts(int limit) {
+    return getPopularProducts(limit, Ranking.SOLD);
+  }
+
+  /**
+   * Redis 랭킹에서 top-K를 읽고 표시 정보만 DB에서 id로 조회한다.
+   * 랭킹이 아직 만들어지지 않았거나 Redis를 사용할 수 없으면 기존 SQL 집계로 응답한다.
+   */
+  public List<HomePopularProductResponse> getPopularProducts(int limit, Ranking ranking) {
+    List<Ranked> ranked;
+    try {
+      if (!popularityService.isBuilt()) {
+        return findByAggregation(limit);
+      }
+      ranked = popularityService.topProducts(ranking, limit + RANKING_SLACK);
+    } catch (RuntimeException ex) {
+      log.warn("popularity ranking unavailable, falling back to aggregation: {}", ex.getMessage());
+      return findByAggregation(limit);
+    }
+
+    List<HomePopularProductResponse> result = new ArrayList<>(limit);
+    List<Long> usedIds = new ArrayList<>();
+    if (!ranked.isEmpty()) {
+      Map<Long, PopularProductRow> rows = productRepository.findPopularProductDetails(
+          ranked.stream().map(Ranked::id).toList()).stream()
+          .collect(Collectors.toMap(PopularProductRow::getProductId, Function.identity()));
+      for (Ranked rank : ranked) {
+        PopularProductRow row = rows.get(rank.id());
+        if (row == null) {
+          continue;
+        }
+        result.add(new HomePopularProductResponse(
+            row.getProductId(),
+            row.getProductName(),
+            row.getPrice(),
+            rank.soldQty(),
+            row.getThumbnailUrl()
+        ));
+        usedIds.add(row.getProductId());
+        if (result.size() == limit) {
+          return result;
+        }
+      }
+    }
+
+    // 판매 이력이 부족하면 기존 집계처럼 최신 상품으로 채운다.
+    for (PopularProductRow row : productRepository.findNewestProducts(limit + usedIds.size())) {
+      if (usedIds.contains(row.getProductId())) {
+        continue;
+      }
+      result.add(HomePopularProductResponse.from(row));
+      if (result.size() == limit) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private List<HomePopularProductResponse> findByAggregation(int limit) {
     return productRepository.findPopularProducts(limit).stream()
         .map(HomePopularProductResponse::from)
         .toList();
@@ -1,20 +1,95 @@
 package com.deskit.deskit.home.service;
 
 import com.deskit.deskit.home.dto.HomePopularSetupResponse;
+import com.deskit.deskit.home.service.PopularityService.Ranked;
+import com.deskit.deskit.home.service.PopularityService.Ranking;
 import com.deskit.deskit.setup.repository.SetupRepository;
+import com.deskit.deskit.setup.repository.SetupRepository.PopularSetupRow;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 @Service
 public class HomePopularSetupService {
 
+  private static final Logger log = LoggerFactory.getLogger(HomePopularSetupService.class);
+
+  // 랭킹에 남아 있는 삭제 셋업을 건너뛰어도 limit을 채울 수 있도록 조금 더 읽는다.
+  private static final int RANKING_SLACK = 10;
+
   private final SetupRepository setupRepository;
+  private final PopularityService popularityService;
 
-  public HomePopularSetupService(SetupRepository setupRepository) {
+  public HomePopularSetupService(SetupRepository setupRepository,
+                                 PopularityService popularityService) {
     this.setupRepository = setupRepository;
+    this.popularityService = popularityService;
   }
 
   public List<HomePopularSetupResponse> getPopularSetups(int limit) {
+    return getPopularSetups(limit, Ranking.SOLD);
+  }
+
+  /**
+   * Redis 랭킹에서 top-K를 읽고 표시 정보만 DB에서 id로 조회한다.
+   * 랭킹이 아직 만들어지지 않았거나 Redis를 사용할 수 없으면 기존 SQL 집계로 응답한다.
+   */
+  public List<HomePopularSetupResponse> getPopularSetups(int limit, Ranking ranking) {
+    List<Ranked> ranked;
+    try {
+      if (!popularityService.isBuilt()) {
+        return findByAggregation(limit);
+      }
+      ranked = popularityService.topSetups(ranking, limit + RANKING_SLACK);
+    } catch (RuntimeException ex) {
+      log.warn("popularity ranking unavailable, falling back to aggregation: {}", ex.getMessage());
+      return findByAggregation(limit);
+    }
+
+    List<HomePopularSetupResponse> result = new ArrayList<>(limit);
+    List<Long> usedIds = new ArrayList<>();
+    if (!ranked.isEmpty()) {
+      Map<Long, PopularSetupRow> rows = setupRepository.findPopularSetupDetails(
+          ranked.stream().map(Ranked::id).toList()).stream()
+          .collect(Collectors.toMap(PopularSetupRow::getSetupId, Function.identity()));
+      for (Ranked rank : ranked) {
+        PopularSetupRow row = rows.get(rank.id());
+        if (row == null) {
+          continue;
+        }
+        result.add(new HomePopularSetupResponse(
+            row.getSetupId(),
+            row.getSetupName(),
+            row.getShortDesc(),
+            rank.soldQty(),
+            row.getImageUrl()
+        ));
+        usedIds.add(row.getSetupId());
+        if (result.size() == limit) {
+          return result;
+        }
+      }
+    }
+
+    // 판매 이력이 부족하면 기존 집계처럼 최신 셋업으로 채운다.
+    for (PopularSetupRow row : setupRepository.findNewestSetups(limit + usedIds.size())) {
+      if (usedIds.contains(row.getSetupId())) {
+        continue;
+      }
+      result.add(HomePopularSetupResponse.from(row));
+      if (result.size() == limit) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private List<HomePopularSetupResponse> findByAggregation(int limit) {
     return setupRepository.findPopularSetups(limit).stream()
         .map(HomePopularSetupResponse::from)
         .toList();
@@ -0,0 +1,45 @@
+package com.deskit.deskit.home.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 랭킹 재구축
+ * - 매일 새벽 주문 이력으로 누적 오차(취소된 트렌딩 점수 등)를 바로잡는다.
+ * - 기동 시 랭킹이 없으면(최초 배포, Redis 초기화) 바로 만든다.
+ */
+@Component
+public class PopularityRebuildScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(PopularityRebuildScheduler.class);
+
+  private final PopularityService popularityService;
+
+  public PopularityRebuildScheduler(PopularityService popularityService) {
+    this.popularityService = popularityService;
+  }
+
+  @Scheduled(cron = "${popularity.rebuild-cron:0 30 4 * * *}")
+  public void rebuild() {
+    try {
+      popularityService.rebuild();
+    } catch (Exception e) {
+      log.error("popularity rebuild failed: {}", e.getMessage());
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildIfMissing() {
+    try {
+      if (!popularityService.isBuilt()) {
+        popularityService.rebuild();
+      }
+    } catch (Exception e) {
+      log.error("popularity initial build failed: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,451 @@
+package com.deskit.deskit.home.service;
+
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.ProductRecentSoldRow;
+import com.deskit.deskit.product.repository.ProductRepository.ProductSoldRow;
+import com.deskit.deskit.setup.repository.SetupRepository;
+import com.deskit.deskit.setup.repository.SetupRepository.SetupProductRow;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 홈 인기 상품/셋업 랭킹 엔진 (Redis sorted set)
+ *
+ * - products:sold / setups:sold       : 누적 판매 수량 (결제 +, 결제 취소 -)
+ * - products:trending / setups:trending : 시간 감쇠 점수. 판매 시점 가중치 2^((t - epoch) / half-life)를 더하므로
+ *   점수 비교만으로 "최근 판매가 더 큰" 순위가 된다. 취소는 반영하지 않고 야간 재구축에서 맞춘다.
+ * - 셋업 점수 = 구성 상품 판매 수량 합 (상품 판매 시 해당 상품을 포함한 셋업에도 더한다)
+ * - 판매 반영은 SalesOutboxRelay가 아웃박스 이벤트 단위로 호출하며, 이벤트 id로 중복 반영을 막는다.
+ *   반영한 id는 (epoch, id 구간(APPLIED_BUCKET_SIZE))별 set에 담는다. 릴레이가 지나간 구간과 지난 epoch는 더 쓰이지 않으므로 TTL로 사라진다.
+ *   (여러 노드가 SKIP LOCKED로 나눠 처리하고 IDENTITY 커밋 순서도 id 순서와 다를 수 있어 단일 최대 id로는 거를 수 없다)
+ *   반영 스크립트는 호출 시점의 epoch가 그대로일 때만 반영하므로, 재구축 교체 전후의 반영이 섞이지 않는다.
+ * - rebuild(): 주문 이력으로 전체를 다시 계산해서 누적 오차를 바로잡는다. (야간 + 기동 시 미구축이면)
+ *   재구축 전에는 epoch 키가 없으므로 판매 반영을 건너뛰고, 조회 측은 기존 SQL 집계를 사용한다.
+ */
+@Service
+public class PopularityService {
+
+  private static final Logger log = LoggerFactory.getLogger(PopularityService.class);
+
+  static final String KEY_PREFIX = "popularity:{home}:";
+  static final String PRODUCT_SOLD_KEY = KEY_PREFIX + "products:sold";
+  static final String PRODUCT_TRENDING_KEY = KEY_PREFIX + "products:trending";
+  static final String SETUP_SOLD_KEY = KEY_PREFIX + "setups:sold";
+  static final String SETUP_TRENDING_KEY = KEY_PREFIX + "setups:trending";
+  static final String EPOCH_KEY = KEY_PREFIX + "trending:epoch";
+  static final String APPLIED_KEY_PREFIX = KEY_PREFIX + "applied:";
+  static final long APPLIED_BUCKET_SIZE = 10_000;
+  private static final String REBUILD_LOCK_KEY = KEY_PREFIX + "rebuild-lock";
+  private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+  private static final String REBUILD_SUFFIX = ":rebuild";
+  // IDENTITY 커밋 순서가 id 순서와 다를 수 있어, 스냅샷 최대 id 아래로도 이만큼은 스냅샷에 보였는지 비교한다
+  static final long REPLAY_LOOKBACK_IDS = 1_000;
+  private static final Duration APPLIED_TTL = Duration.ofDays(2);
+  private static final int ZADD_CHUNK_SIZE = 1000;
+  // 트렌딩 재구축 범위 (반감기 14번이면 가중치 1/16384 미만)
+  private static final int TRENDING_WINDOW_HALF_LIVES = 14;
+
+  /*
+   * KEYS = [products:sold, products:trending, setups:sold, setups:trending, epoch, applied 구간 set...]
+   * ARGV[1] = applied TTL(초), ARGV[2] = 트렌딩 가중치, ARGV[3] = 가중치를 계산한 epoch
+   * 이벤트마다 [이벤트 id, applied 구간 set의 KEYS 위치, 부호, 상품 수 n, (상품 id, 수량) * n, 셋업 수 m, (셋업 id, 수량) * m]
+   * 그 사이 재구축으로 epoch가 바뀌었으면 아무것도 반영하지 않고 -1
+   */
+  static final DefaultRedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[5]) ~= ARGV[3] then return -1 end " +
+    "local weight = tonumber(ARGV[2]) " +
+    "local applied = 0 " +
+    "local i = 4 " +
+    "while i <= #ARGV do " +
+    "  local fresh = redis.call('SADD', KEYS[tonumber(ARGV[i + 1])], ARGV[i]) == 1 " +
+    "  local sign = tonumber(ARGV[i + 2]) " +
+    "  i = i + 3 " +
+    "  for k = 0, 1 do " +
+    "    local n = tonumber(ARGV[i]) " +
+    "    i = i + 1 " +
+    "    if fresh then " +
+    "      for j = 0, n - 1 do " +
+    "        local id = ARGV[i + j * 2] " +
+    "        local qty = tonumber(ARGV[i + j * 2 + 1]) " +
+    "        redis.call('ZINCRBY', KEYS[1 + k * 2], sign * qty, id) " +
+    "        if sign > 0 then redis.call('ZINCRBY', KEYS[2 + k * 2], qty * weight, id) end " +
+    "      end " +
+    "    end " +
+    "    i = i + n * 2 " +
+    "  end " +
+    "  if fresh then applied = applied + 1 end " +
+    "end " +
+    "for b = 6, #KEYS do redis.call('EXPIRE', KEYS[b], ARGV[1]) end " +
+    "return applied",
+    Long.class
+  );
+
+  /*
+   * KEYS[1..4] = 랭킹 키, KEYS[5..8] = 같은 순서의 재구축 임시 키, KEYS[9] = epoch, KEYS[10] = 재구축 락
+   * ARGV[1] = 새 epoch, ARGV[2] = 내 락 토큰
+   * 락을 잃었으면 교체하지 않고 0 (그 사이 다른 노드가 재구축 중)
+   */
+  static final DefaultRedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[10]) ~= ARGV[2] then return 0 end " +
+    "for k = 1, 4 do " +
+    "  if redis.call('EXISTS', KEYS[k + 4]) == 1 then redis.call('RENAME', KEYS[k + 4], KEYS[k]) " +
+    "  else redis.call('DEL', KEYS[k]) end " +
+    "end " +
+    "redis.call('SET', KEYS[9], ARGV[1]) " +
+    "return 1",
+    Long.class
+  );
+
+  // KEYS[1]=재구축 락, ARGV[1]=내 토큰
+  static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+    "return 0",
+    Long.class
+  );
+
+  private static final List<String> RANKING_KEYS =
+    List.of(PRODUCT_SOLD_KEY, PRODUCT_TRENDING_KEY, SETUP_SOLD_KEY, SETUP_TRENDING_KEY);
+
+  public enum Ranking {
+    SOLD,
+    TRENDING
+  }
+
+  /**
+   * @param eventId order_outbox.outbox_id
+   * @param sign    결제 +1, 결제 취소 -1
+   */
+  public record SoldEvent(Long eventId, int sign, Map<Long, Integer> quantityByProductId) {}
+
+  public record Ranked(Long id, long soldQty) {}
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final ProductRepository productRepository;
+  private final SetupRepository setupRepository;
+  private final OrderOutboxRepository orderOutboxRepository;
+  private final OrderItemRepository orderItemRepository;
+  private final TransactionTemplate snapshotTransaction;
+  private final long halfLifeMillis;
+
+  public PopularityService(RedisTemplate<String, String> redisTemplate,
+                           ProductRepository productRepository,
+                           SetupRepository setupRepository,
+                           OrderOutboxRepository orderOutboxRepository,
+                           OrderItemRepository orderItemRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${popularity.trending.half-life-hours:24}") long halfLifeHours) {
+    this.redisTemplate = redisTemplate;
+    this.productRepository = productRepository;
+    this.setupRepository = setupRepository;
+    this.orderOutboxRepository = orderOutboxRepository;
+    this.orderItemRepository = orderItemRepository;
+    // 재구축 집계와 미발행 아웃박스 조회를 한 스냅샷에서 읽는다
+    this.snapshotTransaction = new TransactionTemplate(transactionManager);
+    this.snapshotTransaction.setReadOnly(true);
+    this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.halfLifeMillis = Duration.ofHours(halfLifeHours).toMillis();
+  }
+
+  public boolean isBuilt() {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(EPOCH_KEY));
+  }
+
+  /**
+   * 판매 이벤트를 랭킹에 반영하고, 새로 반영된 이벤트 수를 돌려준다.
+   */
+  public int recordSales(List<SoldEvent> events) {
+    if (events.isEmpty()) {
+      return 0;
+    }
+    if (!isBuilt()) {
+      // 아직 재구축 전: 재구축이 주문 이력에서 함께 계산한다.
+      return 0;
+    }
+
+    Set<Long> productIds = new HashSet<>();
+    events.forEach(event -> productIds.addAll(event.quantityByProductId().keySet()));
+    Map<Long, List<Long>> setupIdsByProductId = productIds.isEmpty()
+      ? Map.of()
+      : setupRepository.findSetupProductsByProductIds(productIds).stream()
+        .collect(Collectors.groupingBy(SetupProductRow::getProductId,
+          Collectors.mapping(SetupProductRow::getSetupId, Collectors.toList())));
+
+    while (true) {
+      String epoch = redisTemplate.opsForValue().get(EPOCH_KEY);
+      if (epoch == null) {
+        return 0;
+      }
+      Long applied = record(events, setupIdsByProductId, epoch);
+      // -1: 읽은 뒤 재구축이 교체했다. 새 epoch로 다시 반영한다.
+      if (applied == null || applied >= 0) {
+        return applied != null ? applied.intValue() : 0;
+      }
+    }
+  }
+
+  private Long record(List<SoldEvent> events, Map<Long, List<Long>> setupIdsByProductId, String epoch) {
+    List<String> keys = new ArrayList<>(RANKING_KEYS);
+    keys.add(EPOCH_KEY);
+    Map<String, Integer> keyIndexByApplied = new HashMap<>();
+    List<String> args = new ArrayList<>();
+    args.add(String.valueOf(APPLIED_TTL.toSeconds()));
+    args.add(String.valueOf(trendingWeight(System.currentTimeMillis(), Long.parseLong(epoch))));
+    args.add(epoch);
+    for (SoldEvent event : events) {
+      int appliedIndex = keyIndexByApplied.computeIfAbsent(appliedKey(epoch, event.eventId()), key -> {
+        keys.add(key);
+        return keys.size();
+      });
+      args.add(String.valueOf(event.eventId()));
+      args.add(String.valueOf(appliedIndex));
+      args.add(String.valueOf(event.sign()));
+
+      Map<Long, Integer> quantityBySetupId = new LinkedHashMap<>();
+      event.quantityByProductId().forEach((productId, quantity) -> {
+        for (Long setupId : setupIdsByProductId.getOrDefault(productId, List.of())) {
+          quantityBySetupId.merge(setupId, quantity, Integer::sum);
+        }
+      });
+      appendScores(args, event.quantityByProductId());
+      appendScores(args, quantityBySetupId);
+    }
+    return redisTemplate.execute(RECORD_SCRIPT, keys, args.toArray());
+  }
+
+  /**
+   * 아웃박스 이벤트를 주문 라인으로 펼친다. (릴레이와 재구축 재반영이 같이 쓴다)
+   */
+  public static List<SoldEvent> toSoldEvents(List<OrderOutbox> outboxes, Map<Long, List<OrderItem>> itemsByOrderId) {
+    List<SoldEvent> events = new ArrayList<>(outboxes.size());
+    for (OrderOutbox outbox : outboxes) {
+      Map<Long, Integer> quantityByProductId = new LinkedHashMap<>();
+      for (OrderItem item : itemsByOrderId.getOrDefault(outbox.getOrderId(), List.of())) {
+        quantityByProductId.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+      }
+      events.add(new SoldEvent(outbox.getId(), outbox.getEventType().sign(), quantityByProductId));
+    }
+    return events;
+  }
+
+  public List<Ranked> topProducts(Ranking ranking, int limit) {
+    return top(ranking == Ranking.TRENDING ? PRODUCT_TRENDING_KEY : PRODUCT_SOLD_KEY, PRODUCT_SOLD_KEY, limit);
+  }
+
+  public List<Ranked> topSetups(Ranking ranking, int limit) {
+    return top(ranking == Ranking.TRENDING ? SETUP_TRENDING_KEY : SETUP_SOLD_KEY, SETUP_SOLD_KEY, limit);
+  }
+
+  /**
+   * 주문 이력으로 전체 랭킹을 다시 만든다. 임시 키에 채운 뒤 한 스크립트에서 RENAME + 새 epoch로 교체하므로
+   * 조회가 빈 랭킹을 보지 않는다.
+   *
+   * 주문 집계와 같은 스냅샷에서 아직 발행되지 않은 아웃박스 이벤트를 읽어, 새 epoch에 반영 완료로 표시한다.
+   * 스냅샷의 주문 상태에 이미 들어간 결제/취소를 릴레이가 나중에 한 번 더 반영하지 않게 하기 위해서다.
+   * 스냅샷에 보이지 않은(이후 커밋된) 이벤트는 교체 후 새 epoch로 다시 반영한다.
+   * 교체 전에 릴레이가 옛 랭킹에 반영한 몫은 RENAME으로 덮이고, 교체 후 릴레이가 반영한 몫은 새 epoch의 applied set으로 걸러진다.
+   *
+   * @return 다른 노드가 재구축 중이거나 도중에 락을 잃었으면 false
+   */
+  public boolean rebuild() {
+    String token = UUID.randomUUID().toString();
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, token, REBUILD_LOCK_TTL);
+    if (!Boolean.TRUE.equals(locked)) {
+      return false;
+    }
+    try {
+      return doRebuild(token);
+    } finally {
+      // 내 토큰일 때만 푼다. (TTL 만료 후 다른 노드가 잡은 락은 건드리지 않는다)
+      redisTemplate.execute(UNLOCK_SCRIPT, List.of(REBUILD_LOCK_KEY), token);
+    }
+  }
+
+  /**
+   * @param replayAfterId 이 id보다 큰 이벤트 중 visibleEventIds에 없는 것은 스냅샷 이후 커밋된 것이다
+   */
+  private record Snapshot(List<ProductSoldRow> sold, List<ProductRecentSoldRow> recent, List<Long> unpublishedEventIds,
+                          long replayAfterId, Set<Long> visibleEventIds) {}
+
+  private boolean doRebuild(String token) {
+    long startedAt = System.currentTimeMillis();
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime since = now.minus(Duration.ofMillis(halfLifeMillis * TRENDING_WINDOW_HALF_LIVES));
+
+    Snapshot snapshot = snapshotTransaction.execute(status -> {
+      Long maxId = orderOutboxRepository.findMaxId();
+      long replayAfterId = Math.max((maxId != null ? maxId : 0L) - REPLAY_LOOKBACK_IDS, 0L);
+      return new Snapshot(
+        productRepository.aggregateSoldQuantities(),
+        productRepository.aggregateRecentSoldQuantities(since, now),
+        orderOutboxRepository.findUnpublishedIds(),
+        replayAfterId,
+        new HashSet<>(orderOutboxRepository.findIdsAfter(replayAfterId))
+      );
+    });
+
+    Map<Long, Double> productSold = new HashMap<>();
+    for (ProductSoldRow row : snapshot.sold()) {
+      if (row.getSoldQty() != null && row.getSoldQty() > 0) {
+        productSold.put(row.getProductId(), row.getSoldQty().doubleValue());
+      }
+    }
+
+    // 새 epoch = 지금 → 지금 판매의 가중치가 1, 반감기마다 절반
+    Map<Long, Double> productTrending = new HashMap<>();
+    for (ProductRecentSoldRow row : snapshot.recent()) {
+      long hoursAgo = row.getHoursAgo() != null ? Math.max(row.getHoursAgo(), 0) : 0;
+      double weight = trendingWeight(startedAt - Duration.ofHours(hoursAgo).toMillis(), startedAt);
+      productTrending.merge(row.getProductId(), row.getSoldQty() * weight, Double::sum);
+    }
+
+    List<SetupProductRow> setupProducts = setupRepository.findAllSetupProducts();
+    String epoch = String.valueOf(startedAt);
+    // 새 epoch의 applied set은 교체 전까지 아무도 쓰지 않는다
+    markApplied(epoch, snapshot.unpublishedEventIds());
+    stage(PRODUCT_SOLD_KEY, productSold);
+    stage(PRODUCT_TRENDING_KEY, productTrending);
+    stage(SETUP_SOLD_KEY, sumBySetup(setupProducts, productSold));
+    stage(SETUP_TRENDING_KEY, sumBySetup(setupProducts, productTrending));
+
+    List<String> swapKeys = new ArrayList<>(RANKING_KEYS);
+    RANKING_KEYS.forEach(key -> swapKeys.add(key + REBUILD_SUFFIX));
+    swapKeys.add(EPOCH_KEY);
+    swapKeys.add(REBUILD_LOCK_KEY);
+    Long swapped = redisTemplate.execute(SWAP_SCRIPT, swapKeys, epoch, token);
+    if (swapped == null || swapped != 1) {
+      log.warn("popularity rebuild lost its lock before the swap, discarded");
+      return false;
+    }
+
+    int replayed = replayAfterSnapshot(snapshot);
+    log.info("popularity rebuilt: products={}, setups={}, replayed={}, took={}ms",
+      productSold.size(), setupProducts.size(), replayed, System.currentTimeMillis() - startedAt);
+    return true;
+  }
+
+  /**
+   * 스냅샷에 보이지 않던 이벤트를 새 epoch로 반영한다. 릴레이가 이미 새 epoch로 반영한 이벤트는 applied set이 거른다.
+   */
+  private int replayAfterSnapshot(Snapshot snapshot) {
+    List<OrderOutbox> missed = orderOutboxRepository.findAfter(snapshot.replayAfterId()).stream()
+      .filter(outbox -> !snapshot.visibleEventIds().contains(outbox.getId()))
+      .collect(Collectors.toList());
+    if (missed.isEmpty()) {
+      return 0;
+    }
+    List<Long> orderIds = missed.stream().map(OrderOutbox::getOrderId).distinct().collect(Collectors.toList());
+    Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrder_IdIn(orderIds).stream()
+      .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+    return recordSales(toSoldEvents(missed, itemsByOrderId));
+  }
+
+  static String appliedKey(String epoch, long eventId) {
+    return APPLIED_KEY_PREFIX + epoch + ":" + (eventId / APPLIED_BUCKET_SIZE);
+  }
+
+  private void markApplied(String epoch, List<Long> eventIds) {
+    Map<String, List<String>> idsByKey = new LinkedHashMap<>();
+    for (Long eventId : eventIds) {
+      idsByKey.computeIfAbsent(appliedKey(epoch, eventId), key -> new ArrayList<>()).add(String.valueOf(eventId));
+    }
+    idsByKey.forEach((key, ids) -> {
+      for (int from = 0; from < ids.size(); from += ZADD_CHUNK_SIZE) {
+        redisTemplate.opsForSet().add(key, ids.subList(from, Math.min(from + ZADD_CHUNK_SIZE, ids.size())).toArray(String[]::new));
+      }
+      redisTemplate.expire(key, APPLIED_TTL);
+    });
+  }
+
+  double trendingWeight(long atMillis, long epochMillis) {
+    return Math.pow(2, (double) (atMillis - epochMillis) / halfLifeMillis);
+  }
+
+  static Map<Long, Double> sumBySetup(Collection<SetupProductRow> setupProducts, Map<Long, Double> productScores) {
+    Map<Long, Double> scores = new HashMap<>();
+    for (SetupProductRow row : setupProducts) {
+      Double score = productScores.get(row.getProductId());
+      if (score != null) {
+        scores.merge(row.getSetupId(), score, Double::sum);
+      }
+    }
+    return scores;
+  }
+
+  private List<Ranked> top(String rankingKey, String soldKey, int limit) {
+    Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(rankingKey, 0, limit - 1);
+    if (tuples == null || tuples.isEmpty()) {
+      return List.of();
+    }
+
+    List<TypedTuple<String>> ranked = tuples.stream()
+      .filter(tuple -> tuple.getScore() != null && tuple.getScore() > 0)
+      .collect(Collectors.toList());
+    List<Double> soldScores;
+    if (rankingKey.equals(soldKey)) {
+      soldScores = ranked.stream().map(TypedTuple::getScore).collect(Collectors.toList());
+    } else {
+      soldScores = ranked.isEmpty()
+        ? List.of()
+        : redisTemplate.opsForZSet().score(soldKey, ranked.stream().map(TypedTuple::getValue).toArray());
+    }
+
+    List<Ranked> result = new ArrayList<>(ranked.size());
+    for (int i = 0; i < ranked.size(); i++) {
+      Double sold = soldScores != null && i < soldScores.size() ? soldScores.get(i) : null;
+      result.add(new Ranked(Long.valueOf(ranked.get(i).getValue()), sold != null ? Math.round(sold) : 0L));
+    }
+    return result;
+  }
+
+  /**
+   * 재구축 임시 키에 채운다. 점수가 없으면 임시 키가 없고, 교체 시 랭킹 키를 지운다.
+   */
+  private void stage(String key, Map<Long, Double> scores) {
+    String staging = key + REBUILD_SUFFIX;
+    redisTemplate.delete(staging);
+    Set<TypedTuple<String>> chunk = new HashSet<>();
+    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+      chunk.add(new DefaultTypedTuple<>(String.valueOf(entry.getKey()), entry.getValue()));
+      if (chunk.size() == ZADD_CHUNK_SIZE) {
+        redisTemplate.opsForZSet().add(staging, chunk);
+        chunk = new HashSet<>();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      redisTemplate.opsForZSet().add(staging, chunk);
+    }
+  }
+
+  private static void appendScores(List<String> args, Map<Long, Integer> quantities) {
+    args.add(String.valueOf(quantities.size()));
+    quantities.forEach((id, quantity) -> {
+      args.add(String.valueOf(id));
+      args.add(String.valueOf(quantity));
+    });
+  }
+}
@@ -8,7 +8,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "live_chat")
+@Table(name = "live_chat", indexes = @Index(name = "idx_live_chat_broadcast_sent", columnList = "broadcast_id, send_lchat"))
 @Getter
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
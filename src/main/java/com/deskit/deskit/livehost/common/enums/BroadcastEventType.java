@@ -0,0 +1,22 @@
+package com.deskit.deskit.livehost.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@RequiredArgsConstructor
+public enum BroadcastEventType {
+    READY(-10, "방송 대기 전환"),          // 예약 10분 전
+    NO_SHOW(10, "미시작 예약 취소"),        // 예약 10분 후까지 미시작
+    ENDING_SOON(29, "종료 1분 전 알림"),    // 예약 종료 1분 전
+    SCHEDULED_END(30, "예약 종료");         // 예약 시간 + 30분
+
+    private final long offsetMinutes; // scheduledAt 기준 발화 시점
+    private final String description;
+
+    public LocalDateTime dueAt(LocalDateTime scheduledAt) {
+        return scheduledAt.plusMinutes(offsetMinutes);
+    }
+}
@@ -0,0 +1,35 @@
+package com.deskit.deskit.livehost.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ImageVariant {
+
+    // 목록 카드용
+    CARD("card", 270, 480),
+
+    // 상세/플레이어 대기화면용
+    DETAIL("detail", 540, 960),
+
+    // 고해상도(2x) 화면용
+    RETINA("retina", 1080, 1920);
+
+    private final String suffix;
+    private final int thumbnailWidth;  // THUMBNAIL(9:16) 가로 px
+    private final int waitScreenWidth; // WAIT_SCREEN(16:9) 가로 px
+
+    public int widthFor(UploadType type) {
+        return type == UploadType.THUMBNAIL ? thumbnailWidth : waitScreenWidth;
+    }
+
+    // seller_1/thumbnail/uuid.jpg → seller_1/thumbnail/uuid_card.jpg
+    public String keyFor(String originalKey) {
+        int dot = originalKey.lastIndexOf('.');
+        if (dot < 0 || dot < originalKey.lastIndexOf('/')) {
+            return originalKey + "_" + suffix;
+        }
+        return originalKey.substring(0, dot) + "_" + suffix + originalKey.substring(dot);
+    }
+}
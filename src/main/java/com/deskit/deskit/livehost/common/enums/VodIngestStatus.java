@@ -0,0 +1,19 @@
+package com.deskit.deskit.livehost.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum VodIngestStatus {
+    PENDING("대기"),
+    RUNNING("처리중"),
+    SUCCEEDED("완료"),
+    FAILED("실패");
+
+    private final String description;
+
+    public boolean isInProgress() {
+        return this == PENDING || this == RUNNING;
+    }
+}
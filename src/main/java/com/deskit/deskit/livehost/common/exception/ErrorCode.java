@@ -35,6 +35,7 @@ public enum ErrorCode {
     BROADCAST_STOPPED_BY_ADMIN(HttpStatus.FORBIDDEN, "B003", "관리자에 의해 중단된 방송입니다."),
     BROADCAST_INVALID_TRANSITION(HttpStatus.BAD_REQUEST, "B006", "방송 상태 전환이 올바르지 않습니다."),
     BROADCAST_ALREADY_SANCTIONED(HttpStatus.FORBIDDEN, "B007", "제재된 시청자는 이용할 수 없습니다."),
+    BROADCAST_JOIN_THROTTLED(HttpStatus.TOO_MANY_REQUESTS, "B008", "입장 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
     // 예약 관련
     RESERVATION_LIMIT_EXCEEDED(HttpStatus.BAD_REQUEST, "B004", "예약은 최대 7개까지만 가능합니다."),
@@ -59,6 +60,7 @@ public enum ErrorCode {
     FILE_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "F003", "파일 삭제에 실패했습니다."),
     FILE_SIZE_EXCEEDED(HttpStatus.BAD_REQUEST, "F004", "파일 크기가 제한을 초과했습니다."),
     INVALID_IMAGE_RATIO(HttpStatus.BAD_REQUEST, "F005", "이미지 비율이 올바르지 않습니다."),
+    FILE_NOT_UPLOADED(HttpStatus.BAD_REQUEST, "F006", "업로드된 파일을 찾을 수 없습니다."),
 
     // 11. 시스템 에러
     TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "SY001", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
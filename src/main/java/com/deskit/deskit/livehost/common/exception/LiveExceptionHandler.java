@@ -26,6 +26,16 @@ public class LiveExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(ApiResult.error(e.getErrorCode()));
     }
 
+    // 1-1. 재시도 가능한 과부하 에러 (429 + Retry-After)
+    @ExceptionHandler(RetryableBusinessException.class)
+    protected ResponseEntity<ApiResult<?>> handleRetryableBusinessException(RetryableBusinessException e) {
+        log.warn("[Live Error] Throttled: {}", e.getMessage());
+        return ResponseEntity
+                .status(e.getErrorCode().getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResult.error(e.getErrorCode()));
+    }
+
     // 2. 입력값 유효성 검사 실패 (@Valid)
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
@@ -0,0 +1,14 @@
+package com.deskit.deskit.livehost.common.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RetryableBusinessException extends BusinessException { // 잠시 후 재시도하면 되는 예외 (Retry-After 헤더 포함)
+
+    private final long retryAfterSeconds;
+
+    public RetryableBusinessException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.BroadcastRepositoryCustom;
+import com.deskit.deskit.livehost.service.BroadcastEventQueue;
+import com.deskit.deskit.livehost.service.BroadcastService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BroadcastEventScheduler {
+
+    private static final int CLAIM_BATCH_SIZE = 100;
+
+    private final BroadcastEventQueue broadcastEventQueue;
+    private final BroadcastService broadcastService;
+    private final BroadcastRepository broadcastRepository;
+
+    // 1초 간격으로 도래한 이벤트를 선점해서 처리 (선점은 Lua로 원자 처리되어 노드 간 중복 없음)
+    // 처리 트랜잭션이 커밋된 뒤에만 ack하고, 실패한 이벤트는 처리 기한이 지나면 다시 선점된다
+    @Scheduled(fixedDelay = 1000)
+    public void dispatchDueEvents() {
+        List<BroadcastEventQueue.DueEvent> events;
+        do {
+            events = broadcastEventQueue.claimDue(LocalDateTime.now(), CLAIM_BATCH_SIZE);
+            for (BroadcastEventQueue.DueEvent event : events) {
+                try {
+                    broadcastService.handleScheduledEvent(event.type(), event.broadcastId());
+                    broadcastEventQueue.ack(event);
+                } catch (Exception e) {
+                    log.error("방송 이벤트 처리 실패: type={}, id={}, msg={}", event.type(), event.broadcastId(), e.getMessage());
+                }
+            }
+        } while (events.size() == CLAIM_BATCH_SIZE);
+    }
+
+    // 기동 시 진행 예정 방송을 큐에 다시 등록 (member가 고정이라 중복 등록되지 않음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerUpcomingBroadcasts() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<BroadcastRepositoryCustom.BroadcastScheduleInfo> schedules = broadcastRepository.findBroadcastSchedules(
+                    now.minusMinutes(30),
+                    now.plusYears(1),
+                    List.of(BroadcastStatus.RESERVED, BroadcastStatus.READY, BroadcastStatus.ON_AIR)
+            );
+            schedules.forEach(schedule -> broadcastEventQueue.register(schedule.broadcastId(), schedule.scheduledAt()));
+            log.info("방송 이벤트 큐 등록 완료: count={}", schedules.size());
+        } catch (Exception e) {
+            log.error("방송 이벤트 큐 등록 실패: {}", e.getMessage());
+        }
+    }
+}
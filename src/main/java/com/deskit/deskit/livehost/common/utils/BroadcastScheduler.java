@@ -1,6 +1,8 @@
 package com.deskit.deskit.livehost.common.utils;
 
 import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseLostException;
 import com.deskit.deskit.livehost.entity.Broadcast;
 import com.deskit.deskit.livehost.repository.BroadcastRepository;
 import com.deskit.deskit.livehost.service.BroadcastService;
@@ -9,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,19 +20,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BroadcastScheduler {
 
+    private static final String AUTO_CLOSE_JOB = "broadcast-auto-close";
+    private static final String SCHEDULE_SYNC_JOB = "broadcast-schedule-sync";
+
     private final BroadcastRepository broadcastRepository;
     private final BroadcastService broadcastService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
 
     @Scheduled(cron = "0 * * * * *")
     public void autoClose() {
+        schedulerLeaseManager.runExclusively(AUTO_CLOSE_JOB, Duration.ofMinutes(1), this::closeOverdueBroadcasts);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void syncBroadcastSchedules() {
+        schedulerLeaseManager.runExclusively(SCHEDULE_SYNC_JOB, Duration.ofMinutes(1), broadcastService::syncBroadcastSchedules);
+    }
+
+    private void closeOverdueBroadcasts(LeaseFence fence) {
         LocalDateTime threshold = LocalDateTime.now().minusMinutes(30);
 
         List<Broadcast> targets = broadcastRepository.findByStatusAndStartedAtBefore(BroadcastStatus.ON_AIR, threshold);
 
         for (Broadcast broadcast : targets) {
+            if (!schedulerLeaseManager.isLeaseValid(AUTO_CLOSE_JOB)) {
+                log.warn("lease 상실로 자동 종료 중단: 남은 대상은 다음 실행에서 처리");
+                return;
+            }
             try {
                 log.info("방송 시간(30분) 초과로 자동 종료: id={}", broadcast.getBroadcastId());
-                broadcastService.endBroadcast(broadcast.getSeller().getSellerId(), broadcast.getBroadcastId());
+                broadcastService.autoCloseBroadcast(broadcast.getBroadcastId(), fence);
+            } catch (LeaseLostException e) {
+                throw e;
             } catch (Exception e) {
                 log.error("자동 종료 실패: id={}, msg={}", broadcast.getBroadcastId(), e.getMessage());
             }
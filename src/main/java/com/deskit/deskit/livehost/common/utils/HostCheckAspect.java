@@ -3,8 +3,8 @@ package com.deskit.deskit.livehost.common.utils;
 import com.deskit.deskit.account.entity.Seller;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
-import com.deskit.deskit.livehost.entity.Broadcast;
-import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.service.BroadcastSnapshot;
+import com.deskit.deskit.livehost.service.BroadcastSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
@@ -15,7 +15,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class HostCheckAspect {
-    private final BroadcastRepository broadcastRepository;
+    private final BroadcastSnapshotCache broadcastSnapshotCache;
     private final LiveAuthUtils liveAuthUtils;
 
     @Before("@annotation(com.deskit.deskit.livehost.common.utils.HostCheck)")
@@ -36,13 +36,12 @@ public class HostCheckAspect {
             throw new BusinessException(ErrorCode.BROADCAST_NOT_FOUND);
         }
 
-        // 3. 방송 조회
-        Broadcast broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        // 3. 방송 조회 (엔티티 대신 상태/소유자 스냅샷)
+        BroadcastSnapshot broadcast = broadcastSnapshotCache.get(broadcastId);
 
         // 4. 권한 검증: 방송의 주인(Seller)과 현재 로그인한 Seller가 같은지 확인
         // Seller 엔티티의 ID getter 이름이 getSellerId()인지 getId()인지 확인 후 일치시켜 주세요.
-        if (!broadcast.getSeller().getSellerId().equals(seller.getSellerId())) {
+        if (!broadcast.isOwnedBy(seller.getSellerId())) {
             throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
         }
     }
@@ -0,0 +1,98 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 이미지 전체를 디코딩하지 않고 헤더만 읽어 가로/세로 크기를 구한다. (PNG IHDR, JPEG SOFn)
+ * 지원하지 않는 형식이거나 헤더가 깨졌으면 null.
+ */
+public final class ImageHeaderProbe {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private ImageHeaderProbe() {
+    }
+
+    public record ImageSize(int width, int height) {
+        public double ratio() {
+            return (double) width / height;
+        }
+    }
+
+    public static ImageSize probe(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        try {
+            int first = in.readUnsignedByte();
+            int second = in.readUnsignedByte();
+            if (first == 0xFF && second == 0xD8) {
+                return probeJpeg(in);
+            }
+            if (first == (PNG_SIGNATURE[0] & 0xFF) && second == PNG_SIGNATURE[1]) {
+                return probePng(in);
+            }
+            return null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // 시그니처 8바이트 뒤 첫 청크는 반드시 IHDR (length 13, width, height)
+    private static ImageSize probePng(DataInputStream in) throws IOException {
+        for (int i = 2; i < PNG_SIGNATURE.length; i++) {
+            if (in.readUnsignedByte() != (PNG_SIGNATURE[i] & 0xFF)) {
+                return null;
+            }
+        }
+        int length = in.readInt();
+        int type = in.readInt();
+        if (length != 13 || type != 0x49484452) { // "IHDR"
+            return null;
+        }
+        return sizeOf(in.readInt(), in.readInt());
+    }
+
+    // SOI 이후 세그먼트를 길이만큼 건너뛰며 SOFn(프레임 헤더)을 찾는다. EXIF 썸네일 등 큰 APPn도 읽지 않고 skip.
+    private static ImageSize probeJpeg(DataInputStream in) throws IOException {
+        while (true) {
+            int marker = in.readUnsignedByte();
+            if (marker != 0xFF) {
+                return null;
+            }
+            while (marker == 0xFF) {
+                marker = in.readUnsignedByte(); // fill byte
+            }
+
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                continue; // 길이 없는 마커
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                return null; // SOF 없이 EOI/SOS
+            }
+
+            int length = in.readUnsignedShort();
+            if (length < 2) {
+                return null;
+            }
+            if (isStartOfFrame(marker)) {
+                in.readUnsignedByte(); // precision
+                int height = in.readUnsignedShort();
+                int width = in.readUnsignedShort();
+                return sizeOf(width, height);
+            }
+            in.skipNBytes(length - 2);
+        }
+    }
+
+    // SOF0~SOF15 중 DHT(C4), JPG(C8), DAC(CC) 제외
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private static ImageSize sizeOf(int width, int height) {
+        return width > 0 && height > 0 ? new ImageSize(width, height) : null;
+    }
+}
@@ -0,0 +1,302 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MP4 faststart 변환: 파일 끝에 있는 moov 박스를 첫 mdat 앞으로 옮기고 stco/co64 청크 오프셋을 보정한다.
+ * moov만 메모리에 올리고 mdat 등 나머지는 FileChannel.transferTo로 복사한다. (메모리 상한 = MAX_MOOV_SIZE)
+ * 32비트 stco 오프셋이 넘치면 해당 박스를 co64로 승격한다.
+ */
+@Slf4j
+public final class Mp4Faststart {
+
+    static final int MAX_MOOV_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_RELOCATE_PASSES = 8;
+    private static final long UINT32_MAX = 0xFFFFFFFFL;
+
+    // stco/co64까지 내려가는 컨테이너 경로 (moov > trak > mdia > minf > stbl)
+    private static final Set<String> CONTAINERS = Set.of("trak", "mdia", "minf", "stbl");
+
+    private Mp4Faststart() {
+    }
+
+    record Box(String type, long offset, long size) {
+        long end() {
+            return offset + size;
+        }
+    }
+
+    /**
+     * source를 faststart 구조로 target에 쓴다.
+     *
+     * @return 변환했으면 true, 이미 faststart이거나 지원하지 않는 구조라 그대로 써야 하면 false (target 미생성)
+     */
+    public static boolean rewrite(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            List<Box> boxes;
+            try {
+                boxes = readTopLevelBoxes(in);
+            } catch (IllegalArgumentException e) {
+                log.warn("faststart 생략 - MP4 구조 아님: file={}, error={}", source, e.getMessage());
+                return false;
+            }
+
+            Box moov = find(boxes, "moov");
+            Box mdat = find(boxes, "mdat");
+            if (moov == null || mdat == null) {
+                log.warn("faststart 생략 - moov/mdat 없음: {}", source);
+                return false;
+            }
+            if (moov.offset() < mdat.offset()) {
+                return false;
+            }
+            if (find(boxes, "moof") != null) {
+                log.info("faststart 생략 - fragmented MP4: {}", source);
+                return false;
+            }
+            if (moov.size() > MAX_MOOV_SIZE) {
+                log.warn("faststart 생략 - moov 크기 초과: size={}, file={}", moov.size(), source);
+                return false;
+            }
+
+            ByteBuffer moovBuffer = ByteBuffer.allocate((int) moov.size());
+            readFully(in, moovBuffer, moov.offset());
+            byte[] relocated;
+            try {
+                relocated = relocateMoov(moovBuffer.array(), mdat.offset(), moov.offset(), moov.end());
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                log.warn("faststart 생략 - moov 파싱 실패: file={}, error={}", source, e.getMessage());
+                return false;
+            }
+            if (relocated == null) {
+                log.warn("faststart 생략 - 지원하지 않는 moov 구조: {}", source);
+                return false;
+            }
+
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                // [mdat 앞 박스들] [moov] [mdat ~ 기존 moov 직전] [기존 moov 이후]
+                transfer(in, 0, mdat.offset(), out);
+                ByteBuffer moovOut = ByteBuffer.wrap(relocated);
+                while (moovOut.hasRemaining()) {
+                    out.write(moovOut);
+                }
+                transfer(in, mdat.offset(), moov.offset() - mdat.offset(), out);
+                transfer(in, moov.end(), in.size() - moov.end(), out);
+                out.force(false);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * moov를 mdatStart 위치로 옮겼을 때의 새 moov 바이트. 지원하지 않는 구조(cmov 등)면 null.
+     * co64 승격으로 moov가 커지면 이동 거리도 달라지므로 크기가 고정될 때까지 다시 계산한다.
+     */
+    static byte[] relocateMoov(byte[] moov, long mdatStart, long moovStart, long moovEnd) {
+        if (containsChild(moov, "cmov")) {
+            return null;
+        }
+
+        long newSize = moov.length;
+        for (int pass = 0; pass < MAX_RELOCATE_PASSES; pass++) {
+            long moved = newSize;
+            long tailShift = newSize - moov.length;
+            Relocation relocation = offset -> {
+                if (offset >= mdatStart && offset < moovStart) {
+                    return offset + moved;
+                }
+                if (offset >= moovEnd) {
+                    return offset + tailShift;
+                }
+                return offset;
+            };
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream(moov.length);
+            ByteBuffer buffer = ByteBuffer.wrap(moov);
+            int headerSize = headerSize(buffer, 0);
+            writeChildren(buffer, headerSize, moov.length, relocation, body);
+            byte[] rebuilt = withHeader("moov", body);
+            if (rebuilt.length == newSize) {
+                return rebuilt;
+            }
+            newSize = rebuilt.length;
+        }
+        throw new IllegalStateException("moov 재배치 크기가 수렴하지 않음");
+    }
+
+    @FunctionalInterface
+    private interface Relocation {
+        long apply(long offset);
+    }
+
+    private static void writeChildren(ByteBuffer moov, int start, int end, Relocation relocation, ByteArrayOutputStream out) {
+        int position = start;
+        while (position + 8 <= end) {
+            long size = Integer.toUnsignedLong(moov.getInt(position));
+            String type = type(moov, position + 4);
+            int headerSize = 8;
+            if (size == 1) {
+                size = moov.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = end - position;
+            }
+            if (size < headerSize || position + size > end) {
+                throw new IllegalArgumentException("잘못된 박스 크기: type=" + type + ", size=" + size);
+            }
+            int boxEnd = (int) (position + size);
+
+            if (CONTAINERS.contains(type)) {
+                ByteArrayOutputStream child = new ByteArrayOutputStream((int) size);
+                writeChildren(moov, position + headerSize, boxEnd, relocation, child);
+                out.writeBytes(withHeader(type, child));
+            } else if ("stco".equals(type) || "co64".equals(type)) {
+                writeChunkOffsets(moov, position + headerSize, boxEnd, "co64".equals(type), relocation, out);
+            } else {
+                out.write(moov.array(), position, (int) size);
+            }
+            position = boxEnd;
+        }
+    }
+
+    private static void writeChunkOffsets(ByteBuffer moov, int payload, int boxEnd, boolean wide, Relocation relocation,
+                                          ByteArrayOutputStream out) {
+        int versionAndFlags = moov.getInt(payload);
+        int count = moov.getInt(payload + 4);
+        if (count < 0 || payload + 8 + (long) count * (wide ? 8 : 4) > boxEnd) {
+            throw new IllegalArgumentException("잘못된 청크 오프셋 개수: " + count);
+        }
+        long[] offsets = new long[count];
+        boolean promote = false;
+        for (int i = 0; i < count; i++) {
+            long original = wide
+                    ? moov.getLong(payload + 8 + i * 8)
+                    : Integer.toUnsignedLong(moov.getInt(payload + 8 + i * 4));
+            offsets[i] = relocation.apply(original);
+            promote |= offsets[i] > UINT32_MAX;
+        }
+
+        boolean writeWide = wide || promote;
+        ByteBuffer box = ByteBuffer.allocate(16 + count * (writeWide ? 8 : 4));
+        box.putInt(box.capacity());
+        box.put((writeWide ? "co64" : "stco").getBytes(StandardCharsets.US_ASCII));
+        box.putInt(versionAndFlags);
+        box.putInt(count);
+        for (long offset : offsets) {
+            if (writeWide) {
+                box.putLong(offset);
+            } else {
+                box.putInt((int) offset);
+            }
+        }
+        out.writeBytes(box.array());
+    }
+
+    static List<Box> readTopLevelBoxes(FileChannel in) throws IOException {
+        List<Box> boxes = new ArrayList<>();
+        long fileSize = in.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(16);
+        while (position + 8 <= fileSize) {
+            header.clear().limit(8);
+            readFully(in, header, position);
+            long size = Integer.toUnsignedLong(header.getInt(0));
+            String type = type(header, 4);
+            if (size == 1) {
+                header.clear().limit(8);
+                readFully(in, header, position + 8);
+                size = header.getLong(0);
+            } else if (size == 0) {
+                size = fileSize - position;
+            }
+            if (size < 8 || position + size > fileSize) {
+                throw new IllegalArgumentException("잘못된 MP4 박스: type=" + type + ", offset=" + position + ", size=" + size);
+            }
+            boxes.add(new Box(type, position, size));
+            position += size;
+        }
+        return boxes;
+    }
+
+    private static Box find(List<Box> boxes, String type) {
+        for (Box box : boxes) {
+            if (box.type().equals(type)) {
+                return box;
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsChild(byte[] moov, String childType) {
+        ByteBuffer buffer = ByteBuffer.wrap(moov);
+        int position = headerSize(buffer, 0);
+        while (position + 8 <= moov.length) {
+            long size = Integer.toUnsignedLong(buffer.getInt(position));
+            if (childType.equals(type(buffer, position + 4))) {
+                return true;
+            }
+            if (size == 1) {
+                size = buffer.getLong(position + 8);
+            } else if (size == 0) {
+                break;
+            }
+            if (size < 8) {
+                break;
+            }
+            position += (int) size;
+        }
+        return false;
+    }
+
+    private static int headerSize(ByteBuffer buffer, int position) {
+        return buffer.getInt(position) == 1 ? 16 : 8;
+    }
+
+    private static byte[] withHeader(String type, ByteArrayOutputStream body) {
+        ByteBuffer box = ByteBuffer.allocate(8 + body.size());
+        box.putInt(box.capacity());
+        box.put(type.getBytes(StandardCharsets.US_ASCII));
+        box.put(body.toByteArray());
+        return box.array();
+    }
+
+    private static String type(ByteBuffer buffer, int position) {
+        byte[] type = new byte[4];
+        buffer.get(position, type);
+        return new String(type, StandardCharsets.US_ASCII);
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("MP4가 예상보다 짧음: offset=" + offset);
+            }
+            offset += read;
+        }
+    }
+
+    private static void transfer(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        long sent = 0;
+        while (sent < count) {
+            long n = in.transferTo(position + sent, count - sent, out);
+            if (n <= 0) {
+                throw new IOException("MP4 복사 중단: offset=" + (position + sent));
+            }
+            sent += n;
+        }
+    }
+}
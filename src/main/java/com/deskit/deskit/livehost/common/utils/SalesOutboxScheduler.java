@@ -0,0 +1,59 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.service.SalesOutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 아웃박스 릴레이 폴링. 선점은 SKIP LOCKED로 하므로 모든 노드에서 돌아도 된다.
+ * 발행 완료 이벤트 정리는 한 노드에서만 돈다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesOutboxScheduler {
+
+    private static final int RELAY_BATCH_SIZE = 500;
+    private static final String PURGE_JOB = "order-outbox-purge";
+    private static final int PURGE_BATCH_SIZE = 1000;
+    // 재처리/장애 분석용으로 남겨 두는 기간
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final SalesOutboxRelay salesOutboxRelay;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    // 1초 간격, 밀린 이벤트가 있으면 비울 때까지 연속 처리
+    @Scheduled(fixedDelay = 1000)
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = salesOutboxRelay.relay(RELAY_BATCH_SIZE);
+            } while (relayed == RELAY_BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("매출 아웃박스 릴레이 실패: {}", e.getMessage());
+        }
+    }
+
+    // 매일 04:30, 배치 단위로 나눠 지워서 한 트랜잭션이 커지지 않게 한다
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgePublished() {
+        schedulerLeaseManager.runExclusively(PURGE_JOB, Duration.ofHours(1), fence -> {
+            LocalDateTime before = LocalDateTime.now().minus(RETENTION);
+            int total = 0;
+            int deleted;
+            do {
+                deleted = salesOutboxRelay.purgePublished(before, PURGE_BATCH_SIZE, fence);
+                total += deleted;
+            } while (deleted == PURGE_BATCH_SIZE);
+            if (total > 0) {
+                log.info("발행 완료 아웃박스 정리: {}건", total);
+            }
+        });
+    }
+}
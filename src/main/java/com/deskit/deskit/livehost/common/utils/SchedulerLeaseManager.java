@@ -0,0 +1,166 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 스케줄 작업을 클러스터에서 한 노드만 실행하도록 조정한다.
+ *
+ * - lease: 실행 1회 동안만 잡는 Redisson RLock (leaseTime 미지정 → watchdog이 30초 단위로 자동 연장, 노드 다운 시 만료)
+ * - tick: 주기 번호를 노드 시계가 아니라 Redis TIME으로 스크립트 안에서 계산하고, 마지막으로 실행한 주기보다 클 때만 실행
+ * - fencing: 실행할 때마다 job별로 INCR한 토큰을 발급해 job에 넘긴다.
+ *   job은 DB 쓰기 트랜잭션 안에서 SchedulerFenceService.validate로 토큰을 기록/비교하므로,
+ *   lease를 잃은 옛 실행의 늦은 쓰기는 새 실행이 한 번이라도 쓴 뒤에는 롤백된다.
+ * - failover: 실행 노드가 이전 실행과 달라지면 scheduler.lease.failover로 센다.
+ *
+ * isLeaseValid()는 외부 부수효과(세션 종료 등)처럼 DB로 막을 수 없는 쓰기 직전에 lease/토큰을 다시 확인하는 용도다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLeaseManager {
+
+    private static final String LEASE_KEY_PREFIX = "scheduler:lease:";
+    private static final String TICK_KEY_PREFIX = "scheduler:tick:";
+    private static final String FENCE_KEY_PREFIX = "scheduler:fence:";
+    private static final String HOLDER_KEY_PREFIX = "scheduler:holder:";
+
+    /**
+     * KEYS[1]=마지막 실행 주기, KEYS[2]=fencing 토큰, KEYS[3]=마지막 실행 노드
+     * ARGV[1]=주기(ms), ARGV[2]=노드 ID
+     * 이번 주기를 이미 실행했으면 {'0', ''}, 아니면 {새 토큰, 이전 실행 노드}
+     */
+    static final String ACQUIRE_SCRIPT =
+            "local now = redis.call('TIME') " +
+            "local nowMillis = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000) " +
+            "local tick = math.floor(nowMillis / tonumber(ARGV[1])) " +
+            "local last = tonumber(redis.call('GET', KEYS[1]) or '-1') " +
+            "if last >= tick then return {'0', ''} end " +
+            "redis.call('SET', KEYS[1], string.format('%d', tick), 'PX', tonumber(ARGV[1]) * 2) " +
+            "local fence = redis.call('INCR', KEYS[2]) " +
+            "local previous = redis.call('GET', KEYS[3]) or '' " +
+            "redis.call('SET', KEYS[3], ARGV[2]) " +
+            "return {tostring(fence), previous}";
+
+    /**
+     * 한 번의 실행에 발급된 fencing 토큰
+     */
+    public record LeaseFence(String jobName, long token) {
+    }
+
+    /**
+     * 더 새로운 실행이 이미 쓰기를 시작해서 이 실행의 쓰기를 거부할 때
+     */
+    public static class LeaseLostException extends RuntimeException {
+
+        public LeaseLostException(LeaseFence fence) {
+            super("scheduler lease lost: job=" + fence.jobName() + ", fence=" + fence.token());
+        }
+    }
+
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final ThreadLocal<LeaseFence> currentFence = new ThreadLocal<>();
+
+    /**
+     * DB 쓰기가 없는 job (외부 저장소 정리 등 두 번 실행돼도 결과가 같은 작업)
+     */
+    public boolean runExclusively(String jobName, Duration tickInterval, Runnable job) {
+        return runExclusively(jobName, tickInterval, (Consumer<LeaseFence>) fence -> job.run());
+    }
+
+    /**
+     * lease와 주기를 모두 얻은 경우에만 job을 실행한다. job은 받은 토큰을 쓰기 트랜잭션에서 검증해야 한다.
+     *
+     * @return 이 노드에서 실행했으면 true
+     */
+    public boolean runExclusively(String jobName, Duration tickInterval, Consumer<LeaseFence> job) {
+        RLock lease = redissonClient.getLock(LEASE_KEY_PREFIX + jobName);
+        if (!lease.tryLock()) {
+            skip(jobName, "lease_held");
+            return false;
+        }
+
+        try {
+            List<Object> acquired = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    ACQUIRE_SCRIPT,
+                    RScript.ReturnType.MULTI,
+                    List.<Object>of(TICK_KEY_PREFIX + jobName, FENCE_KEY_PREFIX + jobName, HOLDER_KEY_PREFIX + jobName),
+                    String.valueOf(tickInterval.toMillis()), nodeId
+            );
+            long token = Long.parseLong(acquired.get(0).toString());
+            if (token == 0) {
+                skip(jobName, "tick_done");
+                return false;
+            }
+            recordFailover(jobName, acquired.get(1).toString());
+            meterRegistry.counter("scheduler.lease.acquired", "job", jobName).increment();
+
+            LeaseFence fence = new LeaseFence(jobName, token);
+            currentFence.set(fence);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                job.accept(fence);
+            } finally {
+                sample.stop(meterRegistry.timer("scheduler.job.duration", "job", jobName));
+            }
+            return true;
+        } catch (LeaseLostException e) {
+            meterRegistry.counter("scheduler.lease.fenced", "job", jobName).increment();
+            log.warn("새 실행이 이미 쓰기를 시작해 중단: job={}, node={}, msg={}", jobName, nodeId, e.getMessage());
+            return false;
+        } catch (Exception e) {
+            meterRegistry.counter("scheduler.job.failed", "job", jobName).increment();
+            log.error("스케줄 작업 실패: job={}, node={}, msg={}", jobName, nodeId, e.getMessage());
+            return false;
+        } finally {
+            currentFence.remove();
+            if (lease.isHeldByCurrentThread()) {
+                lease.unlock();
+            }
+        }
+    }
+
+    /**
+     * 현재 스레드가 아직 해당 job의 lease를 잡고 있고, 그 뒤로 새 토큰이 발급되지 않았는지 Redis에서 확인한다.
+     * runExclusively로 실행 중인 job 안에서만 true가 될 수 있다.
+     */
+    public boolean isLeaseValid(String jobName) {
+        LeaseFence fence = currentFence.get();
+        boolean valid = fence != null
+                && fence.jobName().equals(jobName)
+                && redissonClient.getLock(LEASE_KEY_PREFIX + jobName).isHeldByCurrentThread()
+                && redissonClient.getAtomicLong(FENCE_KEY_PREFIX + jobName).get() == fence.token();
+        if (!valid) {
+            meterRegistry.counter("scheduler.lease.lost", "job", jobName).increment();
+            log.warn("스케줄 lease 상실: job={}, node={}, fence={}", jobName, nodeId, fence == null ? null : fence.token());
+        }
+        return valid;
+    }
+
+    private void recordFailover(String jobName, String previousHolder) {
+        if (!previousHolder.isEmpty() && !previousHolder.equals(nodeId)) {
+            meterRegistry.counter("scheduler.lease.failover", "job", jobName).increment();
+            log.info("스케줄 실행 노드 변경: job={}, {} -> {}", jobName, previousHolder, nodeId);
+        }
+    }
+
+    private void skip(String jobName, String reason) {
+        meterRegistry.counter("scheduler.lease.skipped", "job", jobName, "reason", reason).increment();
+    }
+}
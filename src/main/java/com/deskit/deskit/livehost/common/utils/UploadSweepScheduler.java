@@ -0,0 +1,33 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.service.AwsS3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 확정되지 않은 presigned 업로드 임시 객체 정리. 목록 조회 비용을 아끼려고 한 노드에서만 돈다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSweepScheduler {
+
+    private static final String SWEEP_JOB = "upload-pending-sweep";
+
+    private final SchedulerLeaseManager schedulerLeaseManager;
+    private final AwsS3Service awsS3Service;
+
+    @Scheduled(cron = "0 15 * * * *")
+    public void sweepPendingUploads() {
+        schedulerLeaseManager.runExclusively(SWEEP_JOB, Duration.ofMinutes(30), () -> {
+            int deleted = awsS3Service.sweepPendingUploads();
+            if (deleted > 0) {
+                log.info("미확정 업로드 임시 객체 정리: {}건", deleted);
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.service.VodIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * VOD 적재 작업 폴링. 작업 선점/회수는 조건부 UPDATE로 하므로 모든 노드에서 돌아도 된다.
+ * heartbeat는 각 노드가 자기가 처리 중인 작업만 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VodIngestScheduler {
+
+    private final VodIngestService vodIngestService;
+
+    @Scheduled(fixedDelay = 2000)
+    public void dispatchDueJobs() {
+        try {
+            vodIngestService.dispatchDueJobs();
+        } catch (Exception e) {
+            log.error("VOD 적재 작업 디스패치 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 30000)
+    public void heartbeat() {
+        try {
+            vodIngestService.heartbeat();
+        } catch (Exception e) {
+            log.error("VOD 적재 작업 heartbeat 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void recoverStaleJobs() {
+        try {
+            vodIngestService.recoverStaleJobs();
+        } catch (Exception e) {
+            log.error("중단된 VOD 적재 작업 회수 실패: {}", e.getMessage());
+        }
+    }
+}
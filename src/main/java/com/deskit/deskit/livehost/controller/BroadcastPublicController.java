@@ -8,6 +8,7 @@ import com.deskit.deskit.livehost.dto.response.BroadcastResponse;
 import com.deskit.deskit.livehost.dto.response.BroadcastStatsResponse;
 import com.deskit.deskit.livehost.service.BroadcastService;
 import com.deskit.deskit.livehost.service.SseService;
+import com.deskit.deskit.livehost.service.VodIngestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -33,6 +34,7 @@ public class BroadcastPublicController {
 
     private final BroadcastService broadcastService;
     private final SseService sseService;
+    private final VodIngestService vodIngestService;
 
     @GetMapping("/broadcasts")
     public ResponseEntity<ApiResult<Object>> getBroadcasts(
@@ -101,7 +103,7 @@ public class BroadcastPublicController {
     @PostMapping("/webhook/openvidu")
     public ResponseEntity<Void> handleWebhook(@RequestBody OpenViduRecordingWebhook payload) {
         if ("recordingStatusChanged".equals(payload.getEvent()) && "ready".equals(payload.getStatus())) {
-            broadcastService.processVod(payload);
+            vodIngestService.enqueue(payload);
         }
         return ResponseEntity.ok().build();
     }
@@ -1,14 +1,17 @@
 package com.deskit.deskit.livehost.controller;
 
+import com.deskit.deskit.livehost.common.exception.ApiResult;
+import com.deskit.deskit.livehost.dto.response.VodPlaybackResponse;
 import com.deskit.deskit.livehost.service.VodService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/vods")
@@ -18,10 +21,16 @@ public class VodController {
     private final VodService vodService;
 
     @GetMapping("/{vodId}/stream")
-    public ResponseEntity<InputStreamResource> streamVod(
+    public ResponseEntity<StreamingResponseBody> streamVod(
             @PathVariable Long vodId,
-            @RequestHeader(value = "Range", required = false) String rangeHeader
+            @RequestHeader(value = "Range", required = false) String rangeHeader,
+            @RequestParam(value = "mode", required = false) String mode
     ) {
-        return vodService.streamVod(vodId, rangeHeader);
+        return vodService.streamVod(vodId, rangeHeader, mode);
+    }
+
+    @GetMapping("/{vodId}/playback")
+    public ResponseEntity<ApiResult<VodPlaybackResponse>> getPlaybackUrl(@PathVariable Long vodId) {
+        return ResponseEntity.ok(ApiResult.success(vodService.getPlaybackUrl(vodId)));
     }
 }
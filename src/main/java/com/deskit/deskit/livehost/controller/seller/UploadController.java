@@ -4,19 +4,27 @@ import com.deskit.deskit.account.entity.Seller;
 import com.deskit.deskit.livehost.common.enums.UploadType;
 import com.deskit.deskit.livehost.common.exception.ApiResult;
 import com.deskit.deskit.livehost.common.utils.LiveAuthUtils;
+import com.deskit.deskit.livehost.dto.request.PresignedUploadRequest;
+import com.deskit.deskit.livehost.dto.request.UploadConfirmRequest;
 import com.deskit.deskit.livehost.dto.response.ImageUploadResponse;
+import com.deskit.deskit.livehost.dto.response.PresignedUploadResponse;
 import com.deskit.deskit.livehost.service.AwsS3Service;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/seller/uploads")
 @RequiredArgsConstructor
@@ -35,6 +43,35 @@ public class UploadController {
         return ResponseEntity.ok(ApiResult.success(response));
     }
 
+    // 2단계 업로드: presigned URL 발급 → 클라이언트가 스토리지로 직접 PUT → confirm
+    @PostMapping("/{type}/presign")
+    public ResponseEntity<ApiResult<PresignedUploadResponse>> createPresignedUpload(
+            @PathVariable UploadType type,
+            @RequestBody @Valid PresignedUploadRequest request) {
+
+        Seller seller = liveAuthUtils.getCurrentSeller();
+        PresignedUploadResponse response = awsS3Service.createPresignedUpload(seller.getSellerId(), type, request);
+        return ResponseEntity.ok(ApiResult.success(response));
+    }
+
+    @PostMapping("/{type}/confirm")
+    public ResponseEntity<ApiResult<ImageUploadResponse>> confirmUpload(
+            @PathVariable UploadType type,
+            @RequestBody @Valid UploadConfirmRequest request) {
+
+        Seller seller = liveAuthUtils.getCurrentSeller();
+        ImageUploadResponse response = awsS3Service.confirmUpload(seller.getSellerId(), type, request);
+        return ResponseEntity.ok(ApiResult.success(response));
+    }
+
+    // 비동기로 만들어진 리사이즈 변형 중 현재 존재하는 것만 반환
+    @GetMapping("/variants")
+    public ResponseEntity<ApiResult<Map<String, String>>> getVariants(
+            @RequestParam String fileName) {
+        Seller seller = liveAuthUtils.getCurrentSeller();
+        return ResponseEntity.ok(ApiResult.success(awsS3Service.getVariantUrls(seller.getSellerId(), fileName)));
+    }
+
     @DeleteMapping
     public ResponseEntity<ApiResult<String>> deleteImage(
             @RequestParam String fileName) {
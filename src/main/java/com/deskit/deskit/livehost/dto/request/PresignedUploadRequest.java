@@ -0,0 +1,18 @@
+package com.deskit.deskit.livehost.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class PresignedUploadRequest {
+    @NotBlank(message = "파일명은 필수입니다.")
+    private String fileName;
+
+    @NotNull(message = "파일 크기는 필수입니다.")
+    @Positive(message = "파일 크기가 올바르지 않습니다.")
+    private Long fileSize; // 업로드할 파일 용량 (Byte) - 발급 전 1차 검증, 확정 시 실제 크기로 재검증
+}
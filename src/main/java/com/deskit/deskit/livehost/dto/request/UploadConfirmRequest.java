@@ -0,0 +1,14 @@
+package com.deskit.deskit.livehost.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class UploadConfirmRequest {
+    @NotBlank(message = "저장된 파일명은 필수입니다.")
+    private String storedFileName; // presign 응답의 storedFileName
+
+    private String originalFileName;
+}
@@ -1,6 +1,7 @@
 package com.deskit.deskit.livehost.dto.response;
 
 import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
 import com.deskit.deskit.livehost.common.enums.VodStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
@@ -41,6 +42,8 @@ public class BroadcastResultResponse {
     private String vodUrl;
     private VodStatus vodStatus;
     private boolean isEncoding;
+    private VodIngestStatus vodIngestStatus; // 녹화 적재 작업 상태 (PENDING/RUNNING/SUCCEEDED/FAILED)
+    private int vodIngestAttempts;
 
     private List<ProductSalesStat> productStats;
 
@@ -3,6 +3,8 @@ package com.deskit.deskit.livehost.dto.response;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.Map;
+
 @Getter
 @Builder
 public class ImageUploadResponse {
@@ -10,5 +12,7 @@ public class ImageUploadResponse {
     private String storedFileName;   // 서버(S3)에 저장된 파일명 (예: uuid-cat.jpg)
     private String fileUrl;          // 실제 접근 가능한 이미지 주소 (https://s3...)
     private Long fileSize;           // 파일 용량 (Byte 단위)
+    private Map<String, String> variantUrls; // 이미 만들어진 리사이즈 변형 주소 (card, detail, retina)만 담는다
+    private boolean variantsPending;         // 변형을 비동기로 만드는 중이면 true (큐 포화로 생략되면 false → 원본 사용)
 }
 
@@ -0,0 +1,21 @@
+package com.deskit.deskit.livehost.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Builder
+public class PresignedUploadResponse {
+    private String storedFileName;               // 확정(confirm) 요청에 그대로 전달
+    private String uploadUrl;                    // 클라이언트가 직접 PUT 할 presigned URL
+    private String httpMethod;
+    private Map<String, String> requiredHeaders; // 서명에 포함된 헤더 - PUT 요청에 그대로 보내야 함
+    private String fileUrl;                      // 확정 후 접근 주소
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime expiresAt;
+}
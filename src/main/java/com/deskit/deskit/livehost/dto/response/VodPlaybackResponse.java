@@ -0,0 +1,18 @@
+package com.deskit.deskit.livehost.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class VodPlaybackResponse {
+    private Long vodId;
+    private String playbackUrl;      // 스토리지 presigned URL (만료 후 재발급 필요) 또는 프록시 스트림 경로
+    private boolean presigned;       // false면 앱 서버 프록시(/api/vods/{id}/stream?mode=proxy) 경로
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime expiresAt;
+}
@@ -21,7 +21,11 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Setter
-@Table(name = "broadcast")
+@EntityListeners(BroadcastSnapshotListener.class)
+@Table(name = "broadcast", indexes = {
+        @Index(name = "idx_broadcast_status_scheduled", columnList = "status, scheduled_at"),
+        @Index(name = "idx_broadcast_seller_status", columnList = "seller_id, status")
+})
 public class Broadcast {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
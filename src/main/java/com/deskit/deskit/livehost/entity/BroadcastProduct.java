@@ -49,6 +49,13 @@ public class BroadcastProduct {
     @Column(name = "status", nullable = false)
     private BroadcastProductStatus status;
 
+    // 누적 판매 수량/금액. 매출 릴레이가 증분 UPDATE로만 갱신하므로 엔티티 저장 시에는 덮어쓰지 않는다.
+    @Column(name = "sales_quantity", nullable = false, updatable = false)
+    private int salesQuantity;
+
+    @Column(name = "sales_amount", nullable = false, updatable = false)
+    private long salesAmount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
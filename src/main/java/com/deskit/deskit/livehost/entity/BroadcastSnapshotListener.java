@@ -0,0 +1,26 @@
+package com.deskit.deskit.livehost.entity;
+
+import com.deskit.deskit.livehost.service.BroadcastSnapshotCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Broadcast 변경이 flush될 때 스냅샷 캐시를 무효화한다.
+ * (Hibernate가 SpringBeanContainer로 생성하므로 생성자 주입이 가능. 초기화 순서 문제로 ObjectProvider 사용)
+ */
+@RequiredArgsConstructor
+public class BroadcastSnapshotListener {
+
+    private final ObjectProvider<BroadcastSnapshotCache> snapshotCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evictSnapshot(Broadcast broadcast) {
+        BroadcastSnapshotCache cache = snapshotCache.getIfAvailable();
+        if (cache != null) {
+            cache.evict(broadcast.getBroadcastId());
+        }
+    }
+}
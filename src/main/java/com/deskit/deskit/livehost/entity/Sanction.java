@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "sanction")
+@Table(name = "sanction", indexes = @Index(name = "idx_sanction_broadcast_member_created", columnList = "broadcast_id, member_id, created_at"))
 public class Sanction {
 
     @Id
@@ -0,0 +1,32 @@
+package com.deskit.deskit.livehost.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 단일 노드 스케줄 작업의 fencing 토큰. job별로 DB에 쓴 가장 큰 토큰을 남긴다.
+ * 쓰기는 SchedulerFenceRepository의 조건부 UPDATE/INSERT로만 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "scheduler_fence")
+public class SchedulerFence {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "fence", nullable = false)
+    private long fence;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
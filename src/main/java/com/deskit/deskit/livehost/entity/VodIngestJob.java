@@ -0,0 +1,89 @@
+package com.deskit.deskit.livehost.entity;
+
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * OpenVidu 녹화 → S3 적재 작업. 웹훅에서 PENDING으로 기록하고 VodIngestScheduler가 처리한다.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "vod_ingest_job", indexes = {
+        @Index(name = "idx_vod_ingest_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_vod_ingest_broadcast", columnList = "broadcast_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_vod_ingest_recording", columnNames = "recording_id")
+})
+public class VodIngestJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "broadcast_id", nullable = false)
+    private Long broadcastId;
+
+    @Column(name = "recording_id", length = 100, nullable = false)
+    private String recordingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private VodIngestStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 선점 시각, 처리 중에는 heartbeat로 갱신 (끊기면 회수)
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "recording_size")
+    private Long recordingSize;
+
+    @Column(name = "recording_duration")
+    private Double recordingDuration;
+
+    @Column(name = "fallback_url")
+    private String fallbackUrl;
+
+    // 진행 중인 S3 멀티파트 uploadId (재시도 시 완료된 파트부터 이어서 업로드)
+    @Column(name = "upload_id")
+    private String uploadId;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public void recordUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public static String truncateError(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 255 ? error.substring(0, 255) : error;
+    }
+}
@@ -2,11 +2,14 @@ package com.deskit.deskit.livehost.repository;
 
 import com.deskit.deskit.livehost.entity.Broadcast;
 import com.deskit.deskit.livehost.entity.BroadcastProduct;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +31,47 @@ public interface BroadcastProductRepository extends JpaRepository<BroadcastProdu
             "WHERE bp.broadcast.broadcastId = :broadcastId " +
             "ORDER BY bp.displayOrder ASC")
     List<BroadcastProduct> findAllWithProductByBroadcastId(@Param("broadcastId") Long broadcastId);
+
+    // 라이브 주문용: 방송 정보까지 한 번에 조회
+    @Query("SELECT bp FROM BroadcastProduct bp " +
+            "JOIN FETCH bp.broadcast b " +
+            "WHERE b.broadcastId = :broadcastId AND bp.product.id IN :productIds")
+    List<BroadcastProduct> findAllForOrder(@Param("broadcastId") Long broadcastId, @Param("productIds") Collection<Long> productIds);
+
+    @Modifying
+    @Query("UPDATE BroadcastProduct bp SET bp.bpQuantity = bp.bpQuantity + :delta WHERE bp.bpId = :bpId")
+    int adjustQuantity(@Param("bpId") Long bpId, @Param("delta") int delta);
+
+    // 재고가 남아 있을 때만 차감 (0이면 재고 부족)
+    @Modifying
+    @Query("UPDATE BroadcastProduct bp SET bp.bpQuantity = bp.bpQuantity - :quantity " +
+            "WHERE bp.bpId = :bpId AND bp.bpQuantity >= :quantity")
+    int decreaseQuantity(@Param("bpId") Long bpId, @Param("quantity") int quantity);
+
+    // 수량 기준 판매 중 → 품절 전환. 전환된 경우에만 1이므로 품절 알림을 한 번만 보낼 수 있다.
+    @Modifying
+    @Query("UPDATE BroadcastProduct bp SET bp.status = com.deskit.deskit.livehost.common.enums.BroadcastProductStatus.SOLDOUT " +
+            "WHERE bp.bpId = :bpId AND bp.bpQuantity <= 0 " +
+            "AND bp.status = com.deskit.deskit.livehost.common.enums.BroadcastProductStatus.SELLING")
+    int markSoldOut(@Param("bpId") Long bpId);
+
+    // 수량 기준 품절 → 판매 중 전환 (취소/만료로 재고가 돌아온 경우). 전환된 경우에만 1.
+    @Modifying
+    @Query("UPDATE BroadcastProduct bp SET bp.status = com.deskit.deskit.livehost.common.enums.BroadcastProductStatus.SELLING " +
+            "WHERE bp.bpId = :bpId AND bp.bpQuantity > 0 " +
+            "AND bp.status = com.deskit.deskit.livehost.common.enums.BroadcastProductStatus.SOLDOUT")
+    int markRestocked(@Param("bpId") Long bpId);
+
+    // 매출 릴레이: 방송 상품별 판매 수량/금액 증분 반영 (취소는 음수)
+    @Modifying
+    @Query("UPDATE BroadcastProduct bp SET bp.salesQuantity = bp.salesQuantity + :quantity, " +
+            "bp.salesAmount = bp.salesAmount + :amount " +
+            "WHERE bp.broadcast.broadcastId = :broadcastId AND bp.product.id = :productId")
+    int addSales(@Param("broadcastId") Long broadcastId, @Param("productId") Long productId,
+                 @Param("quantity") int quantity, @Param("amount") long amount);
+
+    // 잠금 읽기라서 트랜잭션 스냅샷이 아니라 최신 커밋 값을 읽는다 (방송 결과 생성 시 lockForSales 후 호출)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bp.salesAmount FROM BroadcastProduct bp WHERE bp.broadcast.broadcastId = :broadcastId")
+    List<Long> findSalesAmountsForUpdate(@Param("broadcastId") Long broadcastId);
 }
@@ -2,16 +2,24 @@ package com.deskit.deskit.livehost.repository;
 
 import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
 import com.deskit.deskit.livehost.entity.Broadcast;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BroadcastRepository extends JpaRepository<Broadcast, Long>, BroadcastRepositoryCustom {
     @Query("SELECT COUNT(b) FROM Broadcast b WHERE b.seller.sellerId = :sellerId AND b.status = :status")
     long countBySellerIdAndStatus(@Param("sellerId") Long sellerId, @Param("status") BroadcastStatus status);
 
     List<Broadcast> findByStatusAndStartedAtBefore(BroadcastStatus status, LocalDateTime threshold);
+
+    // 매출 집계 직렬화: 방송 결과 생성과 매출 릴레이가 같은 방송 행을 먼저 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.broadcastId FROM Broadcast b WHERE b.broadcastId = :broadcastId")
+    Optional<Long> lockForSales(@Param("broadcastId") Long broadcastId);
 }
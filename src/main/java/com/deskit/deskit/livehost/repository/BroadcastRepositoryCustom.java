@@ -16,9 +16,21 @@ public interface BroadcastRepositoryCustom {
 
     long countByTimeSlot(LocalDateTime start, LocalDateTime end);
 
-    List<Long> findBroadcastIdsForReadyTransition(LocalDateTime now);
-
-    List<Long> findBroadcastIdsForNoShow(LocalDateTime now);
+    /**
+     * RESERVED 중 10분 이내 시작 예정인 방송을 READY로 일괄 전환하고 전환된 id를 반환한다.
+     */
+    List<Long> transitionToReady(LocalDateTime now);
+
+    /**
+     * 예약 10분 경과까지 시작하지 않은 RESERVED/READY 방송을 잠근 뒤(FOR UPDATE) 한 번의 UPDATE로 CANCELED 전환하고,
+     * 잠근(= 이 호출에서 전환된) 방송을 반환한다.
+     */
+    List<BroadcastScheduleInfo> transitionNoShow(LocalDateTime now, String reason);
+
+    /**
+     * 방송 하나를 RESERVED/READY일 때만 CANCELED(노쇼)로 전환한다. 이 호출이 전환했으면 true.
+     */
+    boolean markNoShow(Long broadcastId, String reason, LocalDateTime now);
 
     List<BroadcastScheduleInfo> findBroadcastSchedules(LocalDateTime start, LocalDateTime end, List<BroadcastStatus> statuses);
 
@@ -54,6 +54,13 @@ public class BroadcastRepositoryImpl implements BroadcastRepositoryCustom {
     private final Field<String> vodStatus = field(name("v", "status"), String.class);
     private final Field<Long> sanctionId = field(name("sc", "sanction_id"), Long.class);
 
+    // 상태 일괄 전환(UPDATE)용 - 별칭 없는 테이블
+    private final Table<Record> broadcastUpdateTable = table(name("broadcast"));
+    private final Field<Long> updateBroadcastId = field(name("broadcast_id"), Long.class);
+    private final Field<String> updateStatus = field(name("status"), String.class);
+    private final Field<String> updateStoppedReason = field(name("broadcast_stopped_reason"), String.class);
+    private final Field<LocalDateTime> updateUpdatedAt = field(name("updated_at"), LocalDateTime.class);
+
     @Override
     public Slice<BroadcastListResponse> searchBroadcasts(Long sellerId, BroadcastSearch condition, Pageable pageable, boolean isAdmin) {
         Field<Long> reportCount = countDistinct(sanctionId).cast(Long.class).as("report_count");
@@ -137,30 +144,75 @@ public class BroadcastRepositoryImpl implements BroadcastRepositoryCustom {
     }
 
     @Override
-    public List<Long> findBroadcastIdsForReadyTransition(LocalDateTime now) {
-        LocalDateTime start = now;
-        LocalDateTime end = now.plusMinutes(10);
-        return dsl.select(broadcastId)
+    public List<Long> transitionToReady(LocalDateTime now) {
+        List<Long> ids = dsl.select(broadcastId)
                 .from(broadcastTable)
                 .where(
                         broadcastStatus.eq(BroadcastStatus.RESERVED.name()),
-                        scheduledAt.between(start, end),
-                        broadcastStatus.ne(BroadcastStatus.DELETED.name())
+                        scheduledAt.between(now, now.plusMinutes(10))
                 )
+                .forUpdate()
                 .fetch(broadcastId);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        dsl.update(broadcastUpdateTable)
+                .set(updateStatus, BroadcastStatus.READY.name())
+                .set(updateUpdatedAt, now)
+                .where(
+                        updateBroadcastId.in(ids),
+                        updateStatus.eq(BroadcastStatus.RESERVED.name())
+                )
+                .execute();
+        return ids;
     }
 
     @Override
-    public List<Long> findBroadcastIdsForNoShow(LocalDateTime now) {
-        LocalDateTime threshold = now.minusMinutes(10);
-        return dsl.select(broadcastId)
+    public List<BroadcastScheduleInfo> transitionNoShow(LocalDateTime now, String reason) {
+        List<String> fromStatuses = List.of(BroadcastStatus.RESERVED.name(), BroadcastStatus.READY.name());
+
+        List<BroadcastScheduleInfo> targets = dsl.select(broadcastId, scheduledAt)
                 .from(broadcastTable)
                 .where(
-                        broadcastStatus.in(BroadcastStatus.RESERVED.name(), BroadcastStatus.READY.name()),
-                        scheduledAt.lessOrEqual(threshold),
-                        broadcastStatus.ne(BroadcastStatus.DELETED.name())
+                        broadcastStatus.in(fromStatuses),
+                        scheduledAt.lessOrEqual(now.minusMinutes(10))
                 )
-                .fetch(broadcastId);
+                .forUpdate()
+                .fetch(record -> new BroadcastScheduleInfo(
+                        record.get(broadcastId),
+                        record.get(scheduledAt),
+                        BroadcastStatus.CANCELED
+                ));
+
+        if (targets.isEmpty()) {
+            return targets;
+        }
+
+        // 잠근 행은 커밋 전까지 다른 전환이 끼어들 수 없으므로 한 번의 UPDATE로 전환하고 잠근 행을 그대로 돌려준다
+        dsl.update(broadcastUpdateTable)
+                .set(updateStatus, BroadcastStatus.CANCELED.name())
+                .set(updateStoppedReason, reason)
+                .set(updateUpdatedAt, now)
+                .where(
+                        updateBroadcastId.in(targets.stream().map(BroadcastScheduleInfo::broadcastId).toList()),
+                        updateStatus.in(fromStatuses)
+                )
+                .execute();
+        return targets;
+    }
+
+    @Override
+    public boolean markNoShow(Long id, String reason, LocalDateTime now) {
+        return dsl.update(broadcastUpdateTable)
+                .set(updateStatus, BroadcastStatus.CANCELED.name())
+                .set(updateStoppedReason, reason)
+                .set(updateUpdatedAt, now)
+                .where(
+                        updateBroadcastId.eq(id),
+                        updateStatus.in(BroadcastStatus.RESERVED.name(), BroadcastStatus.READY.name())
+                )
+                .execute() == 1;
     }
 
     @Override
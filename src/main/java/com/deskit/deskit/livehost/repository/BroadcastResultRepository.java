@@ -2,6 +2,16 @@ package com.deskit.deskit.livehost.repository;
 
 import com.deskit.deskit.livehost.entity.BroadcastResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
 
 public interface BroadcastResultRepository extends JpaRepository<BroadcastResult, Long>, BroadcastResultRepositoryCustom {
+
+    // 매출 릴레이: 방송 종료 후 들어온 결제/취소를 결과 통계에 증분 반영 (결과 행이 없으면 0건)
+    @Modifying
+    @Query("UPDATE BroadcastResult br SET br.totalSales = br.totalSales + :amount WHERE br.broadcastId = :broadcastId")
+    int addSales(@Param("broadcastId") Long broadcastId, @Param("amount") BigDecimal amount);
 }
@@ -0,0 +1,24 @@
+package com.deskit.deskit.livehost.repository;
+
+import com.deskit.deskit.livehost.entity.SchedulerFence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerFenceRepository extends JpaRepository<SchedulerFence, String> {
+
+    // 기록된 토큰보다 작지 않을 때만 올린다. 0이면 행이 없거나 더 새로운 holder가 이미 쓴 것.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SchedulerFence f SET f.fence = :fence, f.updatedAt = :now " +
+            "WHERE f.jobName = :jobName AND f.fence <= :fence")
+    int advance(@Param("jobName") String jobName, @Param("fence") long fence, @Param("now") LocalDateTime now);
+
+    // job의 첫 쓰기. 동시에 두 holder가 넣으면 한쪽은 PK 충돌로 롤백된다.
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_fence (job_name, fence, updated_at) VALUES (:jobName, :fence, :now)",
+            nativeQuery = true)
+    int insert(@Param("jobName") String jobName, @Param("fence") long fence, @Param("now") LocalDateTime now);
+}
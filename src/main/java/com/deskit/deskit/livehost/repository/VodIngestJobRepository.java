@@ -0,0 +1,87 @@
+package com.deskit.deskit.livehost.repository;
+
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
+import com.deskit.deskit.livehost.entity.VodIngestJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface VodIngestJobRepository extends JpaRepository<VodIngestJob, Long> {
+
+    boolean existsByRecordingId(String recordingId);
+
+    Optional<VodIngestJob> findTopByBroadcastIdOrderByJobIdDesc(Long broadcastId);
+
+    @Query("SELECT j.jobId FROM VodIngestJob j WHERE j.status = :status AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt")
+    List<Long> findDueJobIds(@Param("status") VodIngestStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 조건부 UPDATE로 선점: 여러 노드가 같은 작업을 동시에 집어도 1곳만 1을 받는다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VodIngestJob j SET j.status = :running, j.lockedAt = :now, j.attempts = j.attempts + 1 " +
+            "WHERE j.jobId = :jobId AND j.status = :pending")
+    int claim(@Param("jobId") Long jobId,
+              @Param("now") LocalDateTime now,
+              @Param("pending") VodIngestStatus pending,
+              @Param("running") VodIngestStatus running);
+
+    // 처리 중인 노드가 주기적으로 lockedAt을 갱신한다. 0이면 회수되어 다른 시도가 가져간 것.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VodIngestJob j SET j.lockedAt = :now " +
+            "WHERE j.jobId = :jobId AND j.status = :running AND j.attempts = :attempt")
+    int heartbeat(@Param("jobId") Long jobId,
+                  @Param("attempt") int attempt,
+                  @Param("now") LocalDateTime now,
+                  @Param("running") VodIngestStatus running);
+
+    // 아래 갱신은 모두 (RUNNING, 선점한 attempt)일 때만 반영된다. 회수된 옛 시도의 늦은 쓰기는 0건.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VodIngestJob j SET j.uploadId = :uploadId " +
+            "WHERE j.jobId = :jobId AND j.status = :running AND j.attempts = :attempt")
+    int recordUploadId(@Param("jobId") Long jobId,
+                       @Param("attempt") int attempt,
+                       @Param("uploadId") String uploadId,
+                       @Param("running") VodIngestStatus running);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VodIngestJob j SET j.status = :pending, j.lockedAt = null, j.lastError = :error, " +
+            "j.nextAttemptAt = :nextAttemptAt " +
+            "WHERE j.jobId = :jobId AND j.status = :running AND j.attempts = :attempt")
+    int scheduleRetry(@Param("jobId") Long jobId,
+                      @Param("attempt") int attempt,
+                      @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("pending") VodIngestStatus pending,
+                      @Param("running") VodIngestStatus running);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VodIngestJob j SET j.status = :status, j.lockedAt = null, " +
+            "j.lastError = COALESCE(:error, j.lastError) " +
+            "WHERE j.jobId = :jobId AND j.status = :running AND j.attempts = :attempt")
+    int finish(@Param("jobId") Long jobId,
+               @Param("attempt") int attempt,
+               @Param("status") VodIngestStatus status,
+               @Param("error") String error,
+               @Param("running") VodIngestStatus running);
+
+    // 처리 중 노드가 죽어 heartbeat가 끊긴 작업을 다시 대기 상태로 돌린다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VodIngestJob j SET j.status = :pending, j.lockedAt = null, j.nextAttemptAt = :now " +
+            "WHERE j.status = :running AND j.lockedAt < :staleBefore")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore,
+                     @Param("now") LocalDateTime now,
+                     @Param("pending") VodIngestStatus pending,
+                     @Param("running") VodIngestStatus running);
+}
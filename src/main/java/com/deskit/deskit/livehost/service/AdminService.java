@@ -18,8 +18,11 @@ public class AdminService {
     private final BroadcastRepository broadcastRepository;
     private final OpenViduService openViduService;
     private final RedisService redisService;
+    private final BroadcastSlotService broadcastSlotService;
+    private final BroadcastEventQueue broadcastEventQueue;
     private final SseService sseService;
     private final SanctionService sanctionService;
+    private final JoinAdmissionService joinAdmissionService;
 
     @Transactional(readOnly = true)
     public SanctionStatisticsResponse getSanctionStatistics(String period) {
@@ -43,6 +46,7 @@ public class AdminService {
         broadcast.forceStopByAdmin(reason);
 
         openViduService.closeSession(broadcastId);
+        joinAdmissionService.clear(broadcastId);
         redisService.deleteBroadcastKeys(broadcastId);
         sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_STOPPED", reason);
     }
@@ -61,6 +65,8 @@ public class AdminService {
         }
 
         broadcast.cancelBroadcast(reason);
+        broadcastSlotService.release(broadcast.getScheduledAt());
+        broadcastEventQueue.remove(broadcastId);
     }
 
     @Transactional
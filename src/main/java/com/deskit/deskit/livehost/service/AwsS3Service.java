@@ -1,26 +1,49 @@
 package com.deskit.deskit.livehost.service;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.ResponseHeaderOverrides;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.deskit.deskit.livehost.common.enums.ImageVariant;
 import com.deskit.deskit.livehost.common.enums.UploadType;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.common.utils.ImageHeaderProbe;
+import com.deskit.deskit.livehost.dto.request.PresignedUploadRequest;
+import com.deskit.deskit.livehost.dto.request.UploadConfirmRequest;
 import com.deskit.deskit.livehost.dto.response.ImageUploadResponse;
+import com.deskit.deskit.livehost.dto.response.PresignedUploadResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -28,6 +51,7 @@ import java.util.UUID;
 public class AwsS3Service {
 
     private final AmazonS3 amazonS3;
+    private final ImageVariantService imageVariantService;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -35,7 +59,13 @@ public class AwsS3Service {
     @Value("${cloud.aws.s3.endpoint}")
     private String endpoint;
 
+    @Value("${cloud.aws.s3.upload-presign-ttl-seconds:600}")
+    private long uploadPresignTtlSeconds;
+
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png");
+    private static final long HEADER_PROBE_BYTES = 256 * 1024; // 확정 시 크기 확인용 ranged read 범위
+    private static final String PENDING_PREFIX = "pending/";    // presigned 업로드 임시 위치 (비공개, 확정 시 이동)
+    private static final long PENDING_GRACE_SECONDS = 3600;     // 만료 후 임시 객체 정리까지의 유예
 
     public ImageUploadResponse uploadFile(Long sellerId, MultipartFile file, UploadType type) {
         if (file.isEmpty()) {
@@ -54,8 +84,7 @@ public class AwsS3Service {
 
         validateImageRatio(file, type);
 
-        String folderPath = "seller_" + sellerId + "/" + type.name().toLowerCase();
-        String storedFileName = folderPath + "/" + UUID.randomUUID() + "." + extension;
+        String storedFileName = uploadPrefix(sellerId, type) + UUID.randomUUID() + "." + extension;
 
         ObjectMetadata metadata = new ObjectMetadata();
         metadata.setContentType(file.getContentType());
@@ -65,12 +94,9 @@ public class AwsS3Service {
             amazonS3.putObject(new PutObjectRequest(bucket, storedFileName, inputStream, metadata)
                     .withCannedAcl(CannedAccessControlList.PublicRead));
 
-            return ImageUploadResponse.builder()
-                    .originalFileName(originalFileName)
-                    .storedFileName(storedFileName)
-                    .fileUrl(amazonS3.getUrl(bucket, storedFileName).toString())
-                    .fileSize(file.getSize())
-                    .build();
+            // 리사이즈 변형은 비동기로 생성 (완료 전까지는 클라이언트가 원본 사용)
+            boolean variantsPending = requestVariants(storedFileName, extension, type);
+            return toUploadResponse(originalFileName, storedFileName, file.getSize(), variantsPending);
 
         } catch (IOException e) {
             log.error("S3 업로드 에러", e);
@@ -78,6 +104,148 @@ public class AwsS3Service {
         }
     }
 
+    /**
+     * 2단계 업로드 1단계: pending/seller_{id}/{type}/ 아래 비공개 키로 직접 PUT 할 presigned URL 발급.
+     * Content-Type과 Content-Length(요청한 fileSize)가 서명에 포함되므로 클라이언트는 requiredHeaders를 그대로 보내야 하고,
+ * 선언한 크기와 다른 본문은 스토리지가 서명 불일치로 거절한다. (최대 크기 제한을 URL 발급 후에 우회할 수 없음)
+     * 검증 전 객체가 공개되지 않도록 ACL은 서명하지 않고, 확정 시 공개 키로 복사한다.
+     */
+    public PresignedUploadResponse createPresignedUpload(Long sellerId, UploadType type, PresignedUploadRequest request) {
+        String extension = getFileExtension(request.getFileName()).toLowerCase();
+        if (!ALLOWED_EXTENSIONS.contains(extension)) {
+            throw new BusinessException(ErrorCode.INVALID_FILE_EXTENSION);
+        }
+        if (request.getFileSize() > type.getMaxSizeBytes()) {
+            throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+
+        String storedFileName = uploadPrefix(sellerId, type) + UUID.randomUUID() + "." + extension;
+        String contentType = "png".equals(extension) ? "image/png" : "image/jpeg";
+        Instant expiresAt = Instant.now().plusSeconds(uploadPresignTtlSeconds);
+
+        GeneratePresignedUrlRequest presign = new GeneratePresignedUrlRequest(bucket, pendingKey(storedFileName), HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt))
+                .withContentType(contentType);
+        String contentLength = String.valueOf(request.getFileSize());
+        presign.putCustomRequestHeader(Headers.CONTENT_LENGTH, contentLength);
+
+        Map<String, String> requiredHeaders = new LinkedHashMap<>();
+        requiredHeaders.put(Headers.CONTENT_TYPE, contentType);
+        requiredHeaders.put(Headers.CONTENT_LENGTH, contentLength);
+
+        return PresignedUploadResponse.builder()
+                .storedFileName(storedFileName)
+                .uploadUrl(amazonS3.generatePresignedUrl(presign).toString())
+                .httpMethod(HttpMethod.PUT.name())
+                .requiredHeaders(requiredHeaders)
+                .fileUrl(amazonS3.getUrl(bucket, storedFileName).toString())
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * 2단계 업로드 2단계: 임시 위치에 올라간 객체의 크기/형식/비율을 검증한다. (헤더 구간만 ranged read)
+     * 통과하면 공개 키로 복사하고, 크기 초과를 포함해 검증에 실패하면 본문을 읽기 전에라도 바로 지운다.
+     * 확정되지 않은 임시 객체는 sweepPendingUploads가 정리한다.
+     */
+    public ImageUploadResponse confirmUpload(Long sellerId, UploadType type, UploadConfirmRequest request) {
+        String storedFileName = request.getStoredFileName();
+        if (!storedFileName.startsWith(uploadPrefix(sellerId, type)) || storedFileName.contains("..")) {
+            log.warn("업로드 확정 권한 없음: 요청자={}, 파일={}", sellerId, storedFileName);
+            throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
+        }
+        String extension = getFileExtension(storedFileName).toLowerCase();
+        String pendingKey = pendingKey(storedFileName);
+
+        ObjectMetadata metadata;
+        try {
+            metadata = amazonS3.getObjectMetadata(bucket, pendingKey);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new BusinessException(ErrorCode.FILE_NOT_UPLOADED);
+            }
+            log.error("업로드 확정 중 메타데이터 조회 실패: {}", pendingKey, e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        long size = metadata.getContentLength();
+        try {
+            if (size > type.getMaxSizeBytes()) {
+                throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+            }
+            validateImageRatio(probeStoredImage(pendingKey, size), type);
+        } catch (BusinessException e) {
+            discardPending(pendingKey);
+            throw e;
+        }
+
+        // 검증을 통과한 객체만 공개 키로 옮긴다 (서버 측 복사라 본문을 다시 받지 않음)
+        amazonS3.copyObject(new CopyObjectRequest(bucket, pendingKey, bucket, storedFileName)
+                .withCannedAccessControlList(CannedAccessControlList.PublicRead));
+        amazonS3.deleteObject(bucket, pendingKey);
+
+        boolean variantsPending = requestVariants(storedFileName, extension, type);
+        return toUploadResponse(request.getOriginalFileName(), storedFileName, size, variantsPending);
+    }
+
+    /**
+     * 확정되지 않은 채 남은 presigned 업로드 임시 객체를 지운다. 지운 개수를 돌려준다.
+     * URL 만료 후에도 확정 요청이 늦게 올 수 있으므로 만료 시간에 유예를 더한 것보다 오래된 것만 지운다.
+     */
+    public int sweepPendingUploads() {
+        return sweepPendingUploads(Instant.now().minusSeconds(uploadPresignTtlSeconds + PENDING_GRACE_SECONDS));
+    }
+
+    int sweepPendingUploads(Instant cutoff) {
+        Date cutoffDate = Date.from(cutoff);
+        ListObjectsV2Request listRequest = new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withPrefix(PENDING_PREFIX);
+        int deleted = 0;
+        ListObjectsV2Result listing;
+        do {
+            listing = amazonS3.listObjectsV2(listRequest);
+            for (S3ObjectSummary summary : listing.getObjectSummaries()) {
+                if (summary.getLastModified() != null && summary.getLastModified().before(cutoffDate)) {
+                    amazonS3.deleteObject(bucket, summary.getKey());
+                    deleted++;
+                }
+            }
+            listRequest.setContinuationToken(listing.getNextContinuationToken());
+        } while (listing.isTruncated());
+        return deleted;
+    }
+
+    /**
+     * 지금까지 만들어진 리사이즈 변형 주소 (LIST 1회). 업로드 직후에는 비어 있을 수 있다.
+     */
+    public Map<String, String> getVariantUrls(Long sellerId, String storedFileName) {
+        if (!storedFileName.startsWith("seller_" + sellerId + "/") || storedFileName.contains("..")) {
+            log.warn("이미지 변형 조회 권한 없음: 요청자={}, 파일={}", sellerId, storedFileName);
+            throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
+        }
+
+        // 변형 키는 "원본(확장자 제외)_suffix.확장자" 이므로 같은 접두사로 한 번에 조회된다
+        int dot = storedFileName.lastIndexOf('.');
+        String prefix = (dot > storedFileName.lastIndexOf('/') ? storedFileName.substring(0, dot) : storedFileName) + "_";
+        Set<String> existing = amazonS3.listObjectsV2(new ListObjectsV2Request()
+                        .withBucketName(bucket)
+                        .withPrefix(prefix)
+                        .withMaxKeys(ImageVariant.values().length * 2))
+                .getObjectSummaries().stream()
+                .map(S3ObjectSummary::getKey)
+                .collect(Collectors.toSet());
+
+        Map<String, String> variantUrls = new LinkedHashMap<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            String key = variant.keyFor(storedFileName);
+            if (existing.contains(key)) {
+                variantUrls.put(variant.getSuffix(), amazonS3.getUrl(bucket, key).toString());
+            }
+        }
+        return variantUrls;
+    }
+
     public void deleteFile(Long sellerId, String storedFileName) {
         String expectedPrefix = "seller_" + sellerId + "/";
         if (!storedFileName.startsWith(expectedPrefix)) {
@@ -89,6 +257,7 @@ public class AwsS3Service {
             if (amazonS3.doesObjectExist(bucket, storedFileName)) {
                 amazonS3.deleteObject(bucket, storedFileName);
             }
+            imageVariantService.deleteVariants(storedFileName);
         } catch (Exception e) {
             log.error("S3 파일 삭제 실패: {}", storedFileName, e);
             throw new BusinessException(ErrorCode.FILE_DELETE_FAILED);
@@ -104,14 +273,18 @@ public class AwsS3Service {
             amazonS3.putObject(new PutObjectRequest(bucket, pathKey, inputStream, metadata)
                     .withCannedAcl(CannedAccessControlList.PublicRead));
 
-            return endpoint != null ? endpoint + "/" + bucket + "/" + pathKey
-                    : amazonS3.getUrl(bucket, pathKey).toString();
+            return getObjectUrl(pathKey);
         } catch (Exception e) {
             log.error("S3 Stream Upload Failed: {}", e.getMessage());
             throw new RuntimeException("VOD 업로드 실패");
         }
     }
 
+    public String getObjectUrl(String pathKey) {
+        return endpoint != null ? endpoint + "/" + bucket + "/" + pathKey
+                : amazonS3.getUrl(bucket, pathKey).toString();
+    }
+
     public long getObjectSize(String fileUrl) {
         String key = extractKeyFromUrl(fileUrl);
         if (key == null) {
@@ -126,6 +299,20 @@ public class AwsS3Service {
         }
     }
 
+    /**
+     * 스토리지에서 직접 내려받을 수 있는 GET presigned URL (서명만 하므로 스토리지 호출 없음)
+     */
+    public String generatePresignedGetUrl(String fileUrl, String contentType, Instant expiresAt) {
+        String key = extractKeyFromUrl(fileUrl);
+        if (key == null) {
+            throw new BusinessException(ErrorCode.VOD_NOT_FOUND);
+        }
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.GET)
+                .withExpiration(Date.from(expiresAt))
+                .withResponseHeaders(new ResponseHeaderOverrides().withContentType(contentType));
+        return amazonS3.generatePresignedUrl(request).toString();
+    }
+
     public InputStream getObjectStream(String fileUrl, Long start, Long end) {
         String key = extractKeyFromUrl(fileUrl);
         if (key == null) {
@@ -164,28 +351,93 @@ public class AwsS3Service {
         }
     }
 
+    // 전체 디코딩 없이 PNG/JPEG 헤더에서 크기만 읽는다.
     private void validateImageRatio(MultipartFile file, UploadType type) {
-        try {
-            BufferedImage image = ImageIO.read(file.getInputStream());
+        try (InputStream inputStream = file.getInputStream()) {
+            validateImageRatio(ImageHeaderProbe.probe(inputStream), type);
+        } catch (IOException e) {
+            log.error("이미지 읽기 및 검증 실패", e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
 
-            if (image == null) {
-                throw new BusinessException(ErrorCode.INVALID_FILE_EXTENSION);
-            }
+    private void validateImageRatio(ImageHeaderProbe.ImageSize size, UploadType type) {
+        if (size == null) {
+            throw new BusinessException(ErrorCode.INVALID_FILE_EXTENSION);
+        }
 
-            double actualRatio = (double) image.getWidth() / image.getHeight();
-            double targetRatio = type.getTargetRatio();
+        double actualRatio = size.ratio();
+        double targetRatio = type.getTargetRatio();
 
-            if (Math.abs(actualRatio - targetRatio) > 0.05) {
-                log.warn("이미지 비율 불일치: 기대={}, 실제={}", targetRatio, actualRatio);
-                throw new BusinessException(ErrorCode.INVALID_IMAGE_RATIO);
-            }
+        if (Math.abs(actualRatio - targetRatio) > 0.05) {
+            log.warn("이미지 비율 불일치: 기대={}, 실제={}", targetRatio, actualRatio);
+            throw new BusinessException(ErrorCode.INVALID_IMAGE_RATIO);
+        }
+    }
 
+    // 앞부분만 받아 헤더를 읽고, APP 세그먼트가 커서 모자라면 전체 스트림에서 헤더까지만 다시 읽는다.
+    private ImageHeaderProbe.ImageSize probeStoredImage(String key, long size) {
+        if (size <= 0) {
+            return null;
+        }
+        try {
+            GetObjectRequest head = new GetObjectRequest(bucket, key).withRange(0, Math.min(size, HEADER_PROBE_BYTES) - 1);
+            try (S3Object object = amazonS3.getObject(head)) {
+                ImageHeaderProbe.ImageSize probed = ImageHeaderProbe.probe(object.getObjectContent());
+                if (probed != null || size <= HEADER_PROBE_BYTES) {
+                    return probed;
+                }
+            }
+            try (S3Object object = amazonS3.getObject(bucket, key)) {
+                return ImageHeaderProbe.probe(object.getObjectContent());
+            }
         } catch (IOException e) {
-            log.error("이미지 읽기 및 검증 실패", e);
+            log.error("업로드 이미지 헤더 읽기 실패: {}", key, e);
             throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
         }
     }
 
+    // 변형 생성 큐가 가득 차면 건너뛴다. 원본은 이미 저장되었으므로 업로드는 성공으로 처리한다.
+    private boolean requestVariants(String storedFileName, String extension, UploadType type) {
+        try {
+            imageVariantService.generateVariants(storedFileName, extension, type);
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("이미지 변형 생성 생략 - 작업 큐 포화: key={}", storedFileName);
+            return false;
+        }
+    }
+
+    // 변형은 아직 없으므로 주소를 내려주지 않는다. (생성 후 getVariantUrls로 조회)
+    private ImageUploadResponse toUploadResponse(String originalFileName, String storedFileName, long fileSize,
+                                                 boolean variantsPending) {
+        return ImageUploadResponse.builder()
+                .originalFileName(originalFileName)
+                .storedFileName(storedFileName)
+                .fileUrl(amazonS3.getUrl(bucket, storedFileName).toString())
+                .fileSize(fileSize)
+                .variantUrls(Map.of())
+                .variantsPending(variantsPending)
+                .build();
+    }
+
+    // 삭제가 실패해도 검증 실패 응답은 그대로 내보낸다 (남은 객체는 sweepPendingUploads가 정리)
+    private void discardPending(String pendingKey) {
+        try {
+            amazonS3.deleteObject(bucket, pendingKey);
+        } catch (Exception e) {
+            log.warn("검증 실패한 임시 업로드 삭제 실패: key={}, error={}", pendingKey, e.getMessage());
+        }
+    }
+
+    private String pendingKey(String storedFileName) {
+        return PENDING_PREFIX + storedFileName;
+    }
+
+    private String uploadPrefix(Long sellerId, UploadType type) {
+        return "seller_" + sellerId + "/" + type.name().toLowerCase() + "/";
+    }
+
     private String getFileExtension(String fileName) {
         if (fileName == null || fileName.lastIndexOf(".") == -1) {
             throw new BusinessException(ErrorCode.INVALID_FILE_EXTENSION);
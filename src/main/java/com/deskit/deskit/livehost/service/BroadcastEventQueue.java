@@ -0,0 +1,167 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 방송 상태 전환 지연 이벤트 큐.
+ * Redis Sorted Set(score = 발화 시각 epoch millis, member = TYPE:broadcastId)에 등록하고,
+ * 도래한 이벤트는 Lua 스크립트로 처리 중 Sorted Set(score = 처리 기한)으로 옮겨 한 노드만 가져가게 한다.
+ * 처리가 커밋된 뒤 ack로 처리 중 목록에서 지우고, 기한까지 ack되지 않은 이벤트(노드 다운, 처리 실패)는
+ * 다음 선점 때 큐로 되돌려 다시 처리한다. (최소 한 번 처리, 핸들러는 상태를 확인하므로 중복 처리해도 같다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastEventQueue {
+
+    private static final String EVENT_QUEUE_KEY = "broadcast:events";
+    private static final String PROCESSING_KEY = "broadcast:events:processing";
+    static final Duration VISIBILITY_TIMEOUT = Duration.ofSeconds(30);
+
+    /*
+     * KEYS[1]=큐, KEYS[2]=처리 중, ARGV[1]=현재 시각, ARGV[2]=최대 개수, ARGV[3]=처리 기한
+     * 1) 기한이 지난 처리 중 이벤트를 큐로 되돌리고 (그 사이 재예약됐으면 큐의 발화 시각 유지)
+     * 2) 도래한 이벤트를 최대 ARGV[2]개 큐에서 처리 중으로 옮긴다 (원자적 선점)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "for _, member in ipairs(expired) do " +
+            "  redis.call('ZREM', KEYS[2], member) " +
+            "  redis.call('ZADD', KEYS[1], 'NX', ARGV[1], member) " +
+            "end " +
+            "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "for _, member in ipairs(due) do " +
+            "  redis.call('ZREM', KEYS[1], member) " +
+            "  redis.call('ZADD', KEYS[2], ARGV[3], member) " +
+            "end " +
+            "return due",
+            List.class
+    );
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public record DueEvent(BroadcastEventType type, Long broadcastId) {
+    }
+
+    /**
+     * 예약 시각 기준 전체 이벤트를 등록한다. 같은 member는 score만 갱신되므로 재예약 시 그대로 덮어쓴다.
+     * 트랜잭션 안에서는 커밋 이후에 등록한다.
+     */
+    public void register(Long broadcastId, LocalDateTime scheduledAt) {
+        if (broadcastId == null || scheduledAt == null) {
+            return;
+        }
+        runAfterCommit(() -> {
+            for (BroadcastEventType type : BroadcastEventType.values()) {
+                redisTemplate.opsForZSet().add(EVENT_QUEUE_KEY, toMember(type, broadcastId), toScore(type.dueAt(scheduledAt)));
+            }
+        });
+    }
+
+    public void remove(Long broadcastId) {
+        if (broadcastId == null) {
+            return;
+        }
+        runAfterCommit(() -> {
+            Object[] members = Arrays.stream(BroadcastEventType.values())
+                    .map(type -> toMember(type, broadcastId))
+                    .toArray();
+            redisTemplate.opsForZSet().remove(EVENT_QUEUE_KEY, members);
+            redisTemplate.opsForZSet().remove(PROCESSING_KEY, members);
+        });
+    }
+
+    /**
+     * 도래한 이벤트를 선점한다. 처리가 끝나면 ack해야 하며, VISIBILITY_TIMEOUT 안에 ack하지 않으면 다시 나온다.
+     */
+    public List<DueEvent> claimDue(LocalDateTime now, int limit) {
+        long nowMillis = (long) toScore(now);
+        List<?> claimed = redisTemplate.execute(
+                CLAIM_SCRIPT,
+                List.of(EVENT_QUEUE_KEY, PROCESSING_KEY),
+                String.valueOf(nowMillis),
+                String.valueOf(limit),
+                String.valueOf(nowMillis + VISIBILITY_TIMEOUT.toMillis())
+        );
+        if (claimed == null || claimed.isEmpty()) {
+            return List.of();
+        }
+
+        List<DueEvent> events = new ArrayList<>(claimed.size());
+        for (Object member : claimed) {
+            DueEvent event = fromMember(member.toString());
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * 처리(커밋)가 끝난 이벤트를 처리 중 목록에서 지운다. 그 사이 재예약된 큐의 이벤트는 그대로 둔다.
+     */
+    public void ack(DueEvent event) {
+        redisTemplate.opsForZSet().remove(PROCESSING_KEY, toMember(event.type(), event.broadcastId()));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runSafely(action);
+                }
+            });
+            return;
+        }
+        runSafely(action);
+    }
+
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            // 등록 실패 시에도 syncBroadcastSchedules 폴링이 보정한다.
+            log.error("방송 이벤트 큐 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private String toMember(BroadcastEventType type, Long broadcastId) {
+        return type.name() + ":" + broadcastId;
+    }
+
+    private DueEvent fromMember(String member) {
+        int idx = member.indexOf(':');
+        if (idx <= 0) {
+            return null;
+        }
+        try {
+            return new DueEvent(
+                    BroadcastEventType.valueOf(member.substring(0, idx)),
+                    Long.parseLong(member.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 방송 이벤트 무시: {}", member);
+            return null;
+        }
+    }
+
+    private double toScore(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
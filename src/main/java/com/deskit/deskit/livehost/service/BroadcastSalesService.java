@@ -0,0 +1,153 @@
+package com.deskit.deskit.livehost.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 방송별 실시간 매출 카운터 (Redis)
+ *
+ * - sales:{broadcastId} 해시에 방송 합계(amount/quantity)와 상품별(amount:{productId}/quantity:{productId}) 누적값을 둔다.
+ * - 아웃박스 이벤트 id를 sales:{broadcastId}:applied 셋에 기록하고, 처음 보는 이벤트만 반영한다.
+ *   (릴레이가 DB 커밋 전에 실패해서 같은 이벤트를 다시 보내도 두 번 더해지지 않는다)
+ * - 영구 값은 broadcast_product.sales_* / broadcast_result.total_sales에 있고, 여기 값은 방송 중 대시보드용이다.
+ */
+@Service
+public class BroadcastSalesService {
+
+    static final String KEY_PREFIX = "sales:";
+    static final String TOTAL_AMOUNT = "amount";
+    static final String TOTAL_QUANTITY = "quantity";
+    private static final String PRODUCT_AMOUNT_PREFIX = "amount:";
+    private static final String PRODUCT_QUANTITY_PREFIX = "quantity:";
+
+    /*
+     * KEYS[1] = 카운터 해시, KEYS[2] = 반영한 이벤트 id 셋
+     * ARGV[1] = TTL(초), 이후 이벤트마다 [이벤트 id, 필드 수 n, (필드, 증분) * n]
+     */
+    static final DefaultRedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+            "local applied = 0 " +
+            "local i = 2 " +
+            "while i <= #ARGV do " +
+            "  local fresh = redis.call('SADD', KEYS[2], ARGV[i]) == 1 " +
+            "  local n = tonumber(ARGV[i + 1]) " +
+            "  i = i + 2 " +
+            "  if fresh then " +
+            "    for j = 0, n - 1 do " +
+            "      redis.call('HINCRBY', KEYS[1], ARGV[i + j * 2], ARGV[i + j * 2 + 1]) " +
+            "    end " +
+            "    applied = applied + 1 " +
+            "  end " +
+            "  i = i + n * 2 " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[1]) " +
+            "return applied",
+            Long.class
+    );
+
+    public record SalesLine(Long productId, int quantity, long amount) {}
+
+    /**
+     * @param eventId order_outbox.outbox_id
+     * @param sign    결제 +1, 결제 취소 -1
+     */
+    public record SalesEvent(Long eventId, int sign, List<SalesLine> lines) {}
+
+    public record ProductSales(int quantity, long amount) {}
+
+    public record BroadcastSales(long totalAmount, int totalQuantity, Map<Long, ProductSales> products) {}
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration liveTtl;
+
+    public BroadcastSalesService(RedisTemplate<String, String> redisTemplate,
+                                 @Value("${sales.live-ttl-hours:72}") long liveTtlHours) {
+        this.redisTemplate = redisTemplate;
+        this.liveTtl = Duration.ofHours(liveTtlHours);
+    }
+
+    /**
+     * 한 방송의 이벤트들을 카운터에 반영하고, 새로 반영된 이벤트 수를 돌려준다.
+     */
+    public int apply(Long broadcastId, List<SalesEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(liveTtl.toSeconds()));
+        for (SalesEvent event : events) {
+            args.add(String.valueOf(event.eventId()));
+            args.add(String.valueOf(2 + event.lines().size() * 2));
+            long amount = 0;
+            int quantity = 0;
+            List<String> productFields = new ArrayList<>();
+            for (SalesLine line : event.lines()) {
+                amount += line.amount();
+                quantity += line.quantity();
+                productFields.add(PRODUCT_AMOUNT_PREFIX + line.productId());
+                productFields.add(String.valueOf(event.sign() * line.amount()));
+                productFields.add(PRODUCT_QUANTITY_PREFIX + line.productId());
+                productFields.add(String.valueOf(event.sign() * line.quantity()));
+            }
+            args.add(TOTAL_AMOUNT);
+            args.add(String.valueOf(event.sign() * amount));
+            args.add(TOTAL_QUANTITY);
+            args.add(String.valueOf(event.sign() * quantity));
+            args.addAll(productFields);
+        }
+        Long applied = redisTemplate.execute(APPLY_SCRIPT, List.of(countersKey(broadcastId), appliedKey(broadcastId)), args.toArray());
+        return applied != null ? applied.intValue() : 0;
+    }
+
+    /**
+     * 방송 중 누적 매출. 카운터가 없으면(매출 없음/만료) empty → 호출 측에서 DB 값을 사용한다.
+     */
+    public Optional<BroadcastSales> getLiveSales(Long broadcastId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(countersKey(broadcastId));
+        if (entries == null || entries.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long totalAmount = 0;
+        int totalQuantity = 0;
+        Map<Long, long[]> byProduct = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            String field = entry.getKey().toString();
+            long value = Long.parseLong(entry.getValue().toString());
+            if (TOTAL_AMOUNT.equals(field)) {
+                totalAmount = value;
+            } else if (TOTAL_QUANTITY.equals(field)) {
+                totalQuantity = (int) value;
+            } else if (field.startsWith(PRODUCT_AMOUNT_PREFIX)) {
+                byProduct.computeIfAbsent(productIdOf(field), id -> new long[2])[1] = value;
+            } else if (field.startsWith(PRODUCT_QUANTITY_PREFIX)) {
+                byProduct.computeIfAbsent(productIdOf(field), id -> new long[2])[0] = value;
+            }
+        }
+
+        Map<Long, ProductSales> products = new HashMap<>();
+        byProduct.forEach((productId, sales) -> products.put(productId, new ProductSales((int) sales[0], sales[1])));
+        return Optional.of(new BroadcastSales(totalAmount, totalQuantity, products));
+    }
+
+    static String countersKey(Long broadcastId) {
+        return KEY_PREFIX + "{" + broadcastId + "}";
+    }
+
+    static String appliedKey(Long broadcastId) {
+        return countersKey(broadcastId) + ":applied";
+    }
+
+    private static Long productIdOf(String field) {
+        return Long.parseLong(field.substring(field.indexOf(':') + 1));
+    }
+}
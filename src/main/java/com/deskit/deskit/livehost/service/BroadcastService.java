@@ -2,18 +2,20 @@ package com.deskit.deskit.livehost.service;
 
 import com.deskit.deskit.account.entity.Seller;
 import com.deskit.deskit.account.repository.SellerRepository;
+import com.deskit.deskit.livehost.common.enums.BroadcastEventType;
 import com.deskit.deskit.livehost.common.enums.BroadcastProductStatus;
 import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
 import com.deskit.deskit.livehost.common.enums.SanctionType;
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
 import com.deskit.deskit.livehost.common.enums.VodStatus;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
 import com.deskit.deskit.livehost.dto.request.BroadcastCreateRequest;
 import com.deskit.deskit.livehost.dto.request.BroadcastProductRequest;
 import com.deskit.deskit.livehost.dto.request.BroadcastSearch;
 import com.deskit.deskit.livehost.dto.request.BroadcastUpdateRequest;
 import com.deskit.deskit.livehost.dto.request.MediaConfigRequest;
-import com.deskit.deskit.livehost.dto.request.OpenViduRecordingWebhook;
 import com.deskit.deskit.livehost.dto.request.QcardRequest;
 import com.deskit.deskit.livehost.dto.response.BroadcastAllResponse;
 import com.deskit.deskit.livehost.dto.response.BroadcastListResponse;
@@ -31,6 +33,7 @@ import com.deskit.deskit.livehost.entity.BroadcastProduct;
 import com.deskit.deskit.livehost.entity.BroadcastResult;
 import com.deskit.deskit.livehost.entity.Qcard;
 import com.deskit.deskit.livehost.entity.Vod;
+import com.deskit.deskit.livehost.entity.VodIngestJob;
 import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
 import com.deskit.deskit.livehost.repository.BroadcastRepository;
 import com.deskit.deskit.livehost.repository.BroadcastRepositoryCustom;
@@ -38,7 +41,11 @@ import com.deskit.deskit.livehost.repository.BroadcastResultRepository;
 import com.deskit.deskit.livehost.repository.SanctionRepository;
 import com.deskit.deskit.livehost.repository.SanctionRepositoryCustom;
 import com.deskit.deskit.livehost.repository.ViewHistoryRepository;
+import com.deskit.deskit.livehost.repository.VodIngestJobRepository;
 import com.deskit.deskit.livehost.repository.VodRepository;
+import com.deskit.deskit.order.event.BroadcastProductRestockedEvent;
+import com.deskit.deskit.order.event.BroadcastProductSoldOutEvent;
+import com.deskit.deskit.order.service.InventoryReservationService;
 import com.deskit.deskit.product.entity.Product;
 import com.deskit.deskit.product.entity.Product.Status;
 import com.deskit.deskit.product.repository.ProductRepository;
@@ -47,30 +54,22 @@ import com.deskit.deskit.tag.repository.TagCategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import java.io.InputStream;
 import java.math.BigDecimal;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.security.cert.X509Certificate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -90,6 +89,7 @@ public class BroadcastService {
     private final com.deskit.deskit.livehost.repository.QcardRepository qcardRepository;
     private final BroadcastResultRepository broadcastResultRepository;
     private final VodRepository vodRepository;
+    private final VodIngestJobRepository vodIngestJobRepository;
 
     private final SellerRepository sellerRepository;
     private final TagCategoryRepository tagCategoryRepository;
@@ -98,17 +98,18 @@ public class BroadcastService {
     private final ViewHistoryRepository viewHistoryRepository;
 
     private final RedisService redisService;
+    private final BroadcastSlotService broadcastSlotService;
+    private final BroadcastEventQueue broadcastEventQueue;
+    private final BroadcastSnapshotCache broadcastSnapshotCache;
     private final SseService sseService;
     private final OpenViduService openViduService;
+    private final JoinAdmissionService joinAdmissionService;
     private final AwsS3Service s3Service;
+    private final InventoryReservationService inventoryReservationService;
+    private final BroadcastSalesService broadcastSalesService;
+    private final SchedulerFenceService schedulerFenceService;
     private final DSLContext dsl;
 
-    @Value("${openvidu.url}")
-    private String openViduUrl;
-
-    @Value("${openvidu.secret}")
-    private String openViduSecret;
-
     @Transactional
     public Long createBroadcast(Long sellerId, BroadcastCreateRequest request) {
         String lockKey = "lock:seller:" + sellerId + ":broadcast_create";
@@ -123,8 +124,7 @@ public class BroadcastService {
                 throw new BusinessException(ErrorCode.RESERVATION_LIMIT_EXCEEDED);
             }
 
-            long slotCount = broadcastRepository.countByTimeSlot(request.getScheduledAt(), request.getScheduledAt().plusMinutes(30));
-            if (slotCount >= 3) {
+            if (!broadcastSlotService.reserve(request.getScheduledAt())) {
                 throw new BusinessException(ErrorCode.BROADCAST_SLOT_FULL);
             }
 
@@ -148,6 +148,7 @@ public class BroadcastService {
             Broadcast saved = broadcastRepository.save(broadcast);
             saveBroadcastProducts(sellerId, saved, request.getProducts());
             saveQcards(saved, request.getQcards());
+            broadcastEventQueue.register(saved.getBroadcastId(), saved.getScheduledAt());
 
             log.info("방송 생성 완료: id={}", saved.getBroadcastId());
             return saved.getBroadcastId();
@@ -169,6 +170,9 @@ public class BroadcastService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.CATEGORY_NOT_FOUND));
 
         if (broadcast.getStatus() == BroadcastStatus.RESERVED || broadcast.getStatus() == BroadcastStatus.CANCELED) {
+            if (broadcast.getStatus() == BroadcastStatus.RESERVED) {
+                moveReservedSlot(broadcast.getScheduledAt(), request.getScheduledAt());
+            }
             broadcast.updateBroadcastInfo(
                     category, request.getTitle(), request.getNotice(),
                     request.getScheduledAt(), request.getThumbnailUrl(),
@@ -176,6 +180,9 @@ public class BroadcastService {
             );
             updateBroadcastProducts(sellerId, broadcast, request.getProducts());
             updateQcards(broadcast, request.getQcards());
+            if (broadcast.getStatus() == BroadcastStatus.RESERVED) {
+                broadcastEventQueue.register(broadcastId, broadcast.getScheduledAt());
+            }
         } else {
             broadcast.updateLiveBroadcastInfo(
                     category, request.getTitle(), request.getNotice(),
@@ -201,6 +208,8 @@ public class BroadcastService {
         }
 
         broadcast.cancelBroadcast("판매자 예약 취소");
+        broadcastSlotService.release(broadcast.getScheduledAt());
+        broadcastEventQueue.remove(broadcastId);
         log.info("방송 취소 처리 완료: id={}, status={}", broadcastId, broadcast.getStatus());
     }
 
@@ -251,27 +260,16 @@ public class BroadcastService {
 
     @Transactional(readOnly = true)
     public List<ReservationSlotResponse> getReservableSlots(LocalDate date) {
-        LocalDateTime start = date.atTime(10, 0);
-        LocalDateTime end = date.atTime(23, 0);
-
-        var broadcastTable = table(name("broadcast")).as("b");
-        var scheduledField = field(name("b", "scheduled_at"), LocalDateTime.class);
-        var statusField = field(name("b", "status"), String.class);
-
-        Map<LocalDateTime, Long> counts = dsl.select(scheduledField, org.jooq.impl.DSL.count())
-                .from(broadcastTable)
-                .where(
-                        scheduledField.between(start, end),
-                        statusField.in(BroadcastStatus.RESERVED.name(), BroadcastStatus.READY.name())
-                )
-                .groupBy(scheduledField)
-                .fetchMap(scheduledField, record -> record.get(org.jooq.impl.DSL.count(), Long.class));
+        LocalDateTime start = date.atTime(BroadcastSlotService.OPEN_TIME);
+        LocalDateTime end = date.atTime(BroadcastSlotService.CLOSE_TIME);
+
+        Map<LocalDateTime, Integer> counts = broadcastSlotService.getUsedCounts(date);
 
         List<ReservationSlotResponse> slots = new java.util.ArrayList<>();
         LocalDateTime cursor = start;
         while (cursor.isBefore(end)) {
-            int used = counts.getOrDefault(cursor, 0L).intValue();
-            int remaining = Math.max(0, 3 - used);
+            int used = counts.getOrDefault(cursor, 0);
+            int remaining = Math.max(0, BroadcastSlotService.SLOT_CAPACITY - used);
             if (remaining > 0) {
                 slots.add(ReservationSlotResponse.builder()
                         .slotDateTime(cursor)
@@ -279,17 +277,16 @@ public class BroadcastService {
                         .selectable(true)
                         .build());
             }
-            cursor = cursor.plusMinutes(30);
+            cursor = cursor.plusMinutes(BroadcastSlotService.SLOT_MINUTES);
         }
         return slots;
     }
 
     @Transactional
     public void saveMediaConfig(Long sellerId, Long broadcastId, MediaConfigRequest request) {
-        Broadcast broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        BroadcastSnapshot broadcast = broadcastSnapshotCache.get(broadcastId);
 
-        if (!broadcast.getSeller().getSellerId().equals(sellerId)) {
+        if (!broadcast.isOwnedBy(sellerId)) {
             throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
         }
 
@@ -414,13 +411,12 @@ public class BroadcastService {
     }
 
     public String joinBroadcast(Long broadcastId, String viewerId) {
-        Broadcast broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        BroadcastSnapshot broadcast = broadcastSnapshotCache.get(broadcastId);
 
-        if (broadcast.getStatus() == BroadcastStatus.STOPPED) {
+        if (broadcast.status() == BroadcastStatus.STOPPED) {
             throw new BusinessException(ErrorCode.BROADCAST_STOPPED_BY_ADMIN);
         }
-        if (!isLiveGroup(broadcast.getStatus())) {
+        if (!isLiveGroup(broadcast.status())) {
             throw new BusinessException(ErrorCode.BROADCAST_NOT_ON_AIR);
         }
 
@@ -430,14 +426,17 @@ public class BroadcastService {
         }
 
         String uuid = (viewerId != null) ? viewerId : UUID.randomUUID().toString();
-        redisService.enterLiveRoom(broadcastId, uuid);
 
-        try {
-            Map<String, Object> params = Map.of("role", "SUBSCRIBER");
-            return openViduService.createToken(broadcastId, params);
-        } catch (Exception e) {
-            throw new BusinessException(ErrorCode.OPENVIDU_ERROR);
-        }
+        // 입장 폭주 시 OpenVidu 토큰 발급 동시성을 제한하고, 초과분은 429(Retry-After)로 돌려보낸다.
+        return joinAdmissionService.admit(broadcastId, () -> {
+            redisService.enterLiveRoom(broadcastId, uuid);
+            try {
+                Map<String, Object> params = Map.of("role", "SUBSCRIBER");
+                return openViduService.createToken(broadcastId, params);
+            } catch (Exception e) {
+                throw new BusinessException(ErrorCode.OPENVIDU_ERROR);
+            }
+        });
     }
 
     @Transactional
@@ -451,14 +450,26 @@ public class BroadcastService {
 
         broadcast.endBroadcast();
         openViduService.closeSession(broadcastId);
+        joinAdmissionService.clear(broadcastId);
         sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_ENDED", "ended");
     }
 
+    /**
+     * 방송 시간 초과 자동 종료 (BroadcastScheduler).
+     * 세션 종료 같은 부수효과보다 먼저 fencing 토큰을 검사해서 lease를 잃은 실행은 아무것도 바꾸지 않는다.
+     */
     @Transactional
-    public void pinProduct(Long sellerId, Long broadcastId, Long bpId) {
+    public void autoCloseBroadcast(Long broadcastId, LeaseFence fence) {
+        schedulerFenceService.validate(fence);
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
-        if (!broadcast.getSeller().getSellerId().equals(sellerId)) {
+        endBroadcast(broadcast.getSeller().getSellerId(), broadcastId);
+    }
+
+    @Transactional
+    public void pinProduct(Long sellerId, Long broadcastId, Long bpId) {
+        BroadcastSnapshot broadcast = broadcastSnapshotCache.get(broadcastId);
+        if (!broadcast.isOwnedBy(sellerId)) {
             throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
         }
 
@@ -475,6 +486,18 @@ public class BroadcastService {
         sseService.notifyBroadcastUpdate(broadcastId, "PRODUCT_PINNED", bp.getProduct().getId());
     }
 
+    // 라이브 주문으로 방송 재고가 0이 되면 즉시 품절 알림 (주문 커밋 후)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductSoldOut(BroadcastProductSoldOutEvent event) {
+        sseService.notifyBroadcastUpdate(event.broadcastId(), "PRODUCT_SOLDOUT", event.productId());
+    }
+
+    // 취소/만료로 품절 상품 재고가 돌아오면 판매 재개 알림 (재고 반영 커밋 후)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductRestocked(BroadcastProductRestockedEvent event) {
+        sseService.notifyBroadcastUpdate(event.broadcastId(), "PRODUCT_RESTOCKED", event.productId());
+    }
+
     @EventListener
     public void handleConnectListener(SessionConnectEvent event) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -503,22 +526,32 @@ public class BroadcastService {
         redisService.toggleLike(broadcastId, memberId);
     }
 
+    /**
+     * VOD 적재 마무리 (VodIngestService에서 다운로드/업로드가 끝난 뒤 호출, 짧은 트랜잭션)
+     * failed = true 이면 재시도를 모두 소진한 경우로, 웹훅 URL로 VOD를 기록한다.
+     * 작업을 선점한 시도(attempt)가 아직 RUNNING일 때만 반영한다. (회수된 옛 시도의 늦은 완료는 무시)
+     */
     @Transactional
-    public void processVod(OpenViduRecordingWebhook payload) {
-        Long broadcastId = Long.parseLong(payload.getSessionId().replace("broadcast-", ""));
+    public void completeVodIngest(Long jobId, int attempt, String s3Url, boolean failed) {
+        VodIngestStatus finalStatus = failed ? VodIngestStatus.FAILED : VodIngestStatus.SUCCEEDED;
+        if (vodIngestJobRepository.finish(jobId, attempt, finalStatus, null, VodIngestStatus.RUNNING) == 0) {
+            log.info("VOD 적재 완료 무시 - 이미 처리되었거나 회수된 시도: jobId={}, attempt={}", jobId, attempt);
+            return;
+        }
+        VodIngestJob job = vodIngestJobRepository.findById(jobId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.VOD_NOT_FOUND));
+
+        Long broadcastId = job.getBroadcastId();
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
-
-        String recordingId = payload.getId();
-        String s3Key = "seller_" + broadcast.getSeller().getSellerId() + "/vods/" + recordingId + ".mp4";
-        String s3Url = payload.getUrl() != null ? payload.getUrl() : "";
-
-        s3Url = uploadVodWithRetry(recordingId, s3Key, s3Url);
+        if (vodRepository.findByBroadcast(broadcast).isPresent()) {
+            return;
+        }
 
         boolean isStopped = broadcast.getStatus() == BroadcastStatus.STOPPED;
         VodStatus status = isStopped ? VodStatus.PRIVATE : VodStatus.PUBLIC;
 
-        long vodSize = payload.getSize() != null ? payload.getSize() : 0L;
+        long vodSize = job.getRecordingSize() != null ? job.getRecordingSize() : 0L;
         if (vodSize == 0L && s3Url != null && !s3Url.isBlank()) {
             vodSize = s3Service.getObjectSize(s3Url);
         }
@@ -527,7 +560,7 @@ public class BroadcastService {
                 .broadcast(broadcast)
                 .vodUrl(s3Url)
                 .vodSize(vodSize)
-                .vodDuration(payload.getDuration() != null ? payload.getDuration().intValue() : 0)
+                .vodDuration(job.getRecordingDuration() != null ? job.getRecordingDuration().intValue() : 0)
                 .status(status)
                 .vodReportCount(0)
                 .vodAdminLock(isStopped)
@@ -541,6 +574,13 @@ public class BroadcastService {
         LocalDateTime peak = redisService.getMaxViewersTime(broadcastId);
         Double avg = viewHistoryRepository.getAverageWatchTime(broadcastId);
 
+        // 매출 릴레이와 직렬화: 릴레이가 먼저 커밋했으면 잠금 읽기로 그 증분까지 합산하고,
+        // 이 트랜잭션이 먼저 잠갔으면 릴레이는 결과 행이 커밋된 뒤 addSales로 증분을 반영한다.
+        broadcastRepository.lockForSales(broadcastId);
+        long totalSales = broadcastProductRepository.findSalesAmountsForUpdate(broadcastId).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
         BroadcastResult result = BroadcastResult.builder()
                 .broadcast(broadcast)
                 .totalViews(uv)
@@ -550,7 +590,8 @@ public class BroadcastService {
                 .maxViews(mv)
                 .pickViewsAt(peak)
                 .totalChats(0)
-                .totalSales(BigDecimal.ZERO)
+                // 방송 중 매출 릴레이가 누적한 상품별 판매 금액 합계 (이후 결제/취소는 릴레이가 증분 반영)
+                .totalSales(BigDecimal.valueOf(totalSales))
                 .build();
         broadcastResultRepository.save(result);
 
@@ -560,55 +601,12 @@ public class BroadcastService {
         }
     }
 
-    private String uploadVodWithRetry(String recordingId, String s3Key, String fallbackUrl) {
-        int attempts = 0;
-        while (attempts < 3) {
-            attempts++;
-            try {
-                disableSslVerification();
-
-                String videoUrl = openViduUrl.replaceAll("/$", "") +
-                        "/openvidu/recordings/" + recordingId + "/" + recordingId + ".mp4";
-
-                URL url = new URL(videoUrl);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-
-                String auth = "OPENVIDUAPP:" + openViduSecret;
-                String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
-                conn.setRequestProperty("Authorization", "Basic " + encodedAuth);
-
-                int responseCode = conn.getResponseCode();
-                if (responseCode == HttpURLConnection.HTTP_OK) {
-                    try (InputStream inputStream = conn.getInputStream()) {
-                        long contentLength = conn.getContentLengthLong();
-                        String s3Url = s3Service.uploadVodStream(inputStream, s3Key, contentLength);
-                        log.info("VOD Upload Success: {}", s3Url);
-                        return s3Url;
-                    }
-                } else {
-                    log.error("Failed to fetch recording from OpenVidu: {}", responseCode);
-                }
-            } catch (Exception e) {
-                log.error("VOD Processing Error (attempt {}): {}", attempts, e.getMessage());
-            }
-
-            try {
-                Thread.sleep(1000L * attempts);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-        return fallbackUrl;
-    }
 
     @Transactional(readOnly = true)
     public BroadcastStatsResponse getBroadcastStats(Long broadcastId) {
-        Broadcast broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        BroadcastSnapshot broadcast = broadcastSnapshotCache.get(broadcastId);
 
-        if (broadcast.getStatus() == BroadcastStatus.DELETED || broadcast.getStatus() == BroadcastStatus.CANCELED) {
+        if (broadcast.status() == BroadcastStatus.DELETED || broadcast.status() == BroadcastStatus.CANCELED) {
             throw new BusinessException(ErrorCode.BROADCAST_NOT_FOUND);
         }
 
@@ -616,7 +614,7 @@ public class BroadcastService {
         int likes = 0;
         int reports = 0;
 
-        if (isLiveGroup(broadcast.getStatus())) {
+        if (isLiveGroup(broadcast.status())) {
             views = redisService.getRealtimeViewerCount(broadcastId);
             likes = redisService.getLikeCount(broadcastId);
             reports = redisService.getReportCount(broadcastId);
@@ -625,7 +623,7 @@ public class BroadcastService {
             if (result != null) {
                 views = result.getTotalViews();
                 likes = result.getTotalLikes();
-                reports = sanctionRepository.countByBroadcast(broadcast);
+                reports = sanctionRepository.countByBroadcast(broadcastRepository.getReferenceById(broadcastId));
             }
         }
 
@@ -645,10 +643,9 @@ public class BroadcastService {
 
     @Transactional(readOnly = true)
     public boolean canChat(Long broadcastId, Long memberId) {
-        Broadcast broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        BroadcastSnapshot broadcast = broadcastSnapshotCache.get(broadcastId);
 
-        if (broadcast.getStatus() == BroadcastStatus.STOPPED) {
+        if (broadcast.status() == BroadcastStatus.STOPPED) {
             return false;
         }
 
@@ -677,6 +674,7 @@ public class BroadcastService {
 
         BroadcastResult result = broadcastResultRepository.findById(broadcastId).orElse(null);
         Vod vod = vodRepository.findByBroadcast(broadcast).orElse(null);
+        VodIngestJob ingestJob = vodIngestJobRepository.findTopByBroadcastIdOrderByJobIdDesc(broadcastId).orElse(null);
 
         int views = 0;
         int likes = 0;
@@ -691,7 +689,6 @@ public class BroadcastService {
         if (result != null) {
             views = result.getTotalViews();
             likes = result.getTotalLikes();
-            sales = result.getTotalSales();
             chats = result.getTotalChats();
             maxV = result.getMaxViews();
             maxTime = result.getPickViewsAt();
@@ -700,18 +697,37 @@ public class BroadcastService {
         }
         sanctions = sanctionRepository.countByBroadcast(broadcast);
 
+        // 방송 중에는 Redis 실시간 카운터, 그 외에는 broadcast_product 체크포인트 사용
+        BroadcastSalesService.BroadcastSales liveSales = isLiveGroup(broadcast.getStatus())
+                ? broadcastSalesService.getLiveSales(broadcastId).orElse(null)
+                : null;
         List<BroadcastResultResponse.ProductSalesStat> productStats = broadcastProductRepository
                 .findAllWithProductByBroadcastId(broadcastId)
                 .stream()
-                .map(bp -> BroadcastResultResponse.ProductSalesStat.builder()
-                        .productId(bp.getProduct().getId())
-                        .productName(bp.getProduct().getProductName())
-                        .salesAmount(BigDecimal.ZERO)
-                        .price(bp.getBpPrice())
-                        .salesQuantity(0)
-                        .build())
+                .map(bp -> {
+                    BroadcastSalesService.ProductSales productSales = liveSales != null
+                            ? liveSales.products().getOrDefault(bp.getProduct().getId(), new BroadcastSalesService.ProductSales(0, 0))
+                            : new BroadcastSalesService.ProductSales(bp.getSalesQuantity(), bp.getSalesAmount());
+                    return BroadcastResultResponse.ProductSalesStat.builder()
+                            .productId(bp.getProduct().getId())
+                            .productName(bp.getProduct().getProductName())
+                            .salesAmount(BigDecimal.valueOf(productSales.amount()))
+                            .price(bp.getBpPrice())
+                            .salesQuantity(productSales.quantity())
+                            .build();
+                })
                 .collect(Collectors.toList());
 
+        if (liveSales != null) {
+            sales = BigDecimal.valueOf(liveSales.totalAmount());
+        } else if (result != null) {
+            sales = result.getTotalSales();
+        } else {
+            sales = productStats.stream()
+                    .map(BroadcastResultResponse.ProductSalesStat::getSalesAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
         long duration = 0;
         if (broadcast.getStartedAt() != null && broadcast.getEndedAt() != null) {
             duration = java.time.Duration.between(broadcast.getStartedAt(), broadcast.getEndedAt()).toMinutes();
@@ -736,7 +752,9 @@ public class BroadcastService {
                 .sanctionCount(sanctions)
                 .vodUrl((vod != null && vod.getStatus() != VodStatus.DELETED) ? vod.getVodUrl() : null)
                 .vodStatus(vod != null ? vod.getStatus() : null)
-                .isEncoding(vod == null)
+                .isEncoding(vod == null && (ingestJob == null || ingestJob.getStatus().isInProgress()))
+                .vodIngestStatus(ingestJob != null ? ingestJob.getStatus() : null)
+                .vodIngestAttempts(ingestJob != null ? ingestJob.getAttempts() : 0)
                 .productStats(productStats)
                 .build();
     }
@@ -768,27 +786,62 @@ public class BroadcastService {
                 .build();
     }
 
-    @Scheduled(fixedDelay = 60000)
+    /**
+     * 지연 이벤트 큐(BroadcastEventQueue)에서 꺼낸 이벤트를 발화 시각에 처리한다.
+     */
     @Transactional
-    public void syncBroadcastSchedules() {
-        LocalDateTime now = LocalDateTime.now();
+    public void handleScheduledEvent(BroadcastEventType type, Long broadcastId) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
+        if (broadcast == null) {
+            return;
+        }
 
-        List<Long> readyTargets = broadcastRepository.findBroadcastIdsForReadyTransition(now);
-        for (Long broadcastId : readyTargets) {
-            Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
-            if (broadcast != null && broadcast.getStatus() == BroadcastStatus.RESERVED) {
-                broadcast.readyBroadcast();
-                sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_READY", "ready");
+        switch (type) {
+            case READY -> applyReadyTransition(broadcast);
+            case NO_SHOW -> applyNoShow(broadcast);
+            case ENDING_SOON -> {
+                if (isLiveGroup(broadcast.getStatus())) {
+                    notifyEndingSoon(broadcastId);
+                }
+            }
+            case SCHEDULED_END -> {
+                if (isLiveGroup(broadcast.getStatus())) {
+                    applyScheduledEnd(broadcastId);
+                }
             }
         }
+    }
 
-        List<Long> noShowTargets = broadcastRepository.findBroadcastIdsForNoShow(now);
-        for (Long broadcastId : noShowTargets) {
-            Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
-            if (broadcast != null && (broadcast.getStatus() == BroadcastStatus.RESERVED || broadcast.getStatus() == BroadcastStatus.READY)) {
-                broadcast.markNoShow("방송 시작 시간 초과");
-                sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_CANCELED", "no_show");
-            }
+    /**
+     * 이벤트 큐 유실(Redis 재시작 등)에 대비한 보정 폴링.
+     * BroadcastScheduler가 lease를 얻은 노드에서만 호출하고, 전환 쓰기 전에 fencing 토큰을 검사한다.
+     */
+    @Transactional
+    public void syncBroadcastSchedules(LeaseFence fence) {
+        schedulerFenceService.validate(fence);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> readyIds = broadcastRepository.transitionToReady(now);
+
+        List<BroadcastRepositoryCustom.BroadcastScheduleInfo> noShows = broadcastRepository.transitionNoShow(now, "방송 시작 시간 초과");
+        for (BroadcastRepositoryCustom.BroadcastScheduleInfo noShow : noShows) {
+            broadcastSlotService.release(noShow.scheduledAt());
+            broadcastEventQueue.remove(noShow.broadcastId());
+        }
+        List<Long> noShowIds = noShows.stream()
+                .map(BroadcastRepositoryCustom.BroadcastScheduleInfo::broadcastId)
+                .toList();
+
+        // jOOQ 일괄 UPDATE는 엔티티 리스너를 거치지 않으므로 직접 무효화
+        broadcastSnapshotCache.evictAll(readyIds);
+        broadcastSnapshotCache.evictAll(noShowIds);
+
+        runAfterCommit(() -> {
+            sseService.notifyBroadcastUpdates(readyIds, "BROADCAST_READY", "ready");
+            sseService.notifyBroadcastUpdates(noShowIds, "BROADCAST_CANCELED", "no_show");
+        });
+        if (!readyIds.isEmpty() || !noShowIds.isEmpty()) {
+            log.info("방송 상태 일괄 전환: ready={}, noShow={}", readyIds.size(), noShowIds.size());
         }
 
         List<BroadcastRepositoryCustom.BroadcastScheduleInfo> schedules = broadcastRepository.findBroadcastSchedules(
@@ -801,30 +854,74 @@ public class BroadcastService {
             if (schedule.scheduledAt() == null) {
                 continue;
             }
-            LocalDateTime scheduledEnd = schedule.scheduledAt().plusMinutes(30);
-            if (!scheduledEnd.isAfter(now)) {
-                String noticeKey = redisService.getScheduleNoticeKey(schedule.broadcastId(), "ended");
-                if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
-                    Broadcast broadcast = broadcastRepository.findById(schedule.broadcastId()).orElse(null);
-                    if (broadcast != null && broadcast.getStatus() == BroadcastStatus.ON_AIR) {
-                        broadcast.endBroadcast();
-                        openViduService.closeSession(schedule.broadcastId());
-                    }
-                    sseService.notifyBroadcastUpdate(schedule.broadcastId(), "BROADCAST_SCHEDULED_END", "ended");
-                }
+            if (!BroadcastEventType.SCHEDULED_END.dueAt(schedule.scheduledAt()).isAfter(now)) {
+                applyScheduledEnd(schedule.broadcastId());
                 continue;
             }
 
-            LocalDateTime noticeAt = scheduledEnd.minusMinutes(1);
-            if (!noticeAt.isAfter(now)) {
-                String noticeKey = redisService.getScheduleNoticeKey(schedule.broadcastId(), "ending_soon");
-                if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
-                    sseService.notifyBroadcastUpdate(schedule.broadcastId(), "BROADCAST_ENDING_SOON", "1m");
-                }
+            if (!BroadcastEventType.ENDING_SOON.dueAt(schedule.scheduledAt()).isAfter(now)) {
+                notifyEndingSoon(schedule.broadcastId());
             }
         }
     }
 
+    private void applyReadyTransition(Broadcast broadcast) {
+        if (broadcast.getStatus() != BroadcastStatus.RESERVED) {
+            return;
+        }
+        broadcast.readyBroadcast();
+        // 롤백된 전환을 알리지 않도록 커밋 후 발송 (보정 폴링 경로와 같다)
+        runAfterCommit(() -> sseService.notifyBroadcastUpdate(broadcast.getBroadcastId(), "BROADCAST_READY", "ready"));
+    }
+
+    private void applyNoShow(Broadcast broadcast) {
+        if (broadcast.getStatus() != BroadcastStatus.RESERVED && broadcast.getStatus() != BroadcastStatus.READY) {
+            return;
+        }
+        // 보정 폴링(transitionNoShow)과 겹칠 수 있으므로 조건부 UPDATE로 전환한 쪽만 슬롯을 반환한다
+        if (!broadcastRepository.markNoShow(broadcast.getBroadcastId(), "방송 시작 시간 초과", LocalDateTime.now())) {
+            return;
+        }
+        broadcastSnapshotCache.evict(broadcast.getBroadcastId());
+        broadcastSlotService.release(broadcast.getScheduledAt());
+        broadcastEventQueue.remove(broadcast.getBroadcastId());
+        runAfterCommit(() -> sseService.notifyBroadcastUpdate(broadcast.getBroadcastId(), "BROADCAST_CANCELED", "no_show"));
+    }
+
+    private void applyScheduledEnd(Long broadcastId) {
+        String noticeKey = redisService.getScheduleNoticeKey(broadcastId, "ended");
+        if (!redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
+            return;
+        }
+        Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
+        if (broadcast != null && broadcast.getStatus() == BroadcastStatus.ON_AIR) {
+            broadcast.endBroadcast();
+            openViduService.closeSession(broadcastId);
+            joinAdmissionService.clear(broadcastId);
+        }
+        sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_SCHEDULED_END", "ended");
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private void notifyEndingSoon(Long broadcastId) {
+        String noticeKey = redisService.getScheduleNoticeKey(broadcastId, "ending_soon");
+        if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
+            sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_ENDING_SOON", "1m");
+        }
+    }
+
     private void saveBroadcastProducts(Long sellerId, Broadcast broadcast, List<BroadcastProductRequest> products) {
         if (products == null || products.isEmpty()) {
             return;
@@ -852,6 +949,18 @@ public class BroadcastService {
         }
     }
 
+    private void moveReservedSlot(LocalDateTime from, LocalDateTime to) {
+        if (to == null || (from != null && BroadcastSlotService.toSlotStart(from).equals(BroadcastSlotService.toSlotStart(to)))) {
+            return;
+        }
+        if (!broadcastSlotService.reserve(to)) {
+            throw new BusinessException(ErrorCode.BROADCAST_SLOT_FULL);
+        }
+        if (from != null) {
+            broadcastSlotService.release(from);
+        }
+    }
+
     private void saveQcards(Broadcast broadcast, List<QcardRequest> qcards) {
         if (qcards == null || qcards.isEmpty()) {
             return;
@@ -1005,39 +1114,20 @@ public class BroadcastService {
                 item.setReportCount(redisService.getReportCount(item.getBroadcastId()));
 
                 List<BroadcastProduct> products = broadcastProductRepository.findAllWithProductByBroadcastId(item.getBroadcastId());
+                // DB 수량은 비동기 반영이라 늦을 수 있으므로 Redis 재고 카운터를 우선 사용
+                Map<Long, Integer> liveStocks = inventoryReservationService.getBroadcastStocks(
+                        products.stream().map(BroadcastProduct::getBpId).collect(Collectors.toList()));
 
                 item.setProducts(products.stream().map(bp -> {
                     Product p = bp.getProduct();
+                    int stock = liveStocks.getOrDefault(bp.getBpId(), bp.getBpQuantity());
                     return BroadcastListResponse.SimpleProductInfo.builder()
                             .name(p.getProductName())
-                            .stock(bp.getBpQuantity())
-                            .isSoldOut(bp.getBpQuantity() <= 0)
+                            .stock(stock)
+                            .isSoldOut(stock <= 0)
                             .build();
                 }).collect(Collectors.toList()));
             }
         });
     }
-
-    private void disableSslVerification() {
-        try {
-            TrustManager[] trustAllCerts = new TrustManager[]{new X509TrustManager() {
-                public X509Certificate[] getAcceptedIssuers() {
-                    return null;
-                }
-
-                public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                }
-
-                public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                }
-            }};
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HostnameVerifier allHostsValid = (hostname, session) -> true;
-            HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
-        } catch (Exception e) {
-            log.warn("SSL verification disable failed: {}", e.getMessage());
-        }
-    }
 }
@@ -0,0 +1,368 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.table;
+
+/**
+ * 방송 예약 슬롯(30분 단위) 점유 수를 Redis Hash로 관리한다.
+ * key = broadcast:{slots}:{yyyy-MM-dd}, field = HH:mm, value = RESERVED/READY 방송 수
+ *
+ * DB 기준 재구성(reconcile)은 락을 잡은 노드 하나만 수행한다.
+ * 재구성 중에는 새 점유/반환을 막고, 이미 시작됐지만 아직 커밋되지 않은 점유/반환(inflight)이
+ * 끝날 때까지 기다린 뒤 DB를 읽는다. 그래야 DB 스냅샷과 Redis 증감이 겹쳐 두 번 세거나 빠지지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastSlotService {
+
+    public static final int SLOT_CAPACITY = 3;
+    public static final int SLOT_MINUTES = 30;
+    public static final LocalTime OPEN_TIME = LocalTime.of(10, 0);
+    public static final LocalTime CLOSE_TIME = LocalTime.of(23, 0);
+
+    // 슬롯 키 / 락 / inflight를 같은 해시 슬롯에 둔다 (Lua에서 함께 접근)
+    static final String KEY_PREFIX = "broadcast:{slots}:";
+    static final String RECONCILE_LOCK_KEY = KEY_PREFIX + "reconcile-lock";
+    static final String INFLIGHT_KEY = KEY_PREFIX + "inflight";
+    private static final String SLOT_KEY_PATTERN = KEY_PREFIX + "????-??-??";
+    private static final String STAGING_SUFFIX = ":staging";
+    private static final DateTimeFormatter SLOT_FIELD_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final long SLOT_KEY_TTL_DAYS = 2;
+
+    static final long RESERVE_RESULT_FULL = -1;
+    static final long RESERVE_RESULT_RECONCILING = -2;
+
+    private static final long RECONCILE_LOCK_TTL_SECONDS = 60;
+    // 커밋되지 않은 점유/반환이 이보다 오래 남아 있으면 죽은 노드의 흔적으로 보고 무시한다.
+    private static final long INFLIGHT_STALE_MILLIS = 60_000;
+    private static final long INFLIGHT_DRAIN_TIMEOUT_MILLIS = 10_000;
+    // 재구성은 DB 조회 + Hash 몇 개 쓰기라 금방 끝난다. 그동안 요청은 잠깐 기다린다.
+    private static final long RECONCILE_WAIT_MILLIS = 3_000;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    // 재구성 중이면 -2, 정원 미만일 때만 증가 (-1: 정원 초과). 트랜잭션 점유는 inflight에 기록
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return -2 end " +
+            "local used = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0') " +
+            "if used >= tonumber(ARGV[2]) then return -1 end " +
+            "local next = redis.call('HINCRBY', KEYS[1], ARGV[1], 1) " +
+            "redis.call('EXPIREAT', KEYS[1], ARGV[3]) " +
+            "if ARGV[4] ~= '' then redis.call('ZADD', KEYS[3], ARGV[5], ARGV[4]) end " +
+            "return next",
+            Long.class
+    );
+
+    // 재구성 중이 아닐 때만 커밋 대기 중인 반환을 inflight에 기록 (0: 재구성 중)
+    private static final DefaultRedisScript<Long> BEGIN_RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+            "return 1",
+            Long.class
+    );
+
+    // 0 미만으로 내려가지 않도록 감소하고 inflight 기록을 지운다
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[2] ~= '' then redis.call('ZREM', KEYS[2], ARGV[2]) end " +
+            "local used = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0') " +
+            "if used <= 0 then return 0 end " +
+            "return redis.call('HINCRBY', KEYS[1], ARGV[1], -1)",
+            Long.class
+    );
+
+    // 내가 잡은 락일 때만 해제
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class
+    );
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final DSLContext dsl;
+
+    public static LocalDateTime toSlotStart(LocalDateTime dateTime) {
+        LocalDateTime truncated = dateTime.truncatedTo(ChronoUnit.MINUTES);
+        return truncated.withMinute(truncated.getMinute() - truncated.getMinute() % SLOT_MINUTES);
+    }
+
+    /**
+     * 슬롯 1자리를 원자적으로 점유한다. 트랜잭션이 롤백되면 자동으로 반환한다.
+     * 재구성 중이면 끝날 때까지 잠깐 기다리고, 그래도 안 끝나면 점유하지 못한 것으로 본다.
+     */
+    public boolean reserve(LocalDateTime scheduledAt) {
+        LocalDateTime slot = toSlotStart(scheduledAt);
+        long expireAt = getExpireAt(slot.toLocalDate()).getTime() / 1000;
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        String token = inTransaction ? UUID.randomUUID().toString() : "";
+
+        long deadline = System.currentTimeMillis() + RECONCILE_WAIT_MILLIS;
+        Long result;
+        while (true) {
+            result = redisTemplate.execute(
+                    RESERVE_SCRIPT,
+                    List.of(getSlotKey(slot.toLocalDate()), RECONCILE_LOCK_KEY, INFLIGHT_KEY),
+                    slot.format(SLOT_FIELD_FORMAT),
+                    String.valueOf(SLOT_CAPACITY),
+                    String.valueOf(expireAt),
+                    token,
+                    String.valueOf(System.currentTimeMillis())
+            );
+            if (result == null || result != RESERVE_RESULT_RECONCILING || !sleepUntil(deadline)) {
+                break;
+            }
+        }
+        if (result == null || result < 0) {
+            if (result != null && result == RESERVE_RESULT_RECONCILING) {
+                log.warn("슬롯 재구성이 끝나지 않아 점유 실패: slot={}", slot);
+            }
+            return false;
+        }
+
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        finishInflight(token);
+                    } else {
+                        releaseNow(slot, token);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * 슬롯 1자리를 반환한다. 트랜잭션 안에서는 커밋 이후에 반환한다.
+     */
+    public void release(LocalDateTime scheduledAt) {
+        LocalDateTime slot = toSlotStart(scheduledAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            String token = beginRelease();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        releaseNow(slot, token);
+                    } else {
+                        finishInflight(token);
+                    }
+                }
+            });
+            return;
+        }
+        releaseNow(slot, "");
+    }
+
+    /**
+     * 해당 날짜의 슬롯별 점유 수 (HGETALL 1회)
+     */
+    public Map<LocalDateTime, Integer> getUsedCounts(LocalDate date) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(getSlotKey(date));
+        Map<LocalDateTime, Integer> counts = new HashMap<>();
+        entries.forEach((field, value) -> {
+            try {
+                LocalTime time = LocalTime.parse(field.toString(), SLOT_FIELD_FORMAT);
+                counts.put(date.atTime(time), Integer.parseInt(value.toString()));
+            } catch (RuntimeException e) {
+                log.warn("슬롯 카운터 파싱 실패: date={}, field={}, value={}", date, field, value);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * 기동 시 MySQL(RESERVED/READY)의 오늘 이후 예약 현황으로 카운터를 재구성한다.
+     * - 락을 잡은 노드 하나만 수행 (다른 노드는 건너뜀)
+     * - 진행 중인 점유/반환이 끝난 뒤 DB를 읽고, 날짜별로 staging 키를 만든 뒤 RENAME으로 교체
+     * - 더 이상 필요 없는 날짜 키는 SCAN으로 찾아 지운다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileFromDatabase() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(RECONCILE_LOCK_KEY, token, RECONCILE_LOCK_TTL_SECONDS, TimeUnit.SECONDS))) {
+            log.info("방송 슬롯 카운터 재구성 건너뜀: 다른 노드가 진행 중");
+            return;
+        }
+
+        try {
+            if (!awaitInflightDrained()) {
+                log.warn("방송 슬롯 카운터 재구성 중단: 진행 중인 점유/반환이 끝나지 않음");
+                return;
+            }
+
+            Map<LocalDateTime, Integer> dbCounts = loadReservedCounts(LocalDate.now().atStartOfDay());
+
+            Map<String, Map<String, String>> byDay = new HashMap<>();
+            dbCounts.forEach((slot, used) -> byDay
+                    .computeIfAbsent(getSlotKey(slot.toLocalDate()), k -> new HashMap<>())
+                    .put(slot.format(SLOT_FIELD_FORMAT), String.valueOf(used)));
+
+            byDay.forEach((key, fields) -> {
+                String stagingKey = key + STAGING_SUFFIX;
+                redisTemplate.delete(stagingKey);
+                redisTemplate.opsForHash().putAll(stagingKey, fields);
+                redisTemplate.expireAt(stagingKey, getExpireAt(LocalDate.parse(key.substring(KEY_PREFIX.length()))));
+                redisTemplate.rename(stagingKey, key);
+            });
+
+            scanSlotKeys().stream()
+                    .filter(key -> !byDay.containsKey(key))
+                    .forEach(redisTemplate::delete);
+
+            log.info("방송 슬롯 카운터 재구성 완료: days={}, slots={}", byDay.size(), dbCounts.size());
+        } catch (Exception e) {
+            log.error("방송 슬롯 카운터 재구성 실패: {}", e.getMessage());
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(RECONCILE_LOCK_KEY), token);
+        }
+    }
+
+    Map<LocalDateTime, Integer> loadReservedCounts(LocalDateTime from) {
+        var broadcastTable = table(name("broadcast")).as("b");
+        var scheduledField = field(name("b", "scheduled_at"), LocalDateTime.class);
+        var statusField = field(name("b", "status"), String.class);
+
+        Map<LocalDateTime, Integer> dbCounts = new HashMap<>();
+        dsl.select(scheduledField, count())
+                .from(broadcastTable)
+                .where(
+                        scheduledField.ge(from),
+                        statusField.in(BroadcastStatus.RESERVED.name(), BroadcastStatus.READY.name())
+                )
+                .groupBy(scheduledField)
+                .fetch()
+                .forEach(record -> dbCounts.merge(
+                        toSlotStart(record.get(scheduledField)),
+                        record.get(count(), Integer.class),
+                        Integer::sum
+                ));
+        return dbCounts;
+    }
+
+    private boolean awaitInflightDrained() {
+        long deadline = System.currentTimeMillis() + INFLIGHT_DRAIN_TIMEOUT_MILLIS;
+        do {
+            redisTemplate.opsForZSet().removeRangeByScore(
+                    INFLIGHT_KEY, 0, System.currentTimeMillis() - INFLIGHT_STALE_MILLIS);
+            Long pending = redisTemplate.opsForZSet().zCard(INFLIGHT_KEY);
+            if (pending == null || pending == 0) {
+                return true;
+            }
+        } while (sleepUntil(deadline));
+        return false;
+    }
+
+    private Set<String> scanSlotKeys() {
+        Set<String> keys = new HashSet<>();
+        ScanOptions options = ScanOptions.scanOptions().match(SLOT_KEY_PATTERN).count(100).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    /**
+     * 커밋 대기 중인 반환을 inflight에 기록한다. 재구성 중이면 잠깐 기다린다.
+     * 그래도 안 끝나면 기록 없이 진행한다 (재구성이 락 TTL로 끝나므로 커밋 후 반환은 그대로 반영된다).
+     */
+    private String beginRelease() {
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + RECONCILE_WAIT_MILLIS;
+        try {
+            do {
+                Long started = redisTemplate.execute(
+                        BEGIN_RELEASE_SCRIPT,
+                        List.of(RECONCILE_LOCK_KEY, INFLIGHT_KEY),
+                        token,
+                        String.valueOf(System.currentTimeMillis())
+                );
+                if (started != null && started == 1) {
+                    return token;
+                }
+            } while (sleepUntil(deadline));
+            log.warn("슬롯 재구성이 끝나지 않아 inflight 기록 없이 반환 예약");
+        } catch (Exception e) {
+            log.error("방송 슬롯 반환 기록 실패: {}", e.getMessage());
+        }
+        return "";
+    }
+
+    private void finishInflight(String token) {
+        if (token.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(INFLIGHT_KEY, token);
+        } catch (Exception e) {
+            log.error("방송 슬롯 inflight 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void releaseNow(LocalDateTime slot, String token) {
+        try {
+            redisTemplate.execute(
+                    RELEASE_SCRIPT,
+                    List.of(getSlotKey(slot.toLocalDate()), INFLIGHT_KEY),
+                    slot.format(SLOT_FIELD_FORMAT),
+                    token
+            );
+        } catch (Exception e) {
+            log.error("방송 슬롯 반환 실패: slot={}, error={}", slot, e.getMessage());
+        }
+    }
+
+    private static boolean sleepUntil(long deadline) {
+        if (System.currentTimeMillis() >= deadline) {
+            return false;
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Date getExpireAt(LocalDate date) {
+        return Date.from(date.plusDays(SLOT_KEY_TTL_DAYS).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    static String getSlotKey(LocalDate date) {
+        return KEY_PREFIX + date;
+    }
+}
@@ -0,0 +1,21 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상태/소유자 확인용 방송 요약 (불변). 엔티티 대신 BroadcastSnapshotCache에서 조회한다.
+ */
+public record BroadcastSnapshot(
+        Long broadcastId,
+        BroadcastStatus status,
+        Long sellerId,
+        LocalDateTime scheduledAt,
+        LocalDateTime startedAt
+) {
+
+    public boolean isOwnedBy(Long sellerId) {
+        return this.sellerId != null && this.sellerId.equals(sellerId);
+    }
+}
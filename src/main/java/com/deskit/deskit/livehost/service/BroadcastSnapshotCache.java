@@ -0,0 +1,279 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.exception.BusinessException;
+import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Record4;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.table;
+
+/**
+ * 방송 상태/소유자 스냅샷 read-through 캐시.
+ * 로컬(노드, Caffeine LRU) → Redis(broadcast:snapshot:{id}) → MySQL(4개 컬럼만 조회) 순서로 찾는다.
+ * 방송 상태가 바뀌면 evict()로 두 계층을 모두 지우고, Pub/Sub으로 다른 노드의 로컬 캐시도 지운다.
+ *
+ * 조회(DB 로드)와 evict가 겹치면 옛 스냅샷이 evict 뒤에 저장될 수 있다. 이를 막기 위해
+ * - Redis: evict마다 세대(:gen)를 올리고, 저장은 조회 시작 때 읽은 세대와 같을 때만 한다. (Lua)
+ * - 로컬: evict마다 노드 세대를 올리고, 저장 직후 세대가 바뀌었으면 방금 넣은 값을 지운다.
+ */
+@Slf4j
+@Service
+public class BroadcastSnapshotCache {
+
+    private static final String KEY_PREFIX = "broadcast:snapshot:";
+    private static final String GENERATION_SUFFIX = ":gen";
+    private static final String EVICT_CHANNEL = "broadcast:snapshot:evict";
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "-";
+    private static final Duration REDIS_TTL = Duration.ofMinutes(10);
+    // 세대 키는 스냅샷보다 오래 살아야 한다
+    private static final Duration GENERATION_TTL = Duration.ofDays(1);
+    private static final Duration LOCAL_TTL = Duration.ofSeconds(30);
+    static final int LOCAL_MAX_SIZE = 10_000;
+
+    // 세대가 조회 시작 때와 같을 때만 저장 (1: 저장, 0: 그 사이 evict됨)
+    private static final DefaultRedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[2] then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) " +
+            "return 1",
+            Long.class
+    );
+
+    // 세대를 올리고 스냅샷을 지운다
+    private static final DefaultRedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "local gen = redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return gen",
+            Long.class
+    );
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final DSLContext dsl;
+
+    private final Cache<Long, BroadcastSnapshot> localCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAX_SIZE)
+            .expireAfterWrite(LOCAL_TTL)
+            .build();
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    public BroadcastSnapshotCache(
+            RedisTemplate<String, String> redisTemplate,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer,
+            DSLContext dsl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.dsl = dsl;
+    }
+
+    @PostConstruct
+    void subscribeEviction() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                evictLocal(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (NumberFormatException e) {
+                log.warn("방송 스냅샷 무효화 메시지 파싱 실패");
+            }
+        }, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    public BroadcastSnapshot get(Long broadcastId) {
+        return find(broadcastId).orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+    }
+
+    public Optional<BroadcastSnapshot> find(Long broadcastId) {
+        if (broadcastId == null) {
+            return Optional.empty();
+        }
+
+        BroadcastSnapshot local = localCache.getIfPresent(broadcastId);
+        if (local != null) {
+            return Optional.of(local);
+        }
+
+        long localGenerationAtRead = localGeneration.get();
+        BroadcastSnapshot snapshot = readRedis(broadcastId);
+        if (snapshot == null) {
+            String generation = readGeneration(broadcastId);
+            snapshot = loadFromDatabase(broadcastId);
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            if (generation != null) {
+                writeRedis(snapshot, generation);
+            }
+        }
+
+        putLocal(snapshot, localGenerationAtRead);
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * 즉시 한 번, 트랜잭션 안이면 커밋 이후에 한 번 더 지운다.
+     * (커밋 전에 다른 요청이 옛 상태를 다시 캐싱하는 경우 방지)
+     */
+    public void evict(Long broadcastId) {
+        if (broadcastId == null) {
+            return;
+        }
+        evictNow(broadcastId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(broadcastId);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<Long> broadcastIds) {
+        if (broadcastIds != null) {
+            broadcastIds.forEach(this::evict);
+        }
+    }
+
+    private void evictNow(Long broadcastId) {
+        evictLocal(broadcastId);
+        try {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(snapshotKey(broadcastId), generationKey(broadcastId)),
+                    String.valueOf(GENERATION_TTL.toMillis()));
+            redisTemplate.convertAndSend(EVICT_CHANNEL, String.valueOf(broadcastId));
+        } catch (Exception e) {
+            log.error("방송 스냅샷 무효화 실패: broadcastId={}, error={}", broadcastId, e.getMessage());
+        }
+    }
+
+    private void evictLocal(Long broadcastId) {
+        localGeneration.incrementAndGet();
+        localCache.invalidate(broadcastId);
+    }
+
+    private void putLocal(BroadcastSnapshot snapshot, long generationAtRead) {
+        if (localGeneration.get() != generationAtRead) {
+            return;
+        }
+        localCache.put(snapshot.broadcastId(), snapshot);
+        // put 직전에 evict가 끼어들었으면 방금 넣은 값을 되돌린다
+        if (localGeneration.get() != generationAtRead) {
+            localCache.asMap().remove(snapshot.broadcastId(), snapshot);
+        }
+    }
+
+    private BroadcastSnapshot readRedis(Long broadcastId) {
+        try {
+            String value = redisTemplate.opsForValue().get(snapshotKey(broadcastId));
+            return value != null ? decode(broadcastId, value) : null;
+        } catch (Exception e) {
+            log.warn("방송 스냅샷 Redis 조회 실패: broadcastId={}, error={}", broadcastId, e.getMessage());
+            return null;
+        }
+    }
+
+    private String readGeneration(Long broadcastId) {
+        try {
+            String generation = redisTemplate.opsForValue().get(generationKey(broadcastId));
+            return generation != null ? generation : "0";
+        } catch (Exception e) {
+            // 세대를 모르면 Redis에는 저장하지 않는다
+            log.warn("방송 스냅샷 세대 조회 실패: broadcastId={}, error={}", broadcastId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(BroadcastSnapshot snapshot, String generation) {
+        try {
+            redisTemplate.execute(PUT_SCRIPT,
+                    List.of(snapshotKey(snapshot.broadcastId()), generationKey(snapshot.broadcastId())),
+                    encode(snapshot), generation, String.valueOf(REDIS_TTL.toMillis()));
+        } catch (Exception e) {
+            log.warn("방송 스냅샷 Redis 저장 실패: broadcastId={}, error={}", snapshot.broadcastId(), e.getMessage());
+        }
+    }
+
+    // 스냅샷과 세대 키를 같은 해시 슬롯에 둔다
+    private static String snapshotKey(Long broadcastId) {
+        return KEY_PREFIX + "{" + broadcastId + "}";
+    }
+
+    private static String generationKey(Long broadcastId) {
+        return snapshotKey(broadcastId) + GENERATION_SUFFIX;
+    }
+
+    BroadcastSnapshot loadFromDatabase(Long broadcastId) {
+        var broadcastTable = table(name("broadcast")).as("b");
+        var idField = field(name("b", "broadcast_id"), Long.class);
+        var statusField = field(name("b", "status"), String.class);
+        var sellerField = field(name("b", "seller_id"), Long.class);
+        var scheduledField = field(name("b", "scheduled_at"), LocalDateTime.class);
+        var startedField = field(name("b", "started_at"), LocalDateTime.class);
+
+        Record4<String, Long, LocalDateTime, LocalDateTime> record = dsl
+                .select(statusField, sellerField, scheduledField, startedField)
+                .from(broadcastTable)
+                .where(idField.eq(broadcastId))
+                .fetchOne();
+        if (record == null) {
+            return null;
+        }
+        return new BroadcastSnapshot(
+                broadcastId,
+                BroadcastStatus.valueOf(record.value1()),
+                record.value2(),
+                record.value3(),
+                record.value4()
+        );
+    }
+
+    private String encode(BroadcastSnapshot snapshot) {
+        return String.join(SEPARATOR,
+                snapshot.status().name(),
+                String.valueOf(snapshot.sellerId()),
+                snapshot.scheduledAt() != null ? snapshot.scheduledAt().toString() : NULL_VALUE,
+                snapshot.startedAt() != null ? snapshot.startedAt().toString() : NULL_VALUE);
+    }
+
+    private BroadcastSnapshot decode(Long broadcastId, String value) {
+        String[] parts = value.split("\\" + SEPARATOR, -1);
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            return new BroadcastSnapshot(
+                    broadcastId,
+                    BroadcastStatus.valueOf(parts[0]),
+                    Long.parseLong(parts[1]),
+                    NULL_VALUE.equals(parts[2]) ? null : LocalDateTime.parse(parts[2]),
+                    NULL_VALUE.equals(parts[3]) ? null : LocalDateTime.parse(parts[3])
+            );
+        } catch (RuntimeException e) {
+            log.warn("방송 스냅샷 파싱 실패: broadcastId={}, value={}", broadcastId, value);
+            return null;
+        }
+    }
+}
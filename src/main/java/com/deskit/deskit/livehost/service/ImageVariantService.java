@@ -0,0 +1,148 @@
+package com.deskit.deskit.livehost.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.deskit.deskit.livehost.common.enums.ImageVariant;
+import com.deskit.deskit.livehost.common.enums.UploadType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 업로드된 썸네일/대기화면의 리사이즈 변형(card, detail, retina)을 비동기로 만들어 원본 옆 키에 올린다.
+ * 디코딩 시 서브샘플링으로 가장 큰 변형의 2배 이하 해상도만 메모리에 올린다.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final AmazonS3 amazonS3;
+    private final String bucket;
+
+    public ImageVariantService(AmazonS3 amazonS3, @Value("${cloud.aws.s3.bucket}") String bucket) {
+        this.amazonS3 = amazonS3;
+        this.bucket = bucket;
+    }
+
+    @Async("imageVariantExecutor")
+    public void generateVariants(String originalKey, String extension, UploadType type) {
+        try {
+            byte[] original;
+            try (S3Object object = amazonS3.getObject(bucket, originalKey);
+                 InputStream inputStream = object.getObjectContent()) {
+                original = inputStream.readAllBytes(); // 업로드 상한(UploadType.maxSizeBytes) 이내
+            }
+
+            String format = "png".equalsIgnoreCase(extension) ? "png" : "jpeg";
+            int largestWidth = ImageVariant.RETINA.widthFor(type);
+            BufferedImage source = decodeSubsampled(original, largestWidth);
+            if (source == null) {
+                log.warn("이미지 변형 생략 - 디코딩 불가: key={}", originalKey);
+                return;
+            }
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                // 원본보다 크게 늘리지 않는다.
+                int width = Math.min(variant.widthFor(type), source.getWidth());
+                int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+                byte[] encoded = encode(resize(source, width, height, "png".equals(format)), format);
+                upload(variant.keyFor(originalKey), encoded, "png".equals(format) ? "image/png" : "image/jpeg");
+            }
+            log.info("이미지 변형 생성 완료: key={}, type={}", originalKey, type);
+        } catch (Exception e) {
+            // 변형이 없으면 클라이언트는 원본을 쓰므로 업로드 자체는 실패시키지 않는다.
+            log.error("이미지 변형 생성 실패: key={}, error={}", originalKey, e.getMessage());
+        }
+    }
+
+    public void deleteVariants(String originalKey) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            try {
+                amazonS3.deleteObject(bucket, variant.keyFor(originalKey));
+            } catch (Exception e) {
+                log.warn("이미지 변형 삭제 실패: key={}, error={}", variant.keyFor(originalKey), e.getMessage());
+            }
+        }
+    }
+
+    // 목표 가로의 2배 이상을 유지하는 최대 정수 배율로 서브샘플링해서 디코딩
+    private BufferedImage decodeSubsampled(byte[] original, int targetWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int step = Math.max(1, reader.getWidth(0) / (targetWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage resized = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void upload(String key, byte[] bytes, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(bytes.length);
+        amazonS3.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(bytes), metadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead));
+    }
+}
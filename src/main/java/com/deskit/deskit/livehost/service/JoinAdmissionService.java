@@ -0,0 +1,113 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.common.exception.RetryableBusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 방송 입장(토큰 발급) 폭주 제어.
+ *
+ * 1) 클러스터 전체 초당 입장 수 제한 (Redisson RRateLimiter, 방송 단위)
+ * 2) 노드별 방송 단위 동시 토큰 발급 수 제한 (Semaphore)
+ * 3) 빈 자리가 없으면 기다리지 않고 바로 429 + Retry-After
+ *    (요청 스레드를 대기에 묶어 두면 방송 하나의 폭주가 Tomcat 스레드 풀 전체를 잠식한다)
+ *
+ * 방송 종료는 종료를 처리한 노드에서만 clear()되므로, 다른 노드의 게이트는 입장이 끊기고
+ * GATE_IDLE_TTL이 지나면 스스로 사라진다. 입장 요청마다 접근 시각이 갱신되므로 진행 중인 방송의 게이트는 유지된다.
+ */
+@Slf4j
+@Service
+public class JoinAdmissionService {
+
+    private static final String RATE_LIMITER_PREFIX = "rate:broadcast:";
+    private static final Duration GATE_IDLE_TTL = Duration.ofMinutes(10);
+
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxConcurrent;
+    private final long joinsPerSecond;
+
+    private final Cache<Long, Semaphore> gates = Caffeine.newBuilder()
+            .expireAfterAccess(GATE_IDLE_TTL)
+            .build();
+    private final Cache<Long, Boolean> initializedLimiters = Caffeine.newBuilder()
+            .expireAfterAccess(GATE_IDLE_TTL)
+            .build();
+
+    public JoinAdmissionService(
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${live.join.max-concurrent-per-broadcast:50}") int maxConcurrent,
+            @Value("${live.join.joins-per-second:300}") long joinsPerSecond
+    ) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.joinsPerSecond = joinsPerSecond;
+    }
+
+    public <T> T admit(Long broadcastId, Supplier<T> task) {
+        if (!tryAcquireRate(broadcastId)) {
+            throw reject("rate_limited", 1);
+        }
+
+        Semaphore permits = gates.get(broadcastId, id -> new Semaphore(maxConcurrent));
+        if (!permits.tryAcquire()) {
+            throw reject("concurrency_limit", 1);
+        }
+
+        long tokenStart = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+            meterRegistry.timer("broadcast.join.token.latency").record(System.nanoTime() - tokenStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 방송 종료 시 노드 로컬 게이트를 정리한다. (진행 중인 요청은 자기 게이트에 permit을 반환하므로 안전)
+     */
+    public void clear(Long broadcastId) {
+        gates.invalidate(broadcastId);
+        initializedLimiters.invalidate(broadcastId);
+    }
+
+    private boolean tryAcquireRate(Long broadcastId) {
+        try {
+            RRateLimiter limiter = redissonClient.getRateLimiter(RATE_LIMITER_PREFIX + broadcastId + ":join");
+            if (initializedLimiters.asMap().putIfAbsent(broadcastId, Boolean.TRUE) == null) {
+                limiter.trySetRate(RateType.OVERALL, joinsPerSecond, 1, RateIntervalUnit.SECONDS);
+                limiter.expire(Duration.ofDays(1));
+            }
+            return limiter.tryAcquire();
+        } catch (Exception e) {
+            // Redis 장애 시 입장 자체를 막지 않는다. (노드 로컬 동시성 제한은 계속 동작)
+            log.warn("입장 rate limiter 확인 실패: broadcastId={}, msg={}", broadcastId, e.getMessage());
+            return true;
+        }
+    }
+
+    private RetryableBusinessException reject(String reason, long baseRetryAfterSeconds) {
+        meterRegistry.counter("broadcast.join.rejected", "reason", reason).increment();
+        // 재시도가 한 시점에 몰리지 않도록 0~2초 지터
+        long retryAfter = baseRetryAfterSeconds + ThreadLocalRandom.current().nextLong(3);
+        return new RetryableBusinessException(ErrorCode.BROADCAST_JOIN_THROTTLED, retryAfter);
+    }
+}
@@ -1,58 +1,54 @@
 package com.deskit.deskit.livehost.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.openvidu.java.client.*;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OpenViduService {
 
+    static final int LOCAL_MAX_SIZE = 10_000;
+    // 다른 노드에서 종료된 방송의 핸들은 제거 알림으로 지우고, 알림을 놓쳐도 이 시간 뒤에는 사라진다
+    private static final Duration LOCAL_IDLE_TTL = Duration.ofMinutes(30);
+
     private final OpenVidu openVidu;
+    private final OpenViduSessionRegistry sessionRegistry;
+
+    // 노드 로컬 Session 핸들 캐시 (레지스트리 정보와 함께 보관)
+    private final Cache<Long, CachedSession> sessionCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAX_SIZE)
+            .expireAfterAccess(LOCAL_IDLE_TTL)
+            .build();
+    // 방송별 생성 락. 잡고 있는 스레드가 없으면 GC가 회수한다
+    private final Cache<Long, Object> localLocks = Caffeine.newBuilder()
+            .weakValues()
+            .build();
+
+    private record CachedSession(OpenViduSessionRegistry.SessionEntry entry, Session session) {
+    }
 
-    private final Map<Long, String> sessionMap = new ConcurrentHashMap<>();
+    @PostConstruct
+    void subscribeRemoval() {
+        sessionRegistry.subscribeRemoval(this::evictLocal);
+    }
 
     public String createSession(Long broadcastId) throws OpenViduJavaClientException, OpenViduHttpException {
-        if (sessionMap.containsKey(broadcastId)) {
-            return sessionMap.get(broadcastId);
-        }
-
-        RecordingProperties recordingProperties = new RecordingProperties.Builder()
-                .outputMode(Recording.OutputMode.COMPOSED)
-                .build();
-
-        SessionProperties properties = new SessionProperties.Builder()
-                .customSessionId("broadcast-" + broadcastId)
-                .recordingMode(RecordingMode.MANUAL)
-                .defaultRecordingProperties(recordingProperties)
-                .build();
-
-        Session session = openVidu.createSession(properties);
-        sessionMap.put(broadcastId, session.getSessionId());
-
-        log.info("OpenVidu 세션 생성: broadcastId={}, sessionId={}", broadcastId, session.getSessionId());
-        return session.getSessionId();
+        return resolveSession(broadcastId).session().getSessionId();
     }
 
     public String createToken(Long broadcastId, Map<String, Object> params)
             throws OpenViduJavaClientException, OpenViduHttpException {
 
-        String sessionId = sessionMap.get(broadcastId);
-        if (sessionId == null) {
-            sessionId = createSession(broadcastId);
-        }
-
-        Session session = openVidu.getActiveSession(sessionId);
-        if (session == null) {
-            sessionId = createSession(broadcastId);
-            session = openVidu.getActiveSession(sessionId);
-        }
-
         OpenViduRole role = OpenViduRole.PUBLISHER;
         if (params != null && params.containsKey("role")) {
             String requestedRole = String.valueOf(params.get("role"));
@@ -69,50 +65,140 @@ public class OpenViduService {
                 .data(params != null ? params.toString() : "")
                 .build();
 
-        Connection connection = session.createConnection(properties);
-        return connection.getToken();
+        CachedSession cached = resolveSession(broadcastId);
+        try {
+            return cached.session().createConnection(properties).getToken();
+        } catch (OpenViduHttpException e) {
+            if (e.getStatus() != HttpStatus.NOT_FOUND.value()) {
+                throw e;
+            }
+            // 캐시된 세션이 서버에서 사라진 경우: 레지스트리 상태를 보고 재생성 여부 결정
+            CachedSession refreshed = recoverSession(broadcastId, cached, e);
+            return refreshed.session().createConnection(properties).getToken();
+        }
     }
 
     public void startRecording(Long broadcastId) throws OpenViduJavaClientException, OpenViduHttpException {
-        openVidu.startRecording(sessionMap.get(broadcastId));
+        openVidu.startRecording(resolveSession(broadcastId).session().getSessionId());
     }
 
     public void stopRecording(Long broadcastId) throws OpenViduJavaClientException, OpenViduHttpException {
-        String sessionId = sessionMap.get(broadcastId);
+        String sessionId = findSessionId(broadcastId);
         if (sessionId != null) {
             openVidu.stopRecording(sessionId);
         }
     }
 
     public void closeSession(Long broadcastId) {
-        String sessionId = sessionMap.remove(broadcastId);
-        if (sessionId != null) {
-            try {
-                Session session = openVidu.getActiveSession(sessionId);
-                if (session != null) {
-                    session.close();
-                    log.info("OpenVidu 세션 종료: {}", sessionId);
-                }
-            } catch (Exception e) {
-                log.error("세션 종료 중 오류: {}", e.getMessage());
+        CachedSession cached = sessionCache.asMap().remove(broadcastId);
+        OpenViduSessionRegistry.SessionEntry entry = cached != null ? cached.entry() : sessionRegistry.find(broadcastId);
+        // 레지스트리가 다른 노드에 제거를 알려 각 노드의 핸들도 지운다
+        sessionRegistry.remove(broadcastId);
+
+        if (entry == null) {
+            return;
+        }
+        try {
+            Session session = cached != null ? cached.session() : attachSession(broadcastId, entry);
+            if (session != null) {
+                session.close();
+                log.info("OpenVidu 세션 종료: {}", entry.sessionId());
             }
+        } catch (Exception e) {
+            log.error("세션 종료 중 오류: {}", e.getMessage());
         }
     }
 
     public void forceDisconnect(Long broadcastId, String connectionId) {
-        String sessionId = sessionMap.get(broadcastId);
-        if (sessionId == null) {
+        if (findSessionId(broadcastId) == null) {
             return;
         }
 
         try {
-            Session session = openVidu.getActiveSession(sessionId);
-            if (session != null) {
-                session.forceDisconnect(connectionId);
-                log.info("Force disconnected connection: {}", connectionId);
-            }
+            Session session = resolveSession(broadcastId).session();
+            session.forceDisconnect(connectionId);
+            log.info("Force disconnected connection: {}", connectionId);
         } catch (Exception e) {
             log.error("Failed to force disconnect: {}", e.getMessage());
         }
     }
+
+    void evictLocal(Long broadcastId) {
+        sessionCache.invalidate(broadcastId);
+    }
+
+    private String findSessionId(Long broadcastId) {
+        CachedSession cached = sessionCache.getIfPresent(broadcastId);
+        if (cached != null) {
+            return cached.entry().sessionId();
+        }
+        OpenViduSessionRegistry.SessionEntry entry = sessionRegistry.find(broadcastId);
+        return entry != null ? entry.sessionId() : null;
+    }
+
+    // 로컬 핸들 → 레지스트리 → (없으면) 단일 노드 생성 순서로 세션을 찾는다.
+    private CachedSession resolveSession(Long broadcastId) throws OpenViduJavaClientException, OpenViduHttpException {
+        CachedSession cached = sessionCache.getIfPresent(broadcastId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Object localLock = localLocks.get(broadcastId, k -> new Object());
+        synchronized (localLock) {
+            cached = sessionCache.getIfPresent(broadcastId);
+            if (cached != null) {
+                return cached;
+            }
+
+            Session[] created = new Session[1];
+            OpenViduSessionRegistry.SessionEntry entry = sessionRegistry.find(broadcastId);
+            if (entry == null) {
+                entry = sessionRegistry.createIfAbsent(broadcastId, () -> {
+                    created[0] = openVidu.createSession(buildSessionProperties(broadcastId));
+                    log.info("OpenVidu 세션 생성: broadcastId={}, sessionId={}", broadcastId, created[0].getSessionId());
+                    return created[0];
+                });
+            }
+
+            Session session = created[0] != null ? created[0] : attachSession(broadcastId, entry);
+            cached = new CachedSession(entry, session);
+            sessionCache.put(broadcastId, cached);
+            return cached;
+        }
+    }
+
+    private CachedSession recoverSession(Long broadcastId, CachedSession stale, OpenViduHttpException cause)
+            throws OpenViduJavaClientException, OpenViduHttpException {
+        sessionCache.asMap().remove(broadcastId, stale);
+
+        OpenViduSessionRegistry.SessionEntry current = sessionRegistry.find(broadcastId);
+        if (current == null) {
+            // closeSession으로 정상 종료된 방송이면 다시 만들지 않는다.
+            throw cause;
+        }
+        sessionRegistry.removeIfMatches(broadcastId, stale.entry());
+        return resolveSession(broadcastId);
+    }
+
+    // 다른 노드가 만든 세션의 핸들을 얻는다. customSessionId가 이미 있으면 OpenVidu가 기존 세션을 돌려준다.
+    private Session attachSession(Long broadcastId, OpenViduSessionRegistry.SessionEntry entry)
+            throws OpenViduJavaClientException, OpenViduHttpException {
+        Session session = openVidu.getActiveSession(entry.sessionId());
+        if (session != null) {
+            return session;
+        }
+        return openVidu.createSession(buildSessionProperties(broadcastId));
+    }
+
+    private SessionProperties buildSessionProperties(Long broadcastId) {
+        RecordingProperties recordingProperties = new RecordingProperties.Builder()
+                .outputMode(Recording.OutputMode.COMPOSED)
+                .build();
+
+        return new SessionProperties.Builder()
+                .customSessionId("broadcast-" + broadcastId)
+                .recordingMode(RecordingMode.MANUAL)
+                .defaultRecordingProperties(recordingProperties)
+                .build();
+    }
 }
@@ -0,0 +1,143 @@
+package com.deskit.deskit.livehost.service;
+
+import io.openvidu.java.client.OpenViduHttpException;
+import io.openvidu.java.client.OpenViduJavaClientException;
+import io.openvidu.java.client.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 방송별 OpenVidu 세션을 모든 노드가 공유하는 Redis 레지스트리.
+ * field = broadcastId, value = sessionId|createdAt
+ * 세션 생성은 방송 단위 분산 락으로 한 노드만 수행한다.
+ * 등록 정보를 지우면 Pub/Sub으로 알려 각 노드가 로컬 Session 핸들을 바로 버리게 한다.
+ */
+@Slf4j
+@Component
+public class OpenViduSessionRegistry {
+
+    private static final String REGISTRY_KEY = "openvidu:sessions";
+    private static final String CREATE_LOCK_PREFIX = "lock:openvidu:session:";
+    private static final String REMOVED_CHANNEL = "openvidu:sessions:removed";
+    private static final long CREATE_LOCK_WAIT_SECONDS = 5;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedissonClient redissonClient;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public OpenViduSessionRegistry(
+            RedisTemplate<String, String> redisTemplate,
+            RedissonClient redissonClient,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.redissonClient = redissonClient;
+        this.listenerContainer = listenerContainer;
+    }
+
+    public record SessionEntry(String sessionId, long createdAt) {
+    }
+
+    @FunctionalInterface
+    public interface SessionCreator {
+        Session create() throws OpenViduJavaClientException, OpenViduHttpException;
+    }
+
+    public SessionEntry find(Long broadcastId) {
+        Object value = redisTemplate.opsForHash().get(REGISTRY_KEY, String.valueOf(broadcastId));
+        return value != null ? parse(value.toString()) : null;
+    }
+
+    /**
+     * 등록된 세션이 없을 때만 creator를 호출해 세션을 만들고 등록한다.
+     * 락 대기 중 다른 노드가 먼저 만들었다면 그 세션을 그대로 반환한다.
+     */
+    public SessionEntry createIfAbsent(Long broadcastId, SessionCreator creator)
+            throws OpenViduJavaClientException, OpenViduHttpException {
+        RLock lock = redissonClient.getLock(CREATE_LOCK_PREFIX + broadcastId);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(CREATE_LOCK_WAIT_SECONDS, TimeUnit.SECONDS);
+            if (!locked) {
+                throw new OpenViduJavaClientException("세션 생성 락 획득 실패: broadcastId=" + broadcastId);
+            }
+
+            SessionEntry existing = find(broadcastId);
+            if (existing != null) {
+                return existing;
+            }
+
+            Session session = creator.create();
+            SessionEntry entry = new SessionEntry(session.getSessionId(), session.createdAt());
+            redisTemplate.opsForHash().put(REGISTRY_KEY, String.valueOf(broadcastId), format(entry));
+            return entry;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenViduJavaClientException("세션 생성 대기 중 인터럽트: broadcastId=" + broadcastId);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    public void remove(Long broadcastId) {
+        redisTemplate.opsForHash().delete(REGISTRY_KEY, String.valueOf(broadcastId));
+        try {
+            redisTemplate.convertAndSend(REMOVED_CHANNEL, String.valueOf(broadcastId));
+        } catch (Exception e) {
+            // 다른 노드의 핸들은 로컬 캐시 만료(expireAfterAccess)로 정리된다
+            log.warn("세션 제거 알림 실패: broadcastId={}, error={}", broadcastId, e.getMessage());
+        }
+    }
+
+    /**
+     * 어느 노드에서든 세션 등록 정보가 지워지면 listener에 broadcastId를 넘긴다. (자기 노드 포함)
+     */
+    public void subscribeRemoval(Consumer<Long> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (NumberFormatException e) {
+                log.warn("세션 제거 메시지 파싱 실패");
+            }
+        }, new ChannelTopic(REMOVED_CHANNEL));
+    }
+
+    /**
+     * 만료된 세션 정보를 지운다. 다른 노드가 이미 새 세션으로 교체했다면 건드리지 않는다.
+     */
+    public void removeIfMatches(Long broadcastId, SessionEntry expected) {
+        SessionEntry current = find(broadcastId);
+        if (current != null && current.equals(expected)) {
+            remove(broadcastId);
+        }
+    }
+
+    private String format(SessionEntry entry) {
+        return entry.sessionId() + "|" + entry.createdAt();
+    }
+
+    private SessionEntry parse(String value) {
+        int idx = value.lastIndexOf('|');
+        if (idx <= 0) {
+            return new SessionEntry(value, 0L);
+        }
+        try {
+            return new SessionEntry(value.substring(0, idx), Long.parseLong(value.substring(idx + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("세션 레지스트리 값 파싱 실패: {}", value);
+            return new SessionEntry(value.substring(0, idx), 0L);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.home.service.PopularityService;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.BroadcastResultRepository;
+import com.deskit.deskit.livehost.service.BroadcastSalesService.SalesEvent;
+import com.deskit.deskit.livehost.service.BroadcastSalesService.SalesLine;
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 아웃박스 → 방송 매출 집계 / 홈 인기 랭킹 릴레이
+ *
+ * 한 번의 트랜잭션에서
+ * 1) 미발행 이벤트를 SKIP LOCKED로 선점하고
+ * 2) Redis 실시간 카운터와 인기 랭킹에 반영한 뒤 (이벤트 id로 중복 제거, 인기 랭킹은 모든 주문 대상)
+ * 3) (방송, 상품)별로 접은 증분을 broadcast_product / broadcast_result에 UPDATE 하고
+ * 4) 이벤트를 발행 처리한다.
+ * DB 반영과 발행 처리가 같이 커밋되므로 체크포인트는 정확히 한 번 반영된다.
+ * 방송 결과 생성(BroadcastService.completeVodIngest)과는 방송 행 잠금(lockForSales)으로 직렬화한다.
+ * 결과 생성이 broadcast_product 합계를 읽은 뒤 들어온 증분만 broadcast_result에 더해지므로 누락/중복이 없다.
+ * 발행된 이벤트는 보존 기간이 지나면 purgePublished로 지운다.
+ * 커밋이 실패하면 이벤트가 그대로 남아 다음 주기에 다시 처리되고, Redis는 이미 반영한 이벤트를 건너뛴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesOutboxRelay {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastProductRepository broadcastProductRepository;
+    private final BroadcastResultRepository broadcastResultRepository;
+    private final BroadcastSalesService broadcastSalesService;
+    private final PopularityService popularityService;
+    private final SchedulerFenceService schedulerFenceService;
+
+    /**
+     * @return 처리한 이벤트 수 (limit과 같으면 남은 이벤트가 더 있을 수 있다)
+     */
+    @Transactional
+    public int relay(int limit) {
+        List<OrderOutbox> claimed = orderOutboxRepository.claimUnpublished(PageRequest.of(0, limit));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> orderIds = claimed.stream()
+                .map(OrderOutbox::getOrderId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrder_IdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+
+        popularityService.recordSales(PopularityService.toSoldEvents(claimed, itemsByOrderId));
+
+        Map<Long, List<SalesEvent>> eventsByBroadcast = toSalesEvents(claimed, itemsByOrderId);
+        eventsByBroadcast.forEach(broadcastSalesService::apply);
+
+        // 여러 노드의 릴레이가 같은 방송들을 잠글 수 있으므로 방송 id 순서로 잠근다
+        eventsByBroadcast.forEach((broadcastId, events) -> {
+            broadcastRepository.lockForSales(broadcastId);
+            long totalAmount = 0;
+            for (Map.Entry<Long, long[]> entry : fold(events).entrySet()) {
+                long[] sales = entry.getValue();
+                // 결과 합계는 broadcast_product 합계와 같아야 하므로 반영된 상품의 금액만 더한다
+                if (broadcastProductRepository.addSales(broadcastId, entry.getKey(), Math.toIntExact(sales[0]), sales[1]) > 0) {
+                    totalAmount += sales[1];
+                }
+            }
+            // 결과가 아직 없으면 0건 (결과 생성 시 broadcast_product 합계에 이미 포함된다)
+            if (totalAmount != 0) {
+                broadcastResultRepository.addSales(broadcastId, BigDecimal.valueOf(totalAmount));
+            }
+        });
+
+        orderOutboxRepository.markPublished(
+                claimed.stream().map(OrderOutbox::getId).collect(Collectors.toList()),
+                LocalDateTime.now()
+        );
+        return claimed.size();
+    }
+
+    /**
+     * 보존 기간이 지난 발행 완료 이벤트 삭제
+     * @return 삭제한 이벤트 수 (limit과 같으면 남은 이벤트가 더 있을 수 있다)
+     */
+    @Transactional
+    public int purgePublished(LocalDateTime before, int limit, LeaseFence fence) {
+        schedulerFenceService.validate(fence);
+        List<Long> ids = orderOutboxRepository.findPublishedBefore(before, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return orderOutboxRepository.deleteByIds(ids);
+    }
+
+    private static Map<Long, List<SalesEvent>> toSalesEvents(List<OrderOutbox> claimed,
+                                                             Map<Long, List<OrderItem>> itemsByOrderId) {
+        Map<Long, List<SalesEvent>> eventsByBroadcast = new TreeMap<>();
+        for (OrderOutbox outbox : claimed) {
+            if (outbox.getBroadcastId() == null) {
+                continue;
+            }
+            List<SalesLine> lines = itemsByOrderId.getOrDefault(outbox.getOrderId(), List.of()).stream()
+                    .map(item -> new SalesLine(item.getProductId(), item.getQuantity(), item.getSubtotalPrice()))
+                    .collect(Collectors.toList());
+            eventsByBroadcast.computeIfAbsent(outbox.getBroadcastId(), id -> new ArrayList<>())
+                    .add(new SalesEvent(outbox.getId(), outbox.getEventType().sign(), lines));
+        }
+        return eventsByBroadcast;
+    }
+
+    // 상품 id → [수량 증분, 금액 증분]
+    static Map<Long, long[]> fold(List<SalesEvent> events) {
+        Map<Long, long[]> byProduct = new LinkedHashMap<>();
+        for (SalesEvent event : events) {
+            for (SalesLine line : event.lines()) {
+                long[] sales = byProduct.computeIfAbsent(line.productId(), id -> new long[2]);
+                sales[0] += (long) event.sign() * line.quantity();
+                sales[1] += event.sign() * line.amount();
+            }
+        }
+        return byProduct;
+    }
+}
@@ -0,0 +1,37 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseLostException;
+import com.deskit.deskit.livehost.repository.SchedulerFenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄 작업 쓰기의 fencing 검사
+ *
+ * - job의 쓰기 트랜잭션 안에서 호출해서 scheduler_fence 행에 이번 실행의 토큰을 기록한다.
+ * - 행 잠금이 커밋까지 유지되므로 같은 job의 쓰기 트랜잭션은 직렬화되고,
+ *   더 큰 토큰이 이미 기록돼 있으면(= lease가 넘어간 뒤 새 실행이 쓰기 시작) 예외로 트랜잭션 전체를 롤백시킨다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerFenceService {
+
+    private final SchedulerFenceRepository schedulerFenceRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void validate(LeaseFence fence) {
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerFenceRepository.advance(fence.jobName(), fence.token(), now) == 1) {
+            return;
+        }
+        if (schedulerFenceRepository.existsById(fence.jobName())) {
+            throw new LeaseLostException(fence);
+        }
+        schedulerFenceRepository.insert(fence.jobName(), fence.token(), now);
+    }
+}
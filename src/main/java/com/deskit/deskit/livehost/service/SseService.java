@@ -1,20 +1,30 @@
 package com.deskit.deskit.livehost.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SseService {
 
+    private final BroadcastSnapshotCache broadcastSnapshotCache;
+
     private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
 
     public SseEmitter subscribe(Long broadcastId, String userId) {
+        // 존재하지 않는 방송 구독 방지 (스냅샷 캐시 조회, 없으면 BROADCAST_NOT_FOUND)
+        broadcastSnapshotCache.get(broadcastId);
+
         SseEmitter emitter = new SseEmitter(10 * 60 * 1000L);
         String key = broadcastId + "_" + userId;
 
@@ -37,6 +47,23 @@ public class SseService {
         });
     }
 
+    // 여러 방송에 같은 이벤트를 보낼 때 emitter 목록을 한 번만 순회한다.
+    public void notifyBroadcastUpdates(Collection<Long> broadcastIds, String eventName, Object data) {
+        if (broadcastIds == null || broadcastIds.isEmpty()) {
+            return;
+        }
+        Set<String> prefixes = broadcastIds.stream()
+                .map(id -> id + "_")
+                .collect(Collectors.toSet());
+
+        emitters.forEach((key, emitter) -> {
+            int idx = key.indexOf('_');
+            if (idx > 0 && prefixes.contains(key.substring(0, idx + 1))) {
+                sendToClient(emitter, key, eventName, data);
+            }
+        });
+    }
+
     public void notifyBroadcastUpdate(Long broadcastId, String eventName) {
         notifyBroadcastUpdate(broadcastId, eventName, "update");
     }
@@ -0,0 +1,302 @@
+package com.deskit.deskit.livehost.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 프록시 모드 VOD용 노드 로컬 디스크 캐시.
+ * 객체를 chunkSize 단위 파일({cacheDir}/{sha1(url)}/{index}.chunk)로 저장하고, 전체 크기 예산을 넘으면 LRU로 지운다.
+ * - hit: FileChannel.transferTo로 응답 스트림에 바로 전송
+ * - miss: S3에서 청크 전체를 받아 임시 파일에 쓰면서 요청 구간만 동시에 응답으로 흘려보낸 뒤, 완료되면 캐시에 등록
+ * 객체 크기도 캐시해서 요청마다 하던 HEAD(getObjectMetadata)를 없앤다.
+ */
+@Slf4j
+@Service
+public class VodChunkCache {
+
+    /**
+     * [start, end] 구간을 원본 스토리지에서 여는 함수 (AwsS3Service.getObjectStream)
+     */
+    @FunctionalInterface
+    public interface OriginReader {
+        InputStream open(long start, long end) throws IOException;
+    }
+
+    private static final String CHUNK_SUFFIX = ".chunk";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_SIZE_ENTRIES = 10_000;
+
+    private final boolean enabled;
+    private final Path cacheDir;
+    private final long chunkSize;
+    private final long maxBytes;
+
+    // 접근 순서 LinkedHashMap = LRU (chunk 경로 → 바이트 수)
+    private final LinkedHashMap<Path, Long> chunks = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    private final Map<String, Long> objectSizes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_SIZE_ENTRIES;
+        }
+    };
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesFromCache;
+    private final Counter bytesFromOrigin;
+
+    public VodChunkCache(
+            MeterRegistry meterRegistry,
+            @Value("${live.vod.cache.enabled:true}") boolean enabled,
+            @Value("${live.vod.cache.dir:${java.io.tmpdir}/deskit-vod-cache}") String cacheDir,
+            @Value("${live.vod.cache.chunk-size-mb:4}") long chunkSizeMb,
+            @Value("${live.vod.cache.max-size-mb:10240}") long maxSizeMb
+    ) {
+        this.enabled = enabled;
+        this.cacheDir = Path.of(cacheDir);
+        this.chunkSize = chunkSizeMb * 1024 * 1024;
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+
+        this.hits = meterRegistry.counter("vod.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("vod.cache.requests", "result", "miss");
+        this.bytesFromCache = meterRegistry.counter("vod.cache.bytes.served", "source", "cache");
+        this.bytesFromOrigin = meterRegistry.counter("vod.cache.bytes.served", "source", "origin");
+        Gauge.builder("vod.cache.hit.ratio", this, VodChunkCache::hitRatio).register(meterRegistry);
+        Gauge.builder("vod.cache.size.bytes", this, VodChunkCache::cachedBytes).register(meterRegistry);
+
+        if (enabled) {
+            loadExistingChunks();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getObjectSize(String vodUrl, LongSupplier loader) {
+        synchronized (objectSizes) {
+            Long cached = objectSizes.get(vodUrl);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long size = loader.getAsLong();
+        if (size > 0) {
+            synchronized (objectSizes) {
+                objectSizes.put(vodUrl, size);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * [start, end] 구간을 out으로 쓴다. 필요한 청크만 원본에서 채운다.
+     */
+    public void write(String vodUrl, long start, long end, long totalSize, OutputStream out, OriginReader origin)
+            throws IOException {
+        String objectDir = hash(vodUrl);
+        WritableByteChannel target = Channels.newChannel(out);
+
+        for (long index = start / chunkSize; index <= end / chunkSize; index++) {
+            long chunkStart = index * chunkSize;
+            long chunkLength = Math.min(chunkSize, totalSize - chunkStart);
+            long from = Math.max(start, chunkStart) - chunkStart;
+            long to = Math.min(end, chunkStart + chunkLength - 1) - chunkStart;
+
+            Path chunk = cacheDir.resolve(objectDir).resolve(index + CHUNK_SUFFIX);
+            if (touch(chunk) && serveFromChunk(chunk, from, to - from + 1, target)) {
+                hits.increment();
+                bytesFromCache.increment(to - from + 1);
+            } else {
+                misses.increment();
+                fillAndServe(chunk, chunkStart, chunkLength, from, to, out, origin);
+                bytesFromOrigin.increment(to - from + 1);
+            }
+        }
+        out.flush();
+    }
+
+    private boolean serveFromChunk(Path chunk, long position, long count, WritableByteChannel target) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(chunk, StandardOpenOption.READ);
+        } catch (IOException e) {
+            forget(chunk); // 외부에서 지워진 경우 miss로 처리
+            return false;
+        }
+        try (channel) {
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0) {
+                    throw new IOException("캐시 청크가 예상보다 짧음: " + chunk);
+                }
+                sent += n;
+            }
+            return true;
+        }
+    }
+
+    private void fillAndServe(Path chunk, long chunkStart, long chunkLength, long from, long to,
+                              OutputStream out, OriginReader origin) throws IOException {
+        Files.createDirectories(chunk.getParent());
+        Path temp = chunk.resolveSibling(chunk.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+        boolean completed = false;
+        try (InputStream in = origin.open(chunkStart, chunkStart + chunkLength - 1);
+             FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long position = 0;
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                file.write(ByteBuffer.wrap(buffer, 0, n));
+
+                // 이번 읽기 중 요청 구간에 걸친 부분만 응답으로 보낸다.
+                long overlapStart = Math.max(position, from);
+                long overlapEnd = Math.min(position + n - 1, to);
+                if (overlapStart <= overlapEnd) {
+                    out.write(buffer, (int) (overlapStart - position), (int) (overlapEnd - overlapStart + 1));
+                }
+                position += n;
+            }
+            if (position != chunkLength) {
+                throw new IOException("원본 청크 길이 불일치: expected=" + chunkLength + ", actual=" + position);
+            }
+            completed = true;
+        } finally {
+            if (completed) {
+                Files.move(temp, chunk, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                register(chunk, chunkLength);
+            } else {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private boolean touch(Path chunk) {
+        synchronized (chunks) {
+            return chunks.get(chunk) != null;
+        }
+    }
+
+    private void register(Path chunk, long size) {
+        synchronized (chunks) {
+            Long previous = chunks.put(chunk, size);
+            cachedBytes += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<Path, Long>> eldest = chunks.entrySet().iterator();
+            while (cachedBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Path, Long> entry = eldest.next();
+                if (entry.getKey().equals(chunk)) {
+                    continue;
+                }
+                eldest.remove();
+                cachedBytes -= entry.getValue();
+                deleteQuietly(entry.getKey());
+            }
+        }
+    }
+
+    private void forget(Path chunk) {
+        synchronized (chunks) {
+            Long size = chunks.remove(chunk);
+            if (size != null) {
+                cachedBytes -= size;
+            }
+        }
+    }
+
+    // 재기동 시 디스크에 남은 청크를 수정 시각 순으로 LRU에 다시 올린다.
+    private void loadExistingChunks() {
+        try {
+            Files.createDirectories(cacheDir);
+            try (Stream<Path> files = Files.walk(cacheDir, 2)) {
+                files.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparingLong(this::lastModified))
+                        .forEach(path -> {
+                            if (path.getFileName().toString().endsWith(CHUNK_SUFFIX)) {
+                                register(path, sizeOf(path));
+                            } else {
+                                deleteQuietly(path); // 중단된 임시 파일
+                            }
+                        });
+            }
+            log.info("VOD 디스크 캐시 로드: dir={}, chunks={}, bytes={}", cacheDir, chunks.size(), cachedBytes);
+        } catch (IOException e) {
+            log.warn("VOD 디스크 캐시 초기화 실패: dir={}, error={}", cacheDir, e.getMessage());
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private double cachedBytes() {
+        synchronized (chunks) {
+            return cachedBytes;
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("VOD 캐시 파일 삭제 실패: {}", path);
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
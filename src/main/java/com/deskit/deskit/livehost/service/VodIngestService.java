@@ -0,0 +1,398 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
+import com.deskit.deskit.livehost.common.utils.Mp4Faststart;
+import com.deskit.deskit.livehost.dto.request.OpenViduRecordingWebhook;
+import com.deskit.deskit.livehost.entity.VodIngestJob;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.VodIngestJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.cert.X509Certificate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * VOD 적재 파이프라인.
+ * 웹훅 → enqueue(작업 기록만) → dispatchDueJobs(선점 후 백그라운드 실행) → 녹화 다운로드/S3 업로드(트랜잭션 밖)
+ * → BroadcastService.completeVodIngest(짧은 트랜잭션으로 VOD/결과 저장).
+ * 녹화 파일은 작업 디렉터리에 받아 moov를 앞으로 옮긴(faststart) 뒤 업로드한다. (재생 시작 전 파일 끝 Range 요청 제거)
+ * 실패 시 지수 백오프로 재시도하고, 최대 횟수를 넘기면 웹훅 URL로 마무리한다. (기존 동작과 동일)
+ *
+ * 선점할 때 올라간 attempts가 그 시도의 소유 토큰이다. 처리 중에는 heartbeat로 lockedAt을 갱신하고,
+ * 작업 상태 갱신(uploadId / 재시도 / 완료)은 모두 (RUNNING, 자기 attempt)일 때만 반영되는 조건부 UPDATE로 한다.
+ * heartbeat가 끊긴 작업만 회수되며, 회수된 옛 시도의 늦은 쓰기는 0건으로 끝난다.
+ */
+@Slf4j
+@Service
+public class VodIngestService {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_SECONDS = 10;
+    private static final long MAX_BACKOFF_SECONDS = 10 * 60;
+    // heartbeat(30초)를 몇 번 놓쳐야 죽은 것으로 본다
+    private static final long STALE_HEARTBEAT_SECONDS = 3 * 60;
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int READ_TIMEOUT_MILLIS = 60_000;
+
+    private final VodIngestJobRepository vodIngestJobRepository;
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastService broadcastService;
+    private final BroadcastSnapshotCache broadcastSnapshotCache;
+    private final AwsS3Service s3Service;
+    private final VodMultipartUploader vodMultipartUploader;
+    private final Executor vodIngestExecutor;
+
+    private final int maxConcurrentJobs;
+    private final Path workDir;
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    // 이 노드에서 처리 중인 작업 → 선점한 attempt
+    private final Map<Long, Integer> activeAttempts = new ConcurrentHashMap<>();
+
+    @Value("${openvidu.url}")
+    private String openViduUrl;
+
+    @Value("${openvidu.secret}")
+    private String openViduSecret;
+
+    public VodIngestService(
+            VodIngestJobRepository vodIngestJobRepository,
+            BroadcastRepository broadcastRepository,
+            BroadcastService broadcastService,
+            BroadcastSnapshotCache broadcastSnapshotCache,
+            AwsS3Service s3Service,
+            VodMultipartUploader vodMultipartUploader,
+            @Qualifier("vodIngestExecutor") Executor vodIngestExecutor,
+            @Value("${live.vod.ingest.max-concurrent:2}") int maxConcurrentJobs,
+            @Value("${live.vod.ingest.work-dir:${java.io.tmpdir}/deskit-vod-ingest}") String workDir
+    ) {
+        this.vodIngestJobRepository = vodIngestJobRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.broadcastService = broadcastService;
+        this.broadcastSnapshotCache = broadcastSnapshotCache;
+        this.s3Service = s3Service;
+        this.vodMultipartUploader = vodMultipartUploader;
+        this.vodIngestExecutor = vodIngestExecutor;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.workDir = Path.of(workDir);
+    }
+
+    /**
+     * 녹화 완료 웹훅 처리: 작업만 기록하고 바로 반환한다. (같은 녹화 ID 재전송은 무시)
+     */
+    public void enqueue(OpenViduRecordingWebhook payload) {
+        Long broadcastId = Long.parseLong(payload.getSessionId().replace("broadcast-", ""));
+        if (!broadcastRepository.existsById(broadcastId)) {
+            log.warn("VOD 적재 요청 무시 - 방송 없음: broadcastId={}, recordingId={}", broadcastId, payload.getId());
+            return;
+        }
+        if (vodIngestJobRepository.existsByRecordingId(payload.getId())) {
+            return;
+        }
+
+        VodIngestJob job = VodIngestJob.builder()
+                .broadcastId(broadcastId)
+                .recordingId(payload.getId())
+                .status(VodIngestStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .recordingSize(payload.getSize())
+                .recordingDuration(payload.getDuration())
+                .fallbackUrl(payload.getUrl() != null ? payload.getUrl() : "")
+                .build();
+        try {
+            vodIngestJobRepository.saveAndFlush(job);
+            log.info("VOD 적재 작업 등록: broadcastId={}, recordingId={}", broadcastId, payload.getId());
+        } catch (DataIntegrityViolationException e) {
+            // 웹훅 중복 수신이 동시에 들어온 경우 (uk_vod_ingest_recording)
+            log.info("VOD 적재 작업 중복 등록 무시: recordingId={}", payload.getId());
+        }
+    }
+
+    /**
+     * 실행 시각이 된 작업을 빈 슬롯 수만큼 선점해서 백그라운드로 실행한다.
+     */
+    public void dispatchDueJobs() {
+        int free = maxConcurrentJobs - runningJobs.get();
+        if (free <= 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = vodIngestJobRepository.findDueJobIds(VodIngestStatus.PENDING, now, PageRequest.of(0, free));
+        for (Long jobId : dueIds) {
+            if (vodIngestJobRepository.claim(jobId, now, VodIngestStatus.PENDING, VodIngestStatus.RUNNING) == 0) {
+                continue; // 다른 노드가 먼저 선점
+            }
+            runningJobs.incrementAndGet();
+            try {
+                vodIngestExecutor.execute(() -> {
+                    try {
+                        runJob(jobId);
+                    } finally {
+                        runningJobs.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                runningJobs.decrementAndGet();
+                vodIngestJobRepository.findById(jobId).ifPresent(job ->
+                        vodIngestJobRepository.scheduleRetry(jobId, job.getAttempts(), "executor rejected",
+                                LocalDateTime.now(), VodIngestStatus.PENDING, VodIngestStatus.RUNNING));
+            }
+        }
+    }
+
+    /**
+     * 이 노드에서 처리 중인 작업의 lockedAt을 갱신한다. 이미 회수된 작업은 목록에서 뺀다.
+     */
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        activeAttempts.forEach((jobId, attempt) -> {
+            if (vodIngestJobRepository.heartbeat(jobId, attempt, now, VodIngestStatus.RUNNING) == 0) {
+                log.warn("VOD 적재 작업 소유권 상실 (회수됨): jobId={}, attempt={}", jobId, attempt);
+                activeAttempts.remove(jobId, attempt);
+            }
+        });
+    }
+
+    public void recoverStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = vodIngestJobRepository.releaseStale(
+                now.minusSeconds(STALE_HEARTBEAT_SECONDS), now, VodIngestStatus.PENDING, VodIngestStatus.RUNNING);
+        if (released > 0) {
+            log.warn("중단된 VOD 적재 작업 회수: {}건", released);
+        }
+    }
+
+    private void runJob(Long jobId) {
+        VodIngestJob job = vodIngestJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != VodIngestStatus.RUNNING) {
+            return;
+        }
+
+        int attempt = job.getAttempts();
+        activeAttempts.put(jobId, attempt);
+        try {
+            String vodUrl;
+            try {
+                vodUrl = transferRecording(job, attempt);
+            } catch (Exception e) {
+                handleFailure(job, attempt, e);
+                return;
+            }
+
+            try {
+                broadcastService.completeVodIngest(jobId, attempt, vodUrl, false);
+                log.info("VOD 적재 완료: broadcastId={}, recordingId={}, attempts={}", job.getBroadcastId(), job.getRecordingId(), attempt);
+            } catch (Exception e) {
+                handleFailure(job, attempt, e);
+            }
+        } finally {
+            activeAttempts.remove(jobId, attempt);
+        }
+    }
+
+    private void handleFailure(VodIngestJob job, int attempt, Exception e) {
+        String error = VodIngestJob.truncateError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempt >= MAX_ATTEMPTS) {
+            log.error("VOD 적재 최종 실패 - 웹훅 URL로 마무리: recordingId={}, error={}", job.getRecordingId(), error);
+            if (job.getUploadId() != null) {
+                vodMultipartUploader.abort(vodKey(job), job.getUploadId());
+            }
+            deleteWorkFiles(job.getRecordingId());
+            try {
+                broadcastService.completeVodIngest(job.getJobId(), attempt, job.getFallbackUrl(), true);
+            } catch (Exception completeError) {
+                vodIngestJobRepository.finish(job.getJobId(), attempt, VodIngestStatus.FAILED, error, VodIngestStatus.RUNNING);
+            }
+            return;
+        }
+
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(backoffSeconds(attempt));
+        int updated = vodIngestJobRepository.scheduleRetry(job.getJobId(), attempt, error, nextAttemptAt,
+                VodIngestStatus.PENDING, VodIngestStatus.RUNNING);
+        if (updated == 0) {
+            log.warn("VOD 적재 실패 - 이미 회수된 시도라 재시도 예약 생략: recordingId={}, attempt={}", job.getRecordingId(), attempt);
+            return;
+        }
+        log.warn("VOD 적재 실패 (attempt {}/{}), {} 재시도: recordingId={}, error={}",
+                attempt, MAX_ATTEMPTS, nextAttemptAt, job.getRecordingId(), error);
+    }
+
+    // 10s, 20s, 40s, ... 최대 10분 + 최대 20% 지터
+    static long backoffSeconds(int attempts) {
+        long exp = BASE_BACKOFF_SECONDS << Math.min(Math.max(attempts - 1, 0), 16);
+        long delay = Math.min(exp, MAX_BACKOFF_SECONDS);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    private String transferRecording(VodIngestJob job, int attempt) throws IOException {
+        String recordingId = job.getRecordingId();
+        String s3Key = vodKey(job);
+
+        VodMultipartUploader.Checkpoint checkpoint = new VodMultipartUploader.Checkpoint() {
+            @Override
+            public String loadUploadId() {
+                return job.getUploadId();
+            }
+
+            @Override
+            public void saveUploadId(String uploadId) {
+                if (vodIngestJobRepository.recordUploadId(job.getJobId(), attempt, uploadId, VodIngestStatus.RUNNING) == 0) {
+                    throw new IllegalStateException("VOD 적재 작업 소유권 상실: jobId=" + job.getJobId());
+                }
+                job.recordUploadId(uploadId);
+            }
+        };
+
+        Path uploadFile = prepareRecording(job);
+        vodMultipartUploader.upload(s3Key, offset -> openLocal(uploadFile, offset), checkpoint);
+        String s3Url = s3Service.getObjectUrl(s3Key);
+        log.info("VOD Upload Success: {}", s3Url);
+        deleteWorkFiles(recordingId);
+        return s3Url;
+    }
+
+    // 녹화 원본을 받아 faststart로 변환한 파일 경로를 돌려준다. 변환 대상이 아니면 원본 그대로.
+    private Path prepareRecording(VodIngestJob job) throws IOException {
+        String recordingId = job.getRecordingId();
+        Files.createDirectories(workDir);
+        Path original = workDir.resolve(recordingId + ".mp4");
+        if (!Files.exists(original)) {
+            downloadRecording(job, original);
+        }
+
+        // 변환 결과는 원본에 대해 결정적이므로 재시도 시 다시 만들어도 이전 멀티파트 파트와 바이트가 같다.
+        Path converting = workDir.resolve(recordingId + ".faststart.tmp");
+        Path faststart = workDir.resolve(recordingId + ".faststart.mp4");
+        if (!Mp4Faststart.rewrite(original, converting)) {
+            return original;
+        }
+        Files.move(converting, faststart, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return faststart;
+    }
+
+    // 이전 시도에서 받다 만 .part 파일이 있으면 그 뒤부터 이어받는다.
+    private void downloadRecording(VodIngestJob job, Path original) throws IOException {
+        Path partial = original.resolveSibling(original.getFileName() + ".part");
+        long offset = Files.exists(partial) ? Files.size(partial) : 0;
+
+        try (InputStream inputStream = openRecording(job.getRecordingId(), offset);
+             FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.APPEND)) {
+            inputStream.transferTo(Channels.newOutputStream(out));
+        }
+
+        long size = Files.size(partial);
+        Long expected = job.getRecordingSize();
+        if (expected != null && expected > 0 && size != expected) {
+            Files.deleteIfExists(partial);
+            throw new IOException("녹화 파일 크기 불일치: expected=" + expected + ", actual=" + size);
+        }
+        Files.move(partial, original, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private InputStream openLocal(Path file, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(offset);
+        return Channels.newInputStream(channel);
+    }
+
+    private void deleteWorkFiles(String recordingId) {
+        for (String suffix : List.of(".mp4", ".mp4.part", ".faststart.tmp", ".faststart.mp4")) {
+            try {
+                Files.deleteIfExists(workDir.resolve(recordingId + suffix));
+            } catch (IOException e) {
+                log.warn("VOD 작업 파일 삭제 실패: recordingId={}, file={}", recordingId, suffix);
+            }
+        }
+    }
+
+    private String vodKey(VodIngestJob job) {
+        return "seller_" + broadcastSnapshotCache.get(job.getBroadcastId()).sellerId() + "/vods/" + job.getRecordingId() + ".mp4";
+    }
+
+    // 재개 시 Range 요청으로 offset 이후만 받는다. (Range 미지원 서버면 앞부분을 건너뛴다)
+    private InputStream openRecording(String recordingId, long offset) throws IOException {
+        disableSslVerification();
+
+        String videoUrl = openViduUrl.replaceAll("/$", "") +
+                "/openvidu/recordings/" + recordingId + "/" + recordingId + ".mp4";
+
+        HttpURLConnection conn = (HttpURLConnection) new URL(videoUrl).openConnection();
+        conn.setRequestMethod("GET");
+        conn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        conn.setReadTimeout(READ_TIMEOUT_MILLIS);
+
+        String auth = "OPENVIDUAPP:" + openViduSecret;
+        String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
+        conn.setRequestProperty("Authorization", "Basic " + encodedAuth);
+        if (offset > 0) {
+            conn.setRequestProperty("Range", "bytes=" + offset + "-");
+        }
+
+        int responseCode = conn.getResponseCode();
+        if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+            return conn.getInputStream();
+        }
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            conn.disconnect();
+            throw new IOException("OpenVidu recording fetch failed: " + responseCode);
+        }
+        InputStream inputStream = conn.getInputStream();
+        if (offset > 0) {
+            inputStream.skipNBytes(offset);
+        }
+        return inputStream;
+    }
+
+    private void disableSslVerification() {
+        try {
+            TrustManager[] trustAllCerts = new TrustManager[]{new X509TrustManager() {
+                public X509Certificate[] getAcceptedIssuers() {
+                    return null;
+                }
+
+                public void checkClientTrusted(X509Certificate[] certs, String authType) {
+                }
+
+                public void checkServerTrusted(X509Certificate[] certs, String authType) {
+                }
+            }};
+            SSLContext sc = SSLContext.getInstance("SSL");
+            sc.init(null, trustAllCerts, new java.security.SecureRandom());
+            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
+            HostnameVerifier allHostsValid = (hostname, session) -> true;
+            HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
+        } catch (Exception e) {
+            log.warn("SSL verification disable failed: {}", e.getMessage());
+        }
+    }
+}
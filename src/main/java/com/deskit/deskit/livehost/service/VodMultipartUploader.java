@@ -0,0 +1,339 @@
+package com.deskit.deskit.livehost.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListPartsRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * VOD 병렬 멀티파트 업로드.
+ * - 원본 스트림을 partSize 단위로 읽어 concurrency개까지 동시에 uploadPart (메모리 상한 = partSize * (concurrency + 1))
+ * - 파트별 Content-MD5 전송 + 응답 ETag 비교, 실패 시 파트 단위 재시도
+ * - uploadId를 Checkpoint에 남겨 두고, 재시작 시 ListParts로 완료된 파트를 확인한 뒤 첫 누락 파트 offset부터 이어서 올린다.
+ */
+@Slf4j
+@Service
+public class VodMultipartUploader {
+
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final long RETRY_BASE_MILLIS = 200;
+    private static final Pattern MD5_HEX = Pattern.compile("[0-9a-fA-F]{32}");
+
+    /**
+     * offset 바이트부터 원본을 읽는 스트림을 연다. (재개 시 offset > 0)
+     */
+    @FunctionalInterface
+    public interface RangeSource {
+        InputStream open(long offset) throws IOException;
+    }
+
+    /**
+     * 진행 중인 멀티파트 uploadId 보관소 (VodIngestJob.uploadId)
+     */
+    public interface Checkpoint {
+        String loadUploadId();
+
+        void saveUploadId(String uploadId);
+    }
+
+    public record Result(String uploadId, int totalParts, int resumedParts, long bytesUploaded) {
+    }
+
+    private final AmazonS3 amazonS3;
+    private final String bucket;
+    private final int partSize;
+    private final int concurrency;
+    private final int partRetries;
+    private final ExecutorService partExecutor;
+
+    public VodMultipartUploader(
+            AmazonS3 amazonS3,
+            @Value("${cloud.aws.s3.bucket}") String bucket,
+            @Value("${live.vod.upload.part-size-mb:8}") int partSizeMb,
+            @Value("${live.vod.upload.concurrency:4}") int concurrency,
+            @Value("${live.vod.upload.part-retries:3}") int partRetries
+    ) {
+        this.amazonS3 = amazonS3;
+        this.bucket = bucket;
+        this.partSize = Math.max(partSizeMb * 1024 * 1024, MIN_PART_SIZE);
+        this.concurrency = Math.max(concurrency, 1);
+        this.partRetries = Math.max(partRetries, 1);
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.partExecutor = Executors.newFixedThreadPool(this.concurrency * 2, runnable -> {
+            Thread thread = new Thread(runnable, "VodUploadPart-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        partExecutor.shutdownNow();
+    }
+
+    public Result upload(String key, RangeSource source, Checkpoint checkpoint) throws IOException {
+        Map<Integer, PartETag> completed = new ConcurrentSkipListMap<>();
+
+        String uploadId = checkpoint.loadUploadId();
+        if (uploadId != null && !loadCompletedParts(key, uploadId, completed)) {
+            abort(key, uploadId);
+            uploadId = null;
+            completed.clear();
+        }
+        if (uploadId == null) {
+            uploadId = initiate(key);
+            checkpoint.saveUploadId(uploadId);
+        }
+
+        int firstMissing = 1;
+        while (completed.containsKey(firstMissing)) {
+            firstMissing++;
+        }
+        int resumedParts = completed.size();
+        long offset = (long) (firstMissing - 1) * partSize;
+        if (resumedParts > 0) {
+            log.info("VOD 멀티파트 업로드 재개: key={}, 완료 파트={}, offset={}", key, resumedParts, offset);
+        }
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Future<?>> futures = new ArrayList<>();
+        long bytesUploaded = 0;
+        int partNumber = firstMissing;
+        int lastPartNumber = firstMissing - 1;
+
+        try (InputStream in = source.open(offset)) {
+            while (failure.get() == null) {
+                acquire(inFlight);
+                byte[] buffer = new byte[partSize];
+                int length = in.readNBytes(buffer, 0, partSize);
+                if (length == 0) {
+                    inFlight.release();
+                    break;
+                }
+                lastPartNumber = partNumber;
+
+                if (completed.containsKey(partNumber)) {
+                    // 이전 실행에서 이미 올라간 파트 (병렬 업로드 중 중간 파트만 빠졌던 경우)
+                    inFlight.release();
+                } else {
+                    bytesUploaded += length;
+                    final String currentUploadId = uploadId;
+                    final int currentPart = partNumber;
+                    futures.add(partExecutor.submit(() -> {
+                        try {
+                            PartETag etag = uploadPartWithRetry(key, currentUploadId, currentPart, buffer, length);
+                            completed.put(currentPart, etag);
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+                if (length < partSize) {
+                    break;
+                }
+                partNumber++;
+            }
+        }
+
+        awaitAll(futures);
+        if (failure.get() != null) {
+            // abort 하지 않는다: 다음 시도에서 완료된 파트부터 이어서 올린다.
+            throw new IOException("VOD 파트 업로드 실패: " + failure.get().getMessage(), failure.get());
+        }
+        if (lastPartNumber == 0) {
+            abort(key, uploadId);
+            throw new IOException("빈 녹화 파일: " + key);
+        }
+
+        List<PartETag> parts = new ArrayList<>();
+        for (int i = 1; i <= lastPartNumber; i++) {
+            PartETag part = completed.get(i);
+            if (part == null) {
+                throw new IOException("누락된 파트: " + i);
+            }
+            parts.add(part);
+        }
+
+        CompleteMultipartUploadResult result = amazonS3.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucket, key, uploadId, parts));
+        verifyCompositeETag(parts, result.getETag());
+
+        log.info("VOD 멀티파트 업로드 완료: key={}, parts={}, resumed={}, bytes={}", key, parts.size(), resumedParts, bytesUploaded);
+        return new Result(uploadId, parts.size(), resumedParts, bytesUploaded);
+    }
+
+    public void abort(String key, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (Exception e) {
+            log.warn("멀티파트 업로드 취소 실패: key={}, uploadId={}, error={}", key, uploadId, e.getMessage());
+        }
+    }
+
+    private String initiate(String key) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("video/mp4");
+        return amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata)
+                        .withCannedACL(CannedAccessControlList.PublicRead))
+                .getUploadId();
+    }
+
+    /**
+     * 이전 실행에서 완료된 파트 목록을 읽는다. 업로드가 사라졌거나 파트 크기 설정이 바뀌었으면 false.
+     */
+    private boolean loadCompletedParts(String key, String uploadId, Map<Integer, PartETag> completed) {
+        List<PartSummary> summaries = new ArrayList<>();
+        try {
+            ListPartsRequest request = new ListPartsRequest(bucket, key, uploadId);
+            PartListing listing;
+            do {
+                listing = amazonS3.listParts(request);
+                summaries.addAll(listing.getParts());
+                request.setPartNumberMarker(listing.getNextPartNumberMarker());
+            } while (listing.isTruncated());
+        } catch (AmazonS3Exception e) {
+            log.warn("이전 멀티파트 업로드 조회 실패, 새로 시작: key={}, uploadId={}, error={}", key, uploadId, e.getErrorCode());
+            return false;
+        }
+
+        int maxPart = summaries.stream().mapToInt(PartSummary::getPartNumber).max().orElse(0);
+        for (PartSummary summary : summaries) {
+            boolean sizeOk = summary.getPartNumber() == maxPart
+                    ? summary.getSize() <= partSize
+                    : summary.getSize() == partSize;
+            if (!sizeOk) {
+                log.warn("파트 크기 불일치로 새로 시작: key={}, part={}, size={}", key, summary.getPartNumber(), summary.getSize());
+                return false;
+            }
+            completed.put(summary.getPartNumber(), new PartETag(summary.getPartNumber(), normalizeETag(summary.getETag())));
+        }
+        return true;
+    }
+
+    private PartETag uploadPartWithRetry(String key, String uploadId, int partNumber, byte[] buffer, int length)
+            throws IOException, InterruptedException {
+        MessageDigest digest = md5();
+        digest.update(buffer, 0, length);
+        byte[] md5 = digest.digest();
+        String md5Hex = HexFormat.of().formatHex(md5);
+
+        Exception last = null;
+        for (int attempt = 1; attempt <= partRetries; attempt++) {
+            try {
+                UploadPartResult result = amazonS3.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(length)
+                        .withMD5Digest(Base64.getEncoder().encodeToString(md5))
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length)));
+
+                String etag = normalizeETag(result.getETag());
+                if (MD5_HEX.matcher(etag).matches() && !etag.equalsIgnoreCase(md5Hex)) {
+                    throw new IOException("파트 체크섬 불일치: part=" + partNumber + ", expected=" + md5Hex + ", actual=" + etag);
+                }
+                return new PartETag(partNumber, etag);
+            } catch (Exception e) {
+                last = e;
+                log.warn("VOD 파트 업로드 실패 (attempt {}/{}): key={}, part={}, error={}",
+                        attempt, partRetries, key, partNumber, e.getMessage());
+                if (attempt < partRetries) {
+                    Thread.sleep(RETRY_BASE_MILLIS << (attempt - 1));
+                }
+            }
+        }
+        throw new IOException("파트 업로드 재시도 초과: part=" + partNumber, last);
+    }
+
+    // 멀티파트 ETag = md5(각 파트 md5 바이너리 연결) + "-" + 파트 수
+    private void verifyCompositeETag(List<PartETag> parts, String actualETag) throws IOException {
+        String actual = normalizeETag(actualETag);
+        if (actual.isEmpty() || !actual.contains("-")) {
+            return;
+        }
+        MessageDigest composite = md5();
+        for (PartETag part : parts) {
+            if (!MD5_HEX.matcher(part.getETag()).matches()) {
+                return; // SSE-KMS 등 ETag가 MD5가 아닌 경우 검증 생략
+            }
+            composite.update(HexFormat.of().parseHex(part.getETag()));
+        }
+        String expected = HexFormat.of().formatHex(composite.digest()) + "-" + parts.size();
+        if (!expected.equalsIgnoreCase(actual)) {
+            throw new IOException("객체 체크섬 불일치: expected=" + expected + ", actual=" + actual);
+        }
+    }
+
+    private void awaitAll(List<Future<?>> futures) throws IOException {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("VOD 업로드 중단", e);
+            } catch (ExecutionException e) {
+                throw new IOException("VOD 업로드 실패", e.getCause());
+            }
+        }
+    }
+
+    private void acquire(Semaphore semaphore) throws IOException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("VOD 업로드 중단", e);
+        }
+    }
+
+    private static String normalizeETag(String etag) {
+        return etag == null ? "" : etag.replace("\"", "");
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,31 +3,103 @@ package com.deskit.deskit.livehost.service;
 import com.deskit.deskit.livehost.common.enums.VodStatus;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.dto.response.VodPlaybackResponse;
 import com.deskit.deskit.livehost.entity.Vod;
 import com.deskit.deskit.livehost.repository.VodRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * VOD 재생.
+ * redirect 모드(기본): 권한 확인 후 스토리지 presigned URL로 302 → 바이트는 스토리지가 직접 전송
+ * proxy 모드: 앱 서버가 Range 요청을 중계 (presign 실패 시, ?mode=proxy 요청 시 fallback). 로컬 디스크 청크 캐시(VodChunkCache)를 거친다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class VodService {
 
     private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final String MODE_PROXY = "proxy";
+    private static final String VIDEO_CONTENT_TYPE = "video/mp4";
 
     private final VodRepository vodRepository;
     private final AwsS3Service s3Service;
+    private final VodChunkCache vodChunkCache;
+    private final String streamMode;
+    private final long presignTtlSeconds;
+
+    public VodService(
+            VodRepository vodRepository,
+            AwsS3Service s3Service,
+            VodChunkCache vodChunkCache,
+            @Value("${live.vod.stream.mode:redirect}") String streamMode,
+            @Value("${live.vod.stream.presign-ttl-seconds:300}") long presignTtlSeconds
+    ) {
+        this.vodRepository = vodRepository;
+        this.s3Service = s3Service;
+        this.vodChunkCache = vodChunkCache;
+        this.streamMode = streamMode;
+        this.presignTtlSeconds = presignTtlSeconds;
+    }
 
     @Transactional(readOnly = true)
-    public ResponseEntity<InputStreamResource> streamVod(Long vodId, String rangeHeader) {
+    public ResponseEntity<StreamingResponseBody> streamVod(Long vodId, String rangeHeader, String requestedMode) {
+        Vod vod = getPlayableVod(vodId);
+
+        if (!MODE_PROXY.equalsIgnoreCase(streamMode) && !MODE_PROXY.equalsIgnoreCase(requestedMode)) {
+            String presignedUrl = presign(vod, Instant.now().plusSeconds(presignTtlSeconds));
+            if (presignedUrl != null) {
+                // 시킹 중 반복되는 Range 요청은 브라우저가 캐시한 302로 바로 스토리지에 간다. (URL 만료 전까지만)
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .location(URI.create(presignedUrl))
+                        .cacheControl(CacheControl.maxAge(presignTtlSeconds / 2, TimeUnit.SECONDS).cachePrivate())
+                        .build();
+            }
+        }
+        return proxyStream(vod.getVodUrl(), rangeHeader);
+    }
+
+    /**
+     * 플레이어가 직접 src로 쓸 수 있는 재생 URL. presign이 불가하면 프록시 스트림 경로를 돌려준다.
+     */
+    @Transactional(readOnly = true)
+    public VodPlaybackResponse getPlaybackUrl(Long vodId) {
+        Vod vod = getPlayableVod(vodId);
+        Instant expiresAt = Instant.now().plusSeconds(presignTtlSeconds);
+
+        String presignedUrl = MODE_PROXY.equalsIgnoreCase(streamMode) ? null : presign(vod, expiresAt);
+        if (presignedUrl == null) {
+            return VodPlaybackResponse.builder()
+                    .vodId(vodId)
+                    .playbackUrl("/api/vods/" + vodId + "/stream?mode=" + MODE_PROXY)
+                    .presigned(false)
+                    .build();
+        }
+        return VodPlaybackResponse.builder()
+                .vodId(vodId)
+                .playbackUrl(presignedUrl)
+                .presigned(true)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build();
+    }
+
+    private Vod getPlayableVod(Long vodId) {
         Vod vod = vodRepository.findById(vodId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.VOD_NOT_FOUND));
 
@@ -39,8 +111,21 @@ public class VodService {
         if (vodUrl == null || vodUrl.isBlank()) {
             throw new BusinessException(ErrorCode.VOD_NOT_FOUND);
         }
+        return vod;
+    }
+
+    private String presign(Vod vod, Instant expiresAt) {
+        try {
+            return s3Service.generatePresignedGetUrl(vod.getVodUrl(), VIDEO_CONTENT_TYPE, expiresAt);
+        } catch (Exception e) {
+            log.warn("VOD presigned URL 생성 실패, 프록시로 전환: vodId={}, error={}", vod.getVodId(), e.getMessage());
+            return null;
+        }
+    }
 
-        long totalSize = s3Service.getObjectSize(vodUrl);
+    private ResponseEntity<StreamingResponseBody> proxyStream(String vodUrl, String rangeHeader) {
+        // 객체 크기는 캐시해서 Range 요청마다 HEAD를 보내지 않는다.
+        long totalSize = vodChunkCache.getObjectSize(vodUrl, () -> s3Service.getObjectSize(vodUrl));
         Long start = null;
         Long end = null;
         if (rangeHeader != null) {
@@ -57,26 +142,41 @@ public class VodService {
                 if (start != null && end == null) {
                     end = totalSize > 0 ? totalSize - 1 : null;
                 }
+                if (start != null && end != null && totalSize > 0) {
+                    end = Math.min(end, totalSize - 1);
+                }
             }
         }
 
-        InputStream inputStream = s3Service.getObjectStream(vodUrl, start, end);
-
-        long contentLength = totalSize;
-        if (start != null && end != null && totalSize > 0) {
-            contentLength = end - start + 1;
-        }
+        boolean partial = start != null && end != null && totalSize > 0;
+        long contentLength = partial ? end - start + 1 : totalSize;
 
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.ACCEPT_RANGES, "bytes");
-        headers.add(HttpHeaders.CONTENT_TYPE, "video/mp4");
+        headers.add(HttpHeaders.CONTENT_TYPE, VIDEO_CONTENT_TYPE);
         headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
 
-        if (start != null && end != null && totalSize > 0) {
+        StreamingResponseBody body;
+        if (vodChunkCache.isEnabled() && totalSize > 0) {
+            long from = partial ? start : 0;
+            long to = partial ? end : totalSize - 1;
+            body = out -> vodChunkCache.write(vodUrl, from, to, totalSize, out,
+                    (chunkStart, chunkEnd) -> s3Service.getObjectStream(vodUrl, chunkStart, chunkEnd));
+        } else {
+            Long rangeStart = start;
+            Long rangeEnd = end;
+            body = out -> {
+                try (InputStream inputStream = s3Service.getObjectStream(vodUrl, rangeStart, rangeEnd)) {
+                    inputStream.transferTo(out);
+                }
+            };
+        }
+
+        if (partial) {
             headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + totalSize);
-            return new ResponseEntity<>(new InputStreamResource(inputStream), headers, HttpStatus.PARTIAL_CONTENT);
+            return new ResponseEntity<>(body, headers, HttpStatus.PARTIAL_CONTENT);
         }
 
-        return new ResponseEntity<>(new InputStreamResource(inputStream), headers, HttpStatus.OK);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 }
@@ -8,10 +8,10 @@ import com.deskit.deskit.order.dto.CreateOrderResponse;
 import com.deskit.deskit.order.dto.OrderDetailResponse;
 import com.deskit.deskit.order.dto.OrderStatusUpdateRequest;
 import com.deskit.deskit.order.dto.OrderStatusUpdateResponse;
-import com.deskit.deskit.order.dto.OrderSummaryResponse;
+import com.deskit.deskit.order.dto.OrderSummaryPageResponse;
+import com.deskit.deskit.order.service.OrderIdempotencyService;
 import com.deskit.deskit.order.service.OrderService;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,7 +21,9 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -30,28 +32,35 @@ import org.springframework.web.server.ResponseStatusException;
 public class OrderController {
 
   private final OrderService orderService;
+  private final OrderIdempotencyService orderIdempotencyService;
   private final MemberRepository memberRepository;
 
-  public OrderController(OrderService orderService, MemberRepository memberRepository) {
+  public OrderController(OrderService orderService,
+                         OrderIdempotencyService orderIdempotencyService,
+                         MemberRepository memberRepository) {
     this.orderService = orderService;
+    this.orderIdempotencyService = orderIdempotencyService;
     this.memberRepository = memberRepository;
   }
 
   @PostMapping
   public ResponseEntity<CreateOrderResponse> createOrder(
           @AuthenticationPrincipal CustomOAuth2User user,
+          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
           @Valid @RequestBody CreateOrderRequest request
   ) {
     Long memberId = resolveMemberId(user);
-    return ResponseEntity.ok(orderService.createOrder(memberId, request));
+    return ResponseEntity.ok(orderIdempotencyService.createOrder(memberId, idempotencyKey, request));
   }
 
   @GetMapping
-  public ResponseEntity<List<OrderSummaryResponse>> getMyOrders(
-          @AuthenticationPrincipal CustomOAuth2User user
+  public ResponseEntity<OrderSummaryPageResponse> getMyOrders(
+          @AuthenticationPrincipal CustomOAuth2User user,
+          @RequestParam(value = "cursor", required = false) String cursor,
+          @RequestParam(value = "size", required = false) Integer size
   ) {
     Long memberId = resolveMemberId(user);
-    return ResponseEntity.ok(orderService.getMyOrders(memberId));
+    return ResponseEntity.ok(orderService.getMyOrders(memberId, cursor, size));
   }
 
   @GetMapping("/{orderId}")
@@ -9,5 +9,14 @@ public record CreateOrderRequest(
   @JsonProperty("items")
   @NotNull
   @Size(min = 1)
-  List<CreateOrderItemRequest> items
-) {}
+  List<CreateOrderItemRequest> items,
+
+  // 라이브 방송 중 주문이면 방송 id (라이브 특가/방송 재고 적용)
+  @JsonProperty("broadcast_id")
+  Long broadcastId
+) {
+
+  public CreateOrderRequest(List<CreateOrderItemRequest> items) {
+    this(items, null);
+  }
+}
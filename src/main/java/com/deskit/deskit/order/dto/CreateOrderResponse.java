@@ -2,6 +2,7 @@ package com.deskit.deskit.order.dto;
 
 import com.deskit.deskit.order.enums.OrderStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
 
 public record CreateOrderResponse(
   @JsonProperty("order_id")
@@ -14,5 +15,8 @@ public record CreateOrderResponse(
   OrderStatus status,
 
   @JsonProperty("order_amount")
-  Integer orderAmount
+  Integer orderAmount,
+
+  @JsonProperty("order_item_ids")
+  List<Long> orderItemIds
 ) {}
@@ -0,0 +1,42 @@
+package com.deskit.deskit.order.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 내 주문 목록 커서 (created_at, order_id)
+ *
+ * - 마지막으로 내려준 주문의 생성 시각과 ID를 담는다. 다음 페이지는 이 값보다 "앞선" 주문부터 조회한다.
+ * - 클라이언트에는 URL-safe Base64 문자열로 내려주고, 그대로 다시 받는다.
+ */
+public record OrderCursor(LocalDateTime createdAt, Long orderId) {
+
+  private static final String DELIMITER = "_";
+
+  public static OrderCursor of(OrderSummaryResponse last) {
+    return new OrderCursor(last.createdAt(), last.orderId());
+  }
+
+  public String encode() {
+    String raw = createdAt + DELIMITER + orderId;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException 형식이 맞지 않는 커서
+   */
+  public static OrderCursor decode(String value) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      int index = raw.lastIndexOf(DELIMITER);
+      if (index <= 0) {
+        throw new IllegalArgumentException("invalid cursor: " + value);
+      }
+      return new OrderCursor(LocalDateTime.parse(raw.substring(0, index)), Long.parseLong(raw.substring(index + 1)));
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("invalid cursor: " + value, e);
+    }
+  }
+}
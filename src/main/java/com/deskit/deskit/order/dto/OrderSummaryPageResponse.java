@@ -0,0 +1,16 @@
+package com.deskit.deskit.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record OrderSummaryPageResponse(
+  @JsonProperty("items")
+  List<OrderSummaryResponse> items,
+
+  // 다음 페이지 요청 시 cursor 파라미터로 그대로 전달 (마지막 페이지면 null)
+  @JsonProperty("next_cursor")
+  String nextCursor,
+
+  @JsonProperty("has_next")
+  boolean hasNext
+) {}
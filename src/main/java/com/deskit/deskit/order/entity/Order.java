@@ -9,7 +9,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -23,7 +25,19 @@ import lombok.NoArgsConstructor;
  * - 결제/취소 시각(paid_at/cancelled_at)은 주문 특화 필드이므로 Order에 별도 필드로 보관
  */
 @Entity
-@Table(name = "`order`")
+@Table(
+    name = "`order`",
+    // 내 주문 목록 커서 조회용 커버링 인덱스 (목록 컬럼까지 포함)
+    indexes = @Index(
+        name = "idx_order_member_created",
+        columnList = "member_id, created_at, order_id, order_number, status, order_amount"
+    ),
+    // 같은 회원 + 같은 Idempotency-Key로는 주문이 하나만 커밋된다 (키 없는 주문은 NULL이라 제약 대상 아님)
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_order_member_idempotency",
+        columnNames = {"member_id", "idempotency_key"}
+    )
+)
 @Getter
 // JPA 기본 생성자 요구사항 충족(외부에서 new로 생성하지 못하게 protected로 제한)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -46,6 +60,14 @@ public class Order extends BaseEntity {
   @Column(name = "member_id", nullable = false)
   private Long memberId;
 
+  /**
+   * 주문이 발생한 방송
+   * - broadcast_id (nullable, 라이브 주문일 때만 값이 있음)
+   * - 방송별 매출 집계(order_outbox → broadcast_result)의 기준
+   */
+  @Column(name = "broadcast_id")
+  private Long broadcastId;
+
   /**
    * 주문번호(외부 노출용 식별자)
    * - order_number (VARCHAR(50))
@@ -113,6 +135,25 @@ public class Order extends BaseEntity {
   @Column(name = "cancelled_at")
   private LocalDateTime cancelledAt;
 
+  /**
+   * Redis 재고 예약으로 재고를 잡은 주문인지
+   * - stock_reserved (DEFAULT FALSE, 기존 비관적 락 경로 주문은 false)
+   * - true면 결제 시 예약 확정에 성공해야 한다. (예약이 해제/만료된 뒤의 결제는 초과 판매)
+   */
+  @Column(name = "stock_reserved", nullable = false)
+  private boolean stockReserved;
+
+  /**
+   * 주문을 만든 요청의 Idempotency-Key와 요청 본문 해시
+   * - idempotency_key / request_fingerprint (nullable, 키 없이 만든 주문은 null)
+   * - 주문과 같은 트랜잭션에 기록되므로, Redis에 결과를 저장하지 못했어도 재시도가 커밋된 주문을 찾을 수 있다.
+   */
+  @Column(name = "idempotency_key", length = 100)
+  private String idempotencyKey;
+
+  @Column(name = "request_fingerprint", length = 64)
+  private String requestFingerprint;
+
   /**
    * 주문 생성 팩토리 메서드
    *
@@ -127,6 +168,19 @@ public class Order extends BaseEntity {
           Integer discountFee,
           Integer orderAmount,
           OrderStatus status
+  ) {
+    return create(memberId, orderNumber, totalProductAmount, shippingFee, discountFee, orderAmount, status, null);
+  }
+
+  public static Order create(
+          Long memberId,
+          String orderNumber,
+          Integer totalProductAmount,
+          Integer shippingFee,
+          Integer discountFee,
+          Integer orderAmount,
+          OrderStatus status,
+          Long broadcastId
   ) {
     Order order = new Order();
     order.memberId = memberId;
@@ -136,9 +190,19 @@ public class Order extends BaseEntity {
     order.discountFee = discountFee;
     order.orderAmount = orderAmount;
     order.status = status;
+    order.broadcastId = broadcastId;
     return order;
   }
 
+  public void markStockReserved() {
+    this.stockReserved = true;
+  }
+
+  public void markIdempotencyKey(String idempotencyKey, String requestFingerprint) {
+    this.idempotencyKey = idempotencyKey;
+    this.requestFingerprint = requestFingerprint;
+  }
+
   public void changeStatus(OrderStatus status) {
     this.status = status;
   }
@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -23,7 +24,10 @@ import lombok.NoArgsConstructor;
  * - BaseEntity를 상속하여 created_at/updated_at/deleted_at(소프트 삭제) 컬럼을 공통으로 사용
  */
 @Entity
-@Table(name = "order_item")
+@Table(
+    name = "order_item",
+    indexes = @Index(name = "idx_order_item_product", columnList = "product_id")
+)
 @Getter
 // JPA 기본 생성자 요구사항 충족(외부에서 new로 생성하지 못하게 protected로 제한)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -0,0 +1,66 @@
+package com.deskit.deskit.order.entity;
+
+import com.deskit.deskit.order.enums.OrderOutboxEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 상태 변경 아웃박스
+ *
+ * - 주문 상태 변경과 같은 트랜잭션에서 INSERT 되므로, 커밋된 상태 변경은 반드시 이벤트로 남는다.
+ * - 릴레이(SalesOutboxRelay)가 미발행(published_at IS NULL) 이벤트를 읽어 방송 매출 집계에 반영한 뒤 published_at을 채운다.
+ * - 라인 아이템은 order_item(불변 스냅샷)에서 읽으므로 이벤트에는 주문 단위 정보만 담는다.
+ */
+@Entity
+@Table(
+    name = "order_outbox",
+    indexes = @Index(name = "idx_order_outbox_unpublished", columnList = "published_at, outbox_id")
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "outbox_id", nullable = false)
+  private Long id;
+
+  @Column(name = "order_id", nullable = false)
+  private Long orderId;
+
+  /**
+   * 라이브 주문이 아니면 null
+   */
+  @Column(name = "broadcast_id")
+  private Long broadcastId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false, length = 30)
+  private OrderOutboxEventType eventType;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "published_at")
+  private LocalDateTime publishedAt;
+
+  public static OrderOutbox create(Order order, OrderOutboxEventType eventType) {
+    OrderOutbox outbox = new OrderOutbox();
+    outbox.orderId = order.getId();
+    outbox.broadcastId = order.getBroadcastId();
+    outbox.eventType = eventType;
+    outbox.createdAt = LocalDateTime.now();
+    return outbox;
+  }
+}
@@ -0,0 +1,39 @@
+package com.deskit.deskit.order.enums;
+
+/**
+ * order_outbox 이벤트 종류
+ *
+ * - ORDER_PAID      : 매출로 잡히는 상태(PAID/COMPLETED)가 됨 → 매출 +
+ * - ORDER_CANCELLED : 매출로 잡혔던 주문이 취소됨 → 매출 -
+ */
+public enum OrderOutboxEventType {
+  ORDER_PAID(1),
+  ORDER_CANCELLED(-1);
+
+  private final int sign;
+
+  OrderOutboxEventType(int sign) {
+    this.sign = sign;
+  }
+
+  public int sign() {
+    return sign;
+  }
+
+  /**
+   * 상태 전환이 매출에 영향을 주면 해당 이벤트, 아니면 null
+   * (CREATED → CANCELLED, PAID → COMPLETED 등은 매출 변화 없음)
+   */
+  public static OrderOutboxEventType of(OrderStatus previous, OrderStatus next) {
+    boolean wasSold = isSold(previous);
+    boolean nowSold = isSold(next);
+    if (wasSold == nowSold) {
+      return null;
+    }
+    return nowSold ? ORDER_PAID : ORDER_CANCELLED;
+  }
+
+  private static boolean isSold(OrderStatus status) {
+    return status == OrderStatus.PAID || status == OrderStatus.COMPLETED;
+  }
+}
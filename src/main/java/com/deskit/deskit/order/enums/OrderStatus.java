@@ -1,8 +1,25 @@
 package com.deskit.deskit.order.enums;
 
+/**
+ * 주문 상태
+ *
+ * CREATED → PAID → COMPLETED 순서로 진행하고, 완료 전에는 취소할 수 있다.
+ * CANCELLED/COMPLETED는 종료 상태라 다른 상태로 바뀌지 않는다.
+ */
 public enum OrderStatus {
   CREATED,
   PAID,
   CANCELLED,
-  COMPLETED
+  COMPLETED;
+
+  public boolean canTransitionTo(OrderStatus next) {
+    switch (this) {
+      case CREATED:
+        return next == PAID || next == CANCELLED;
+      case PAID:
+        return next == COMPLETED || next == CANCELLED;
+      default:
+        return false;
+    }
+  }
 }
@@ -0,0 +1,11 @@
+package com.deskit.deskit.order.event;
+
+/**
+ * 품절이던 방송 상품에 주문 취소/예약 만료로 재고가 돌아와 판매 중으로 바뀌었을 때 발행된다.
+ * - 재고 반영 트랜잭션 커밋 후 방송 시청자에게 SSE(PRODUCT_RESTOCKED)로 전달된다.
+ */
+public record BroadcastProductRestockedEvent(
+  Long broadcastId,
+  Long bpId,
+  Long productId
+) {}
@@ -0,0 +1,11 @@
+package com.deskit.deskit.order.event;
+
+/**
+ * 라이브 주문으로 방송 상품 재고가 0이 되었을 때 발행된다.
+ * - 주문 트랜잭션 커밋 후 방송 시청자에게 SSE(PRODUCT_SOLDOUT)로 전달된다.
+ */
+public record BroadcastProductSoldOutEvent(
+  Long broadcastId,
+  Long bpId,
+  Long productId
+) {}
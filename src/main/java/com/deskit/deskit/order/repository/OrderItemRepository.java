@@ -1,6 +1,7 @@
 package com.deskit.deskit.order.repository;
 
 import com.deskit.deskit.order.entity.OrderItem;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -10,7 +11,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * - Spring Data JPA가 메서드 이름 규칙을 해석해서 쿼리를 자동 생성한다.
  * - 기본 CRUD는 JpaRepository가 제공한다. (save, findById, delete 등)
  */
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemRepositoryCustom {
 
   /**
    * 특정 주문(order_id)에 속한 주문 상품 목록을 조회한다.
@@ -20,4 +21,9 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
    *   - 그 안의 "id" 값을 조건으로 검색한다는 뜻 (order.id)
    */
   List<OrderItem> findByOrder_Id(Long orderId);
+
+  /**
+   * 여러 주문의 주문 상품을 한 번에 조회한다. (매출 집계 릴레이에서 배치 단위로 사용)
+   */
+  List<OrderItem> findByOrder_IdIn(Collection<Long> orderIds);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.deskit.deskit.order.repository;
+
+import com.deskit.deskit.order.entity.OrderItem;
+import java.util.List;
+
+public interface OrderItemRepositoryCustom {
+
+  /**
+   * 주문상품을 다중 행 INSERT 한 번으로 저장하고, 생성된 order_item_id를 입력 순서대로 반환한다.
+   *
+   * - IDENTITY 전략이라 save()는 행마다 INSERT 왕복이 생기므로 주문 생성 경로에서는 이 메서드를 쓴다.
+   * - 영속성 컨텍스트를 거치지 않으므로 전달한 엔티티의 id는 채워지지 않는다.
+   */
+  List<Long> insertAll(List<OrderItem> items);
+}
@@ -0,0 +1,86 @@
+package com.deskit.deskit.order.repository;
+
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.table;
+
+import com.deskit.deskit.order.entity.OrderItem;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep9;
+import org.jooq.Record;
+import org.jooq.Table;
+
+public class OrderItemRepositoryImpl implements OrderItemRepositoryCustom {
+
+  private final DSLContext dsl;
+
+  private final Table<Record> orderItemTable = table(name("order_item"));
+  private final Field<Long> orderId = field(name("order_id"), Long.class);
+  private final Field<Long> productId = field(name("product_id"), Long.class);
+  private final Field<Long> sellerId = field(name("seller_id"), Long.class);
+  private final Field<String> productName = field(name("product_name"), String.class);
+  private final Field<Integer> unitPrice = field(name("unit_price"), Integer.class);
+  private final Field<Integer> quantity = field(name("quantity"), Integer.class);
+  private final Field<Integer> subtotalPrice = field(name("subtotal_price"), Integer.class);
+  private final Field<LocalDateTime> createdAt = field(name("created_at"), LocalDateTime.class);
+  private final Field<LocalDateTime> updatedAt = field(name("updated_at"), LocalDateTime.class);
+
+  public OrderItemRepositoryImpl(DSLContext dsl) {
+    this.dsl = dsl;
+  }
+
+  @Override
+  public List<Long> insertAll(List<OrderItem> items) {
+    if (items == null || items.isEmpty()) {
+      return List.of();
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    InsertValuesStep9<Record, Long, Long, Long, String, Integer, Integer, Integer, LocalDateTime, LocalDateTime> insert =
+      dsl.insertInto(orderItemTable, orderId, productId, sellerId, productName, unitPrice, quantity, subtotalPrice, createdAt, updatedAt);
+    for (OrderItem item : items) {
+      insert = insert.values(
+        item.getOrder().getId(),
+        item.getProductId(),
+        item.getSellerId(),
+        item.getProductName(),
+        item.getUnitPrice(),
+        item.getQuantity(),
+        item.getSubtotalPrice(),
+        now,
+        now
+      );
+    }
+
+    // plain SQL 테이블이라 jOOQ RETURNING은 identity 컬럼을 알 수 없으므로, 생성 키는 JDBC getGeneratedKeys로 받는다.
+    // (MySQL/H2 모두 다중 행 INSERT의 키를 행 순서대로 돌려준다)
+    String sql = insert.getSQL();
+    List<Object> bindValues = insert.getBindValues();
+    return dsl.connectionResult(connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        for (int i = 0; i < bindValues.size(); i++) {
+          statement.setObject(i + 1, bindValues.get(i));
+        }
+        statement.executeUpdate();
+
+        List<Long> ids = new ArrayList<>(items.size());
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+          while (keys.next()) {
+            ids.add(keys.getLong(1));
+          }
+        }
+        if (ids.size() != items.size()) {
+          throw new IllegalStateException("generated key count mismatch: expected=" + items.size() + ", actual=" + ids.size());
+        }
+        return ids;
+      }
+    });
+  }
+}
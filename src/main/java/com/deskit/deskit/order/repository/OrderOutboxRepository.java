@@ -0,0 +1,66 @@
+package com.deskit.deskit.order.repository;
+
+import com.deskit.deskit.order.entity.OrderOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+  /**
+   * 미발행 이벤트를 오래된 순으로 선점한다.
+   *
+   * - FOR UPDATE SKIP LOCKED(lock.timeout = -2): 다른 노드가 처리 중인 행은 건너뛰므로 여러 노드에서 릴레이가 돌아도 중복 집계되지 않는다.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("select o from OrderOutbox o where o.publishedAt is null order by o.id")
+  List<OrderOutbox> claimUnpublished(Pageable pageable);
+
+  /**
+   * 아직 릴레이되지 않은 이벤트 id (인기 랭킹 재구축 스냅샷용)
+   */
+  @Query("select o.id from OrderOutbox o where o.publishedAt is null")
+  List<Long> findUnpublishedIds();
+
+  /**
+   * 인기 랭킹 재구축 스냅샷의 기준 id (이벤트가 없으면 null)
+   */
+  @Query("select max(o.id) from OrderOutbox o")
+  Long findMaxId();
+
+  /**
+   * afterId보다 큰 이벤트 id (인기 랭킹 재구축 스냅샷에 보인 범위)
+   */
+  @Query("select o.id from OrderOutbox o where o.id > :afterId")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId);
+
+  /**
+   * afterId보다 큰 이벤트 (인기 랭킹 재구축 후 재반영용)
+   */
+  @Query("select o from OrderOutbox o where o.id > :afterId order by o.id")
+  List<OrderOutbox> findAfter(@Param("afterId") Long afterId);
+
+  @Modifying
+  @Query("update OrderOutbox o set o.publishedAt = :publishedAt where o.id in :ids")
+  int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+  /**
+   * 보존 기간이 지난 발행 완료 이벤트 (idx_order_outbox_unpublished 범위 스캔)
+   */
+  @Query("select o.id from OrderOutbox o where o.publishedAt < :before order by o.publishedAt, o.id")
+  List<Long> findPublishedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+  @Modifying
+  @Query("delete from OrderOutbox o where o.id in :ids")
+  int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,8 +1,16 @@
 package com.deskit.deskit.order.repository;
 
+import com.deskit.deskit.order.dto.OrderSummaryResponse;
 import com.deskit.deskit.order.entity.Order;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Order(주문) 엔티티에 대한 조회/저장 Repository.
@@ -25,4 +33,52 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
    *   List<Order> orders = orderRepository.findByMemberIdOrderByCreatedAtDesc(memberId);
    */
   List<Order> findByMemberIdOrderByCreatedAtDesc(Long memberId);
-}
\ No newline at end of file
+
+  /**
+   * 같은 회원이 같은 Idempotency-Key로 이미 커밋한 주문 (uk_order_member_idempotency)
+   */
+  Optional<Order> findByMemberIdAndIdempotencyKey(Long memberId, String idempotencyKey);
+
+  /**
+   * 내 주문 목록 첫 페이지 (목록 컬럼만 DTO로 조회)
+   *
+   * - (created_at DESC, order_id DESC) 순서로 pageable.pageSize 건만 읽는다.
+   * - 조회 컬럼이 모두 idx_order_member_created에 들어 있어 테이블(클러스터드 인덱스)을 읽지 않는다.
+   */
+  @Query("select new com.deskit.deskit.order.dto.OrderSummaryResponse(" +
+         "o.id, o.orderNumber, o.status, o.orderAmount, o.createdAt) " +
+         "from Order o " +
+         "where o.memberId = :memberId " +
+         "order by o.createdAt desc, o.id desc")
+  List<OrderSummaryResponse> findSummaries(@Param("memberId") Long memberId, Pageable pageable);
+
+  /**
+   * 내 주문 목록 다음 페이지 (커서 이후)
+   *
+   * - 커서 (createdAt, orderId)보다 앞선 주문만 조회한다. 같은 시각의 주문은 order_id로 이어 붙인다.
+   */
+  @Query("select new com.deskit.deskit.order.dto.OrderSummaryResponse(" +
+         "o.id, o.orderNumber, o.status, o.orderAmount, o.createdAt) " +
+         "from Order o " +
+         "where o.memberId = :memberId " +
+         "and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :orderId)) " +
+         "order by o.createdAt desc, o.id desc")
+  List<OrderSummaryResponse> findSummariesBefore(@Param("memberId") Long memberId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("orderId") Long orderId,
+                                                 Pageable pageable);
+
+  /**
+   * 주문번호로 주문을 조회한다. (재고 예약 만료 처리 시 사용)
+   */
+  Optional<Order> findByOrderNumber(String orderNumber);
+
+  /**
+   * 상태 변경용 조회 (행 락)
+   *
+   * - 같은 주문의 상태 변경이 동시에 들어와도 전환 검사와 예약 확정이 한 번씩 순서대로 일어난다.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select o from Order o where o.id = :orderId")
+  Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,156 @@
+package com.deskit.deskit.order.service;
+
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.enums.OrderStatus;
+import com.deskit.deskit.order.event.BroadcastProductRestockedEvent;
+import com.deskit.deskit.order.repository.OrderRepository;
+import com.deskit.deskit.product.repository.ProductRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Redis 재고 예약 엔진의 후처리
+ *
+ * - reconcileStock : Redis에서 누적된 재고 증감분을 product.stock_qty / broadcast_product.bp_quantity에 반영
+ *   (방송 상품은 수량에 맞춰 SELLING/SOLDOUT 상태도 함께 맞추고, 품절에서 풀리면 재입고 알림을 보낸다)
+ * - expireReservations : 결제되지 않은 채 TTL이 지난 예약을 해제하고 주문을 취소
+ * - recoverStuckCommits : 결제 트랜잭션 도중 중단되어 확정 대기로 남은 예약을 주문 상태에 맞춰 정리
+ */
+@Service
+public class InventoryReconciliationService {
+
+  private static final Logger log = LoggerFactory.getLogger(InventoryReconciliationService.class);
+
+  // 결제 트랜잭션이 이보다 오래 열려 있을 수는 없다고 보고, 원래 만료 시각에서 이만큼 지난 확정 대기만 정리한다.
+  private static final Duration STUCK_COMMIT_GRACE = Duration.ofMinutes(5);
+
+  private final InventoryReservationService inventoryReservationService;
+  private final ProductRepository productRepository;
+  private final BroadcastProductRepository broadcastProductRepository;
+  private final OrderRepository orderRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public InventoryReconciliationService(InventoryReservationService inventoryReservationService,
+                                        ProductRepository productRepository,
+                                        BroadcastProductRepository broadcastProductRepository,
+                                        OrderRepository orderRepository,
+                                        ApplicationEventPublisher eventPublisher) {
+    this.inventoryReservationService = inventoryReservationService;
+    this.productRepository = productRepository;
+    this.broadcastProductRepository = broadcastProductRepository;
+    this.orderRepository = orderRepository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * 증감분을 DB에 반영한다. inflight는 커밋 후에만 지우므로 실패하면 다음 주기에 그대로 다시 반영한다.
+   * 여러 노드가 같은 inflight를 중복 반영하지 않고, 카운터 적재가 커밋과 ack 사이에 끼지 않도록
+   * 커밋 후 ack까지 재고 락을 잡고 있는다.
+   */
+  @Transactional
+  public int reconcileStock() {
+    String token = inventoryReservationService.tryLockStock();
+    if (token == null) {
+      return 0;
+    }
+    boolean handedOff = false;
+    try {
+      Map<String, Long> deltas = inventoryReservationService.drainDeltas();
+      for (Map.Entry<String, Long> entry : deltas.entrySet()) {
+        String field = entry.getKey();
+        int delta = Math.toIntExact(entry.getValue());
+        if (InventoryReservationService.isProductField(field)) {
+          productRepository.adjustStock(InventoryReservationService.idOf(field), delta);
+        } else if (InventoryReservationService.isBroadcastProductField(field)) {
+          Long bpId = InventoryReservationService.idOf(field);
+          broadcastProductRepository.adjustQuantity(bpId, delta);
+          broadcastProductRepository.markSoldOut(bpId);
+          if (broadcastProductRepository.markRestocked(bpId) > 0) {
+            publishRestocked(bpId);
+          }
+        }
+      }
+      if (!deltas.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+              inventoryReservationService.ackDeltas();
+            }
+            inventoryReservationService.unlockStock(token);
+          }
+        });
+        handedOff = true;
+      } else if (!deltas.isEmpty()) {
+        inventoryReservationService.ackDeltas();
+      }
+      return deltas.size();
+    } finally {
+      if (!handedOff) {
+        inventoryReservationService.unlockStock(token);
+      }
+    }
+  }
+
+  /**
+   * 만료된 예약을 해제한다. 해제에 성공한(= 아직 결제되지 않은) 예약만 주문을 취소한다.
+   */
+  @Transactional
+  public int expireReservations(int limit) {
+    int expired = 0;
+    for (String orderNumber : inventoryReservationService.findExpired(Instant.now(), limit)) {
+      if (!inventoryReservationService.release(orderNumber, true)) {
+        continue;
+      }
+      expired++;
+      orderRepository.findByOrderNumber(orderNumber)
+        .filter(order -> order.getStatus() == OrderStatus.CREATED)
+        .ifPresent(this::cancelExpired);
+    }
+    return expired;
+  }
+
+  /**
+   * 확정 대기로 남은 예약 정리: 주문이 결제 이후 상태면 예약을 지우고,
+   * 아직 CREATED(= 결제 트랜잭션이 커밋되지 않음)면 만료 대상으로 돌려 다음 expireReservations에서 해제한다.
+   */
+  @Transactional(readOnly = true)
+  public int recoverStuckCommits(int limit) {
+    Instant now = Instant.now();
+    List<String> stuck = inventoryReservationService.findStuckCommits(now.minus(STUCK_COMMIT_GRACE), limit);
+    for (String orderNumber : stuck) {
+      boolean paid = orderRepository.findByOrderNumber(orderNumber)
+        .map(order -> order.getStatus() != OrderStatus.CREATED)
+        .orElse(false);
+      if (paid) {
+        inventoryReservationService.finishCommit(orderNumber);
+      } else {
+        inventoryReservationService.abortCommit(orderNumber, now);
+      }
+      log.warn("stuck reservation commit recovered: order_number={}, paid={}", orderNumber, paid);
+    }
+    return stuck.size();
+  }
+
+  // 리스너는 커밋 후 실행되므로 반영이 롤백되면 알림도 나가지 않는다.
+  private void publishRestocked(Long bpId) {
+    broadcastProductRepository.findById(bpId).ifPresent(bp -> eventPublisher.publishEvent(
+      new BroadcastProductRestockedEvent(bp.getBroadcast().getBroadcastId(), bpId, bp.getProduct().getId())
+    ));
+  }
+
+  private void cancelExpired(Order order) {
+    order.changeStatus(OrderStatus.CANCELLED);
+    log.info("reservation expired: order_number={}", order.getOrderNumber());
+  }
+}
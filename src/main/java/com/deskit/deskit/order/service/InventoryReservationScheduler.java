@@ -0,0 +1,43 @@
+package com.deskit.deskit.order.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 예약 엔진 주기 작업
+ * - 1초마다 Redis 재고 증감분을 DB에 반영
+ * - 5초마다 만료된 예약 해제 (확정 대기로 남은 예약 정리 포함)
+ */
+@Component
+public class InventoryReservationScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(InventoryReservationScheduler.class);
+  private static final int EXPIRE_BATCH_SIZE = 200;
+
+  private final InventoryReconciliationService inventoryReconciliationService;
+
+  public InventoryReservationScheduler(InventoryReconciliationService inventoryReconciliationService) {
+    this.inventoryReconciliationService = inventoryReconciliationService;
+  }
+
+  @Scheduled(fixedDelay = 1000)
+  public void reconcileStock() {
+    try {
+      inventoryReconciliationService.reconcileStock();
+    } catch (Exception e) {
+      log.error("stock reconcile failed: {}", e.getMessage());
+    }
+  }
+
+  @Scheduled(fixedDelay = 5000)
+  public void expireReservations() {
+    try {
+      inventoryReconciliationService.recoverStuckCommits(EXPIRE_BATCH_SIZE);
+      inventoryReconciliationService.expireReservations(EXPIRE_BATCH_SIZE);
+    } catch (Exception e) {
+      log.error("reservation expiry failed: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,502 @@
+package com.deskit.deskit.order.service;
+
+import com.deskit.deskit.livehost.entity.BroadcastProduct;
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.product.entity.Product;
+import com.deskit.deskit.product.repository.ProductRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Redis 재고 예약 엔진
+ *
+ * - 상품(product) / 라이브 상품(broadcast_product) 재고를 Redis 카운터로 관리한다.
+ * - 여러 품목을 Lua 스크립트 한 번으로 "전부 확인 후 전부 차감"하므로 부분 차감이 없다.
+ * - 예약은 reservationId(= 주문번호) 단위로 기록되고, 결제(commit)되지 않으면 만료 시 재고가 돌아간다.
+ * - 결제 확정은 DB 커밋 전에 만료 대상에서만 빼 두고(확정 대기), 커밋되면 지우고 롤백되면 되돌린다.
+ * - 차감/복구량은 db-delta 해시에 누적되고, InventoryReconciliationService가 비동기로 DB 재고에 반영한다.
+ * - 카운터 적재(DB 재고 + 미반영분)와 DB 반영(커밋 → ack)은 같은 락으로 직렬화한다.
+ *
+ * 키는 모두 같은 해시 태그({stock})를 써서 클러스터에서도 한 슬롯에 모인다.
+ */
+@Service
+public class InventoryReservationService {
+
+  static final String KEY_PREFIX = "inventory:{stock}:";
+  static final String EXPIRY_KEY = KEY_PREFIX + "expiry";
+  static final String DELTA_KEY = KEY_PREFIX + "db-delta";
+  static final String DELTA_INFLIGHT_KEY = KEY_PREFIX + "db-delta:inflight";
+  static final String COMMITTING_KEY = KEY_PREFIX + "committing";
+  static final String STOCK_LOCK_KEY = KEY_PREFIX + "reconcile-lock";
+  static final Duration STOCK_LOCK_TTL = Duration.ofSeconds(30);
+
+  private static final String PRODUCT_FIELD = "product:";
+  private static final String BROADCAST_PRODUCT_FIELD = "bp:";
+  private static final long EXPIRED_MARKER_SECONDS = 24 * 60 * 60;
+  private static final int MAX_LOAD_ATTEMPTS = 16;
+  private static final long LOAD_LOCK_WAIT_MILLIS = 3000;
+  private static final long LOAD_LOCK_RETRY_MILLIS = 20;
+
+  /**
+   * KEYS[1]=예약 해시, KEYS[2]=만료 ZSET, KEYS[3]=db-delta, KEYS[4..]=재고 카운터
+   * ARGV[1]=reservationId, ARGV[2]=만료 시각(epoch ms), ARGV[3..2+n]=수량, ARGV[3+n..]=필드명
+   * 반환: 0 성공(같은 예약 재요청 포함), i>0 i번째 재고 부족, -i 카운터 미적재
+   */
+  static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+    "local n = #KEYS - 3 " +
+    "for i = 1, n do " +
+    "  local stock = redis.call('GET', KEYS[3 + i]) " +
+    "  if not stock then return -i end " +
+    "  if tonumber(stock) < tonumber(ARGV[2 + i]) then return i end " +
+    "end " +
+    "for i = 1, n do " +
+    "  local qty = tonumber(ARGV[2 + i]) " +
+    "  redis.call('DECRBY', KEYS[3 + i], qty) " +
+    "  redis.call('HSET', KEYS[1], ARGV[2 + n + i], qty) " +
+    "  redis.call('HINCRBY', KEYS[3], ARGV[2 + n + i], -qty) " +
+    "end " +
+    "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+    "return 0",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=예약 해시, KEYS[2]=만료 ZSET, KEYS[3]=db-delta, KEYS[4]=만료 표시 키, KEYS[5]=확정 대기 ZSET,
+   * KEYS[6..]=재고 카운터, ARGV[1]=reservationId, ARGV[2]=만료 표시 TTL(초, 0이면 표시 안 함), ARGV[3..]=필드명
+   * 확정 대기 중인 예약은 해제하지 않는다. (결제 트랜잭션이 끝나면 정리됨)
+   */
+  static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+    "if redis.call('ZSCORE', KEYS[5], ARGV[1]) then return 0 end " +
+    "for i = 6, #KEYS do " +
+    "  local field = ARGV[i - 3] " +
+    "  local qty = tonumber(redis.call('HGET', KEYS[1], field) or '0') " +
+    "  if qty > 0 then " +
+    "    redis.call('INCRBY', KEYS[i], qty) " +
+    "    redis.call('HINCRBY', KEYS[3], field, qty) " +
+    "  end " +
+    "end " +
+    "redis.call('DEL', KEYS[1]) " +
+    "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+    "if tonumber(ARGV[2]) > 0 then redis.call('SET', KEYS[4], '1', 'EX', ARGV[2]) end " +
+    "return 1",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=예약 해시, KEYS[2]=만료 ZSET, KEYS[3]=만료 표시 키, KEYS[4]=확정 대기 ZSET, ARGV[1]=reservationId
+   * 예약을 만료 ZSET에서 확정 대기 ZSET으로 옮긴다. (원래 만료 시각 유지, 예약 해시는 그대로)
+   * 반환: 1 확정 대기, -1 이미 만료되어 재고 반환됨, 0 예약 없음(엔진 도입 전 주문 / 이미 확정)
+   */
+  static final DefaultRedisScript<Long> COMMIT_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+    "  local expireAt = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+    "  if expireAt then " +
+    "    redis.call('ZREM', KEYS[2], ARGV[1]) " +
+    "    redis.call('ZADD', KEYS[4], expireAt, ARGV[1]) " +
+    "  end " +
+    "  return 1 " +
+    "end " +
+    "if redis.call('EXISTS', KEYS[3]) == 1 then return -1 end " +
+    "return 0",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=예약 해시, KEYS[2]=확정 대기 ZSET, ARGV[1]=reservationId
+   * 결제 트랜잭션 커밋 후: 예약을 지운다. (재고는 차감된 그대로)
+   */
+  static final DefaultRedisScript<Long> FINISH_COMMIT_SCRIPT = new DefaultRedisScript<>(
+    "redis.call('DEL', KEYS[1]) " +
+    "return redis.call('ZREM', KEYS[2], ARGV[1])",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=확정 대기 ZSET, KEYS[2]=만료 ZSET, ARGV[1]=reservationId, ARGV[2]=만료 시각(epoch ms, 비우면 원래 시각)
+   * 결제 트랜잭션 롤백 후: 예약을 다시 만료 대상으로 되돌린다.
+   */
+  static final DefaultRedisScript<Long> ABORT_COMMIT_SCRIPT = new DefaultRedisScript<>(
+    "local expireAt = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+    "if not expireAt then return 0 end " +
+    "if ARGV[2] ~= '' then expireAt = ARGV[2] end " +
+    "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+    "redis.call('ZADD', KEYS[2], expireAt, ARGV[1]) " +
+    "return 1",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=재고 카운터, KEYS[2]=db-delta, KEYS[3]=db-delta:inflight, KEYS[4]=재고 락
+   * ARGV[1]=DB 재고, ARGV[2]=필드명, ARGV[3]=락 토큰
+   * DB에 아직 반영되지 않은 증감분을 더해서 적재한다. (이미 있으면 그대로)
+   * 락을 놓친 상태면(-1) DB 재고를 읽은 뒤 반영이 끼어들었을 수 있으므로 적재하지 않는다.
+   */
+  static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+    "if redis.call('GET', KEYS[4]) ~= ARGV[3] then return -1 end " +
+    "local pending = tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0') " +
+    "  + tonumber(redis.call('HGET', KEYS[3], ARGV[2]) or '0') " +
+    "redis.call('SET', KEYS[1], tonumber(ARGV[1]) + pending) " +
+    "return 1",
+    Long.class
+  );
+
+  static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+    "return 0",
+    Long.class
+  );
+
+  /**
+   * KEYS[1]=db-delta, KEYS[2]=db-delta:inflight
+   * 이전에 반영 못 한 inflight가 있으면 그것부터, 없으면 db-delta를 inflight로 옮겨서 돌려준다.
+   */
+  @SuppressWarnings("rawtypes")
+  static final DefaultRedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[2]) == 0 then " +
+    "  if redis.call('EXISTS', KEYS[1]) == 0 then return {} end " +
+    "  redis.call('RENAME', KEYS[1], KEYS[2]) " +
+    "end " +
+    "return redis.call('HGETALL', KEYS[2])",
+    List.class
+  );
+
+  /**
+   * 예약 품목. bpId가 있으면 라이브 상품 재고도 함께 차감한다.
+   */
+  public record StockItem(Long productId, Long bpId, int quantity) {
+
+    public static StockItem product(Long productId, int quantity) {
+      return new StockItem(productId, null, quantity);
+    }
+  }
+
+  public enum CommitResult {
+    COMMITTED,
+    EXPIRED,
+    NOT_RESERVED
+  }
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final ProductRepository productRepository;
+  private final BroadcastProductRepository broadcastProductRepository;
+  private final TransactionTemplate stockReadTransaction;
+  private final Duration reservationTtl;
+
+  public InventoryReservationService(RedisTemplate<String, String> redisTemplate,
+                                     ProductRepository productRepository,
+                                     BroadcastProductRepository broadcastProductRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${order.reservation.ttl-minutes:15}") long reservationTtlMinutes) {
+    this.redisTemplate = redisTemplate;
+    this.productRepository = productRepository;
+    this.broadcastProductRepository = broadcastProductRepository;
+    // 호출한 주문 트랜잭션의 스냅샷이 아니라, 락을 잡은 뒤 커밋된 재고를 읽어야 한다.
+    this.stockReadTransaction = new TransactionTemplate(transactionManager);
+    this.stockReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.stockReadTransaction.setReadOnly(true);
+    this.reservationTtl = Duration.ofMinutes(reservationTtlMinutes);
+  }
+
+  /**
+   * 품목 전체를 원자적으로 예약한다. 하나라도 부족하면 아무것도 차감하지 않고 409.
+   */
+  public void reserve(String reservationId, List<StockItem> items) {
+    Map<String, Integer> quantityByField = new LinkedHashMap<>();
+    for (StockItem item : items) {
+      quantityByField.merge(PRODUCT_FIELD + item.productId(), item.quantity(), Integer::sum);
+      if (item.bpId() != null) {
+        quantityByField.merge(BROADCAST_PRODUCT_FIELD + item.bpId(), item.quantity(), Integer::sum);
+      }
+    }
+
+    List<String> fields = new ArrayList<>(quantityByField.keySet());
+    List<String> keys = new ArrayList<>(fields.size() + 3);
+    keys.add(reservationKey(reservationId));
+    keys.add(EXPIRY_KEY);
+    keys.add(DELTA_KEY);
+    List<String> args = new ArrayList<>(fields.size() * 2 + 2);
+    args.add(reservationId);
+    args.add(String.valueOf(Instant.now().plus(reservationTtl).toEpochMilli()));
+    for (String field : fields) {
+      keys.add(KEY_PREFIX + field);
+      args.add(String.valueOf(quantityByField.get(field)));
+    }
+    args.addAll(fields);
+
+    for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+      Long result = redisTemplate.execute(RESERVE_SCRIPT, keys, args.toArray());
+      if (result == null) {
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "inventory unavailable");
+      }
+      if (result == 0) {
+        return;
+      }
+      if (result > 0) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "insufficient stock: " + describe(fields.get(result.intValue() - 1)));
+      }
+      load(fields.get((int) -result - 1));
+    }
+    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "inventory unavailable");
+  }
+
+  /**
+   * 결제 완료: 예약을 확정한다. (재고는 이미 차감된 상태 그대로)
+   *
+   * 트랜잭션 안에서 호출되면 커밋 전에는 만료/취소로 해제되지 않게 확정 대기로만 옮기고,
+   * 커밋되면 예약을 지우고 롤백되면 원래 만료 시각으로 되돌린다.
+   * 그 사이 노드가 죽어 남은 확정 대기는 findStuckCommits로 찾아 주문 상태에 맞춰 정리한다.
+   */
+  public CommitResult commit(String reservationId) {
+    Long result = redisTemplate.execute(
+      COMMIT_SCRIPT,
+      List.of(reservationKey(reservationId), EXPIRY_KEY, expiredMarkerKey(reservationId), COMMITTING_KEY),
+      reservationId
+    );
+    if (result == null || result == 0) {
+      return CommitResult.NOT_RESERVED;
+    }
+    if (result < 0) {
+      return CommitResult.EXPIRED;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      finishCommit(reservationId);
+      return CommitResult.COMMITTED;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          finishCommit(reservationId);
+        } else {
+          abortCommit(reservationId, null);
+        }
+      }
+    });
+    return CommitResult.COMMITTED;
+  }
+
+  /**
+   * 확정 대기 예약을 지운다. (결제가 DB에 커밋된 경우)
+   */
+  public void finishCommit(String reservationId) {
+    redisTemplate.execute(FINISH_COMMIT_SCRIPT, List.of(reservationKey(reservationId), COMMITTING_KEY), reservationId);
+  }
+
+  /**
+   * 확정 대기 예약을 만료 대상으로 되돌린다. (결제가 커밋되지 않은 경우)
+   *
+   * @param expireAt 새 만료 시각 (null이면 원래 만료 시각)
+   */
+  public void abortCommit(String reservationId, Instant expireAt) {
+    redisTemplate.execute(
+      ABORT_COMMIT_SCRIPT,
+      List.of(COMMITTING_KEY, EXPIRY_KEY),
+      reservationId,
+      expireAt == null ? "" : String.valueOf(expireAt.toEpochMilli())
+    );
+  }
+
+  /**
+   * 원래 만료 시각이 before 이전인데 아직 확정 대기인 예약. (결제 트랜잭션 도중 노드 중단)
+   */
+  public List<String> findStuckCommits(Instant before, int limit) {
+    Set<String> stuck = redisTemplate.opsForZSet().rangeByScore(COMMITTING_KEY, 0, before.toEpochMilli(), 0, limit);
+    return stuck == null ? List.of() : new ArrayList<>(stuck);
+  }
+
+  /**
+   * 예약을 취소하고 재고를 돌려준다. 이미 확정/해제되었거나 확정 대기 중인 예약이면 false.
+   *
+   * @param expired 만료로 인한 해제면 true (이후 commit 시 EXPIRED로 응답)
+   */
+  public boolean release(String reservationId, boolean expired) {
+    String reservationKey = reservationKey(reservationId);
+    Set<Object> fields = redisTemplate.opsForHash().keys(reservationKey);
+
+    List<String> keys = new ArrayList<>(fields.size() + 5);
+    keys.add(reservationKey);
+    keys.add(EXPIRY_KEY);
+    keys.add(DELTA_KEY);
+    keys.add(expiredMarkerKey(reservationId));
+    keys.add(COMMITTING_KEY);
+    List<String> args = new ArrayList<>(fields.size() + 2);
+    args.add(reservationId);
+    args.add(String.valueOf(expired ? EXPIRED_MARKER_SECONDS : 0));
+    for (Object field : fields) {
+      keys.add(KEY_PREFIX + field);
+      args.add(field.toString());
+    }
+
+    Long result = redisTemplate.execute(RELEASE_SCRIPT, keys, args.toArray());
+    return result != null && result == 1;
+  }
+
+  /**
+   * 라이브 상품의 현재 재고(Redis 카운터). 카운터가 아직 없는 상품은 결과에서 빠진다.
+   */
+  public Map<Long, Integer> getBroadcastStocks(Collection<Long> bpIds) {
+    if (bpIds == null || bpIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<Long> ids = new ArrayList<>(bpIds);
+    List<String> keys = new ArrayList<>(ids.size());
+    for (Long bpId : ids) {
+      keys.add(KEY_PREFIX + BROADCAST_PRODUCT_FIELD + bpId);
+    }
+    List<String> values = redisTemplate.opsForValue().multiGet(keys);
+    if (values == null) {
+      return Collections.emptyMap();
+    }
+    Map<Long, Integer> stocks = new HashMap<>();
+    for (int i = 0; i < ids.size() && i < values.size(); i++) {
+      if (values.get(i) != null) {
+        stocks.put(ids.get(i), Integer.parseInt(values.get(i)));
+      }
+    }
+    return stocks;
+  }
+
+  public List<String> findExpired(Instant now, int limit) {
+    Set<String> due = redisTemplate.opsForZSet().rangeByScore(EXPIRY_KEY, 0, now.toEpochMilli(), 0, limit);
+    return due == null ? List.of() : new ArrayList<>(due);
+  }
+
+  /**
+   * DB에 반영할 재고 증감분을 꺼낸다. (반영이 끝나면 ackDeltas)
+   * key: "product:{id}" / "bp:{id}", value: 증감량(음수 = 차감)
+   */
+  public Map<String, Long> drainDeltas() {
+    List<?> flat = redisTemplate.execute(DRAIN_SCRIPT, List.of(DELTA_KEY, DELTA_INFLIGHT_KEY));
+    if (flat == null || flat.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, Long> deltas = new LinkedHashMap<>();
+    for (int i = 0; i + 1 < flat.size(); i += 2) {
+      long delta = Long.parseLong(flat.get(i + 1).toString());
+      if (delta != 0) {
+        deltas.put(flat.get(i).toString(), delta);
+      }
+    }
+    return deltas;
+  }
+
+  public void ackDeltas() {
+    redisTemplate.delete(DELTA_INFLIGHT_KEY);
+  }
+
+  /**
+   * 재고 락 (DB 반영 / 카운터 적재 공용). 잡으면 토큰, 못 잡으면 null.
+   */
+  public String tryLockStock() {
+    String token = UUID.randomUUID().toString();
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(STOCK_LOCK_KEY, token, STOCK_LOCK_TTL);
+    return Boolean.TRUE.equals(locked) ? token : null;
+  }
+
+  public void unlockStock(String token) {
+    redisTemplate.execute(UNLOCK_SCRIPT, List.of(STOCK_LOCK_KEY), token);
+  }
+
+  static boolean isProductField(String field) {
+    return field.startsWith(PRODUCT_FIELD);
+  }
+
+  static boolean isBroadcastProductField(String field) {
+    return field.startsWith(BROADCAST_PRODUCT_FIELD);
+  }
+
+  static Long idOf(String field) {
+    return Long.parseLong(field.substring(field.indexOf(':') + 1));
+  }
+
+  // 카운터가 없으면 DB 재고로 적재 (재기동/키 유실 시)
+  // 락 없이 읽으면 DB 반영 커밋과 inflight ack 사이에 끼어 같은 증감분을 두 번 세거나 놓친다.
+  private void load(String field) {
+    String token = awaitStockLock();
+    try {
+      if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + field))) {
+        return;
+      }
+      Integer stock = stockReadTransaction.execute(status -> readStock(field));
+      Long result = redisTemplate.execute(
+        LOAD_SCRIPT,
+        List.of(KEY_PREFIX + field, DELTA_KEY, DELTA_INFLIGHT_KEY, STOCK_LOCK_KEY),
+        String.valueOf(Math.max(stock == null ? 0 : stock, 0)),
+        field,
+        token
+      );
+      if (result != null && result < 0) {
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "inventory unavailable");
+      }
+    } finally {
+      unlockStock(token);
+    }
+  }
+
+  private int readStock(String field) {
+    if (isProductField(field)) {
+      return productRepository.findByIdAndDeletedAtIsNull(idOf(field))
+        .map(Product::getStockQty)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "product not found"));
+    }
+    return broadcastProductRepository.findById(idOf(field))
+      .map(BroadcastProduct::getBpQuantity)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "broadcast product not found"));
+  }
+
+  // DB 반영은 짧게 끝나므로 잠시 기다린다. 그래도 못 잡으면 503.
+  private String awaitStockLock() {
+    long deadline = System.currentTimeMillis() + LOAD_LOCK_WAIT_MILLIS;
+    while (true) {
+      String token = tryLockStock();
+      if (token != null) {
+        return token;
+      }
+      if (System.currentTimeMillis() >= deadline) {
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "inventory unavailable");
+      }
+      try {
+        Thread.sleep(LOAD_LOCK_RETRY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "inventory unavailable");
+      }
+    }
+  }
+
+  private String describe(String field) {
+    return (isProductField(field) ? "product_id=" : "bp_id=") + idOf(field);
+  }
+
+  private static String reservationKey(String reservationId) {
+    return KEY_PREFIX + "reservation:" + reservationId;
+  }
+
+  private static String expiredMarkerKey(String reservationId) {
+    return KEY_PREFIX + "expired:" + reservationId;
+  }
+}
@@ -0,0 +1,249 @@
+package com.deskit.deskit.order.service;
+
+import com.deskit.deskit.order.dto.CreateOrderRequest;
+import com.deskit.deskit.order.dto.CreateOrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 주문 생성 멱등성 처리 (Idempotency-Key 헤더)
+ *
+ * - 같은 회원 + 같은 키의 첫 요청만 주문을 생성하고, 응답을 Redis에 TTL로 저장한다.
+ * - 재시도는 저장된 응답을 그대로 돌려준다. (트랜잭션/재고 차감 없이 Redis 조회 한 번)
+ * - 첫 요청이 아직 처리 중이면 결과가 저장될 때까지 기다렸다가 같은 응답을 돌려준다.
+ * - 첫 요청이 실패하면 키를 지워서 재시도가 다시 실행될 수 있게 한다.
+ * - 처리 중 표시에는 요청마다 다른 owner 토큰이 들어간다. 결과 저장/삭제는 값이 그대로일 때만 하고(compare-and-set/delete),
+ *   주문을 만드는 동안 in-flight TTL을 주기적으로 연장해서, 오래 걸려도 다른 요청이 키를 가로채 중복 주문을 만들지 않는다.
+ *   연장은 전용 스케줄러 빈(idempotencyLeaseScheduler)에서 돈다.
+ * - 키는 주문 행에도 같은 트랜잭션으로 기록된다(uk_order_member_idempotency). 결과 저장이 실패했거나 선점을 잃은 뒤의 재시도는
+ *   주문을 만들기 전에 커밋된 주문을 먼저 찾아 돌려주고, 동시에 만들려 해도 유니크 제약으로 하나만 커밋된다.
+ * - 같은 키로 다른 내용의 주문을 보내면 422.
+ *
+ * OrderService 트랜잭션 밖에서 호출해야 커밋된 결과만 저장된다.
+ */
+@Service
+public class OrderIdempotencyService {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+  private static final String KEY_PREFIX = "idempotency:order:";
+  private static final int MAX_KEY_LENGTH = 100;
+  private static final long MIN_BACKOFF_MILLIS = 10;
+  private static final long MAX_BACKOFF_MILLIS = 200;
+
+  enum State {
+    IN_PROGRESS,
+    DONE
+  }
+
+  record Entry(State state, String fingerprint, String owner, CreateOrderResponse response) {}
+
+  // KEYS[1]=멱등성 키, ARGV[1]=내 처리 중 값, ARGV[2]=결과 값, ARGV[3]=결과 TTL(ms)
+  static final DefaultRedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+    "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+    "return 1",
+    Long.class
+  );
+
+  // KEYS[1]=멱등성 키, ARGV[1]=내 처리 중 값, ARGV[2]=연장할 TTL(ms)
+  static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+    "return redis.call('PEXPIRE', KEYS[1], ARGV[2])",
+    Long.class
+  );
+
+  // KEYS[1]=멱등성 키, ARGV[1]=내 처리 중 값
+  static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+    "return 0",
+    Long.class
+  );
+
+  private final OrderService orderService;
+  private final RedisTemplate<String, String> redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final Duration resultTtl;
+  private final Duration inFlightTtl;
+  private final Duration waitTimeout;
+  private final TaskScheduler leaseRenewer;
+
+  public OrderIdempotencyService(OrderService orderService,
+                                 RedisTemplate<String, String> redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Qualifier("idempotencyLeaseScheduler") TaskScheduler leaseRenewer,
+                                 @Value("${order.idempotency.ttl-hours:24}") long resultTtlHours,
+                                 @Value("${order.idempotency.in-flight-seconds:30}") long inFlightSeconds,
+                                 @Value("${order.idempotency.wait-millis:10000}") long waitMillis) {
+    this.orderService = orderService;
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.resultTtl = Duration.ofHours(resultTtlHours);
+    this.inFlightTtl = Duration.ofSeconds(inFlightSeconds);
+    this.waitTimeout = Duration.ofMillis(waitMillis);
+    this.leaseRenewer = leaseRenewer;
+  }
+
+  public CreateOrderResponse createOrder(Long memberId, String idempotencyKey, CreateOrderRequest request) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return orderService.createOrder(memberId, request);
+    }
+    if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "idempotency key too long");
+    }
+
+    String key = KEY_PREFIX + memberId + ":" + idempotencyKey;
+    String fingerprint = fingerprint(request);
+    String inFlight = write(new Entry(State.IN_PROGRESS, fingerprint, UUID.randomUUID().toString(), null));
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+    long backoff = MIN_BACKOFF_MILLIS;
+
+    while (true) {
+      if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, inFlight, inFlightTtl))) {
+        return executeAndStore(key, inFlight, fingerprint, memberId, idempotencyKey, request);
+      }
+
+      String stored = redisTemplate.opsForValue().get(key);
+      if (stored == null) {
+        // 첫 요청이 실패해서 키가 지워졌다 → 바로 다시 선점 시도
+        continue;
+      }
+      Entry entry = read(stored);
+      if (!fingerprint.equals(entry.fingerprint())) {
+        throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "idempotency key reused with different request");
+      }
+      if (entry.state() == State.DONE) {
+        return entry.response();
+      }
+
+      if (System.nanoTime() >= deadline) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "request in progress");
+      }
+      sleep(backoff);
+      backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+    }
+  }
+
+  private CreateOrderResponse executeAndStore(String key, String inFlight, String fingerprint,
+                                              Long memberId, String idempotencyKey, CreateOrderRequest request) {
+    CreateOrderResponse response;
+    ScheduledFuture<?> renewal = scheduleRenewal(key, inFlight);
+    try {
+      // 이전 요청이 주문을 커밋하고 결과 저장 전에 끝났으면 그 주문을 돌려준다
+      response = orderService.findIdempotentOrder(memberId, idempotencyKey, fingerprint)
+        .orElseGet(() -> createOnce(memberId, idempotencyKey, fingerprint, request));
+    } catch (RuntimeException e) {
+      // 내 선점일 때만 지운다. (이미 다른 요청이 가져간 키는 건드리지 않는다)
+      redisTemplate.execute(RELEASE_SCRIPT, List.of(key), inFlight);
+      throw e;
+    } finally {
+      renewal.cancel(false);
+    }
+
+    try {
+      Long stored = redisTemplate.execute(
+        STORE_SCRIPT,
+        List.of(key),
+        inFlight,
+        write(new Entry(State.DONE, fingerprint, null, response)),
+        String.valueOf(resultTtl.toMillis())
+      );
+      if (stored == null || stored == 0) {
+        log.warn("idempotency claim lost before result store: key={}", key);
+      }
+    } catch (RuntimeException e) {
+      // 주문은 이미 커밋됨. in-flight 키가 만료될 때까지 재시도는 대기/409, 그 뒤에는 주문 행의 키로 같은 주문을 찾는다.
+      log.warn("idempotency result store failed: key={}, error={}", key, e.getMessage());
+    }
+    return response;
+  }
+
+  private CreateOrderResponse createOnce(Long memberId, String idempotencyKey, String fingerprint,
+                                         CreateOrderRequest request) {
+    try {
+      return orderService.createOrder(memberId, request, idempotencyKey, fingerprint);
+    } catch (DataIntegrityViolationException e) {
+      // 선점을 잃은 사이 다른 요청이 같은 키로 먼저 커밋했다
+      return orderService.findIdempotentOrder(memberId, idempotencyKey, fingerprint).orElseThrow(() -> e);
+    }
+  }
+
+  // in-flight TTL의 1/3마다 연장한다. 선점을 잃었으면 더 연장하지 않는다.
+  private ScheduledFuture<?> scheduleRenewal(String key, String inFlight) {
+    Duration period = Duration.ofMillis(Math.max(inFlightTtl.toMillis() / 3, 1));
+    String ttlMillis = String.valueOf(inFlightTtl.toMillis());
+    AtomicBoolean lost = new AtomicBoolean();
+    return leaseRenewer.scheduleAtFixedRate(() -> {
+      if (lost.get()) {
+        return;
+      }
+      Long renewed;
+      try {
+        renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), inFlight, ttlMillis);
+      } catch (RuntimeException e) {
+        // 일시 장애는 다음 주기에 다시 연장한다
+        log.warn("idempotency claim renewal failed: key={}, error={}", key, e.getMessage());
+        return;
+      }
+      if (renewed == null || renewed == 0) {
+        // 주문이 끝나 취소될 때까지 남은 주기는 건너뛴다
+        lost.set(true);
+        log.warn("idempotency claim lost while creating order: key={}", key);
+      }
+    }, Instant.now().plus(period), period);
+  }
+
+  private String fingerprint(CreateOrderRequest request) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+      return HexFormat.of().formatHex(digest);
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("failed to fingerprint order request", e);
+    }
+  }
+
+  private String write(Entry entry) {
+    try {
+      return objectMapper.writeValueAsString(entry);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("failed to serialize idempotency entry", e);
+    }
+  }
+
+  private Entry read(String value) {
+    try {
+      return objectMapper.readValue(value, Entry.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("failed to read idempotency entry", e);
+    }
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "interrupted");
+    }
+  }
+}
@@ -1,53 +1,105 @@
 package com.deskit.deskit.order.service;
 
 import com.deskit.deskit.account.repository.MemberRepository;
+import com.deskit.deskit.common.util.SnowflakeIdGenerator;
+import com.deskit.deskit.livehost.common.enums.BroadcastProductStatus;
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.entity.BroadcastProduct;
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
 import com.deskit.deskit.order.dto.CreateOrderItemRequest;
 import com.deskit.deskit.order.dto.CreateOrderRequest;
 import com.deskit.deskit.order.dto.CreateOrderResponse;
+import com.deskit.deskit.order.dto.OrderCursor;
 import com.deskit.deskit.order.dto.OrderDetailResponse;
 import com.deskit.deskit.order.dto.OrderItemResponse;
 import com.deskit.deskit.order.dto.OrderStatusUpdateRequest;
 import com.deskit.deskit.order.dto.OrderStatusUpdateResponse;
+import com.deskit.deskit.order.dto.OrderSummaryPageResponse;
 import com.deskit.deskit.order.dto.OrderSummaryResponse;
 import com.deskit.deskit.order.entity.Order;
 import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.enums.OrderOutboxEventType;
 import com.deskit.deskit.order.enums.OrderStatus;
+import com.deskit.deskit.order.event.BroadcastProductSoldOutEvent;
 import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
 import com.deskit.deskit.order.repository.OrderRepository;
+import com.deskit.deskit.order.service.InventoryReservationService.CommitResult;
+import com.deskit.deskit.order.service.InventoryReservationService.StockItem;
 import com.deskit.deskit.product.entity.Product;
 import com.deskit.deskit.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Metrics;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @Transactional
 public class OrderService {
 
+  private static final String STOCK_HOLD_METRIC = "order.stock.hold";
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final OrderRepository orderRepository;
   private final OrderItemRepository orderItemRepository;
+  private final OrderOutboxRepository orderOutboxRepository;
   private final ProductRepository productRepository;
   private final MemberRepository memberRepository;
+  private final BroadcastProductRepository broadcastProductRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SnowflakeIdGenerator idGenerator;
+  // Redis 재고 예약 엔진 (빈이 없으면 기존 비관적 락 경로로 동작)
+  private final InventoryReservationService inventoryReservationService;
 
   public OrderService(OrderRepository orderRepository,
                       OrderItemRepository orderItemRepository,
+                      OrderOutboxRepository orderOutboxRepository,
                       ProductRepository productRepository,
-                      MemberRepository memberRepository) {
+                      MemberRepository memberRepository,
+                      BroadcastProductRepository broadcastProductRepository,
+                      ApplicationEventPublisher eventPublisher,
+                      SnowflakeIdGenerator idGenerator,
+                      ObjectProvider<InventoryReservationService> inventoryReservationService) {
     this.orderRepository = orderRepository;
     this.orderItemRepository = orderItemRepository;
+    this.orderOutboxRepository = orderOutboxRepository;
     this.productRepository = productRepository;
     this.memberRepository = memberRepository;
+    this.broadcastProductRepository = broadcastProductRepository;
+    this.eventPublisher = eventPublisher;
+    this.idGenerator = idGenerator;
+    this.inventoryReservationService = inventoryReservationService.getIfAvailable();
   }
 
   public CreateOrderResponse createOrder(Long memberId, CreateOrderRequest request) {
+    return createOrder(memberId, request, null, null);
+  }
+
+  /**
+   * Idempotency-Key 요청의 주문 생성
+   *
+   * - 키와 요청 해시를 주문 행에 같이 기록한다. 같은 회원 + 같은 키로 이미 커밋된 주문이 있으면
+   *   uk_order_member_idempotency 위반(DataIntegrityViolationException)으로 롤백된다.
+   */
+  public CreateOrderResponse createOrder(Long memberId, CreateOrderRequest request,
+                                         String idempotencyKey, String requestFingerprint) {
     if (memberId == null) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "member_id required");
     }
@@ -78,32 +130,28 @@ public class OrderService {
 
     List<Long> productIds = new ArrayList<>(quantityByProductId.keySet());
     Collections.sort(productIds);
+    String orderNumber = generateOrderNumber();
 
-    Map<Long, Product> productsById = new HashMap<>();
-    for (Long productId : productIds) {
-      Product product = productRepository.findByIdForUpdate(productId)
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "product not found"));
-      int requestedQty = quantityByProductId.get(productId);
-      Integer stockQty = product.getStockQty();
-      int currentStock = stockQty == null ? 0 : stockQty;
-      if (currentStock < requestedQty) {
-        throw new ResponseStatusException(HttpStatus.CONFLICT, "insufficient stock: product_id=" + productId);
-      }
-      product.decreaseStock(requestedQty);
-      productsById.put(productId, product);
-    }
+    // 라이브 주문이면 방송 상품(특가/방송 재고)을 함께 적용
+    Map<Long, BroadcastProduct> broadcastProductsById = request.broadcastId() == null
+      ? Collections.emptyMap()
+      : loadBroadcastProducts(request.broadcastId(), productIds);
+
+    // 재고 단계 시작 ~ 트랜잭션 종료 구간 (기존 경로에서는 상품 행 락 보유 시간)
+    recordStockHoldTime(System.nanoTime());
+    Map<Long, Product> productsById = inventoryReservationService == null
+      ? lockAndDecreaseStock(productIds, quantityByProductId, broadcastProductsById)
+      : reserveStock(orderNumber, productIds, quantityByProductId, broadcastProductsById);
 
     int totalProductAmount = 0;
     for (CreateOrderItemRequest item : items) {
       int quantity = safeQuantity(item.quantity());
-      Product product = productsById.get(item.productId());
-      totalProductAmount += product.getPrice() * quantity;
+      totalProductAmount += unitPrice(productsById.get(item.productId()), broadcastProductsById.get(item.productId())) * quantity;
     }
 
     int shippingFee = 0;
     int discountFee = 0;
     int orderAmount = totalProductAmount - discountFee + shippingFee;
-    String orderNumber = generateOrderNumber();
 
     Order order = Order.create(
       memberId,
@@ -112,16 +160,24 @@ public class OrderService {
       shippingFee,
       discountFee,
       orderAmount,
-      OrderStatus.CREATED
+      OrderStatus.CREATED,
+      request.broadcastId()
     );
+    if (inventoryReservationService != null) {
+      order.markStockReserved();
+    }
+    if (idempotencyKey != null) {
+      order.markIdempotencyKey(idempotencyKey, requestFingerprint);
+    }
     Order savedOrder = orderRepository.save(order);
 
+    List<OrderItem> orderItems = new ArrayList<>(items.size());
     for (CreateOrderItemRequest item : items) {
       int quantity = safeQuantity(item.quantity());
       Product product = productsById.get(item.productId());
-      int unitPrice = product.getPrice();
+      int unitPrice = unitPrice(product, broadcastProductsById.get(item.productId()));
       int subtotal = unitPrice * quantity;
-      OrderItem orderItem = OrderItem.create(
+      orderItems.add(OrderItem.create(
         savedOrder,
         product.getId(),
         product.getSellerId(),
@@ -129,31 +185,77 @@ public class OrderService {
         unitPrice,
         quantity,
         subtotal
-      );
-      orderItemRepository.save(orderItem);
+      ));
     }
+    // 라인 수와 관계없이 INSERT 한 번 (행 락 보유 중 왕복 수를 줄인다)
+    List<Long> orderItemIds = orderItemRepository.insertAll(orderItems);
 
     return new CreateOrderResponse(
       savedOrder.getId(),
       savedOrder.getOrderNumber(),
       savedOrder.getStatus(),
-      savedOrder.getOrderAmount()
+      savedOrder.getOrderAmount(),
+      orderItemIds
     );
   }
 
+  /**
+   * 같은 회원 + 같은 Idempotency-Key로 이미 커밋된 주문의 생성 응답
+   *
+   * - Redis에 결과를 저장하지 못한 채 끝난 첫 요청의 주문을 재시도가 다시 만들지 않게 한다.
+   * - 같은 키로 다른 내용의 주문이면 422.
+   */
   @Transactional(readOnly = true)
-  public List<OrderSummaryResponse> getMyOrders(Long memberId) {
+  public Optional<CreateOrderResponse> findIdempotentOrder(Long memberId, String idempotencyKey, String requestFingerprint) {
+    return orderRepository.findByMemberIdAndIdempotencyKey(memberId, idempotencyKey)
+      .map(order -> {
+        if (!order.getRequestFingerprint().equals(requestFingerprint)) {
+          throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "idempotency key reused with different request");
+        }
+        List<Long> orderItemIds = orderItemRepository.findByOrder_IdIn(List.of(order.getId())).stream()
+          .map(OrderItem::getId)
+          .sorted()
+          .collect(Collectors.toList());
+        return new CreateOrderResponse(
+          order.getId(),
+          order.getOrderNumber(),
+          order.getStatus(),
+          order.getOrderAmount(),
+          orderItemIds
+        );
+      });
+  }
+
+  /**
+   * 내 주문 목록 (커서 페이지네이션)
+   *
+   * - memberId는 인증된 사용자에서 꺼낸 값이므로 회원 존재 여부를 다시 조회하지 않는다.
+   *   (없는 회원이면 주문도 없으므로 빈 목록이 된다)
+   * - size + 1건을 읽어서 다음 페이지 존재 여부를 판단한다.
+   */
+  @Transactional(readOnly = true)
+  public OrderSummaryPageResponse getMyOrders(Long memberId, String cursor, Integer size) {
     if (memberId == null) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "member_id required");
     }
-    if (!memberRepository.existsById(memberId)) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "member not found");
+    int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
     }
 
-    return orderRepository.findByMemberIdOrderByCreatedAtDesc(memberId)
-      .stream()
-      .map(OrderSummaryResponse::from)
-      .collect(Collectors.toList());
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    List<OrderSummaryResponse> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = orderRepository.findSummaries(memberId, limit);
+    } else {
+      OrderCursor after = decodeCursor(cursor);
+      rows = orderRepository.findSummariesBefore(memberId, after.createdAt(), after.orderId(), limit);
+    }
+
+    boolean hasNext = rows.size() > pageSize;
+    List<OrderSummaryResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasNext ? OrderCursor.of(items.get(items.size() - 1)).encode() : null;
+    return new OrderSummaryPageResponse(items, nextCursor, hasNext);
   }
 
   @Transactional(readOnly = true)
@@ -196,7 +298,8 @@ public class OrderService {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status required");
     }
 
-    Order order = orderRepository.findById(orderId)
+    // 같은 주문의 동시 상태 변경이 같은 이전 상태를 보고 두 번 결제/취소하지 않도록 행을 잠근다.
+    Order order = orderRepository.findByIdForUpdate(orderId)
       .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "order not found"));
     if (!order.getMemberId().equals(memberId)) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "forbidden");
@@ -207,11 +310,183 @@ public class OrderService {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status unchanged");
     }
 
+    OrderStatus previousStatus = order.getStatus();
+    if (!previousStatus.canTransitionTo(newStatus)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+        "invalid status transition: " + previousStatus + " -> " + newStatus);
+    }
+
+    if (newStatus == OrderStatus.PAID && order.isStockReserved()) {
+      // 커밋 전에는 확정 대기로만 옮기고, 이 트랜잭션이 커밋/롤백된 뒤에 확정/복구된다.
+      // 예약이 이미 해제됐으면(취소/만료 후 표시까지 사라짐) 재고가 없는 결제이므로 거부한다.
+      CommitResult committed = requireReservationEngine().commit(order.getOrderNumber());
+      if (committed == CommitResult.EXPIRED) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "reservation expired");
+      }
+      if (committed != CommitResult.COMMITTED) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "reservation not found");
+      }
+    }
+    if (newStatus == OrderStatus.CANCELLED && previousStatus == OrderStatus.CREATED && order.isStockReserved()) {
+      String orderNumber = order.getOrderNumber();
+      InventoryReservationService reservations = requireReservationEngine();
+      runAfterCommit(() -> reservations.release(orderNumber, false));
+    }
+
     order.changeStatus(newStatus);
     orderRepository.save(order);
+
+    // 매출에 영향을 주는 전환만 아웃박스에 남긴다. (같은 트랜잭션 → 상태 변경과 이벤트가 함께 커밋/롤백)
+    OrderOutboxEventType eventType = OrderOutboxEventType.of(previousStatus, newStatus);
+    if (eventType != null) {
+      orderOutboxRepository.save(OrderOutbox.create(order, eventType));
+    }
     return new OrderStatusUpdateResponse(order.getId(), order.getStatus());
   }
 
+  private Map<Long, BroadcastProduct> loadBroadcastProducts(Long broadcastId, List<Long> productIds) {
+    Map<Long, BroadcastProduct> broadcastProductsById = new HashMap<>();
+    for (BroadcastProduct bp : broadcastProductRepository.findAllForOrder(broadcastId, productIds)) {
+      if (bp.getStatus() != BroadcastProductStatus.DELETED) {
+        broadcastProductsById.put(bp.getProduct().getId(), bp);
+      }
+    }
+    for (Long productId : productIds) {
+      BroadcastProduct bp = broadcastProductsById.get(productId);
+      if (bp == null) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "broadcast product not found");
+      }
+      if (bp.getBroadcast().getStatus() != BroadcastStatus.ON_AIR) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "broadcast not on air");
+      }
+    }
+    return broadcastProductsById;
+  }
+
+  // 라이브 특가가 있으면 특가, 없으면 정가
+  private int unitPrice(Product product, BroadcastProduct broadcastProduct) {
+    if (broadcastProduct != null && broadcastProduct.getBpPrice() != null) {
+      return broadcastProduct.getBpPrice();
+    }
+    return product.getPrice();
+  }
+
+  // 기존 경로: 상품 행을 id 순서로 잠그고 DB 재고를 바로 차감
+  private Map<Long, Product> lockAndDecreaseStock(List<Long> productIds,
+                                                  Map<Long, Integer> quantityByProductId,
+                                                  Map<Long, BroadcastProduct> broadcastProductsById) {
+    Map<Long, Product> productsById = new HashMap<>();
+    for (Long productId : productIds) {
+      Product product = productRepository.findByIdForUpdate(productId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "product not found"));
+      int requestedQty = quantityByProductId.get(productId);
+      Integer stockQty = product.getStockQty();
+      int currentStock = stockQty == null ? 0 : stockQty;
+      if (currentStock < requestedQty) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "insufficient stock: product_id=" + productId);
+      }
+      product.decreaseStock(requestedQty);
+      productsById.put(productId, product);
+
+      BroadcastProduct bp = broadcastProductsById.get(productId);
+      if (bp != null) {
+        // 조건부 UPDATE로 방송 재고 차감 (엔티티는 건드리지 않는다)
+        if (broadcastProductRepository.decreaseQuantity(bp.getBpId(), requestedQty) == 0) {
+          throw new ResponseStatusException(HttpStatus.CONFLICT, "insufficient stock: bp_id=" + bp.getBpId());
+        }
+        if (broadcastProductRepository.markSoldOut(bp.getBpId()) > 0) {
+          publishSoldOut(bp);
+        }
+      }
+    }
+    return productsById;
+  }
+
+  // 예약 경로: 행 락 없이 조회하고 Redis에서 원자적으로 예약 (DB 재고는 비동기 반영)
+  private Map<Long, Product> reserveStock(String orderNumber,
+                                          List<Long> productIds,
+                                          Map<Long, Integer> quantityByProductId,
+                                          Map<Long, BroadcastProduct> broadcastProductsById) {
+    Map<Long, Product> productsById = new HashMap<>();
+    List<StockItem> stockItems = new ArrayList<>();
+    for (Long productId : productIds) {
+      Product product = productRepository.findByIdAndDeletedAtIsNull(productId)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "product not found"));
+      productsById.put(productId, product);
+      BroadcastProduct bp = broadcastProductsById.get(productId);
+      stockItems.add(new StockItem(productId, bp == null ? null : bp.getBpId(), quantityByProductId.get(productId)));
+    }
+
+    inventoryReservationService.reserve(orderNumber, stockItems);
+    if (!broadcastProductsById.isEmpty()) {
+      Map<Long, Integer> remaining = inventoryReservationService.getBroadcastStocks(
+        broadcastProductsById.values().stream().map(BroadcastProduct::getBpId).collect(Collectors.toList())
+      );
+      for (BroadcastProduct bp : broadcastProductsById.values()) {
+        Integer stock = remaining.get(bp.getBpId());
+        if (stock != null && stock <= 0) {
+          publishSoldOut(bp);
+        }
+      }
+    }
+    // 주문 저장이 롤백되면 예약도 즉시 되돌린다.
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status != STATUS_COMMITTED) {
+            inventoryReservationService.release(orderNumber, false);
+          }
+        }
+      });
+    }
+    return productsById;
+  }
+
+  // 리스너는 커밋 후 실행되므로 롤백된 주문은 품절 알림을 보내지 않는다.
+  private void publishSoldOut(BroadcastProduct bp) {
+    eventPublisher.publishEvent(new BroadcastProductSoldOutEvent(
+      bp.getBroadcast().getBroadcastId(),
+      bp.getBpId(),
+      bp.getProduct().getId()
+    ));
+  }
+
+  private void recordStockHoldTime(long startedAt) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    String path = inventoryReservationService == null ? "row-lock" : "reservation";
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        Metrics.timer(STOCK_HOLD_METRIC, "path", path)
+          .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      }
+    });
+  }
+
+  // 예약으로 생성된 주문은 예약 엔진 없이 결제/취소할 수 없다. (재고를 확정/복구할 곳이 없음)
+  private InventoryReservationService requireReservationEngine() {
+    if (inventoryReservationService == null) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "inventory unavailable");
+    }
+    return inventoryReservationService;
+  }
+
+  private void runAfterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
   private int safeQuantity(Integer quantity) {
     if (quantity == null || quantity < 1) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be >= 1");
@@ -220,8 +495,14 @@ public class OrderService {
   }
 
   private String generateOrderNumber() {
-    long now = System.currentTimeMillis();
-    int suffix = ThreadLocalRandom.current().nextInt(1000, 10000);
-    return "ORD-" + now + "-" + suffix;
+    return idGenerator.nextKey("ORD");
+  }
+
+  private OrderCursor decodeCursor(String cursor) {
+    try {
+      return OrderCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+    }
   }
 }
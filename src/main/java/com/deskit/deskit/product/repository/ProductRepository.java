@@ -1,11 +1,14 @@
 package com.deskit.deskit.product.repository;
 
 import com.deskit.deskit.product.entity.Product;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -34,10 +37,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
    */
   Optional<Product> findByIdAndDeletedAtIsNull(Long id);
 
+  /**
+   * 장바구니 일괄 담기: 여러 상품의 존재 여부와 가격을 IN 쿼리 한 번으로 확인
+   */
+  @Query("select p.id as productId, p.price as price from Product p where p.id in :ids and p.deletedAt is null")
+  List<ProductPriceRow> findPricesByIds(@Param("ids") Collection<Long> ids);
+
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("select p from Product p where p.id = :id and p.deletedAt is null")
   Optional<Product> findByIdForUpdate(@Param("id") Long id);
 
+  /**
+   * Redis 재고 예약 엔진에서 누적된 증감분을 DB 재고에 반영한다.
+   * - delta < 0 : 차감, delta > 0 : 복구
+   */
+  @Modifying
+  @Query("update Product p set p.stockQty = coalesce(p.stockQty, 0) + :delta where p.id = :id")
+  int adjustStock(@Param("id") Long id, @Param("delta") int delta);
+
   @Query(value = """
       SELECT
           p.product_id AS productId,
@@ -66,6 +83,86 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
       """, nativeQuery = true)
   List<PopularProductRow> findPopularProducts(@Param("limit") int limit);
 
+  /**
+   * 인기 상품 랭킹(Redis)에서 고른 상품의 표시 정보만 조회한다. (sold_qty는 랭킹 점수로 채운다)
+   */
+  @Query(value = """
+      SELECT
+          p.product_id AS productId,
+          p.product_name AS productName,
+          p.price AS price,
+          0 AS soldQty,
+          pi.product_image_url AS thumbnailUrl
+      FROM product p
+      LEFT JOIN product_image pi
+          ON pi.product_id = p.product_id
+          AND pi.image_type = 'THUMBNAIL'
+          AND pi.slot_index = 0
+          AND pi.deleted_at IS NULL
+      WHERE p.deleted_at IS NULL
+        AND p.product_id IN (:productIds)
+      """, nativeQuery = true)
+  List<PopularProductRow> findPopularProductDetails(@Param("productIds") Collection<Long> productIds);
+
+  /**
+   * 판매 이력이 없는 상품으로 인기 상품 목록을 채울 때 사용 (기존 집계와 같은 최신순)
+   */
+  @Query(value = """
+      SELECT
+          p.product_id AS productId,
+          p.product_name AS productName,
+          p.price AS price,
+          0 AS soldQty,
+          pi.product_image_url AS thumbnailUrl
+      FROM product p
+      LEFT JOIN product_image pi
+          ON pi.product_id = p.product_id
+          AND pi.image_type = 'THUMBNAIL'
+          AND pi.slot_index = 0
+          AND pi.deleted_at IS NULL
+      WHERE p.deleted_at IS NULL
+      ORDER BY p.created_at DESC
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<PopularProductRow> findNewestProducts(@Param("limit") int limit);
+
+  /**
+   * 인기 랭킹 재구축: 상품별 누적 판매 수량 (결제/완료 주문 기준)
+   */
+  @Query(value = """
+      SELECT
+          oi.product_id AS productId,
+          SUM(oi.quantity) AS soldQty
+      FROM order_item oi
+      JOIN `order` o
+          ON o.order_id = oi.order_id
+          AND o.deleted_at IS NULL
+          AND o.status IN ('PAID', 'COMPLETED')
+      WHERE oi.deleted_at IS NULL
+      GROUP BY oi.product_id
+      """, nativeQuery = true)
+  List<ProductSoldRow> aggregateSoldQuantities();
+
+  /**
+   * 인기 랭킹 재구축(트렌딩): since 이후 주문을 "몇 시간 전" 단위로 묶은 판매 수량
+   */
+  @Query(value = """
+      SELECT
+          oi.product_id AS productId,
+          TIMESTAMPDIFF(HOUR, o.created_at, :now) AS hoursAgo,
+          SUM(oi.quantity) AS soldQty
+      FROM order_item oi
+      JOIN `order` o
+          ON o.order_id = oi.order_id
+          AND o.deleted_at IS NULL
+          AND o.status IN ('PAID', 'COMPLETED')
+      WHERE oi.deleted_at IS NULL
+        AND o.created_at >= :since
+      GROUP BY oi.product_id, TIMESTAMPDIFF(HOUR, o.created_at, :now)
+      """, nativeQuery = true)
+  List<ProductRecentSoldRow> aggregateRecentSoldQuantities(@Param("since") LocalDateTime since,
+                                                           @Param("now") LocalDateTime now);
+
   interface PopularProductRow {
     Long getProductId();
     String getProductName();
@@ -73,4 +170,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Long getSoldQty();
     String getThumbnailUrl();
   }
+
+  interface ProductPriceRow {
+    Long getProductId();
+    Integer getPrice();
+  }
+
+  interface ProductSoldRow {
+    Long getProductId();
+    Long getSoldQty();
+  }
+
+  interface ProductRecentSoldRow {
+    Long getProductId();
+    Long getHoursAgo();
+    Long getSoldQty();
+  }
 }
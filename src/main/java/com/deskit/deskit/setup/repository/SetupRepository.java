@@ -1,6 +1,7 @@
 package com.deskit.deskit.setup.repository;
 
 import com.deskit.deskit.setup.entity.Setup;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -46,6 +47,67 @@ public interface SetupRepository extends JpaRepository<Setup, Long> {
       """, nativeQuery = true)
   List<PopularSetupRow> findPopularSetups(@Param("limit") int limit);
 
+  /**
+   * 인기 셋업 랭킹(Redis)에서 고른 셋업의 표시 정보만 조회한다. (sold_qty는 랭킹 점수로 채운다)
+   */
+  @Query(value = """
+      SELECT
+          s.setup_id AS setupId,
+          s.setup_name AS setupName,
+          s.short_desc AS shortDesc,
+          s.setup_image_url AS imageUrl,
+          0 AS soldQty
+      FROM setup s
+      WHERE s.deleted_at IS NULL
+        AND s.setup_id IN (:setupIds)
+      """, nativeQuery = true)
+  List<PopularSetupRow> findPopularSetupDetails(@Param("setupIds") Collection<Long> setupIds);
+
+  /**
+   * 판매 이력이 없는 셋업으로 인기 셋업 목록을 채울 때 사용 (기존 집계와 같은 최신순)
+   */
+  @Query(value = """
+      SELECT
+          s.setup_id AS setupId,
+          s.setup_name AS setupName,
+          s.short_desc AS shortDesc,
+          s.setup_image_url AS imageUrl,
+          0 AS soldQty
+      FROM setup s
+      WHERE s.deleted_at IS NULL
+      ORDER BY s.created_at DESC
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<PopularSetupRow> findNewestSetups(@Param("limit") int limit);
+
+  /**
+   * 셋업 구성 상품 매핑 (인기 셋업 점수 = 구성 상품 판매 수량 합)
+   */
+  @Query(value = """
+      SELECT
+          sp.setup_id AS setupId,
+          sp.product_id AS productId
+      FROM setup_product sp
+      JOIN setup s
+          ON s.setup_id = sp.setup_id
+          AND s.deleted_at IS NULL
+      WHERE sp.deleted_at IS NULL
+      """, nativeQuery = true)
+  List<SetupProductRow> findAllSetupProducts();
+
+  @Query(value = """
+      SELECT
+          sp.setup_id AS setupId,
+          sp.product_id AS productId
+      FROM setup_product sp
+      JOIN setup s
+          ON s.setup_id = sp.setup_id
+          AND s.deleted_at IS NULL
+      WHERE sp.deleted_at IS NULL
+        AND sp.product_id IN (:productIds)
+      """, nativeQuery = true)
+  List<SetupProductRow> findSetupProductsByProductIds(@Param("productIds") Collection<Long> productIds);
+
   interface PopularSetupRow {
     Long getSetupId();
     String getSetupName();
@@ -53,4 +115,9 @@ public interface SetupRepository extends JpaRepository<Setup, Long> {
     String getImageUrl();
     Long getSoldQty();
   }
+
+  interface SetupProductRow {
+    Long getSetupId();
+    Long getProductId();
+  }
 }
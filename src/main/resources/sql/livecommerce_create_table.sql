@@ -1,7 +1,15 @@
 -- =========================================================
 -- DESKIT & LIVE COMMERCE INTEGRATED DB SCHEMA
--- 최근작성일: 2026-01-06
+-- 최근작성일: 2026-10-19
 -- 수정사항:
+-- `order`.idempotency_key / request_fingerprint 컬럼 + uk_order_member_idempotency 추가 (주문 멱등성 키), 기존 DB는 migration/V8__add_order_idempotency_key.sql 실행 (26.10.19)
+-- scheduler_fence 테이블 추가 (스케줄 작업 fencing 토큰), 기존 DB는 migration/V7__add_scheduler_fence.sql 실행 (26.10.19)
+-- `order`.stock_reserved 컬럼 추가 (재고 예약 주문 표시), 기존 DB는 migration/V6__add_order_stock_reserved.sql 실행 (26.10.19)
+-- order_outbox 테이블 추가, `order`.broadcast_id / broadcast_product 판매 집계 컬럼 추가, 기존 DB는 migration/V5__add_order_outbox_sales.sql 실행 (26.10.19)
+-- idx_order_member_created 커버링 인덱스로 확장, 기존 DB는 migration/V4__cover_order_member_created_index.sql 실행 (26.10.19)
+-- vod_ingest_job 테이블 upload_id 컬럼 추가 (멀티파트 업로드 재개), 기존 DB는 migration/V3__add_vod_ingest_upload_id.sql 실행 (26.10.19)
+-- vod_ingest_job 테이블 추가 (VOD 비동기 적재 작업), 기존 DB는 migration/V2__add_vod_ingest_job.sql 실행 (26.10.19)
+-- 핫 쿼리 보조 인덱스 추가 : 4. CREATE INDEXES 섹션, 기존 DB는 migration/V1__add_hot_query_indexes.sql 실행 (26.10.19)
 -- chat_info, chat_handoff 테이블 updated_at 컬럼 추가 (26.01.06)
 -- broadcast_result, view_history 테이블 컬럼 수정 (26.01.05)
 -- seller_grade 테이블 컬럼(grade) 수정 : enum 요소 추가 (26.01.04)
@@ -21,6 +29,7 @@ SET FOREIGN_KEY_CHECKS = 0;
 -- =========================================================
 
 -- [Commerce Core]
+DROP TABLE IF EXISTS order_outbox;
 DROP TABLE IF EXISTS order_item;
 DROP TABLE IF EXISTS `order`; -- 예약어 이슈로 백틱 유지
 DROP TABLE IF EXISTS cart_item;
@@ -41,6 +50,8 @@ DROP TABLE IF EXISTS forbidden_word;
 DROP TABLE IF EXISTS broadcast_product;
 DROP TABLE IF EXISTS view_history;
 DROP TABLE IF EXISTS qcard;
+DROP TABLE IF EXISTS scheduler_fence;
+DROP TABLE IF EXISTS vod_ingest_job;
 DROP TABLE IF EXISTS vod;
 DROP TABLE IF EXISTS broadcast_result;
 DROP TABLE IF EXISTS sanction;
@@ -261,6 +272,7 @@ CREATE TABLE cart_item (
 CREATE TABLE `order` (
     order_id             BIGINT UNSIGNED                                 NOT NULL AUTO_INCREMENT COMMENT '주문 ID',
     member_id            BIGINT UNSIGNED                                 NOT NULL COMMENT '회원 ID(논리 FK: member)',
+    broadcast_id         BIGINT UNSIGNED                                 NULL COMMENT '주문 발생 방송 ID(논리 FK: broadcast, 라이브 주문만)',
     order_number         VARCHAR(50)                                     NOT NULL COMMENT '구매자 노출 주문번호(유니크)',
     total_product_amount INT UNSIGNED                                    NOT NULL COMMENT '상품 총액(상품가 합)',
     shipping_fee         INT UNSIGNED                                    NOT NULL DEFAULT 0 COMMENT '배송비(추후 확장)',
@@ -271,6 +283,9 @@ CREATE TABLE `order` (
     created_at           DATETIME                                        NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각',
     paid_at              DATETIME                                        NULL COMMENT '결제 완료 시각(결제 담당이 채움)',
     cancelled_at         DATETIME                                        NULL COMMENT '취소 시각',
+    stock_reserved       BOOLEAN                                         NOT NULL DEFAULT FALSE COMMENT 'Redis 재고 예약 주문 여부(결제 시 예약 확정 필요)',
+    idempotency_key      VARCHAR(100)                                    NULL COMMENT '주문 생성 요청의 Idempotency-Key(NULL=키 없이 생성)',
+    request_fingerprint  CHAR(64)                                        NULL COMMENT '주문 생성 요청 본문 SHA-256(같은 키의 다른 요청 판별)',
     updated_at           DATETIME                                        NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시각',
     deleted_at           DATETIME                                        NULL COMMENT '논리삭제 시각(NULL=활성)',
     PRIMARY KEY (order_id)
@@ -291,6 +306,16 @@ CREATE TABLE order_item (
     PRIMARY KEY (order_item_id)
 ) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT ='주문 아이템';
 
+CREATE TABLE order_outbox (
+    outbox_id    BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '아웃박스 이벤트 ID',
+    order_id     BIGINT UNSIGNED NOT NULL COMMENT '주문 ID(논리 FK: `order`.order_id)',
+    broadcast_id BIGINT UNSIGNED NULL COMMENT '주문 발생 방송 ID(라이브 주문만)',
+    event_type   VARCHAR(30)     NOT NULL COMMENT 'ORDER_PAID / ORDER_CANCELLED',
+    created_at   DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각(주문 상태 변경 트랜잭션)',
+    published_at DATETIME        NULL COMMENT '릴레이 반영 시각(NULL=미발행)',
+    PRIMARY KEY (outbox_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT ='주문 상태 변경 아웃박스';
+
 -- ---------------------------------------------------------
 -- [Live Commerce] Broadcast, VOD, Chat
 -- ---------------------------------------------------------
@@ -323,6 +348,8 @@ CREATE TABLE broadcast_product (
     bp_quantity   INT             NOT NULL COMMENT '방송용 재고',
     is_pinned     CHAR(1)         NOT NULL DEFAULT 'N' COMMENT 'N/Y',
     `status`      ENUM('SELLING','SOLDOUT','DELETED') NOT NULL DEFAULT 'SELLING',
+    sales_quantity INT            NOT NULL DEFAULT 0 COMMENT '누적 판매 수량(매출 릴레이)',
+    sales_amount  BIGINT          NOT NULL DEFAULT 0 COMMENT '누적 판매 금액(매출 릴레이)',
     created_at    DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at    DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     PRIMARY KEY (bp_id)
@@ -342,6 +369,32 @@ CREATE TABLE vod (
     PRIMARY KEY (vod_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='다시보기(VOD)';
 
+CREATE TABLE vod_ingest_job (
+    job_id             BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    broadcast_id       BIGINT UNSIGNED NOT NULL COMMENT 'FK: broadcast',
+    recording_id       VARCHAR(100)    NOT NULL COMMENT 'OpenVidu 녹화 ID',
+    `status`           ENUM('PENDING','RUNNING','SUCCEEDED','FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts           INT             NOT NULL DEFAULT 0,
+    next_attempt_at    DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_at          DATETIME        NULL COMMENT 'RUNNING 전환 시각 (중단된 작업 회수용)',
+    recording_size     BIGINT          NULL,
+    recording_duration DOUBLE          NULL COMMENT '초 단위',
+    fallback_url       VARCHAR(255)    NULL COMMENT '웹훅으로 받은 원본 URL',
+    upload_id          VARCHAR(255)    NULL COMMENT '진행 중인 S3 멀티파트 uploadId',
+    last_error         VARCHAR(255)    NULL,
+    created_at         DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id),
+    UNIQUE KEY uk_vod_ingest_recording (recording_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='VOD 적재 작업';
+
+CREATE TABLE scheduler_fence (
+    job_name   VARCHAR(100) NOT NULL COMMENT '스케줄 작업 이름',
+    fence      BIGINT       NOT NULL COMMENT 'DB에 쓴 가장 큰 fencing 토큰',
+    updated_at DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '마지막 기록 시각',
+    PRIMARY KEY (job_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='스케줄 작업 fencing 토큰';
+
 CREATE TABLE qcard (
     qcard_id       BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
     broadcast_id   BIGINT UNSIGNED NOT NULL,
@@ -618,6 +671,7 @@ ALTER TABLE broadcast_product ADD CONSTRAINT FK_bp_broadcast FOREIGN KEY (broadc
 ALTER TABLE broadcast_product ADD CONSTRAINT FK_bp_product FOREIGN KEY (product_id) REFERENCES product (product_id);
 
 ALTER TABLE vod ADD CONSTRAINT FK_vod_broadcast FOREIGN KEY (broadcast_id) REFERENCES broadcast (broadcast_id);
+ALTER TABLE vod_ingest_job ADD CONSTRAINT FK_vod_ingest_broadcast FOREIGN KEY (broadcast_id) REFERENCES broadcast (broadcast_id);
 ALTER TABLE qcard ADD CONSTRAINT FK_qcard_broadcast FOREIGN KEY (broadcast_id) REFERENCES broadcast (broadcast_id);
 ALTER TABLE broadcast_result ADD CONSTRAINT FK_br_broadcast FOREIGN KEY (broadcast_id) REFERENCES broadcast (broadcast_id);
 
@@ -663,4 +717,29 @@ ALTER TABLE chat_message ADD CONSTRAINT FK_msg_chat FOREIGN KEY (chat_id) REFERE
 ALTER TABLE chat_handoff ADD CONSTRAINT FK_handoff_chat FOREIGN KEY (chat_id) REFERENCES chat_info (chat_id);
 ALTER TABLE chat_handoff ADD CONSTRAINT FK_handoff_admin FOREIGN KEY (assigned_admin_id) REFERENCES admin (admin_id);
 
+-- =========================================================
+-- 4. CREATE INDEXES
+-- =========================================================
+
+-- [Broadcast]
+CREATE INDEX idx_broadcast_status_scheduled ON broadcast (`status`, scheduled_at);
+CREATE INDEX idx_broadcast_seller_status ON broadcast (seller_id, `status`);
+
+-- [Sanction]
+CREATE INDEX idx_sanction_broadcast_member_created ON sanction (broadcast_id, member_id, created_at);
+
+-- [Order] (테이블명 `order`에 백틱 사용)
+CREATE INDEX idx_order_item_product ON order_item (product_id);
+CREATE INDEX idx_order_member_created ON `order` (member_id, created_at, order_id, order_number, `status`, order_amount);
+CREATE UNIQUE INDEX uk_order_member_idempotency ON `order` (member_id, idempotency_key);
+CREATE INDEX idx_order_outbox_unpublished ON order_outbox (published_at, outbox_id);
+
+-- [Live Interaction]
+CREATE INDEX idx_bh_broadcast_viewer ON view_history (broadcast_id, viewer_id);
+CREATE INDEX idx_live_chat_broadcast_sent ON live_chat (broadcast_id, send_lchat);
+
+-- [VOD Ingest]
+CREATE INDEX idx_vod_ingest_status_next ON vod_ingest_job (`status`, next_attempt_at);
+CREATE INDEX idx_vod_ingest_broadcast ON vod_ingest_job (broadcast_id);
+
 SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,31 @@
+-- =========================================================
+-- V1: 핫 쿼리 보조 인덱스 추가
+-- 작성일: 2026-10-19
+-- 기존 DB(livecommerce_create_table.sql 적용 완료)에 한 번만 실행한다.
+-- 신규 구축 시에는 livecommerce_create_table.sql 4번 섹션에 동일 인덱스가 포함되어 있다.
+-- =========================================================
+
+USE livecommerce;
+
+-- [Broadcast]
+-- 스케줄러 상태 전환(findBroadcastIdsForReadyTransition / findBroadcastIdsForNoShow / findBroadcastSchedules),
+-- 시간대 슬롯 집계(countByTimeSlot)
+CREATE INDEX idx_broadcast_status_scheduled ON broadcast (`status`, scheduled_at);
+-- 판매자별 예약 개수 확인(countBySellerIdAndStatus)
+CREATE INDEX idx_broadcast_seller_status ON broadcast (seller_id, `status`);
+
+-- [Sanction]
+-- 시청자 최신 제재 조회(findLatestSanction): broadcast_id, member_id 일치 + created_at DESC LIMIT 1
+CREATE INDEX idx_sanction_broadcast_member_created ON sanction (broadcast_id, member_id, created_at);
+
+-- [Order]
+-- 인기 상품 집계(findPopularProducts)의 order_item 조인
+CREATE INDEX idx_order_item_product ON order_item (product_id);
+-- 내 주문 목록(findByMemberIdOrderByCreatedAtDesc)
+CREATE INDEX idx_order_member_created ON `order` (member_id, created_at);
+
+-- [Live Interaction]
+-- 평균 시청 시간(getAverageWatchTime) / 시청자 재입장 조회, ViewHistory 엔티티 인덱스와 동일
+CREATE INDEX idx_bh_broadcast_viewer ON view_history (broadcast_id, viewer_id);
+-- 방송별 채팅 로그 조회(시간순)
+CREATE INDEX idx_live_chat_broadcast_sent ON live_chat (broadcast_id, send_lchat);
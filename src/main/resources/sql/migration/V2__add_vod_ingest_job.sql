@@ -0,0 +1,32 @@
+-- =========================================================
+-- V2: VOD 비동기 적재 작업 테이블 추가
+-- 작성일: 2026-10-19
+-- 녹화 완료 웹훅은 작업만 기록하고, 다운로드/S3 업로드는 VodIngestScheduler가 백그라운드에서 처리한다.
+-- =========================================================
+
+USE livecommerce;
+
+CREATE TABLE vod_ingest_job (
+    job_id             BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    broadcast_id       BIGINT UNSIGNED NOT NULL COMMENT 'FK: broadcast',
+    recording_id       VARCHAR(100)    NOT NULL COMMENT 'OpenVidu 녹화 ID',
+    `status`           ENUM('PENDING','RUNNING','SUCCEEDED','FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts           INT             NOT NULL DEFAULT 0,
+    next_attempt_at    DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_at          DATETIME        NULL COMMENT 'RUNNING 전환 시각 (중단된 작업 회수용)',
+    recording_size     BIGINT          NULL,
+    recording_duration DOUBLE          NULL COMMENT '초 단위',
+    fallback_url       VARCHAR(255)    NULL COMMENT '웹훅으로 받은 원본 URL',
+    last_error         VARCHAR(255)    NULL,
+    created_at         DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id),
+    UNIQUE KEY uk_vod_ingest_recording (recording_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='VOD 적재 작업';
+
+ALTER TABLE vod_ingest_job ADD CONSTRAINT FK_vod_ingest_broadcast FOREIGN KEY (broadcast_id) REFERENCES broadcast (broadcast_id);
+
+-- 폴링(claimDueJobs): status = 'PENDING' AND next_attempt_at <= now
+CREATE INDEX idx_vod_ingest_status_next ON vod_ingest_job (`status`, next_attempt_at);
+-- 결과 조회(getBroadcastResult): 방송별 최신 작업
+CREATE INDEX idx_vod_ingest_broadcast ON vod_ingest_job (broadcast_id);
@@ -0,0 +1,10 @@
+-- =========================================================
+-- V3: vod_ingest_job 멀티파트 uploadId 컬럼 추가
+-- 작성일: 2026-10-19
+-- 재시도 시 S3 ListParts로 완료된 파트를 확인하고 이어서 업로드하기 위해 uploadId를 보관한다.
+-- =========================================================
+
+USE livecommerce;
+
+ALTER TABLE vod_ingest_job
+    ADD COLUMN upload_id VARCHAR(255) NULL COMMENT '진행 중인 S3 멀티파트 uploadId' AFTER fallback_url;
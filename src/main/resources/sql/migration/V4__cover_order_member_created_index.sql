@@ -0,0 +1,13 @@
+-- =========================================================
+-- V4: 내 주문 목록 커버링 인덱스
+-- 작성일: 2026-10-19
+-- 커서 조회(findSummaries / findSummariesBefore)가 (created_at, order_id) 순서로 읽고
+-- 목록 컬럼(order_number, status, order_amount)까지 인덱스에서 바로 가져오도록 컬럼을 확장한다.
+-- FK_order_member가 member_id 선두 인덱스를 요구하므로 DROP/ADD를 한 문장으로 실행한다.
+-- =========================================================
+
+USE livecommerce;
+
+ALTER TABLE `order`
+    DROP INDEX idx_order_member_created,
+    ADD INDEX idx_order_member_created (member_id, created_at, order_id, order_number, `status`, order_amount);
@@ -0,0 +1,28 @@
+-- =========================================================
+-- V5: 주문 아웃박스 + 방송 매출 집계 컬럼
+-- 작성일: 2026-10-19
+-- 주문 결제/취소를 같은 트랜잭션에서 order_outbox에 기록하고,
+-- SalesOutboxRelay가 방송 상품별 판매 수량/금액과 broadcast_result.total_sales에 증분 반영한다.
+-- =========================================================
+
+USE livecommerce;
+
+ALTER TABLE `order`
+    ADD COLUMN broadcast_id BIGINT UNSIGNED NULL COMMENT '주문 발생 방송 ID(논리 FK: broadcast, 라이브 주문만)' AFTER member_id;
+
+CREATE TABLE order_outbox (
+    outbox_id    BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '아웃박스 이벤트 ID',
+    order_id     BIGINT UNSIGNED NOT NULL COMMENT '주문 ID(논리 FK: `order`.order_id)',
+    broadcast_id BIGINT UNSIGNED NULL COMMENT '주문 발생 방송 ID(라이브 주문만)',
+    event_type   VARCHAR(30)     NOT NULL COMMENT 'ORDER_PAID / ORDER_CANCELLED',
+    created_at   DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각(주문 상태 변경 트랜잭션)',
+    published_at DATETIME        NULL COMMENT '릴레이 반영 시각(NULL=미발행)',
+    PRIMARY KEY (outbox_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT ='주문 상태 변경 아웃박스';
+
+-- 릴레이 폴링(claimUnpublished): published_at IS NULL ORDER BY outbox_id
+CREATE INDEX idx_order_outbox_unpublished ON order_outbox (published_at, outbox_id);
+
+ALTER TABLE broadcast_product
+    ADD COLUMN sales_quantity INT    NOT NULL DEFAULT 0 COMMENT '누적 판매 수량(매출 릴레이)' AFTER `status`,
+    ADD COLUMN sales_amount   BIGINT NOT NULL DEFAULT 0 COMMENT '누적 판매 금액(매출 릴레이)' AFTER sales_quantity;
@@ -0,0 +1,11 @@
+-- =========================================================
+-- V6: 재고 예약 주문 표시
+-- 작성일: 2026-10-19
+-- Redis 재고 예약으로 생성된 주문은 결제 시 예약 확정에 성공해야 PAID가 된다.
+-- 기존 주문(비관적 락 경로로 DB 재고를 이미 차감)은 FALSE로 두어 확정 없이 결제할 수 있다.
+-- =========================================================
+
+USE livecommerce;
+
+ALTER TABLE `order`
+    ADD COLUMN stock_reserved BOOLEAN NOT NULL DEFAULT FALSE COMMENT 'Redis 재고 예약 주문 여부(결제 시 예약 확정 필요)' AFTER cancelled_at;
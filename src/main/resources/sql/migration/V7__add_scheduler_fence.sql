@@ -0,0 +1,15 @@
+-- =========================================================
+-- V7: 스케줄 작업 fencing 토큰 테이블 추가
+-- 작성일: 2026-10-19
+-- SchedulerLeaseManager가 실행마다 발급하는 토큰을 job의 쓰기 트랜잭션에서 기록/비교한다.
+-- lease를 잃은 옛 실행 노드의 늦은 쓰기는 더 큰 토큰이 기록된 뒤에는 롤백된다.
+-- =========================================================
+
+USE livecommerce;
+
+CREATE TABLE scheduler_fence (
+    job_name   VARCHAR(100) NOT NULL COMMENT '스케줄 작업 이름',
+    fence      BIGINT       NOT NULL COMMENT 'DB에 쓴 가장 큰 fencing 토큰',
+    updated_at DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '마지막 기록 시각',
+    PRIMARY KEY (job_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='스케줄 작업 fencing 토큰';
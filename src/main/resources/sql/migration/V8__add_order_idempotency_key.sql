@@ -0,0 +1,15 @@
+-- =========================================================
+-- V8: 주문 Idempotency-Key 기록
+-- 작성일: 2026-10-19
+-- Idempotency-Key로 만든 주문은 키와 요청 해시를 주문과 같은 트랜잭션에 기록한다.
+-- Redis에 결과를 저장하지 못한 뒤의 재시도는 이 키로 커밋된 주문을 찾고, 유니크 인덱스가 같은 키의 두 번째 주문을 막는다.
+-- 키 없이 만든 주문(기존 주문 포함)은 NULL이라 유니크 대상이 아니다.
+-- =========================================================
+
+USE livecommerce;
+
+ALTER TABLE `order`
+    ADD COLUMN idempotency_key     VARCHAR(100) NULL COMMENT '주문 생성 요청의 Idempotency-Key(NULL=키 없이 생성)' AFTER stock_reserved,
+    ADD COLUMN request_fingerprint CHAR(64)     NULL COMMENT '주문 생성 요청 본문 SHA-256(같은 키의 다른 요청 판별)' AFTER idempotency_key;
+
+CREATE UNIQUE INDEX uk_order_member_idempotency ON `order` (member_id, idempotency_key);
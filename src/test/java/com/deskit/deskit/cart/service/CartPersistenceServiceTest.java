@@ -0,0 +1,264 @@
+package com.deskit.deskit.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.deskit.deskit.account.entity.Member;
+import com.deskit.deskit.account.entity.Seller;
+import com.deskit.deskit.account.enums.JobCategory;
+import com.deskit.deskit.account.enums.MBTI;
+import com.deskit.deskit.account.enums.MemberStatus;
+import com.deskit.deskit.account.enums.SellerRole;
+import com.deskit.deskit.account.enums.SellerStatus;
+import com.deskit.deskit.cart.dto.CartItemResponse;
+import com.deskit.deskit.support.RedisContainerSupport;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 장바구니 write-behind를 실제 MySQL(ON DUPLICATE KEY UPDATE)과 Redis로 검증한다.
+ * dirty 해제는 커밋 후에 일어나므로 테스트 트랜잭션 없이 실제로 커밋한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CartPersistenceService.class, CartStore.class, CartWriteBehindScheduler.class,
+  CartPersistenceServiceTest.RedisTestConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// 같은 슬라이스에 올라오는 jOOQ 리포지토리 구현체용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+@TestPropertySource(properties = "cart.write-behind.delay-ms=0")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartPersistenceServiceTest extends RedisContainerSupport {
+
+  private static final AtomicLong IDS = new AtomicLong(1000);
+
+  @Container
+  static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+  @DynamicPropertySource
+  static void mysqlProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+    registry.add("spring.datasource.username", MYSQL::getUsername);
+    registry.add("spring.datasource.password", MYSQL::getPassword);
+    registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+    registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+  }
+
+  @TestConfiguration
+  static class RedisTestConfig {
+
+    @Bean
+    RedisTemplate<String, String> redisTemplate() {
+      return RedisContainerSupport.redisTemplate;
+    }
+  }
+
+  @Autowired
+  private CartPersistenceService cartPersistenceService;
+
+  @Autowired
+  private CartStore cartStore;
+
+  @Autowired
+  private CartWriteBehindScheduler cartWriteBehindScheduler;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate tx;
+  private Long memberId;
+  private Long sellerId;
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(transactionManager);
+    memberId = tx.execute(status -> persistMember());
+    sellerId = tx.execute(status -> persistSeller());
+    cartPersistenceService.loadCart(memberId);
+    cartPersistenceService.seedItemSequence();
+  }
+
+  @Test
+  void flushMirrorsTheRedisCartAndClearsDirty() {
+    Long productA = insertProduct();
+    Long productB = insertProduct();
+    Long itemA = cartStore.addItem(memberId, productA, 2, 3000).snapshot().items().get(0).cartItemId();
+    cartStore.addItem(memberId, productB, 1, 5000);
+
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    List<CartItemRow> rows = cartItems();
+    assertEquals(2, rows.size());
+    assertEquals(new CartItemRow(itemA, productA, 2, true), rows.get(0));
+    assertTrue(cartStore.findDirtyMembers(Duration.ZERO, 10).isEmpty());
+  }
+
+  @Test
+  void removedItemIsSoftDeletedAndRevivedUnderItsNewIdWhenAddedAgain() {
+    Long productA = insertProduct();
+    Long productB = insertProduct();
+    cartStore.addItem(memberId, productA, 1, 3000);
+    Long oldItemB = cartStore.addItem(memberId, productB, 1, 5000).snapshot().items().get(1).cartItemId();
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    // softDeleteExcept: Redis에서 빠진 아이템만 논리삭제
+    cartStore.deleteItem(memberId, oldItemB);
+    cartWriteBehindScheduler.flushDirtyCarts();
+    List<CartItemRow> afterDelete = cartItems();
+    assertTrue(afterDelete.get(0).active());
+    assertEquals(new CartItemRow(oldItemB, productB, 1, false), afterDelete.get(1));
+
+    // 같은 (cart_id, product_id)의 논리삭제 행을 새 id로 되살린다 (uk_cart_item 충돌 없이)
+    Long newItemB = cartStore.addItem(memberId, productB, 4, 5000).snapshot().items().get(1).cartItemId();
+    cartWriteBehindScheduler.flushDirtyCarts();
+    List<CartItemRow> revived = cartItems();
+    assertEquals(2, revived.size());
+    assertEquals(new CartItemRow(newItemB, productB, 4, true), revived.get(1));
+
+    // 다시 읽어 들여도 Redis와 같은 내용
+    redisTemplate.delete(CartStore.cartKey(memberId));
+    cartPersistenceService.loadCart(memberId);
+    assertEquals(List.of(newItemB), cartStore.read(memberId).items().stream()
+      .filter(item -> item.productId().equals(productB))
+      .map(CartItemResponse::cartItemId)
+      .toList());
+  }
+
+  @Test
+  void emptiedCartSoftDeletesEverything() {
+    Long itemA = cartStore.addItem(memberId, insertProduct(), 1, 3000).snapshot().items().get(0).cartItemId();
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    cartStore.deleteItem(memberId, itemA);
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    assertTrue(cartItems().stream().noneMatch(CartItemRow::active));
+  }
+
+  @Test
+  void expiredCartOnlyLeavesTheDirtySet() {
+    Long itemA = cartStore.addItem(memberId, insertProduct(), 1, 3000).snapshot().items().get(0).cartItemId();
+    redisTemplate.delete(CartStore.cartKey(memberId));
+
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    assertTrue(cartStore.findDirtyMembers(Duration.ZERO, 10).isEmpty());
+    assertTrue(cartItems().stream().noneMatch(row -> row.cartItemId().equals(itemA)));
+  }
+
+  @Test
+  void schedulerSkipsWhileAnotherNodeHoldsTheLock() {
+    cartStore.addItem(memberId, insertProduct(), 1, 3000);
+    redisTemplate.opsForValue().set(CartStore.FLUSH_LOCK_KEY, "other-node");
+
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    assertTrue(cartItems().isEmpty());
+    assertEquals(List.of(memberId), cartStore.findDirtyMembers(Duration.ZERO, 10));
+    assertEquals("other-node", redisTemplate.opsForValue().get(CartStore.FLUSH_LOCK_KEY));
+  }
+
+  @Test
+  void schedulerReleasesItsLockAfterTheBatch() {
+    cartStore.addItem(memberId, insertProduct(), 1, 3000);
+
+    cartWriteBehindScheduler.flushDirtyCarts();
+
+    assertNull(redisTemplate.opsForValue().get(CartStore.FLUSH_LOCK_KEY));
+    assertNotNull(cartStore.tryLockFlush());
+  }
+
+  record CartItemRow(Long cartItemId, Long productId, int quantity, boolean active) {}
+
+  private List<CartItemRow> cartItems() {
+    Long cartId = cartIdOf(memberId);
+    List<?> rows = tx.execute(status -> entityManager.createNativeQuery(
+      "SELECT cart_item_id, product_id, quantity, deleted_at FROM cart_item WHERE cart_id = :cartId ORDER BY product_id"
+    ).setParameter("cartId", cartId).getResultList());
+    return rows.stream()
+      .map(row -> (Object[]) row)
+      .map(row -> new CartItemRow(
+        ((Number) row[0]).longValue(),
+        ((Number) row[1]).longValue(),
+        ((Number) row[2]).intValue(),
+        row[3] == null
+      ))
+      .toList();
+  }
+
+  private Long cartIdOf(Long memberId) {
+    return tx.execute(status -> ((Number) entityManager.createNativeQuery(
+      "SELECT cart_id FROM cart WHERE member_id = :memberId"
+    ).setParameter("memberId", memberId).getSingleResult()).longValue());
+  }
+
+  private Long persistMember() {
+    Member member = Member.builder()
+      .name("Test Member")
+      .loginId("member-" + IDS.incrementAndGet() + "@test.com")
+      .phone("010-0000-0000")
+      .isAgreed(true)
+      .status(MemberStatus.ACTIVE)
+      .role("ROLE_MEMBER")
+      .mbti(MBTI.NONE)
+      .jobCategory(JobCategory.NONE)
+      .build();
+    entityManager.persist(member);
+    return member.getMemberId();
+  }
+
+  private Long persistSeller() {
+    Seller seller = Seller.builder()
+      .status(SellerStatus.ACTIVE)
+      .name("Test Seller")
+      .loginId("seller-" + IDS.incrementAndGet() + "@test.com")
+      .phone("010-1000-1000")
+      .role(SellerRole.ROLE_SELLER_OWNER)
+      .isAgreed(true)
+      .build();
+    entityManager.persist(seller);
+    return seller.getSellerId();
+  }
+
+  private Long insertProduct() {
+    Long productId = IDS.incrementAndGet();
+    tx.executeWithoutResult(status -> entityManager.createNativeQuery(
+      "INSERT INTO product (product_id, seller_id, product_name, short_desc, detail_html, " +
+      "price, cost_price, status, stock_qty, safety_stock, created_at, updated_at) " +
+      "VALUES (:productId, :sellerId, 'Test Product', 'Short', '<p>Detail</p>', " +
+      "10000, 12000, 'ON_SALE', 10, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"
+    ).setParameter("productId", productId)
+      .setParameter("sellerId", sellerId)
+      .executeUpdate());
+    return productId;
+  }
+}
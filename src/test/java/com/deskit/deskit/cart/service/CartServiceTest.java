@@ -0,0 +1,218 @@
+package com.deskit.deskit.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.cart.dto.CartBulkOperation;
+import com.deskit.deskit.cart.dto.CartItemResponse;
+import com.deskit.deskit.cart.dto.CartResponse;
+import com.deskit.deskit.cart.service.CartStore.BulkOperation;
+import com.deskit.deskit.cart.service.CartStore.BulkResult;
+import com.deskit.deskit.cart.service.CartStore.CartSnapshot;
+import com.deskit.deskit.cart.service.CartStore.MutationResult;
+import com.deskit.deskit.product.entity.Product;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.ProductPriceRow;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class CartServiceTest {
+
+  private static final Long MEMBER_ID = 1L;
+
+  private CartStore cartStore;
+  private CartPersistenceService cartPersistenceService;
+  private ProductRepository productRepository;
+  private CartService cartService;
+
+  @BeforeEach
+  void setUp() {
+    cartStore = mock(CartStore.class);
+    cartPersistenceService = mock(CartPersistenceService.class);
+    productRepository = mock(ProductRepository.class);
+    cartService = new CartService(cartStore, cartPersistenceService, productRepository);
+  }
+
+  @Test
+  void getCart_loadsFromDbOnlyOnMiss() {
+    CartSnapshot snapshot = new CartSnapshot(10L, 0, List.of(new CartItemResponse(100L, 5L, 2, 3000)));
+    when(cartStore.read(MEMBER_ID)).thenReturn(null, snapshot);
+
+    CartResponse response = cartService.getCart(MEMBER_ID);
+
+    assertEquals(new CartResponse(10L, snapshot.items()), response);
+    verify(cartPersistenceService).loadCart(MEMBER_ID);
+  }
+
+  @Test
+  void addItem_existingProductSkipsProductLookup() {
+    CartSnapshot snapshot = new CartSnapshot(10L, 3, List.of(new CartItemResponse(100L, 5L, 4, 3000)));
+    when(cartStore.addItem(MEMBER_ID, 5L, 2, null)).thenReturn(new MutationResult(CartStore.OK, snapshot));
+
+    assertEquals(snapshot.toResponse(), cartService.addItem(MEMBER_ID, 5L, 2));
+    verify(productRepository, never()).findByIdAndDeletedAtIsNull(anyLong());
+    verify(cartPersistenceService, never()).loadCart(any());
+  }
+
+  @Test
+  void addItem_newProductLoadsCartThenPriceThenSequence() {
+    CartSnapshot snapshot = new CartSnapshot(10L, 1, List.of(new CartItemResponse(101L, 6L, 1, 7000)));
+    when(cartStore.addItem(MEMBER_ID, 6L, 1, null)).thenReturn(
+        new MutationResult(CartStore.NOT_LOADED, null),
+        new MutationResult(CartStore.NEED_PRICE, null)
+    );
+    when(cartStore.addItem(MEMBER_ID, 6L, 1, 7000)).thenReturn(
+        new MutationResult(CartStore.NEED_SEQ, null),
+        new MutationResult(CartStore.OK, snapshot)
+    );
+    when(productRepository.findByIdAndDeletedAtIsNull(6L)).thenReturn(Optional.of(product(7000)));
+
+    assertEquals(snapshot.toResponse(), cartService.addItem(MEMBER_ID, 6L, 1));
+    verify(cartPersistenceService).loadCart(MEMBER_ID);
+    verify(cartPersistenceService).seedItemSequence();
+  }
+
+  @Test
+  void addItem_unknownProductIs404() {
+    when(cartStore.addItem(MEMBER_ID, 6L, 1, null)).thenReturn(new MutationResult(CartStore.NEED_PRICE, null));
+    when(productRepository.findByIdAndDeletedAtIsNull(6L)).thenReturn(Optional.empty());
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> cartService.addItem(MEMBER_ID, 6L, 1));
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+  }
+
+  @Test
+  void updateItemQuantity_otherMembersItemIs404() {
+    when(cartStore.updateQuantity(MEMBER_ID, 999L, 2)).thenReturn(
+        new MutationResult(CartStore.ITEM_NOT_FOUND, new CartSnapshot(10L, 0, List.of()))
+    );
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> cartService.updateItemQuantity(MEMBER_ID, 999L, 2));
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+  }
+
+  @Test
+  void applyBulk_resolvesProductsOnceAndAppliesInOneScript() {
+    when(productRepository.findPricesByIds(Set.of(5L, 6L))).thenReturn(List.of(price(5L, 3000), price(6L, 7000)));
+    CartSnapshot snapshot = new CartSnapshot(10L, 1, List.of(new CartItemResponse(101L, 6L, 1, 7000)));
+    List<BulkOperation> expected = List.of(
+        new BulkOperation(BulkOperation.Type.ADD, 5L, 2, 3000),
+        new BulkOperation(BulkOperation.Type.ADD, 6L, 1, 7000),
+        new BulkOperation(BulkOperation.Type.UPDATE, 100L, 4, null),
+        new BulkOperation(BulkOperation.Type.REMOVE, 99L, 0, null)
+    );
+    when(cartStore.applyBulk(MEMBER_ID, expected)).thenReturn(
+        new BulkResult(CartStore.NOT_LOADED, -1, null),
+        new BulkResult(CartStore.OK, -1, snapshot)
+    );
+
+    CartResponse response = cartService.applyBulk(MEMBER_ID, List.of(
+        add(5L, 2), add(6L, 1), update(100L, 4), remove(99L)
+    ));
+
+    assertEquals(snapshot.toResponse(), response);
+    verify(cartPersistenceService).loadCart(MEMBER_ID);
+  }
+
+  @Test
+  void applyBulk_unknownProductIs404BeforeTouchingCart() {
+    when(productRepository.findPricesByIds(Set.of(5L, 6L))).thenReturn(List.of(price(5L, 3000)));
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> cartService.applyBulk(MEMBER_ID, List.of(add(5L, 1), add(6L, 1))));
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    verify(cartStore, never()).applyBulk(any(), any());
+  }
+
+  @Test
+  void applyBulk_missingCartItemIs404() {
+    when(cartStore.applyBulk(any(), any())).thenReturn(new BulkResult(CartStore.ITEM_NOT_FOUND, 1, null));
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> cartService.applyBulk(MEMBER_ID, List.of(remove(1L), update(2L, 3))));
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    assertEquals("cart item not found: 2", ex.getReason());
+  }
+
+  @Test
+  void applyBulk_rejectsInvalidOperations() {
+    CartBulkOperation noQuantity = add(5L, 1);
+    noQuantity.setQuantity(null);
+
+    assertThrows(ResponseStatusException.class, () -> cartService.applyBulk(MEMBER_ID, List.of()));
+    assertThrows(ResponseStatusException.class, () -> cartService.applyBulk(MEMBER_ID, List.of(noQuantity)));
+    assertThrows(ResponseStatusException.class,
+        () -> cartService.applyBulk(MEMBER_ID, List.of(operation(CartBulkOperation.Type.REMOVE, null, null, null))));
+    verify(cartStore, never()).applyBulk(any(), any());
+  }
+
+  @Test
+  void parse_ordersItemsByCartItemId() {
+    CartSnapshot snapshot = CartStore.parse(List.of(
+        "0",
+        "cart_id", "10",
+        "seq", "7",
+        "item:12", "6:1:7000",
+        "product:6", "12",
+        "item:3", "5:2:3000",
+        "product:5", "3"
+    ), 1);
+
+    assertEquals(new CartSnapshot(10L, 7, List.of(
+        new CartItemResponse(3L, 5L, 2, 3000),
+        new CartItemResponse(12L, 6L, 1, 7000)
+    )), snapshot);
+  }
+
+  private static CartBulkOperation add(Long productId, Integer quantity) {
+    return operation(CartBulkOperation.Type.ADD, productId, null, quantity);
+  }
+
+  private static CartBulkOperation update(Long cartItemId, Integer quantity) {
+    return operation(CartBulkOperation.Type.UPDATE, null, cartItemId, quantity);
+  }
+
+  private static CartBulkOperation remove(Long cartItemId) {
+    return operation(CartBulkOperation.Type.REMOVE, null, cartItemId, null);
+  }
+
+  private static CartBulkOperation operation(CartBulkOperation.Type op, Long productId, Long cartItemId, Integer quantity) {
+    CartBulkOperation operation = new CartBulkOperation();
+    operation.setOp(op);
+    operation.setProductId(productId);
+    operation.setCartItemId(cartItemId);
+    operation.setQuantity(quantity);
+    return operation;
+  }
+
+  private static ProductPriceRow price(Long productId, Integer price) {
+    return new ProductPriceRow() {
+      @Override
+      public Long getProductId() {
+        return productId;
+      }
+
+      @Override
+      public Integer getPrice() {
+        return price;
+      }
+    };
+  }
+
+  private static Product product(int price) {
+    return new Product(1L, "p", null, null, price, price / 2, Product.Status.ON_SALE, 10, 0);
+  }
+}
@@ -0,0 +1,185 @@
+package com.deskit.deskit.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.deskit.deskit.cart.dto.CartItemResponse;
+import com.deskit.deskit.cart.service.CartStore.BulkOperation;
+import com.deskit.deskit.cart.service.CartStore.BulkResult;
+import com.deskit.deskit.cart.service.CartStore.CartSnapshot;
+import com.deskit.deskit.cart.service.CartStore.MutationResult;
+import com.deskit.deskit.support.RedisContainerSupport;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CartStoreTest extends RedisContainerSupport {
+
+  private static final Long MEMBER_ID = 1L;
+  private static final Long CART_ID = 10L;
+
+  private CartStore cartStore;
+
+  @BeforeEach
+  void setUp() {
+    cartStore = new CartStore(redisTemplate, 7);
+  }
+
+  @Test
+  void readReturnsNullUntilLoadedAndRefreshesTtl() {
+    assertNull(cartStore.read(MEMBER_ID));
+
+    cartStore.load(MEMBER_ID, CART_ID, List.of(
+      new CartItemResponse(102L, 6L, 1, 7000),
+      new CartItemResponse(101L, 5L, 2, 3000)
+    ));
+    redisTemplate.expire(CartStore.cartKey(MEMBER_ID), Duration.ofSeconds(5));
+
+    CartSnapshot snapshot = cartStore.read(MEMBER_ID);
+    assertEquals(CART_ID, snapshot.cartId());
+    assertEquals(0, snapshot.seq());
+    // 담은 순서(cart_item_id 오름차순)
+    assertEquals(List.of(
+      new CartItemResponse(101L, 5L, 2, 3000),
+      new CartItemResponse(102L, 6L, 1, 7000)
+    ), snapshot.items());
+    assertTrue(redisTemplate.getExpire(CartStore.cartKey(MEMBER_ID), TimeUnit.DAYS) >= 6);
+  }
+
+  @Test
+  void loadNeverOverwritesACartAlreadyInRedis() {
+    cartStore.load(MEMBER_ID, CART_ID, List.of());
+    cartStore.seedItemSequence(100);
+    cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+
+    // 늦게 도착한 DB 적재가 그 사이 변경을 지우지 않는다
+    cartStore.load(MEMBER_ID, CART_ID, List.of());
+
+    assertEquals(1, cartStore.read(MEMBER_ID).items().size());
+  }
+
+  @Test
+  void addItemReportsWhatTheCallerMustProvide() {
+    assertEquals(CartStore.NOT_LOADED, cartStore.addItem(MEMBER_ID, 5L, 1, 3000).status());
+
+    cartStore.load(MEMBER_ID, CART_ID, List.of());
+    assertEquals(CartStore.NEED_PRICE, cartStore.addItem(MEMBER_ID, 5L, 1, null).status());
+    assertEquals(CartStore.NEED_SEQ, cartStore.addItem(MEMBER_ID, 5L, 1, 3000).status());
+
+    cartStore.seedItemSequence(100);
+    MutationResult added = cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+
+    assertEquals(CartStore.OK, added.status());
+    assertEquals(List.of(new CartItemResponse(101L, 5L, 1, 3000)), added.snapshot().items());
+  }
+
+  @Test
+  void addingTheSameProductAccumulatesQuantityAtTheOriginalPrice() {
+    loadEmptyCart();
+    cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+
+    // 이미 담긴 상품은 가격 없이도 성공하고, 가격 스냅샷은 처음 값을 유지한다
+    MutationResult result = cartStore.addItem(MEMBER_ID, 5L, 2, null);
+
+    assertEquals(List.of(new CartItemResponse(101L, 5L, 3, 3000)), result.snapshot().items());
+    assertEquals(2, result.snapshot().seq());
+  }
+
+  @Test
+  void updateAndDeleteTouchOnlyExistingItems() {
+    loadEmptyCart();
+    cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+
+    assertEquals(List.of(new CartItemResponse(101L, 5L, 4, 3000)),
+      cartStore.updateQuantity(MEMBER_ID, 101L, 4).snapshot().items());
+
+    MutationResult missing = cartStore.updateQuantity(MEMBER_ID, 999L, 1);
+    assertEquals(CartStore.ITEM_NOT_FOUND, missing.status());
+    // 실패한 변경은 seq를 올리지 않는다
+    assertEquals(2, missing.snapshot().seq());
+
+    assertTrue(cartStore.deleteItem(MEMBER_ID, 101L).snapshot().items().isEmpty());
+    assertEquals(CartStore.ITEM_NOT_FOUND, cartStore.deleteItem(MEMBER_ID, 101L).status());
+    // 상품 매핑도 지워져서 다시 담으면 새 아이템이 된다
+    assertEquals(CartStore.NEED_PRICE, cartStore.addItem(MEMBER_ID, 5L, 1, null).status());
+  }
+
+  @Test
+  void bulkIsAllOrNothing() {
+    loadEmptyCart();
+    cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+
+    BulkResult failed = cartStore.applyBulk(MEMBER_ID, List.of(
+      new BulkOperation(BulkOperation.Type.ADD, 6L, 1, 7000),
+      new BulkOperation(BulkOperation.Type.REMOVE, 101L, 0, null),
+      new BulkOperation(BulkOperation.Type.UPDATE, 101L, 3, null)
+    ));
+    assertEquals(CartStore.ITEM_NOT_FOUND, failed.status());
+    assertEquals(2, failed.failedIndex());
+    assertEquals(List.of(new CartItemResponse(101L, 5L, 1, 3000)), cartStore.read(MEMBER_ID).items());
+
+    BulkResult applied = cartStore.applyBulk(MEMBER_ID, List.of(
+      new BulkOperation(BulkOperation.Type.ADD, 6L, 1, 7000),
+      new BulkOperation(BulkOperation.Type.UPDATE, 101L, 3, null)
+    ));
+    assertEquals(CartStore.OK, applied.status());
+    assertEquals(List.of(
+      new CartItemResponse(101L, 5L, 3, 3000),
+      new CartItemResponse(102L, 6L, 1, 7000)
+    ), applied.snapshot().items());
+  }
+
+  @Test
+  void ackOnlyClearsDirtyWhenNothingChangedSinceTheFlushRead() {
+    loadEmptyCart();
+    cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+    assertEquals(List.of(MEMBER_ID), cartStore.findDirtyMembers(Duration.ZERO, 10));
+    long flushedSeq = cartStore.read(MEMBER_ID).seq();
+
+    // 반영하는 동안 한 번 더 바뀜
+    cartStore.addItem(MEMBER_ID, 5L, 1, null);
+    assertFalse(cartStore.ackFlushed(MEMBER_ID, flushedSeq));
+    assertEquals(List.of(MEMBER_ID), cartStore.findDirtyMembers(Duration.ZERO, 10));
+
+    assertTrue(cartStore.ackFlushed(MEMBER_ID, cartStore.read(MEMBER_ID).seq()));
+    assertTrue(cartStore.findDirtyMembers(Duration.ZERO, 10).isEmpty());
+  }
+
+  @Test
+  void dirtyMembersWaitForTheFlushDelay() {
+    loadEmptyCart();
+    cartStore.addItem(MEMBER_ID, 5L, 1, 3000);
+
+    assertTrue(cartStore.findDirtyMembers(Duration.ofMinutes(1), 10).isEmpty());
+    assertEquals(List.of(MEMBER_ID), cartStore.findDirtyMembers(Duration.ZERO, 10));
+  }
+
+  @Test
+  void flushLockBelongsToItsHolder() {
+    String token = cartStore.tryLockFlush();
+    assertNotNull(token);
+    assertNull(cartStore.tryLockFlush());
+
+    // 만료 후 다른 노드가 잡은 상황
+    redisTemplate.opsForValue().set(CartStore.FLUSH_LOCK_KEY, "other-node");
+    assertFalse(cartStore.renewFlushLock(token));
+    cartStore.unlockFlush(token);
+    assertEquals("other-node", redisTemplate.opsForValue().get(CartStore.FLUSH_LOCK_KEY));
+
+    redisTemplate.delete(CartStore.FLUSH_LOCK_KEY);
+    String next = cartStore.tryLockFlush();
+    assertTrue(cartStore.renewFlushLock(next));
+    cartStore.unlockFlush(next);
+    assertNotNull(cartStore.tryLockFlush());
+  }
+
+  private void loadEmptyCart() {
+    cartStore.load(MEMBER_ID, CART_ID, List.of());
+    cartStore.seedItemSequence(100);
+  }
+}
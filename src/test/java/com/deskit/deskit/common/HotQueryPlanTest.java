@@ -0,0 +1,149 @@
+package com.deskit.deskit.common;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 핫 쿼리 실행 계획 회귀 테스트.
+ *
+ * - 엔티티 @Table(indexes)로 생성된 인덱스(= migration/V1__add_hot_query_indexes.sql)를 기준으로
+ *   H2(MySQL 모드)에서 EXPLAIN 결과를 확인한다.
+ * - 필터 대상 테이블이 "tableScan"으로 풀리면 인덱스 누락/쿼리 변경으로 보고 실패시킨다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HotQueryPlanTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Test
+  void readyTransitionUsesStatusScheduledIndex() {
+    // BroadcastRepositoryImpl.transitionToReady (대상 조회)
+    String plan = explain(
+      "SELECT b.broadcast_id FROM broadcast b " +
+      "WHERE b.status = 'RESERVED' " +
+      "AND b.scheduled_at BETWEEN TIMESTAMP '2026-01-01 10:00:00' AND TIMESTAMP '2026-01-01 10:10:00'"
+    );
+
+    assertIndexScan(plan, "broadcast", "idx_broadcast_status_scheduled");
+  }
+
+  @Test
+  void noShowUsesStatusScheduledIndex() {
+    // BroadcastRepositoryImpl.transitionNoShow (대상 조회)
+    String plan = explain(
+      "SELECT b.broadcast_id FROM broadcast b " +
+      "WHERE b.status IN ('RESERVED', 'READY') " +
+      "AND b.scheduled_at <= TIMESTAMP '2026-01-01 09:50:00'"
+    );
+
+    assertIndexScan(plan, "broadcast", "idx_broadcast_status_scheduled");
+  }
+
+  @Test
+  void sellerReservedCountUsesSellerStatusIndex() {
+    // BroadcastRepository.countBySellerIdAndStatus
+    String plan = explain(
+      "SELECT COUNT(*) FROM broadcast b WHERE b.seller_id = 1 AND b.status = 'RESERVED'"
+    );
+
+    assertIndexScan(plan, "broadcast", "idx_broadcast_seller_status");
+  }
+
+  @Test
+  void latestSanctionUsesBroadcastMemberCreatedIndex() {
+    // SanctionRepositoryImpl.findLatestSanction
+    String plan = explain(
+      "SELECT sc.sanction_id, sc.status FROM sanction sc " +
+      "WHERE sc.broadcast_id = 1 AND sc.member_id = 1 " +
+      "ORDER BY sc.created_at DESC LIMIT 1"
+    );
+
+    assertIndexScan(plan, "sanction", "idx_sanction_broadcast_member_created");
+  }
+
+  @Test
+  void popularProductsJoinsOrderItemByIndex() {
+    // ProductRepository.findPopularProducts (product 자체는 전체 집계 대상이므로 order_item 조인만 확인)
+    String plan = explain(
+      "SELECT p.product_id, COALESCE(SUM(oi.quantity), 0) AS soldQty FROM product p " +
+      "LEFT JOIN order_item oi ON oi.product_id = p.product_id AND oi.deleted_at IS NULL " +
+      "WHERE p.deleted_at IS NULL " +
+      "GROUP BY p.product_id ORDER BY soldQty DESC LIMIT 10"
+    );
+
+    assertIndexScan(plan, "order_item", "idx_order_item_product");
+  }
+
+  @Test
+  void myOrdersUsesMemberCreatedIndex() {
+    // OrderRepository.findByMemberIdOrderByCreatedAtDesc
+    String plan = explain(
+      "SELECT o.order_id FROM `order` o WHERE o.member_id = 1 ORDER BY o.created_at DESC"
+    );
+
+    assertIndexScan(plan, "order", "idx_order_member_created");
+  }
+
+  @Test
+  void myOrdersCursorPageUsesMemberCreatedIndex() {
+    // OrderRepository.findSummariesBefore
+    String plan = explain(
+      "SELECT o.order_id, o.order_number, o.status, o.order_amount, o.created_at FROM `order` o " +
+      "WHERE o.member_id = 1 " +
+      "AND (o.created_at < TIMESTAMP '2026-01-01 10:00:00' " +
+      "OR (o.created_at = TIMESTAMP '2026-01-01 10:00:00' AND o.order_id < 100)) " +
+      "ORDER BY o.created_at DESC, o.order_id DESC LIMIT 21"
+    );
+
+    assertIndexScan(plan, "order", "idx_order_member_created");
+  }
+
+  @Test
+  void averageWatchTimeUsesViewHistoryIndex() {
+    // ViewHistoryRepository.getAverageWatchTime
+    String plan = explain(
+      "SELECT COUNT(*) FROM view_history vh " +
+      "WHERE vh.broadcast_id = 1"
+    );
+
+    assertIndexScan(plan, "view_history", "idx_bh_broadcast_viewer");
+  }
+
+  @Test
+  void chatLogUsesBroadcastSentIndex() {
+    String plan = explain(
+      "SELECT lc.message_id FROM live_chat lc WHERE lc.broadcast_id = 1 ORDER BY lc.send_lchat"
+    );
+
+    assertIndexScan(plan, "live_chat", "idx_live_chat_broadcast_sent");
+  }
+
+  private String explain(String sql) {
+    List<?> rows = entityManager.getEntityManager()
+      .createNativeQuery("EXPLAIN " + sql)
+      .getResultList();
+    StringBuilder plan = new StringBuilder();
+    for (Object row : rows) {
+      plan.append(row).append('\n');
+    }
+    return plan.toString();
+  }
+
+  private void assertIndexScan(String plan, String table, String indexName) {
+    // H2는 예약어 테이블명을 따옴표로 감싸서 출력한다. (예: PUBLIC."order".tableScan)
+    boolean fullScan = plan.contains(table + ".tableScan") || plan.contains(table + "\".tableScan");
+    assertFalse(fullScan, () -> "full scan on " + table + ":\n" + plan);
+    assertTrue(plan.contains(indexName), () -> "expected " + indexName + " on " + table + ":\n" + plan);
+  }
+}
@@ -0,0 +1,164 @@
+package com.deskit.deskit.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+
+  private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+  @Test
+  void generatesUniqueIncreasingIdsAcrossThreads() throws Exception {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, 5000);
+    int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+    int perThread = 4_000_000 / threads;
+    long[][] generated = new long[threads][perThread];
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      long[] ids = generated[t];
+      Thread worker = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int i = 0; i < ids.length; i++) {
+          ids[i] = generator.nextId();
+        }
+      });
+      worker.start();
+      workers.add(worker);
+    }
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join(TimeUnit.SECONDS.toMillis(60));
+    }
+
+    long[] all = new long[threads * perThread];
+    for (int t = 0; t < threads; t++) {
+      // 한 스레드 안에서는 발급 순서대로 증가해야 한다.
+      for (int i = 1; i < perThread; i++) {
+        assertTrue(generated[t][i] > generated[t][i - 1]);
+      }
+      System.arraycopy(generated[t], 0, all, t * perThread, perThread);
+    }
+    Arrays.sort(all);
+    for (int i = 1; i < all.length; i++) {
+      assertTrue(all[i] != all[i - 1], "duplicate id: " + all[i]);
+    }
+    assertEquals(7, nodeOf(all[0]));
+  }
+
+  @Test
+  void waitsForNextMillisecondWhenSequenceIsExhausted() {
+    AtomicLong clock = new AtomicLong(NOW);
+    AtomicLong reads = new AtomicLong();
+    // 순번 소진 후 시계를 몇 번 읽으면 다음 밀리초로 넘어간다.
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 5000, () -> {
+      if (reads.incrementAndGet() > 4096 + 3) {
+        clock.compareAndSet(NOW, NOW + 1);
+      }
+      return clock.get();
+    });
+
+    long previous = -1;
+    for (int i = 0; i < 4096 + 10; i++) {
+      long id = generator.nextId();
+      assertTrue(id > previous);
+      previous = id;
+    }
+    assertEquals(NOW + 1 - SnowflakeIdGenerator.EPOCH_MILLIS, millisOf(previous));
+    assertEquals(9, sequenceOf(previous));
+  }
+
+  @Test
+  void keepsIncreasingWhenClockMovesBackWithinTolerance() {
+    AtomicLong clock = new AtomicLong(NOW);
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 5000, clock::get);
+
+    long before = generator.nextId();
+    clock.set(NOW - 3000);
+    long after = generator.nextId();
+
+    assertTrue(after > before);
+    assertEquals(millisOf(before), millisOf(after));
+  }
+
+  @Test
+  void sleepsInsteadOfSpinningWhenSequenceRunsOutAfterClockRegression() {
+    long startedAt = System.nanoTime();
+    AtomicLong offset = new AtomicLong();
+    AtomicLong reads = new AtomicLong();
+    // 실제 시간에 따라 흐르는 시계. offset만큼 뒤로 돌릴 수 있다.
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 5000, () -> {
+      reads.incrementAndGet();
+      return NOW + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) - offset.get();
+    });
+
+    long previous = generator.nextId();
+    offset.set(50);
+    // 뒤로 간 50ms 동안은 마지막 시각을 이어 쓰므로 순번 4,096개를 넘기면 기다려야 한다.
+    for (int i = 0; i < 4096 + 10; i++) {
+      long id = generator.nextId();
+      assertTrue(id > previous);
+      previous = id;
+    }
+
+    // 스핀이었다면 기다리는 동안 시계를 수십만 번 읽는다.
+    assertTrue(reads.get() < 4096 + 1000, "clock reads: " + reads.get());
+  }
+
+  @Test
+  void rejectsLargeClockRegression() {
+    AtomicLong clock = new AtomicLong(NOW);
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 5000, clock::get);
+    generator.nextId();
+
+    clock.set(NOW - 10_000);
+
+    assertThrows(IllegalStateException.class, generator::nextId);
+  }
+
+  @Test
+  void rejectsOutOfRangeNodeId() {
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024, 5000));
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, 5000));
+  }
+
+  @Test
+  void embedsNodeIdAndPrefixInBusinessKeys() {
+    SnowflakeIdGenerator a = new SnowflakeIdGenerator(1, 5000, () -> NOW);
+    SnowflakeIdGenerator b = new SnowflakeIdGenerator(2, 5000, () -> NOW);
+
+    String keyA = a.nextKey("ORD");
+    String keyB = b.nextKey("ORD");
+
+    assertTrue(keyA.startsWith("ORD-"));
+    assertTrue(!keyA.equals(keyB));
+    assertEquals(2, nodeOf(Long.parseLong(keyB.substring(4))));
+  }
+
+  private static long millisOf(long id) {
+    return id >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS);
+  }
+
+  private static long nodeOf(long id) {
+    return (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID;
+  }
+
+  private static long sequenceOf(long id) {
+    return id & SnowflakeIdGenerator.SEQUENCE_MASK;
+  }
+}
@@ -0,0 +1,122 @@
+package com.deskit.deskit.home.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.home.dto.HomePopularProductResponse;
+import com.deskit.deskit.home.service.PopularityService.Ranked;
+import com.deskit.deskit.home.service.PopularityService.Ranking;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.PopularProductRow;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HomePopularProductServiceTest {
+
+  private ProductRepository productRepository;
+  private PopularityService popularityService;
+  private HomePopularProductService service;
+
+  @BeforeEach
+  void setUp() {
+    productRepository = mock(ProductRepository.class);
+    popularityService = mock(PopularityService.class);
+    service = new HomePopularProductService(productRepository, popularityService);
+  }
+
+  @Test
+  void keepsRankingOrderAndSkipsDeletedProducts() {
+    when(popularityService.isBuilt()).thenReturn(true);
+    when(popularityService.topProducts(Ranking.TRENDING, 12)).thenReturn(List.of(
+        new Ranked(3L, 5), new Ranked(9L, 4), new Ranked(1L, 2)
+    ));
+    // 9번은 삭제되어 조회되지 않는다.
+    when(productRepository.findPopularProductDetails(List.of(3L, 9L, 1L))).thenReturn(List.of(
+        new Row(1L), new Row(3L)
+    ));
+
+    List<HomePopularProductResponse> result = service.getPopularProducts(2, Ranking.TRENDING);
+
+    assertEquals(List.of(3L, 1L), productIds(result));
+    assertEquals(5L, ReflectionTestUtils.getField(result.get(0), "soldQty"));
+    verify(productRepository, never()).findNewestProducts(anyInt());
+    verify(productRepository, never()).findPopularProducts(anyInt());
+  }
+
+  @Test
+  void fillsShortRankingWithNewestProducts() {
+    when(popularityService.isBuilt()).thenReturn(true);
+    when(popularityService.topProducts(Ranking.SOLD, 13)).thenReturn(List.of(new Ranked(3L, 5)));
+    when(productRepository.findPopularProductDetails(List.of(3L))).thenReturn(List.of(new Row(3L)));
+    when(productRepository.findNewestProducts(4)).thenReturn(List.of(
+        new Row(8L), new Row(3L), new Row(7L), new Row(6L)
+    ));
+
+    List<HomePopularProductResponse> result = service.getPopularProducts(3);
+
+    assertEquals(List.of(3L, 8L, 7L), productIds(result));
+  }
+
+  @Test
+  void fallsBackToAggregationBeforeFirstBuild() {
+    when(popularityService.isBuilt()).thenReturn(false);
+    when(productRepository.findPopularProducts(8)).thenReturn(List.of(new Row(4L)));
+
+    assertEquals(List.of(4L), productIds(service.getPopularProducts(8)));
+    verify(popularityService, never()).topProducts(Ranking.SOLD, 18);
+  }
+
+  @Test
+  void fallsBackToAggregationWhenRedisIsDown() {
+    when(popularityService.isBuilt()).thenThrow(new RedisConnectionFailureException("down"));
+    when(productRepository.findPopularProducts(8)).thenReturn(List.of(new Row(4L)));
+
+    assertEquals(List.of(4L), productIds(service.getPopularProducts(8)));
+  }
+
+  private static List<Object> productIds(List<HomePopularProductResponse> responses) {
+    return responses.stream()
+        .map(response -> ReflectionTestUtils.getField(response, "productId"))
+        .toList();
+  }
+
+  private static class Row implements PopularProductRow {
+    private final Long productId;
+
+    Row(Long productId) {
+      this.productId = productId;
+    }
+
+    @Override
+    public Long getProductId() {
+      return productId;
+    }
+
+    @Override
+    public String getProductName() {
+      return "Product " + productId;
+    }
+
+    @Override
+    public Integer getPrice() {
+      return 10000;
+    }
+
+    @Override
+    public Long getSoldQty() {
+      return 0L;
+    }
+
+    @Override
+    public String getThumbnailUrl() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.deskit.deskit.home.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.home.service.PopularityService.SoldEvent;
+import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.enums.OrderOutboxEventType;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.ProductSoldRow;
+import com.deskit.deskit.setup.repository.SetupRepository;
+import com.deskit.deskit.support.RedisContainerSupport;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class PopularityServiceTest extends RedisContainerSupport {
+
+  private ProductRepository productRepository;
+  private OrderOutboxRepository orderOutboxRepository;
+  private OrderItemRepository orderItemRepository;
+  private SetupRepository setupRepository;
+  private PopularityService service;
+
+  @BeforeEach
+  void setUp() {
+    productRepository = mock(ProductRepository.class);
+    orderOutboxRepository = mock(OrderOutboxRepository.class);
+    orderItemRepository = mock(OrderItemRepository.class);
+    setupRepository = mock(SetupRepository.class);
+    when(setupRepository.findSetupProductsByProductIds(anyCollection())).thenReturn(List.of());
+    when(setupRepository.findAllSetupProducts()).thenReturn(List.of());
+    when(productRepository.aggregateRecentSoldQuantities(any(), any())).thenReturn(List.of());
+    service = new PopularityService(redisTemplate, productRepository, setupRepository, orderOutboxRepository,
+        orderItemRepository, mock(PlatformTransactionManager.class), 24);
+  }
+
+  @Test
+  void retriedEventsAreAppliedOnce() {
+    givenSnapshot(List.of(), List.of());
+    service.rebuild();
+
+    assertEquals(2, service.recordSales(List.of(paid(1L, 10L, 2), paid(2L, 10L, 1))));
+    // 릴레이 커밋 실패 후 같은 배치를 다시 처리
+    assertEquals(1, service.recordSales(List.of(paid(1L, 10L, 2), paid(2L, 10L, 1), paid(3L, 10L, 4))));
+
+    assertEquals(7.0, redisTemplate.opsForZSet().score(PopularityService.PRODUCT_SOLD_KEY, "10"));
+  }
+
+  @Test
+  void appliedIdsAreBucketedByIdRangeAndExpire() {
+    givenSnapshot(List.of(), List.of());
+    service.rebuild();
+    long nextBucket = PopularityService.APPLIED_BUCKET_SIZE;
+
+    service.recordSales(List.of(paid(1L, 10L, 1), paid(nextBucket + 1, 10L, 1)));
+
+    String epoch = redisTemplate.opsForValue().get(PopularityService.EPOCH_KEY);
+    String first = PopularityService.appliedKey(epoch, 1L);
+    String second = PopularityService.appliedKey(epoch, nextBucket + 1);
+    assertEquals(Boolean.TRUE, redisTemplate.opsForSet().isMember(first, "1"));
+    assertEquals(Boolean.TRUE, redisTemplate.opsForSet().isMember(second, String.valueOf(nextBucket + 1)));
+    // 릴레이가 지나간 구간은 더 쓰이지 않으므로 TTL로 사라진다
+    assertTrue(redisTemplate.getExpire(first) > 0);
+    assertTrue(redisTemplate.getExpire(second) > 0);
+  }
+
+  @Test
+  void rebuildDoesNotDoubleCountEventsStillInTheOutbox() {
+    // 주문 5(outbox 5)는 결제 상태로 집계에 들어갔지만 아직 릴레이되지 않았다
+    givenSnapshot(List.of(sold(10L, 3)), List.of(5L));
+
+    service.rebuild();
+    assertEquals(3.0, redisTemplate.opsForZSet().score(PopularityService.PRODUCT_SOLD_KEY, "10"));
+
+    // 릴레이가 뒤늦게 처리해도 다시 더하지 않고, 스냅샷 이후 이벤트만 반영한다
+    assertEquals(1, service.recordSales(List.of(paid(5L, 10L, 3), paid(6L, 10L, 1))));
+    assertEquals(4.0, redisTemplate.opsForZSet().score(PopularityService.PRODUCT_SOLD_KEY, "10"));
+  }
+
+  @Test
+  void eventsRelayedBetweenTheSnapshotAndTheSwapAreReplayedOnce() {
+    givenSnapshot(List.of(), List.of());
+    service.rebuild();
+    // 지난 재구축은 한 시간 전
+    redisTemplate.opsForValue().set(PopularityService.EPOCH_KEY, String.valueOf(System.currentTimeMillis() - 3_600_000));
+
+    // outbox 5는 스냅샷에 결제 상태로 들어갔고, outbox 6은 스냅샷 이후 커밋돼 릴레이가 교체 전(옛 랭킹)에 반영했다
+    givenSnapshot(List.of(sold(10L, 3)), List.of());
+    when(orderOutboxRepository.findMaxId()).thenReturn(5L);
+    when(orderOutboxRepository.findIdsAfter(anyLong())).thenReturn(List.of(5L));
+    when(setupRepository.findAllSetupProducts()).thenAnswer(invocation -> {
+      service.recordSales(List.of(paid(6L, 10L, 2)));
+      return List.of();
+    });
+    when(orderOutboxRepository.findAfter(anyLong())).thenReturn(List.of(outbox(5L, 50L), outbox(6L, 60L)));
+    when(orderItemRepository.findByOrder_IdIn(anyCollection())).thenReturn(List.of(item(50L, 10L, 3), item(60L, 10L, 2)));
+
+    service.rebuild();
+    assertEquals(5.0, redisTemplate.opsForZSet().score(PopularityService.PRODUCT_SOLD_KEY, "10"));
+
+    // 교체 후 같은 이벤트를 릴레이가 다시 처리해도 더하지 않는다
+    assertEquals(0, service.recordSales(List.of(paid(6L, 10L, 2))));
+    assertEquals(5.0, redisTemplate.opsForZSet().score(PopularityService.PRODUCT_SOLD_KEY, "10"));
+  }
+
+  @Test
+  void rebuildLockIsReleasedOnlyByItsOwner() {
+    givenSnapshot(List.of(sold(10L, 3)), List.of());
+    redisTemplate.opsForValue().set(PopularityService.KEY_PREFIX + "rebuild-lock", "other-node");
+
+    assertFalse(service.rebuild());
+    assertEquals("other-node", redisTemplate.opsForValue().get(PopularityService.KEY_PREFIX + "rebuild-lock"));
+    assertFalse(service.isBuilt());
+  }
+
+  @Test
+  void rebuildThatLostItsLockDoesNotSwap() {
+    givenSnapshot(List.of(sold(10L, 3)), List.of());
+    // 집계 도중 락이 만료되고 다른 노드가 잡았다
+    when(setupRepository.findAllSetupProducts()).thenAnswer(invocation -> {
+      redisTemplate.opsForValue().set(PopularityService.KEY_PREFIX + "rebuild-lock", "other-node");
+      return List.of();
+    });
+
+    assertFalse(service.rebuild());
+    assertFalse(service.isBuilt());
+    assertNull(redisTemplate.opsForZSet().score(PopularityService.PRODUCT_SOLD_KEY, "10"));
+    assertEquals("other-node", redisTemplate.opsForValue().get(PopularityService.KEY_PREFIX + "rebuild-lock"));
+  }
+
+  private void givenSnapshot(List<ProductSoldRow> sold, List<Long> unpublishedIds) {
+    when(productRepository.aggregateSoldQuantities()).thenReturn(sold);
+    when(orderOutboxRepository.findUnpublishedIds()).thenReturn(unpublishedIds);
+  }
+
+  private static SoldEvent paid(Long eventId, Long productId, int quantity) {
+    return new SoldEvent(eventId, 1, Map.of(productId, quantity));
+  }
+
+  private static OrderOutbox outbox(Long eventId, Long orderId) {
+    OrderOutbox outbox = mock(OrderOutbox.class);
+    when(outbox.getId()).thenReturn(eventId);
+    when(outbox.getOrderId()).thenReturn(orderId);
+    when(outbox.getEventType()).thenReturn(OrderOutboxEventType.ORDER_PAID);
+    return outbox;
+  }
+
+  private static OrderItem item(Long orderId, Long productId, int quantity) {
+    Order order = mock(Order.class);
+    when(order.getId()).thenReturn(orderId);
+    OrderItem item = mock(OrderItem.class);
+    when(item.getOrder()).thenReturn(order);
+    when(item.getProductId()).thenReturn(productId);
+    when(item.getQuantity()).thenReturn(quantity);
+    return item;
+  }
+
+  private static ProductSoldRow sold(Long productId, long quantity) {
+    ProductSoldRow row = mock(ProductSoldRow.class);
+    when(row.getProductId()).thenReturn(productId);
+    when(row.getSoldQty()).thenReturn(quantity);
+    return row;
+  }
+}
@@ -0,0 +1,111 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class ImageHeaderProbeTest {
+
+  @Test
+  void readsPngDimensionsFromIhdr() throws IOException {
+    byte[] png = encode(new BufferedImage(90, 160, BufferedImage.TYPE_INT_ARGB), "png");
+
+    assertEquals(new ImageHeaderProbe.ImageSize(90, 160), ImageHeaderProbe.probe(new ByteArrayInputStream(png)));
+  }
+
+  @Test
+  void readsJpegDimensionsFromFrameHeader() throws IOException {
+    byte[] jpeg = encode(new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+    assertEquals(new ImageHeaderProbe.ImageSize(1920, 1080), ImageHeaderProbe.probe(new ByteArrayInputStream(jpeg)));
+  }
+
+  @Test
+  void skipsLargeAppSegmentsWithoutReadingScanData() throws IOException {
+    byte[] jpeg = encode(noise(640, 360), "jpeg");
+    // SOI 뒤에 60KB 크기의 APP1(EXIF 썸네일 자리) 세그먼트 삽입
+    byte[] app1 = new byte[4 + 60_000];
+    app1[0] = (byte) 0xFF;
+    app1[1] = (byte) 0xE1;
+    app1[2] = (byte) ((60_002 >> 8) & 0xFF);
+    app1[3] = (byte) (60_002 & 0xFF);
+    byte[] withExif = new byte[jpeg.length + app1.length];
+    System.arraycopy(jpeg, 0, withExif, 0, 2);
+    System.arraycopy(app1, 0, withExif, 2, app1.length);
+    System.arraycopy(jpeg, 2, withExif, 2 + app1.length, jpeg.length - 2);
+
+    CountingStream counting = new CountingStream(withExif);
+    assertEquals(new ImageHeaderProbe.ImageSize(640, 360), ImageHeaderProbe.probe(counting));
+    assertTrue(counting.read.get() < withExif.length, "스캔 데이터까지 읽지 않아야 함");
+  }
+
+  @Test
+  void returnsNullForUnknownOrTruncatedInput() throws IOException {
+    byte[] png = encode(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), "png");
+
+    assertEquals(null, ImageHeaderProbe.probe(new ByteArrayInputStream("GIF89a....".getBytes())));
+    assertEquals(null, ImageHeaderProbe.probe(new ByteArrayInputStream(Arrays.copyOf(png, 12))));
+    assertEquals(null, ImageHeaderProbe.probe(new ByteArrayInputStream(new byte[]{(byte) 0xFF, (byte) 0xD8, 0x00})));
+  }
+
+  private static BufferedImage noise(int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Random random = new Random(1);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, random.nextInt());
+      }
+    }
+    return image;
+  }
+
+  private static byte[] encode(BufferedImage image, String format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, format, out);
+    return out.toByteArray();
+  }
+
+  private static final class CountingStream extends InputStream {
+    private final ByteArrayInputStream delegate;
+    private final AtomicLong read = new AtomicLong();
+
+    CountingStream(byte[] bytes) {
+      this.delegate = new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public int read() {
+      int value = delegate.read();
+      if (value >= 0) {
+        read.incrementAndGet();
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      int n = delegate.read(buffer, offset, length);
+      if (n > 0) {
+        read.addAndGet(n);
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) {
+      long skipped = delegate.skip(n);
+      read.addAndGet(skipped);
+      return skipped;
+    }
+  }
+}
@@ -0,0 +1,394 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 합성 MP4 코퍼스로 faststart 변환 결과를 검증한다.
+ * 재생 동등성 = 트랙별 모든 청크가 새 오프셋에서 같은 바이트를 가리키고, 오프셋 테이블 외의 moov/mdat 바이트가 그대로인 것.
+ */
+class Mp4FaststartTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void movesMoovAheadOfMdatForSingleTrack() throws IOException {
+    Corpus corpus = new Corpus(new Random(1))
+      .prefix(box("ftyp", ascii("isom"), new byte[4], ascii("isommp42")))
+      .track(false, 40, 3_000)
+      .build(false);
+
+    Path rewritten = rewrite(corpus);
+
+    assertPlaybackEquivalent(corpus, rewritten);
+    assertEquals(List.of("ftyp", "moov", "mdat"), topLevelTypes(rewritten));
+  }
+
+  @Test
+  void relocatesStcoAndCo64TracksAndKeepsTrailingBoxes() throws IOException {
+    Corpus corpus = new Corpus(new Random(2))
+      .prefix(box("ftyp", ascii("mp42"), new byte[4], ascii("mp42isom")), box("free", new byte[32]))
+      .track(false, 120, 9_000)
+      .track(true, 200, 700)
+      .betweenMdatAndMoov(box("free", new byte[64]))
+      .trailer(box("free", new byte[16]))
+      .build(false);
+
+    Path rewritten = rewrite(corpus);
+
+    assertPlaybackEquivalent(corpus, rewritten);
+    assertEquals(List.of("ftyp", "free", "moov", "mdat", "free", "free"), topLevelTypes(rewritten));
+  }
+
+  @Test
+  void handlesLargesizeMdatHeader() throws IOException {
+    Corpus corpus = new Corpus(new Random(3))
+      .prefix(box("ftyp", ascii("isom"), new byte[4], ascii("isom")))
+      .track(false, 30, 5_000)
+      .track(true, 30, 500)
+      .build(true);
+
+    Path rewritten = rewrite(corpus);
+
+    assertPlaybackEquivalent(corpus, rewritten);
+  }
+
+  @Test
+  void leavesFaststartFileUntouched() throws IOException {
+    Path source = dir.resolve("already.mp4");
+    Files.write(source, concat(
+      box("ftyp", ascii("isom")),
+      box("moov", box("mvhd", new byte[100])),
+      box("mdat", new byte[1000])));
+    Path target = dir.resolve("out.mp4");
+
+    assertFalse(Mp4Faststart.rewrite(source, target));
+    assertFalse(Files.exists(target));
+  }
+
+  @Test
+  void skipsFragmentedAndNonMp4Files() throws IOException {
+    Path fragmented = dir.resolve("fragmented.mp4");
+    Files.write(fragmented, concat(
+      box("ftyp", ascii("iso6")),
+      box("mdat", new byte[100]),
+      box("moof", new byte[20]),
+      box("moov", box("mvhd", new byte[100]))));
+    Path garbage = dir.resolve("garbage.mp4");
+    Files.write(garbage, ascii("this is not an mp4 file at all"));
+
+    assertFalse(Mp4Faststart.rewrite(fragmented, dir.resolve("a.mp4")));
+    assertFalse(Mp4Faststart.rewrite(garbage, dir.resolve("b.mp4")));
+  }
+
+  @Test
+  void promotesStcoToCo64WhenShiftedOffsetsOverflow() {
+    long mdatStart = 100;
+    long moovStart = 0xFFFF_FF00L;
+    long[] offsets = {mdatStart + 8, 0xFFFF_FEF0L};
+    byte[] moov = box("moov", box("mvhd", new byte[100]), trak(stco(offsets)));
+
+    byte[] relocated = Mp4Faststart.relocateMoov(moov, mdatStart, moovStart, moovStart + moov.length);
+
+    List<long[]> tables = chunkOffsetTables(relocated);
+    assertEquals(1, tables.size());
+    assertArrayEquals(new long[]{offsets[0] + relocated.length, offsets[1] + relocated.length}, tables.get(0));
+    assertTrue(new String(relocated, StandardCharsets.US_ASCII).contains("co64"));
+    assertEquals(moov.length + 8, relocated.length);
+  }
+
+  // ---- 검증 ----
+
+  private Path rewrite(Corpus corpus) throws IOException {
+    Path source = dir.resolve("source.mp4");
+    Path target = dir.resolve("faststart.mp4");
+    Files.write(source, corpus.file);
+    assertTrue(Mp4Faststart.rewrite(source, target));
+    return target;
+  }
+
+  private void assertPlaybackEquivalent(Corpus corpus, Path rewrittenPath) throws IOException {
+    byte[] original = corpus.file;
+    byte[] rewritten = Files.readAllBytes(rewrittenPath);
+    assertEquals(original.length, rewritten.length);
+
+    byte[] newMoov = topLevelBox(rewritten, "moov");
+    byte[] oldMoov = topLevelBox(original, "moov");
+    assertTrue(indexOfBox(rewritten, "moov") < indexOfBox(rewritten, "mdat"));
+
+    List<long[]> oldTables = chunkOffsetTables(oldMoov);
+    List<long[]> newTables = chunkOffsetTables(newMoov);
+    assertEquals(corpus.chunkLengths.size(), newTables.size());
+    for (int track = 0; track < newTables.size(); track++) {
+      int[] lengths = corpus.chunkLengths.get(track);
+      for (int chunk = 0; chunk < lengths.length; chunk++) {
+        int oldOffset = (int) oldTables.get(track)[chunk];
+        int newOffset = (int) newTables.get(track)[chunk];
+        assertArrayEquals(
+          Arrays.copyOfRange(original, oldOffset, oldOffset + lengths[chunk]),
+          Arrays.copyOfRange(rewritten, newOffset, newOffset + lengths[chunk]),
+          "track " + track + " chunk " + chunk);
+      }
+    }
+
+    assertEquals(leafBoxesWithoutOffsets(oldMoov), leafBoxesWithoutOffsets(newMoov));
+    assertArrayEquals(topLevelBox(original, "mdat"), topLevelBox(rewritten, "mdat"));
+  }
+
+  private static List<String> topLevelTypes(Path file) throws IOException {
+    byte[] bytes = Files.readAllBytes(file);
+    List<String> types = new ArrayList<>();
+    for (int[] box : children(bytes, 0, bytes.length)) {
+      types.add(type(bytes, box[0]));
+    }
+    return types;
+  }
+
+  private static int indexOfBox(byte[] file, String type) {
+    for (int[] box : children(file, 0, file.length)) {
+      if (type(file, box[0]).equals(type)) {
+        return box[0];
+      }
+    }
+    return -1;
+  }
+
+  private static byte[] topLevelBox(byte[] file, String type) {
+    int offset = indexOfBox(file, type);
+    for (int[] box : children(file, 0, file.length)) {
+      if (box[0] == offset) {
+        return Arrays.copyOfRange(file, box[0], box[0] + box[1]);
+      }
+    }
+    throw new AssertionError("box not found: " + type);
+  }
+
+  // 트랙 순서대로 stco/co64 오프셋 테이블
+  private static List<long[]> chunkOffsetTables(byte[] moov) {
+    List<long[]> tables = new ArrayList<>();
+    collectOffsets(moov, 8, moov.length, tables);
+    return tables;
+  }
+
+  private static void collectOffsets(byte[] bytes, int start, int end, List<long[]> tables) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    for (int[] box : children(bytes, start, end)) {
+      String type = type(bytes, box[0]);
+      int payload = box[0] + box[2];
+      if (List.of("trak", "mdia", "minf", "stbl").contains(type)) {
+        collectOffsets(bytes, payload, box[0] + box[1], tables);
+      } else if (type.equals("stco") || type.equals("co64")) {
+        int count = buffer.getInt(payload + 4);
+        long[] offsets = new long[count];
+        for (int i = 0; i < count; i++) {
+          offsets[i] = type.equals("co64")
+            ? buffer.getLong(payload + 8 + i * 8)
+            : Integer.toUnsignedLong(buffer.getInt(payload + 8 + i * 4));
+        }
+        tables.add(offsets);
+      }
+    }
+  }
+
+  private static List<String> leafBoxesWithoutOffsets(byte[] moov) {
+    List<String> leaves = new ArrayList<>();
+    collectLeaves(moov, 8, moov.length, leaves);
+    return leaves;
+  }
+
+  private static void collectLeaves(byte[] bytes, int start, int end, List<String> leaves) {
+    for (int[] box : children(bytes, start, end)) {
+      String type = type(bytes, box[0]);
+      if (List.of("trak", "mdia", "minf", "stbl").contains(type)) {
+        collectLeaves(bytes, box[0] + box[2], box[0] + box[1], leaves);
+      } else if (!type.equals("stco") && !type.equals("co64")) {
+        leaves.add(type + ":" + Arrays.toString(Arrays.copyOfRange(bytes, box[0], box[0] + box[1])));
+      }
+    }
+  }
+
+  // {offset, size, headerSize}
+  private static List<int[]> children(byte[] bytes, int start, int end) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    List<int[]> boxes = new ArrayList<>();
+    int position = start;
+    while (position + 8 <= end) {
+      long size = Integer.toUnsignedLong(buffer.getInt(position));
+      int header = 8;
+      if (size == 1) {
+        size = buffer.getLong(position + 8);
+        header = 16;
+      }
+      boxes.add(new int[]{position, (int) size, header});
+      position += (int) size;
+    }
+    return boxes;
+  }
+
+  private static String type(byte[] bytes, int offset) {
+    return new String(bytes, offset + 4, 4, StandardCharsets.US_ASCII);
+  }
+
+  // ---- 코퍼스 생성 ----
+
+  /**
+   * [prefix] [mdat: 트랙 청크를 번갈아 배치] [betweenMdatAndMoov] [moov] [trailer]
+   */
+  private static final class Corpus {
+
+    private final Random random;
+    private final List<byte[]> prefix = new ArrayList<>();
+    private final List<byte[]> between = new ArrayList<>();
+    private final List<byte[]> trailer = new ArrayList<>();
+    private final List<Boolean> wideTracks = new ArrayList<>();
+    private final List<int[]> chunkLengths = new ArrayList<>();
+    private byte[] file;
+
+    Corpus(Random random) {
+      this.random = random;
+    }
+
+    Corpus prefix(byte[]... boxes) {
+      prefix.addAll(List.of(boxes));
+      return this;
+    }
+
+    Corpus track(boolean co64, int chunks, int maxChunkLength) {
+      int[] lengths = new int[chunks];
+      for (int i = 0; i < chunks; i++) {
+        lengths[i] = 1 + random.nextInt(maxChunkLength);
+      }
+      wideTracks.add(co64);
+      chunkLengths.add(lengths);
+      return this;
+    }
+
+    Corpus betweenMdatAndMoov(byte[]... boxes) {
+      between.addAll(List.of(boxes));
+      return this;
+    }
+
+    Corpus trailer(byte[]... boxes) {
+      trailer.addAll(List.of(boxes));
+      return this;
+    }
+
+    Corpus build(boolean largesizeMdat) {
+      byte[] head = concat(prefix.toArray(byte[][]::new));
+      int mdatHeader = largesizeMdat ? 16 : 8;
+
+      ByteArrayOutputStream payload = new ByteArrayOutputStream();
+      List<long[]> offsets = new ArrayList<>();
+      for (int[] lengths : chunkLengths) {
+        offsets.add(new long[lengths.length]);
+      }
+      int maxChunks = chunkLengths.stream().mapToInt(lengths -> lengths.length).max().orElse(0);
+      for (int chunk = 0; chunk < maxChunks; chunk++) {
+        for (int track = 0; track < chunkLengths.size(); track++) {
+          int[] lengths = chunkLengths.get(track);
+          if (chunk < lengths.length) {
+            offsets.get(track)[chunk] = head.length + mdatHeader + payload.size();
+            byte[] data = new byte[lengths[chunk]];
+            random.nextBytes(data);
+            payload.writeBytes(data);
+          }
+        }
+      }
+
+      byte[] mdat;
+      if (largesizeMdat) {
+        ByteBuffer header = ByteBuffer.allocate(16);
+        header.putInt(1).put(ascii("mdat")).putLong(16L + payload.size());
+        mdat = concat(header.array(), payload.toByteArray());
+      } else {
+        mdat = box("mdat", payload.toByteArray());
+      }
+
+      List<byte[]> traks = new ArrayList<>();
+      for (int track = 0; track < chunkLengths.size(); track++) {
+        long[] table = offsets.get(track);
+        traks.add(trak(wideTracks.get(track) ? co64(table) : stco(table)));
+      }
+      byte[] moov = box("moov", concat(
+        box("mvhd", filled(100, 7)),
+        concat(traks.toArray(byte[][]::new)),
+        box("udta", box("meta", filled(40, 9)))));
+
+      file = concat(head, mdat, concat(between.toArray(byte[][]::new)), moov, concat(trailer.toArray(byte[][]::new)));
+      return this;
+    }
+  }
+
+  private static byte[] trak(byte[] chunkOffsets) {
+    return box("trak",
+      box("tkhd", filled(84, 1)),
+      box("mdia",
+        box("mdhd", filled(24, 2)),
+        box("hdlr", filled(33, 3)),
+        box("minf",
+          box("vmhd", filled(12, 4)),
+          box("stbl",
+            box("stsd", filled(90, 5)),
+            box("stts", filled(16, 6)),
+            chunkOffsets))));
+  }
+
+  private static byte[] stco(long[] offsets) {
+    ByteBuffer payload = ByteBuffer.allocate(8 + offsets.length * 4);
+    payload.putInt(0).putInt(offsets.length);
+    for (long offset : offsets) {
+      payload.putInt((int) offset);
+    }
+    return box("stco", payload.array());
+  }
+
+  private static byte[] co64(long[] offsets) {
+    ByteBuffer payload = ByteBuffer.allocate(8 + offsets.length * 8);
+    payload.putInt(0).putInt(offsets.length);
+    for (long offset : offsets) {
+      payload.putLong(offset);
+    }
+    return box("co64", payload.array());
+  }
+
+  private static byte[] box(String type, byte[]... payload) {
+    byte[] body = concat(payload);
+    ByteBuffer box = ByteBuffer.allocate(8 + body.length);
+    box.putInt(box.capacity()).put(ascii(type)).put(body);
+    return box.array();
+  }
+
+  private static byte[] filled(int length, int value) {
+    byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) value);
+    return bytes;
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      out.writeBytes(part);
+    }
+    return out.toByteArray();
+  }
+}
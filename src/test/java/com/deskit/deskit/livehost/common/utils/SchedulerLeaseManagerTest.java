@@ -0,0 +1,173 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseLostException;
+import com.deskit.deskit.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+
+class SchedulerLeaseManagerTest extends RedisContainerSupport {
+
+  private static final String JOB = "test-job";
+  private static final Duration TICK = Duration.ofHours(1);
+
+  private static RedissonClient redissonClient;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SchedulerLeaseManager leaseManager;
+
+  @BeforeAll
+  static void connectRedisson() {
+    Config config = new Config();
+    config.useSingleServer().setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379));
+    redissonClient = Redisson.create(config);
+  }
+
+  @AfterAll
+  static void shutdownRedisson() {
+    redissonClient.shutdown();
+  }
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    leaseManager = new SchedulerLeaseManager(redissonClient, meterRegistry);
+  }
+
+  @Test
+  void runsOncePerTick() {
+    AtomicInteger runs = new AtomicInteger();
+
+    assertTrue(leaseManager.runExclusively(JOB, TICK, runs::incrementAndGet));
+    assertFalse(leaseManager.runExclusively(JOB, TICK, runs::incrementAndGet));
+
+    assertEquals(1, runs.get());
+    assertEquals(1.0, meterRegistry.counter("scheduler.lease.skipped", "job", JOB, "reason", "tick_done").count());
+  }
+
+  @Test
+  void skipsWhileAnotherNodeRunsTheJob() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() ->
+        leaseManager.runExclusively(JOB, Duration.ofMillis(1), () -> {
+          running.countDown();
+          await(finish);
+        }));
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    AtomicInteger runs = new AtomicInteger();
+    assertFalse(leaseManager.runExclusively(JOB, Duration.ofMillis(1), runs::incrementAndGet));
+
+    finish.countDown();
+    assertTrue(first.get(5, TimeUnit.SECONDS));
+    assertEquals(0, runs.get());
+    assertEquals(1.0, meterRegistry.counter("scheduler.lease.skipped", "job", JOB, "reason", "lease_held").count());
+  }
+
+  @Test
+  void leaseIsValidOnlyWhileTheJobRuns() {
+    AtomicBoolean validInside = new AtomicBoolean();
+
+    leaseManager.runExclusively(JOB, TICK, () -> validInside.set(leaseManager.isLeaseValid(JOB)));
+
+    assertTrue(validInside.get());
+    assertFalse(leaseManager.isLeaseValid(JOB));
+  }
+
+  @Test
+  void leaseIsReleasedWhenTheJobFails() {
+    assertFalse(leaseManager.runExclusively(JOB, Duration.ofMillis(1), () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    assertFalse(redissonClient.getLock("scheduler:lease:" + JOB).isLocked());
+    assertEquals(1.0, meterRegistry.counter("scheduler.job.failed", "job", JOB).count());
+  }
+
+  @Test
+  void tickFollowsRedisTimeInsteadOfTheNodeClock() {
+    // 시계가 앞선 노드가 먼 미래 주기까지 실행했다고 기록해도, 주기는 Redis TIME 기준이라 그 전에는 다시 돌지 않는다
+    redisTemplate.opsForValue().set("scheduler:tick:" + JOB, String.valueOf(Long.MAX_VALUE / 2));
+    AtomicInteger runs = new AtomicInteger();
+
+    assertFalse(leaseManager.runExclusively(JOB, Duration.ofMillis(1), runs::incrementAndGet));
+
+    assertEquals(0, runs.get());
+    assertEquals(1.0, meterRegistry.counter("scheduler.lease.skipped", "job", JOB, "reason", "tick_done").count());
+  }
+
+  @Test
+  void everyRunGetsAHigherFenceToken() throws Exception {
+    List<Long> tokens = new ArrayList<>();
+
+    leaseManager.runExclusively(JOB, Duration.ofMillis(1), (LeaseFence fence) -> tokens.add(fence.token()));
+    Thread.sleep(5);
+    leaseManager.runExclusively(JOB, Duration.ofMillis(1), (LeaseFence fence) -> tokens.add(fence.token()));
+
+    assertEquals(2, tokens.size());
+    assertTrue(tokens.get(1) > tokens.get(0));
+  }
+
+  @Test
+  void leaseIsInvalidOnceANewerTokenWasIssued() {
+    AtomicBoolean validAfterTakeover = new AtomicBoolean(true);
+
+    leaseManager.runExclusively(JOB, TICK, (LeaseFence fence) -> {
+      // lease가 만료돼 다른 노드가 새 토큰을 받은 상황
+      redisTemplate.opsForValue().increment("scheduler:fence:" + JOB);
+      validAfterTakeover.set(leaseManager.isLeaseValid(JOB));
+    });
+
+    assertFalse(validAfterTakeover.get());
+  }
+
+  @Test
+  void countsFailoverWhenAnotherNodeRanTheJobLast() throws Exception {
+    redisTemplate.opsForValue().set("scheduler:holder:" + JOB, "other-node");
+
+    leaseManager.runExclusively(JOB, Duration.ofMillis(1), () -> { });
+    Thread.sleep(5);
+    leaseManager.runExclusively(JOB, Duration.ofMillis(1), () -> { });
+
+    // 다른 노드 → 이 노드로 한 번만 바뀌었다
+    assertEquals(1.0, meterRegistry.counter("scheduler.lease.failover", "job", JOB).count());
+  }
+
+  @Test
+  void fencedRunIsCountedSeparatelyFromFailures() {
+    assertFalse(leaseManager.runExclusively(JOB, TICK, (LeaseFence fence) -> {
+      throw new LeaseLostException(fence);
+    }));
+
+    assertEquals(1.0, meterRegistry.counter("scheduler.lease.fenced", "job", JOB).count());
+    assertEquals(0.0, meterRegistry.counter("scheduler.job.failed", "job", JOB).count());
+    assertFalse(redissonClient.getLock("scheduler:lease:" + JOB).isLocked());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
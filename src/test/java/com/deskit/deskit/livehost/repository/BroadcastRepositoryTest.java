@@ -0,0 +1,159 @@
+package com.deskit.deskit.livehost.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.deskit.deskit.account.entity.Seller;
+import com.deskit.deskit.account.enums.SellerRole;
+import com.deskit.deskit.account.enums.SellerStatus;
+import com.deskit.deskit.livehost.common.enums.BroadcastLayout;
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.tag.entity.TagCategory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// 상태 일괄 전환(jOOQ)용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+// 노쇼 전환 경쟁은 트랜잭션을 나눠 커밋해야 재현된다
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BroadcastRepositoryTest {
+
+  private static final String REASON = "방송 시작 시간 초과";
+
+  @Autowired
+  private BroadcastRepository broadcastRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void noShowIsAppliedOnlyOnceWhenEventAndPollingOverlap() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    Long broadcastId = tx.execute(status -> createOverdueBroadcast("seller-1@test.com"));
+    LocalDateTime now = LocalDateTime.now();
+
+    // 이벤트 경로가 먼저 전환하면 폴링 경로는 같은 방송을 돌려주지 않는다
+    assertTrue(tx.execute(status -> broadcastRepository.markNoShow(broadcastId, REASON, now)));
+    assertTrue(tx.execute(status -> broadcastRepository.transitionNoShow(now, REASON)).isEmpty());
+    assertFalse(tx.execute(status -> broadcastRepository.markNoShow(broadcastId, REASON, now)));
+
+    // 폴링 경로가 먼저 전환하면 이벤트 경로는 false
+    Long secondId = tx.execute(status -> createOverdueBroadcast("seller-2@test.com"));
+    List<BroadcastRepositoryCustom.BroadcastScheduleInfo> transitioned =
+        tx.execute(status -> broadcastRepository.transitionNoShow(now, REASON));
+    assertEquals(List.of(secondId), transitioned.stream()
+        .map(BroadcastRepositoryCustom.BroadcastScheduleInfo::broadcastId)
+        .toList());
+    assertFalse(tx.execute(status -> broadcastRepository.markNoShow(secondId, REASON, now)));
+  }
+
+  @Test
+  void noShowTransitionsEveryLockedBroadcastInOneCall() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    Long first = tx.execute(status -> createOverdueBroadcast("batch-1@test.com"));
+    Long second = tx.execute(status -> createOverdueBroadcast("batch-2@test.com"));
+    LocalDateTime now = LocalDateTime.now();
+
+    List<Long> transitioned = tx.execute(status -> broadcastRepository.transitionNoShow(now, REASON)).stream()
+        .map(BroadcastRepositoryCustom.BroadcastScheduleInfo::broadcastId)
+        .sorted()
+        .toList();
+
+    assertEquals(List.of(first, second), transitioned);
+    for (Long id : transitioned) {
+      Broadcast broadcast = tx.execute(status -> broadcastRepository.findById(id).orElseThrow());
+      assertEquals(BroadcastStatus.CANCELED, broadcast.getStatus());
+      assertEquals(REASON, broadcast.getBroadcastStoppedReason());
+    }
+  }
+
+  @Test
+  void concurrentNoShowTransitionsHaveExactlyOneWinner() throws Exception {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    for (int round = 0; round < 20; round++) {
+      Long broadcastId = tx.execute(status -> createOverdueBroadcast("race-" + System.nanoTime() + "@test.com"));
+      LocalDateTime now = LocalDateTime.now();
+      AtomicInteger winners = new AtomicInteger();
+      CountDownLatch start = new CountDownLatch(1);
+
+      CompletableFuture<Void> event = CompletableFuture.runAsync(() -> {
+        await(start);
+        if (Boolean.TRUE.equals(tx.execute(status -> broadcastRepository.markNoShow(broadcastId, REASON, now)))) {
+          winners.incrementAndGet();
+        }
+      });
+      CompletableFuture<Void> polling = CompletableFuture.runAsync(() -> {
+        await(start);
+        winners.addAndGet(tx.execute(status -> broadcastRepository.transitionNoShow(now, REASON)).size());
+      });
+      start.countDown();
+      CompletableFuture.allOf(event, polling).get(10, TimeUnit.SECONDS);
+
+      assertEquals(1, winners.get(), "round " + round);
+      assertEquals(BroadcastStatus.CANCELED, tx.execute(status ->
+          broadcastRepository.findById(broadcastId).orElseThrow().getStatus()));
+    }
+  }
+
+  private Long createOverdueBroadcast(String sellerLoginId) {
+    Seller seller = Seller.builder()
+        .status(SellerStatus.ACTIVE)
+        .name("Test Seller")
+        .loginId(sellerLoginId)
+        .phone("010-1000-1000")
+        .role(SellerRole.ROLE_SELLER_OWNER)
+        .isAgreed(true)
+        .build();
+    entityManager.persist(seller);
+
+    TagCategory category = new TagCategory(TagCategory.TagCode.SPACE, "Test Category");
+    entityManager.persist(category);
+
+    Broadcast broadcast = Broadcast.builder()
+        .seller(seller)
+        .tagCategory(category)
+        .broadcastTitle("no-show")
+        .status(BroadcastStatus.READY)
+        .scheduledAt(LocalDateTime.now().minusMinutes(20))
+        .broadcastThumbUrl("thumb.png")
+        .broadcastLayout(BroadcastLayout.FULL)
+        .build();
+    entityManager.persist(broadcast);
+    entityManager.flush();
+    return broadcast.getBroadcastId();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.deskit.deskit.livehost.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
+import com.deskit.deskit.livehost.entity.VodIngestJob;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// 같은 슬라이스에 올라오는 jOOQ 리포지토리 구현체용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+class VodIngestJobRepositoryTest {
+
+  private static final VodIngestStatus PENDING = VodIngestStatus.PENDING;
+  private static final VodIngestStatus RUNNING = VodIngestStatus.RUNNING;
+
+  @Autowired
+  private VodIngestJobRepository vodIngestJobRepository;
+
+  @Test
+  void onlyOneNodeClaimsAPendingJob() {
+    Long jobId = createPendingJob("rec-claim");
+    LocalDateTime now = LocalDateTime.now();
+
+    assertEquals(1, vodIngestJobRepository.claim(jobId, now, PENDING, RUNNING));
+    assertEquals(0, vodIngestJobRepository.claim(jobId, now, PENDING, RUNNING));
+
+    VodIngestJob job = vodIngestJobRepository.findById(jobId).orElseThrow();
+    assertEquals(RUNNING, job.getStatus());
+    assertEquals(1, job.getAttempts());
+  }
+
+  @Test
+  void heartbeatKeepsLongTransferFromBeingRecovered() {
+    Long jobId = createPendingJob("rec-long");
+    LocalDateTime claimedAt = LocalDateTime.now().minusHours(1);
+    vodIngestJobRepository.claim(jobId, claimedAt, PENDING, RUNNING);
+
+    LocalDateTime now = LocalDateTime.now();
+    assertEquals(1, vodIngestJobRepository.heartbeat(jobId, 1, now, RUNNING));
+
+    assertEquals(0, vodIngestJobRepository.releaseStale(now.minusMinutes(3), now, PENDING, RUNNING));
+    assertEquals(RUNNING, vodIngestJobRepository.findById(jobId).orElseThrow().getStatus());
+  }
+
+  @Test
+  void recoveredJobFencesOutTheOldAttempt() {
+    Long jobId = createPendingJob("rec-dead");
+    vodIngestJobRepository.claim(jobId, LocalDateTime.now().minusMinutes(10), PENDING, RUNNING);
+
+    LocalDateTime now = LocalDateTime.now();
+    assertEquals(1, vodIngestJobRepository.releaseStale(now.minusMinutes(3), now, PENDING, RUNNING));
+    assertEquals(1, vodIngestJobRepository.claim(jobId, now, PENDING, RUNNING));
+
+    // 회수되기 전 시도(attempt 1)의 늦은 쓰기는 모두 무시된다
+    assertEquals(0, vodIngestJobRepository.heartbeat(jobId, 1, now, RUNNING));
+    assertEquals(0, vodIngestJobRepository.recordUploadId(jobId, 1, "old-upload", RUNNING));
+    assertEquals(0, vodIngestJobRepository.scheduleRetry(jobId, 1, "late failure", now, PENDING, RUNNING));
+    assertEquals(0, vodIngestJobRepository.finish(jobId, 1, VodIngestStatus.SUCCEEDED, null, RUNNING));
+
+    assertEquals(1, vodIngestJobRepository.recordUploadId(jobId, 2, "new-upload", RUNNING));
+    assertEquals(1, vodIngestJobRepository.finish(jobId, 2, VodIngestStatus.SUCCEEDED, null, RUNNING));
+
+    VodIngestJob job = vodIngestJobRepository.findById(jobId).orElseThrow();
+    assertEquals(VodIngestStatus.SUCCEEDED, job.getStatus());
+    assertEquals("new-upload", job.getUploadId());
+    assertNull(job.getLastError());
+    assertNull(job.getLockedAt());
+  }
+
+  @Test
+  void retryReturnsTheJobToThePendingQueue() {
+    Long jobId = createPendingJob("rec-retry");
+    LocalDateTime now = LocalDateTime.now();
+    vodIngestJobRepository.claim(jobId, now, PENDING, RUNNING);
+
+    assertEquals(1, vodIngestJobRepository.scheduleRetry(jobId, 1, "timeout", now.plusSeconds(10), PENDING, RUNNING));
+    // 이미 재시도로 돌아간 작업을 같은 시도가 다시 완료할 수는 없다
+    assertEquals(0, vodIngestJobRepository.finish(jobId, 1, VodIngestStatus.SUCCEEDED, null, RUNNING));
+
+    VodIngestJob job = vodIngestJobRepository.findById(jobId).orElseThrow();
+    assertEquals(PENDING, job.getStatus());
+    assertEquals("timeout", job.getLastError());
+    assertNull(job.getLockedAt());
+  }
+
+  private Long createPendingJob(String recordingId) {
+    VodIngestJob job = VodIngestJob.builder()
+        .broadcastId(1L)
+        .recordingId(recordingId)
+        .status(PENDING)
+        .attempts(0)
+        .nextAttemptAt(LocalDateTime.now())
+        .fallbackUrl("")
+        .build();
+    return vodIngestJobRepository.saveAndFlush(job).getJobId();
+  }
+}
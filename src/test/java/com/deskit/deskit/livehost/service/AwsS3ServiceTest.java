@@ -0,0 +1,312 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.deskit.deskit.livehost.common.enums.UploadType;
+import com.deskit.deskit.livehost.common.exception.BusinessException;
+import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.dto.request.PresignedUploadRequest;
+import com.deskit.deskit.livehost.dto.request.UploadConfirmRequest;
+import com.deskit.deskit.livehost.dto.response.ImageUploadResponse;
+import com.deskit.deskit.livehost.dto.response.PresignedUploadResponse;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AwsS3ServiceTest {
+
+  private static final String BUCKET = "deskit";
+
+  private AmazonS3 amazonS3;
+  private ImageVariantService imageVariantService;
+  private AwsS3Service service;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    amazonS3 = mock(AmazonS3.class);
+    imageVariantService = mock(ImageVariantService.class);
+    service = new AwsS3Service(amazonS3, imageVariantService);
+    ReflectionTestUtils.setField(service, "bucket", BUCKET);
+    ReflectionTestUtils.setField(service, "uploadPresignTtlSeconds", 600L);
+    when(amazonS3.getUrl(eq(BUCKET), anyString()))
+      .thenAnswer(invocation -> new URL("http://storage.local/" + BUCKET + "/" + invocation.getArgument(1)));
+  }
+
+  @Test
+  void presignScopesKeyToSellerAndTypeAndSignsContentType() throws Exception {
+    when(amazonS3.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+      .thenReturn(new URL("http://storage.local/deskit/signed?X-Amz-Signature=abc"));
+
+    PresignedUploadResponse response = service.createPresignedUpload(7L, UploadType.THUMBNAIL, presignRequest("cover.PNG", 1024L));
+
+    ArgumentCaptor<GeneratePresignedUrlRequest> captor = ArgumentCaptor.forClass(GeneratePresignedUrlRequest.class);
+    verify(amazonS3).generatePresignedUrl(captor.capture());
+    assertEquals(HttpMethod.PUT, captor.getValue().getMethod());
+    assertEquals("image/png", captor.getValue().getContentType());
+    assertTrue(response.getStoredFileName().startsWith("seller_7/thumbnail/"));
+    assertTrue(response.getStoredFileName().endsWith(".png"));
+    assertEquals("image/png", response.getRequiredHeaders().get("Content-Type"));
+    // 검증 전 객체는 비공개 임시 위치에 올라간다
+    assertEquals("pending/" + response.getStoredFileName(), captor.getValue().getKey());
+    assertFalse(response.getRequiredHeaders().containsKey("x-amz-acl"));
+    assertTrue(captor.getValue().getCustomRequestHeaders() == null
+      || !captor.getValue().getCustomRequestHeaders().containsKey("x-amz-acl"));
+  }
+
+  @Test
+  void presignSignsTheDeclaredContentLength() throws Exception {
+    when(amazonS3.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+      .thenReturn(new URL("http://storage.local/deskit/signed?X-Amz-Signature=abc"));
+
+    PresignedUploadResponse response = service.createPresignedUpload(7L, UploadType.THUMBNAIL, presignRequest("cover.png", 1024L));
+
+    ArgumentCaptor<GeneratePresignedUrlRequest> captor = ArgumentCaptor.forClass(GeneratePresignedUrlRequest.class);
+    verify(amazonS3).generatePresignedUrl(captor.capture());
+    // 서명된 크기와 다른 본문은 스토리지가 거절한다
+    assertEquals("1024", captor.getValue().getCustomRequestHeaders().get("Content-Length"));
+    assertEquals("1024", response.getRequiredHeaders().get("Content-Length"));
+  }
+
+  @Test
+  void presignRejectsOversizedOrUnsupportedFiles() {
+    BusinessException tooBig = assertThrows(BusinessException.class,
+      () -> service.createPresignedUpload(7L, UploadType.THUMBNAIL, presignRequest("a.jpg", UploadType.THUMBNAIL.getMaxSizeBytes() + 1)));
+    BusinessException gif = assertThrows(BusinessException.class,
+      () -> service.createPresignedUpload(7L, UploadType.THUMBNAIL, presignRequest("a.gif", 10L)));
+
+    assertEquals(ErrorCode.FILE_SIZE_EXCEEDED, tooBig.getErrorCode());
+    assertEquals(ErrorCode.INVALID_FILE_EXTENSION, gif.getErrorCode());
+    verify(amazonS3, never()).generatePresignedUrl(any(GeneratePresignedUrlRequest.class));
+  }
+
+  @Test
+  void confirmValidatesDimensionsFromRangedRead() throws IOException {
+    String key = "seller_7/thumbnail/abc.png";
+    byte[] png = png(90, 160);
+    givenStoredObject(key, png);
+
+    ImageUploadResponse response = service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key));
+
+    ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+    verify(amazonS3).getObject(captor.capture());
+    assertEquals(0L, captor.getValue().getRange()[0]);
+    assertEquals(png.length - 1L, captor.getValue().getRange()[1]);
+    assertEquals(key, response.getStoredFileName());
+    assertEquals((long) png.length, response.getFileSize());
+    verify(imageVariantService).generateVariants(key, "png", UploadType.THUMBNAIL);
+  }
+
+  @Test
+  void confirmPublishesValidatedObjectUnderPublicKey() throws IOException {
+    String key = "seller_7/thumbnail/abc.png";
+    givenStoredObject(key, png(90, 160));
+
+    service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key));
+
+    ArgumentCaptor<CopyObjectRequest> captor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+    verify(amazonS3).copyObject(captor.capture());
+    assertEquals("pending/" + key, captor.getValue().getSourceKey());
+    assertEquals(key, captor.getValue().getDestinationKey());
+    assertEquals(CannedAccessControlList.PublicRead, captor.getValue().getCannedAccessControlList());
+    verify(amazonS3).deleteObject(BUCKET, "pending/" + key);
+  }
+
+  @Test
+  void confirmDeletesObjectWithWrongRatio() throws IOException {
+    String key = "seller_7/thumbnail/abc.png";
+    givenStoredObject(key, png(160, 90));
+
+    BusinessException e = assertThrows(BusinessException.class,
+      () -> service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key)));
+
+    assertEquals(ErrorCode.INVALID_IMAGE_RATIO, e.getErrorCode());
+    verify(amazonS3).deleteObject(BUCKET, "pending/" + key);
+    verify(amazonS3, never()).copyObject(any(CopyObjectRequest.class));
+    verify(imageVariantService, never()).generateVariants(anyString(), anyString(), any());
+  }
+
+  @Test
+  void confirmDeletesOversizedObjectWithoutReadingIt() {
+    String key = "seller_7/thumbnail/abc.png";
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentLength(UploadType.THUMBNAIL.getMaxSizeBytes() + 1);
+    when(amazonS3.getObjectMetadata(BUCKET, "pending/" + key)).thenReturn(metadata);
+
+    BusinessException e = assertThrows(BusinessException.class,
+      () -> service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key)));
+
+    assertEquals(ErrorCode.FILE_SIZE_EXCEEDED, e.getErrorCode());
+    verify(amazonS3).deleteObject(BUCKET, "pending/" + key);
+    verify(amazonS3, never()).getObject(any(GetObjectRequest.class));
+    verify(amazonS3, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void confirmStillRejectsWhenDeletingTheFailedObjectFails() throws IOException {
+    String key = "seller_7/thumbnail/abc.png";
+    givenStoredObject(key, png(160, 90));
+    doThrow(new AmazonS3Exception("Service Unavailable")).when(amazonS3).deleteObject(BUCKET, "pending/" + key);
+
+    BusinessException e = assertThrows(BusinessException.class,
+      () -> service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key)));
+
+    assertEquals(ErrorCode.INVALID_IMAGE_RATIO, e.getErrorCode());
+  }
+
+  @Test
+  void confirmRejectsOtherSellersKeyAndMissingObject() {
+    BusinessException forbidden = assertThrows(BusinessException.class,
+      () -> service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest("seller_8/thumbnail/abc.png")));
+    AmazonS3Exception notFound = new AmazonS3Exception("Not Found");
+    notFound.setStatusCode(404);
+    when(amazonS3.getObjectMetadata(BUCKET, "pending/seller_7/thumbnail/missing.png")).thenThrow(notFound);
+    BusinessException missing = assertThrows(BusinessException.class,
+      () -> service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest("seller_7/thumbnail/missing.png")));
+
+    assertEquals(ErrorCode.FORBIDDEN_ACCESS, forbidden.getErrorCode());
+    assertEquals(ErrorCode.FILE_NOT_UPLOADED, missing.getErrorCode());
+  }
+
+  @Test
+  void confirmSucceedsWithoutVariantsWhenVariantQueueIsFull() throws IOException {
+    String key = "seller_7/thumbnail/abc.png";
+    givenStoredObject(key, png(90, 160));
+    doThrow(new TaskRejectedException("queue full"))
+      .when(imageVariantService).generateVariants(key, "png", UploadType.THUMBNAIL);
+
+    ImageUploadResponse response = service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key));
+
+    assertEquals(key, response.getStoredFileName());
+    assertFalse(response.isVariantsPending());
+    assertTrue(response.getVariantUrls().isEmpty());
+    verify(amazonS3, never()).deleteObject(BUCKET, key);
+  }
+
+  @Test
+  void confirmDoesNotAdvertiseVariantsBeforeTheyExist() throws IOException {
+    String key = "seller_7/thumbnail/abc.png";
+    givenStoredObject(key, png(90, 160));
+
+    ImageUploadResponse response = service.confirmUpload(7L, UploadType.THUMBNAIL, confirmRequest(key));
+
+    assertTrue(response.isVariantsPending());
+    assertTrue(response.getVariantUrls().isEmpty());
+  }
+
+  @Test
+  void variantUrlsListOnlyVariantsThatExist() {
+    ListObjectsV2Result listing = new ListObjectsV2Result();
+    listing.getObjectSummaries().add(summary("seller_7/thumbnail/abc_card.png"));
+    listing.getObjectSummaries().add(summary("seller_7/thumbnail/abc_detail.png"));
+    when(amazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listing);
+
+    Map<String, String> urls = service.getVariantUrls(7L, "seller_7/thumbnail/abc.png");
+
+    ArgumentCaptor<ListObjectsV2Request> captor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(amazonS3).listObjectsV2(captor.capture());
+    assertEquals("seller_7/thumbnail/abc_", captor.getValue().getPrefix());
+    assertEquals(Map.of(
+      "card", "http://storage.local/deskit/seller_7/thumbnail/abc_card.png",
+      "detail", "http://storage.local/deskit/seller_7/thumbnail/abc_detail.png"), urls);
+    assertThrows(BusinessException.class, () -> service.getVariantUrls(7L, "seller_8/thumbnail/abc.png"));
+  }
+
+  @Test
+  void sweepDeletesOnlyExpiredPendingUploadsAcrossPages() {
+    Instant cutoff = Instant.parse("2026-01-01T00:00:00Z");
+    ListObjectsV2Result first = new ListObjectsV2Result();
+    first.getObjectSummaries().add(summary("pending/seller_7/thumbnail/old.png", cutoff.minusSeconds(60)));
+    first.getObjectSummaries().add(summary("pending/seller_7/thumbnail/fresh.png", cutoff.plusSeconds(60)));
+    first.setTruncated(true);
+    first.setNextContinuationToken("next");
+    ListObjectsV2Result second = new ListObjectsV2Result();
+    second.getObjectSummaries().add(summary("pending/seller_8/banner/old.jpg", cutoff.minusSeconds(3600)));
+    when(amazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(first, second);
+
+    assertEquals(2, service.sweepPendingUploads(cutoff));
+
+    ArgumentCaptor<ListObjectsV2Request> captor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(amazonS3, times(2)).listObjectsV2(captor.capture());
+    assertEquals("pending/", captor.getValue().getPrefix());
+    verify(amazonS3).deleteObject(BUCKET, "pending/seller_7/thumbnail/old.png");
+    verify(amazonS3).deleteObject(BUCKET, "pending/seller_8/banner/old.jpg");
+    verify(amazonS3, never()).deleteObject(BUCKET, "pending/seller_7/thumbnail/fresh.png");
+  }
+
+  private static S3ObjectSummary summary(String key) {
+    S3ObjectSummary summary = new S3ObjectSummary();
+    summary.setKey(key);
+    return summary;
+  }
+
+  private static S3ObjectSummary summary(String key, Instant lastModified) {
+    S3ObjectSummary summary = summary(key);
+    summary.setLastModified(Date.from(lastModified));
+    return summary;
+  }
+
+  private void givenStoredObject(String key, byte[] content) {
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentLength(content.length);
+    when(amazonS3.getObjectMetadata(BUCKET, "pending/" + key)).thenReturn(metadata);
+    when(amazonS3.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+      S3Object object = new S3Object();
+      object.setObjectContent(new ByteArrayInputStream(content));
+      return object;
+    });
+  }
+
+  private static byte[] png(int width, int height) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+    return out.toByteArray();
+  }
+
+  private static PresignedUploadRequest presignRequest(String fileName, long fileSize) {
+    PresignedUploadRequest request = new PresignedUploadRequest();
+    ReflectionTestUtils.setField(request, "fileName", fileName);
+    ReflectionTestUtils.setField(request, "fileSize", fileSize);
+    return request;
+  }
+
+  private static UploadConfirmRequest confirmRequest(String storedFileName) {
+    UploadConfirmRequest request = new UploadConfirmRequest();
+    ReflectionTestUtils.setField(request, "storedFileName", storedFileName);
+    return request;
+  }
+}
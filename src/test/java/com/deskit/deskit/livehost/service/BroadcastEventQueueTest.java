@@ -0,0 +1,79 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastEventType;
+import com.deskit.deskit.livehost.service.BroadcastEventQueue.DueEvent;
+import com.deskit.deskit.support.RedisContainerSupport;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BroadcastEventQueueTest extends RedisContainerSupport {
+
+  private static final LocalDateTime SCHEDULED_AT = LocalDateTime.of(2026, 10, 19, 14, 0);
+  // READY만 도래한 시각
+  private static final LocalDateTime READY_DUE = BroadcastEventType.READY.dueAt(SCHEDULED_AT);
+  private static final DueEvent READY = new DueEvent(BroadcastEventType.READY, 1L);
+
+  private BroadcastEventQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    queue = new BroadcastEventQueue(redisTemplate);
+    queue.register(1L, SCHEDULED_AT);
+  }
+
+  @Test
+  void claimedEventIsNotHandedOutTwiceWithinItsDeadline() {
+    assertEquals(List.of(READY), queue.claimDue(READY_DUE, 10));
+
+    // 다른 노드가 바로 이어서 선점해도 처리 중인 이벤트는 나오지 않는다
+    assertTrue(queue.claimDue(READY_DUE.plusSeconds(1), 10).isEmpty());
+  }
+
+  @Test
+  void unackedEventIsRedeliveredAfterItsDeadline() {
+    queue.claimDue(READY_DUE, 10);
+
+    // 처리하던 노드가 ack 없이 죽었다
+    LocalDateTime afterDeadline = READY_DUE.plus(BroadcastEventQueue.VISIBILITY_TIMEOUT).plusSeconds(1);
+
+    assertEquals(List.of(READY), queue.claimDue(afterDeadline, 10));
+  }
+
+  @Test
+  void ackedEventIsNeverRedelivered() {
+    queue.claimDue(READY_DUE, 10);
+    queue.ack(READY);
+
+    LocalDateTime afterDeadline = READY_DUE.plus(BroadcastEventQueue.VISIBILITY_TIMEOUT).plusSeconds(1);
+
+    assertTrue(queue.claimDue(afterDeadline, 10).isEmpty());
+  }
+
+  @Test
+  void rescheduleWhileProcessingKeepsTheNewDueTime() {
+    queue.claimDue(READY_DUE, 10);
+
+    // 처리 중에 방송이 하루 뒤로 재예약됐다
+    LocalDateTime rescheduled = SCHEDULED_AT.plusDays(1);
+    queue.register(1L, rescheduled);
+    LocalDateTime afterDeadline = READY_DUE.plus(BroadcastEventQueue.VISIBILITY_TIMEOUT).plusSeconds(1);
+
+    // 기한이 지나 되돌려도 예전 시각으로 당겨지지 않는다
+    assertTrue(queue.claimDue(afterDeadline, 10).isEmpty());
+    assertEquals(List.of(READY), queue.claimDue(BroadcastEventType.READY.dueAt(rescheduled), 10));
+  }
+
+  @Test
+  void removeDropsQueuedAndInFlightEvents() {
+    queue.claimDue(READY_DUE, 10);
+
+    queue.remove(1L);
+
+    assertTrue(queue.claimDue(SCHEDULED_AT.plusDays(1), 10).isEmpty());
+  }
+}
@@ -0,0 +1,174 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.deskit.deskit.support.RedisContainerSupport;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class BroadcastSlotServiceTest extends RedisContainerSupport {
+
+  private static final LocalDateTime SLOT = LocalDate.now().plusDays(1).atTime(14, 0);
+
+  private BroadcastSlotService slotService;
+
+  @BeforeEach
+  void setUp() {
+    slotService = spy(new BroadcastSlotService(redisTemplate, mock(DSLContext.class)));
+  }
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void reserveStopsAtCapacity() {
+    for (int i = 0; i < BroadcastSlotService.SLOT_CAPACITY; i++) {
+      assertTrue(slotService.reserve(SLOT.plusMinutes(10)));
+    }
+
+    assertFalse(slotService.reserve(SLOT));
+    assertEquals(BroadcastSlotService.SLOT_CAPACITY, usedCount());
+  }
+
+  @Test
+  void releaseNeverGoesBelowZero() {
+    slotService.reserve(SLOT);
+
+    slotService.release(SLOT);
+    slotService.release(SLOT);
+
+    assertEquals(0, usedCount());
+  }
+
+  @Test
+  void reserveInsideTransactionIsReturnedOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+    assertTrue(slotService.reserve(SLOT));
+    assertEquals(1, inflightCount());
+
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertEquals(0, usedCount());
+    assertEquals(0, inflightCount());
+  }
+
+  @Test
+  void releaseInsideTransactionAppliesOnlyAfterCommit() {
+    slotService.reserve(SLOT);
+
+    TransactionSynchronizationManager.initSynchronization();
+    slotService.release(SLOT);
+    assertEquals(1, usedCount());
+    assertEquals(1, inflightCount());
+
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertEquals(0, usedCount());
+    assertEquals(0, inflightCount());
+  }
+
+  @Test
+  void reconcileReplacesCountersWithDatabaseSnapshot() {
+    String slotKey = BroadcastSlotService.getSlotKey(SLOT.toLocalDate());
+    String staleKey = BroadcastSlotService.getSlotKey(LocalDate.now().minusDays(1));
+    redisTemplate.opsForHash().put(slotKey, "14:00", "3");
+    redisTemplate.opsForHash().put(slotKey, "20:00", "2");
+    redisTemplate.opsForHash().put(staleKey, "10:00", "1");
+    doReturn(Map.of(SLOT, 2)).when(slotService).loadReservedCounts(any());
+
+    slotService.reconcileFromDatabase();
+
+    assertEquals(Map.of("14:00", "2"), redisTemplate.opsForHash().entries(slotKey));
+    assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(staleKey)));
+    assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(slotKey + ":staging")));
+    assertTrue(redisTemplate.getExpire(slotKey) > 0);
+    assertNull(redisTemplate.opsForValue().get(BroadcastSlotService.RECONCILE_LOCK_KEY));
+  }
+
+  @Test
+  void reconcileIsSkippedWhileAnotherNodeHoldsTheLock() {
+    redisTemplate.opsForValue().set(BroadcastSlotService.RECONCILE_LOCK_KEY, "other-node");
+
+    slotService.reconcileFromDatabase();
+
+    verify(slotService, never()).loadReservedCounts(any());
+    assertEquals("other-node", redisTemplate.opsForValue().get(BroadcastSlotService.RECONCILE_LOCK_KEY));
+  }
+
+  @Test
+  void reserveWaitsUntilReconcileFinishes() throws Exception {
+    redisTemplate.opsForValue().set(BroadcastSlotService.RECONCILE_LOCK_KEY, "other-node");
+
+    CompletableFuture<Boolean> reserved = CompletableFuture.supplyAsync(() -> slotService.reserve(SLOT));
+    Thread.sleep(200);
+    assertFalse(reserved.isDone());
+    assertEquals(0, usedCount());
+
+    redisTemplate.delete(BroadcastSlotService.RECONCILE_LOCK_KEY);
+
+    assertTrue(reserved.get(5, TimeUnit.SECONDS));
+    assertEquals(1, usedCount());
+  }
+
+  @Test
+  void reconcileReadsDatabaseOnlyAfterInflightReservationCommits() throws Exception {
+    TransactionSynchronizationManager.initSynchronization();
+    assertTrue(slotService.reserve(SLOT));
+    // 커밋되면 DB에도 방송 1건이 보인다
+    doReturn(Map.of(SLOT, 1)).when(slotService).loadReservedCounts(any());
+
+    CompletableFuture<Void> reconcile = CompletableFuture.runAsync(slotService::reconcileFromDatabase);
+    Thread.sleep(200);
+    verify(slotService, never()).loadReservedCounts(any());
+
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    reconcile.get(5, TimeUnit.SECONDS);
+    verify(slotService, timeout(1000)).loadReservedCounts(any());
+    assertEquals(1, usedCount());
+  }
+
+  private void complete(int status) {
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(synchronization -> {
+      if (status == TransactionSynchronization.STATUS_COMMITTED) {
+        synchronization.afterCommit();
+      }
+      synchronization.afterCompletion(status);
+    });
+  }
+
+  private int usedCount() {
+    return slotService.getUsedCounts(SLOT.toLocalDate()).getOrDefault(SLOT, 0);
+  }
+
+  private long inflightCount() {
+    Long count = redisTemplate.opsForZSet().zCard(BroadcastSlotService.INFLIGHT_KEY);
+    return count == null ? 0 : count;
+  }
+}
@@ -0,0 +1,106 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.support.RedisContainerSupport;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BroadcastSnapshotCacheTest extends RedisContainerSupport {
+
+  private static final Long BROADCAST_ID = 11L;
+
+  private final Map<Long, BroadcastStatus> database = new ConcurrentHashMap<>();
+  private BroadcastSnapshotCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = spy(new BroadcastSnapshotCache(
+        redisTemplate, mock(RedisMessageListenerContainer.class), mock(DSLContext.class)));
+    doAnswer(invocation -> snapshotOf(invocation.getArgument(0)))
+        .when(cache).loadFromDatabase(anyLong());
+    database.put(BROADCAST_ID, BroadcastStatus.ON_AIR);
+  }
+
+  @Test
+  void readsThroughOnceThenServesFromCache() {
+    assertEquals(BroadcastStatus.ON_AIR, cache.get(BROADCAST_ID).status());
+    assertEquals(BroadcastStatus.ON_AIR, cache.get(BROADCAST_ID).status());
+
+    verify(cache, times(1)).loadFromDatabase(BROADCAST_ID);
+    assertTrue(Boolean.TRUE.equals(redisTemplate.hasKey(snapshotKey())));
+  }
+
+  @Test
+  void evictDropsBothLayers() {
+    cache.get(BROADCAST_ID);
+    database.put(BROADCAST_ID, BroadcastStatus.ENDED);
+
+    cache.evict(BROADCAST_ID);
+
+    assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(snapshotKey())));
+    assertEquals(BroadcastStatus.ENDED, cache.get(BROADCAST_ID).status());
+  }
+
+  @Test
+  void staleLoadRacingWithEvictIsNotCached() {
+    // DB에서 ON_AIR를 읽은 직후 다른 요청이 상태를 바꾸고 evict한 상황
+    doAnswer(invocation -> {
+      BroadcastSnapshot stale = snapshotOf(BROADCAST_ID);
+      database.put(BROADCAST_ID, BroadcastStatus.ENDED);
+      cache.evict(BROADCAST_ID);
+      return stale;
+    }).doAnswer(invocation -> snapshotOf(invocation.getArgument(0)))
+        .when(cache).loadFromDatabase(anyLong());
+
+    assertEquals(BroadcastStatus.ON_AIR, cache.get(BROADCAST_ID).status());
+
+    // 옛 값은 어느 계층에도 남지 않는다
+    assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(snapshotKey())));
+    assertEquals(BroadcastStatus.ENDED, cache.get(BROADCAST_ID).status());
+    verify(cache, times(2)).loadFromDatabase(BROADCAST_ID);
+  }
+
+  @Test
+  void localCacheStaysBoundedWithoutDroppingEverything() {
+    int total = BroadcastSnapshotCache.LOCAL_MAX_SIZE + 500;
+    for (long id = 1; id <= total; id++) {
+      database.put(id, BroadcastStatus.RESERVED);
+      cache.get(id);
+    }
+
+    Cache<?, ?> local = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "localCache");
+    local.cleanUp();
+    assertTrue(local.estimatedSize() <= BroadcastSnapshotCache.LOCAL_MAX_SIZE);
+    // 한도를 넘었다고 전부 비우지 않는다
+    assertTrue(local.estimatedSize() > BroadcastSnapshotCache.LOCAL_MAX_SIZE / 2);
+  }
+
+  private BroadcastSnapshot snapshotOf(Long broadcastId) {
+    BroadcastStatus status = database.get(broadcastId);
+    if (status == null) {
+      return null;
+    }
+    return new BroadcastSnapshot(broadcastId, status, 1L, LocalDateTime.of(2026, 1, 1, 20, 0), null);
+  }
+
+  private static String snapshotKey() {
+    return "broadcast:snapshot:{" + BROADCAST_ID + "}";
+  }
+}
@@ -0,0 +1,113 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.deskit.deskit.livehost.common.enums.UploadType;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ImageVariantServiceTest {
+
+  private static final String BUCKET = "deskit";
+  private static final String KEY = "seller_7/thumbnail/abc.png";
+
+  private AmazonS3 amazonS3;
+  private ImageVariantService service;
+
+  @BeforeEach
+  void setUp() {
+    amazonS3 = mock(AmazonS3.class);
+    service = new ImageVariantService(amazonS3, BUCKET);
+  }
+
+  @Test
+  void uploadsEveryVariantAtItsTargetWidth() throws IOException {
+    givenOriginal(png(2160, 3840));
+
+    service.generateVariants(KEY, "png", UploadType.THUMBNAIL);
+
+    Map<String, BufferedImage> uploaded = uploadedImages(3);
+    assertEquals(270, uploaded.get("seller_7/thumbnail/abc_card.png").getWidth());
+    assertEquals(480, uploaded.get("seller_7/thumbnail/abc_card.png").getHeight());
+    assertEquals(540, uploaded.get("seller_7/thumbnail/abc_detail.png").getWidth());
+    assertEquals(1080, uploaded.get("seller_7/thumbnail/abc_retina.png").getWidth());
+  }
+
+  @Test
+  void neverUpscalesSmallOriginals() throws IOException {
+    givenOriginal(png(90, 160));
+
+    service.generateVariants(KEY, "png", UploadType.THUMBNAIL);
+
+    uploadedImages(3).values().forEach(image -> {
+      assertEquals(90, image.getWidth());
+      assertEquals(160, image.getHeight());
+    });
+  }
+
+  @Test
+  void skipsUndecodableOriginalWithoutThrowing() {
+    givenOriginal("not an image".getBytes());
+
+    service.generateVariants(KEY, "png", UploadType.THUMBNAIL);
+
+    verify(amazonS3, never()).putObject(any(PutObjectRequest.class));
+  }
+
+  @Test
+  void deleteVariantsContinuesPastFailures() {
+    doThrow(new RuntimeException("boom")).when(amazonS3).deleteObject(BUCKET, "seller_7/thumbnail/abc_card.png");
+
+    service.deleteVariants(KEY);
+
+    verify(amazonS3, times(3)).deleteObject(anyString(), anyString());
+    verify(amazonS3).deleteObject(BUCKET, "seller_7/thumbnail/abc_retina.png");
+  }
+
+  private void givenOriginal(byte[] content) {
+    when(amazonS3.getObject(BUCKET, KEY)).thenAnswer(invocation -> {
+      S3Object object = new S3Object();
+      object.setObjectContent(new ByteArrayInputStream(content));
+      return object;
+    });
+  }
+
+  private Map<String, BufferedImage> uploadedImages(int expected) throws IOException {
+    ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(amazonS3, times(expected)).putObject(captor.capture());
+    Map<String, BufferedImage> images = new HashMap<>();
+    for (PutObjectRequest request : captor.getAllValues()) {
+      assertEquals(BUCKET, request.getBucketName());
+      assertEquals("image/png", request.getMetadata().getContentType());
+      assertEquals(CannedAccessControlList.PublicRead, request.getCannedAcl());
+      images.put(request.getKey(), ImageIO.read(request.getInputStream()));
+    }
+    return images;
+  }
+
+  private static byte[] png(int width, int height) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+    return out.toByteArray();
+  }
+}
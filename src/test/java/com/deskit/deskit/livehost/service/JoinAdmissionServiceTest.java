@@ -0,0 +1,175 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.common.exception.RetryableBusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JoinAdmissionServiceTest {
+
+  private static final int MAX_CONCURRENT = 50;
+
+  private SimpleMeterRegistry meterRegistry;
+  private RedissonClient redissonClient;
+  private RRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    redissonClient = mock(RedissonClient.class);
+    rateLimiter = mock(RRateLimiter.class);
+    when(redissonClient.getRateLimiter(anyString())).thenReturn(rateLimiter);
+    when(rateLimiter.tryAcquire()).thenReturn(true);
+  }
+
+  @Test
+  void joinSpikeNeverExceedsConcurrencyLimit() throws Exception {
+    JoinAdmissionService admission = newService();
+    int joins = 10_000;
+
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger admitted = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+
+    ExecutorService workers = Executors.newFixedThreadPool(400);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < joins; i++) {
+      futures.add(workers.submit(() -> {
+        start.await();
+        try {
+          admission.admit(1L, () -> mintToken(inFlight, maxInFlight));
+          admitted.incrementAndGet();
+        } catch (RetryableBusinessException e) {
+          assertEquals(ErrorCode.BROADCAST_JOIN_THROTTLED, e.getErrorCode());
+          assertTrue(e.getRetryAfterSeconds() > 0);
+          rejected.incrementAndGet();
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    workers.shutdown();
+
+    assertTrue(maxInFlight.get() <= MAX_CONCURRENT, "max in-flight " + maxInFlight.get());
+    assertEquals(joins, admitted.get() + rejected.get());
+    assertTrue(admitted.get() > 0);
+
+    assertEquals(admitted.get(), meterRegistry.timer("broadcast.join.token.latency").count());
+    double rejectedMetric = meterRegistry.find("broadcast.join.rejected").counters().stream()
+      .mapToDouble(c -> c.count())
+      .sum();
+    assertEquals(rejected.get(), (int) rejectedMetric);
+  }
+
+  @Test
+  void rejectsWithoutWaitingWhenAllPermitsAreTaken() throws Exception {
+    JoinAdmissionService admission = newService();
+    CountDownLatch holding = new CountDownLatch(MAX_CONCURRENT);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService holders = Executors.newFixedThreadPool(MAX_CONCURRENT);
+    List<Future<String>> held = new ArrayList<>();
+    for (int i = 0; i < MAX_CONCURRENT; i++) {
+      held.add(holders.submit(() -> admission.admit(1L, () -> {
+        holding.countDown();
+        awaitQuietly(release);
+        return "token";
+      })));
+    }
+    assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+    assertThrows(RetryableBusinessException.class, () -> admission.admit(1L, () -> "token"));
+    assertEquals(1.0, meterRegistry.counter("broadcast.join.rejected", "reason", "concurrency_limit").count());
+    // 다른 방송은 영향을 받지 않는다
+    assertEquals("token", admission.admit(2L, () -> "token"));
+
+    release.countDown();
+    for (Future<String> future : held) {
+      assertEquals("token", future.get(5, TimeUnit.SECONDS));
+    }
+    holders.shutdown();
+    assertEquals("token", admission.admit(1L, () -> "token"));
+  }
+
+  @Test
+  void clearDropsTheBroadcastGate() throws Exception {
+    JoinAdmissionService admission = newService();
+    admission.admit(1L, () -> "token");
+
+    admission.clear(1L);
+
+    @SuppressWarnings("unchecked")
+    Cache<Long, ?> gates = (Cache<Long, ?>) ReflectionTestUtils.getField(admission, "gates");
+    assertTrue(gates.asMap().isEmpty());
+  }
+
+  @Test
+  void clusterRateLimitRejectsBeforeLocalGate() {
+    when(rateLimiter.tryAcquire()).thenReturn(false);
+    JoinAdmissionService admission = newService();
+
+    RetryableBusinessException e = assertThrows(RetryableBusinessException.class,
+      () -> admission.admit(1L, () -> "token"));
+
+    assertTrue(e.getRetryAfterSeconds() >= 1);
+    assertEquals(1.0, meterRegistry.counter("broadcast.join.rejected", "reason", "rate_limited").count());
+  }
+
+  @Test
+  void redisFailureFallsBackToLocalLimit() {
+    when(redissonClient.getRateLimiter(anyString())).thenThrow(new IllegalStateException("redis down"));
+    JoinAdmissionService admission = newService();
+
+    assertEquals("token", admission.admit(1L, () -> "token"));
+  }
+
+  private JoinAdmissionService newService() {
+    return new JoinAdmissionService(redissonClient, meterRegistry, MAX_CONCURRENT, 100_000);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private String mintToken(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+    int current = inFlight.incrementAndGet();
+    maxInFlight.accumulateAndGet(current, Math::max);
+    try {
+      Thread.sleep(2);
+      return "token";
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+}
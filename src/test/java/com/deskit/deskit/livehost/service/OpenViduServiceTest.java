@@ -0,0 +1,204 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.openvidu.java.client.Connection;
+import io.openvidu.java.client.OpenVidu;
+import io.openvidu.java.client.OpenViduHttpException;
+import io.openvidu.java.client.Session;
+import io.openvidu.java.client.SessionProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpenViduServiceTest {
+
+  private OpenViduStandIn server;
+  private InMemorySessionRegistry registry;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new OpenViduStandIn();
+    registry = new InMemorySessionRegistry();
+  }
+
+  @Test
+  void repeatedJoinsReuseCachedSessionHandle() throws Exception {
+    OpenViduService node = new OpenViduService(server.client(), registry);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals("token-broadcast-1", node.createToken(1L, Map.of("role", "SUBSCRIBER")));
+    }
+
+    assertEquals(1, server.createSessionCalls.get());
+    assertEquals(1, server.sessionsCreated.get());
+    verify(server.client(), never()).getActiveSession(anyString());
+  }
+
+  @Test
+  void concurrentJoinsOnSeveralNodesCreateSessionOnce() throws Exception {
+    List<OpenViduService> nodes = List.of(
+      new OpenViduService(server.client(), registry),
+      new OpenViduService(server.client(), registry),
+      new OpenViduService(server.client(), registry)
+    );
+    ExecutorService executor = Executors.newFixedThreadPool(24);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+
+    for (int i = 0; i < 240; i++) {
+      OpenViduService node = nodes.get(i % nodes.size());
+      results.add(executor.submit(() -> {
+        start.await();
+        return node.createToken(7L, Map.of("role", "SUBSCRIBER"));
+      }));
+    }
+    start.countDown();
+    for (Future<String> result : results) {
+      assertEquals("token-broadcast-7", result.get(10, TimeUnit.SECONDS));
+    }
+    executor.shutdown();
+
+    assertEquals(1, server.sessionsCreated.get());
+    // 생성 1회 + 나머지 노드의 핸들 획득(기존 세션 반환) 1회씩
+    assertEquals(nodes.size(), server.createSessionCalls.get());
+  }
+
+  @Test
+  void closedSessionIsNotRecreatedByOtherNode() throws Exception {
+    OpenViduService host = new OpenViduService(server.client(), registry);
+    OpenViduService other = new OpenViduService(server.client(), registry);
+
+    host.createToken(3L, Map.of("role", "HOST"));
+    other.createToken(3L, Map.of("role", "SUBSCRIBER"));
+
+    host.closeSession(3L);
+
+    assertNull(registry.find(3L));
+    OpenViduHttpException e = assertThrows(OpenViduHttpException.class,
+      () -> other.createToken(3L, Map.of("role", "SUBSCRIBER")));
+    assertEquals(404, e.getStatus());
+    assertEquals(1, server.sessionsCreated.get());
+  }
+
+  @Test
+  void sessionLostOnServerIsRecreatedOnce() throws Exception {
+    OpenViduService node = new OpenViduService(server.client(), registry);
+    node.createToken(5L, Map.of("role", "SUBSCRIBER"));
+
+    // 미디어 서버 재시작 등으로 세션만 사라진 상황 (레지스트리는 그대로)
+    server.dropSession("broadcast-5");
+
+    assertEquals("token-broadcast-5", node.createToken(5L, Map.of("role", "SUBSCRIBER")));
+    assertEquals(2, server.sessionsCreated.get());
+  }
+
+  /**
+   * OpenVidu 서버 대역. customSessionId가 이미 있으면 기존 세션을 돌려주고(409 처리와 동일),
+   * 닫히거나 사라진 세션에 연결을 만들면 404를 던진다.
+   */
+  private static class OpenViduStandIn {
+
+    private final OpenVidu openVidu = mock(OpenVidu.class);
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> alive = new ConcurrentHashMap<>();
+    private final AtomicInteger createSessionCalls = new AtomicInteger();
+    private final AtomicInteger sessionsCreated = new AtomicInteger();
+
+    OpenViduStandIn() throws Exception {
+      when(openVidu.createSession(any(SessionProperties.class))).thenAnswer(invocation -> {
+        createSessionCalls.incrementAndGet();
+        Thread.sleep(5);
+        String sessionId = ((SessionProperties) invocation.getArgument(0)).customSessionId();
+        synchronized (sessions) {
+          if (!Boolean.TRUE.equals(alive.get(sessionId))) {
+            sessions.put(sessionId, newSession(sessionId));
+            alive.put(sessionId, true);
+            sessionsCreated.incrementAndGet();
+          }
+          return sessions.get(sessionId);
+        }
+      });
+    }
+
+    OpenVidu client() {
+      return openVidu;
+    }
+
+    void dropSession(String sessionId) {
+      alive.put(sessionId, false);
+    }
+
+    private Session newSession(String sessionId) throws Exception {
+      Session session = mock(Session.class);
+      Connection connection = mock(Connection.class);
+      when(connection.getToken()).thenReturn("token-" + sessionId);
+      when(session.getSessionId()).thenReturn(sessionId);
+      when(session.createdAt()).thenReturn((long) sessionsCreated.get() + 1);
+      when(session.createConnection(any())).thenAnswer(invocation -> {
+        if (!Boolean.TRUE.equals(alive.get(sessionId)) || sessions.get(sessionId) != session) {
+          throw new OpenViduHttpException(404);
+        }
+        return connection;
+      });
+      doAnswer(invocation -> {
+        alive.put(sessionId, false);
+        return null;
+      }).when(session).close();
+      return session;
+    }
+  }
+
+  /**
+   * Redis 레지스트리 대역. 분산 락 대신 JVM 락으로 단일 생성자를 보장한다.
+   */
+  private static class InMemorySessionRegistry extends OpenViduSessionRegistry {
+
+    private final Map<Long, SessionEntry> entries = new ConcurrentHashMap<>();
+
+    InMemorySessionRegistry() {
+      super(null, null, null);
+    }
+
+    @Override
+    public SessionEntry find(Long broadcastId) {
+      return entries.get(broadcastId);
+    }
+
+    @Override
+    public synchronized SessionEntry createIfAbsent(Long broadcastId, SessionCreator creator)
+      throws io.openvidu.java.client.OpenViduJavaClientException, OpenViduHttpException {
+      SessionEntry existing = entries.get(broadcastId);
+      if (existing != null) {
+        return existing;
+      }
+      Session session = creator.create();
+      SessionEntry entry = new SessionEntry(session.getSessionId(), session.createdAt());
+      entries.put(broadcastId, entry);
+      return entry;
+    }
+
+    @Override
+    public void remove(Long broadcastId) {
+      entries.remove(broadcastId);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.support.RedisContainerSupport;
+import io.openvidu.java.client.Connection;
+import io.openvidu.java.client.OpenVidu;
+import io.openvidu.java.client.Session;
+import io.openvidu.java.client.SessionProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 실제 Redis 해시 + Redisson 락으로 두 노드(서비스 인스턴스)의 세션 get-or-create를 검증한다.
+ */
+class OpenViduSessionRegistryTest extends RedisContainerSupport {
+
+  private static RedissonClient redissonClient;
+  private static RedisMessageListenerContainer listenerContainer;
+
+  private OpenVidu openVidu;
+  private AtomicInteger createSessionCalls;
+  private AtomicInteger stopRecordingCalls;
+  private AtomicReference<Session> serverSession;
+  private OpenViduService nodeA;
+  private OpenViduService nodeB;
+
+  @BeforeAll
+  static void connectRedisson() {
+    Config config = new Config();
+    config.useSingleServer().setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379));
+    redissonClient = Redisson.create(config);
+
+    listenerContainer = new RedisMessageListenerContainer();
+    listenerContainer.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+    listenerContainer.afterPropertiesSet();
+    listenerContainer.start();
+  }
+
+  @AfterAll
+  static void shutdownRedisson() throws Exception {
+    listenerContainer.destroy();
+    redissonClient.shutdown();
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    createSessionCalls = new AtomicInteger();
+    stopRecordingCalls = new AtomicInteger();
+    serverSession = new AtomicReference<>();
+    openVidu = mock(OpenVidu.class);
+    when(openVidu.createSession(any(SessionProperties.class))).thenAnswer(invocation -> {
+      createSessionCalls.incrementAndGet();
+      // 생성 구간을 넓혀 두 노드의 경합을 만든다
+      Thread.sleep(20);
+      Session session = newSession(((SessionProperties) invocation.getArgument(0)).customSessionId());
+      serverSession.set(session);
+      return session;
+    });
+    when(openVidu.getActiveSession(anyString())).thenAnswer(invocation -> serverSession.get());
+    doAnswer(invocation -> {
+      stopRecordingCalls.incrementAndGet();
+      return null;
+    }).when(openVidu).stopRecording(anyString());
+
+    nodeA = new OpenViduService(openVidu, newRegistry());
+    nodeB = new OpenViduService(openVidu, newRegistry());
+  }
+
+  @Test
+  void concurrentGetOrCreateOnTwoNodesCreatesOneSession() throws Exception {
+    List<OpenViduService> nodes = List.of(nodeA, nodeB);
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+
+    for (int i = 0; i < 64; i++) {
+      OpenViduService node = nodes.get(i % nodes.size());
+      results.add(executor.submit(() -> {
+        start.await();
+        return node.createToken(7L, Map.of("role", "SUBSCRIBER"));
+      }));
+    }
+    start.countDown();
+    for (Future<String> result : results) {
+      assertEquals("token-broadcast-7", result.get(20, TimeUnit.SECONDS));
+    }
+    executor.shutdown();
+
+    // 나중에 락을 잡은 노드는 레지스트리에 등록된 세션에 붙는다
+    assertEquals(1, createSessionCalls.get());
+    assertEquals(Map.of("7", "broadcast-7|1"), redisTemplate.opsForHash().entries("openvidu:sessions"));
+  }
+
+  @Test
+  void closeOnOneNodeDropsTheHandleOnTheOtherNode() throws Exception {
+    nodeA.subscribeRemoval();
+    nodeB.subscribeRemoval();
+    awaitSubscription();
+    nodeA.createSession(3L);
+    nodeB.createSession(3L);
+
+    nodeA.closeSession(3L);
+
+    assertNull(newRegistry().find(3L));
+    // 캐시된 핸들이 남아 있으면 레지스트리를 보지 않고 녹화 중지를 호출한다
+    assertTrue(awaitHandleDropped(nodeB, 3L), "node B kept the closed session handle");
+  }
+
+  private OpenViduSessionRegistry newRegistry() {
+    return new OpenViduSessionRegistry(redisTemplate, redissonClient, listenerContainer);
+  }
+
+  // 구독 등록이 비동기로 끝날 수 있어 신호가 실제로 닿을 때까지 기다린다
+  private void awaitSubscription() throws InterruptedException {
+    CountDownLatch ready = new CountDownLatch(1);
+    OpenViduSessionRegistry registry = newRegistry();
+    registry.subscribeRemoval(broadcastId -> {
+      if (broadcastId == -1L) {
+        ready.countDown();
+      }
+    });
+    for (int i = 0; i < 50 && ready.getCount() > 0; i++) {
+      registry.remove(-1L);
+      ready.await(100, TimeUnit.MILLISECONDS);
+    }
+    assertEquals(0, ready.getCount(), "removal channel was never subscribed");
+  }
+
+  private boolean awaitHandleDropped(OpenViduService node, Long broadcastId) throws Exception {
+    for (int i = 0; i < 50; i++) {
+      int before = stopRecordingCalls.get();
+      node.stopRecording(broadcastId);
+      if (stopRecordingCalls.get() == before) {
+        return true;
+      }
+      Thread.sleep(100);
+    }
+    return false;
+  }
+
+  private static Session newSession(String sessionId) throws Exception {
+    Session session = mock(Session.class);
+    Connection connection = mock(Connection.class);
+    when(connection.getToken()).thenReturn("token-" + sessionId);
+    when(session.getSessionId()).thenReturn(sessionId);
+    when(session.createdAt()).thenReturn(1L);
+    when(session.createConnection(any())).thenReturn(connection);
+    return session;
+  }
+}
@@ -0,0 +1,251 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.home.service.PopularityService;
+import com.deskit.deskit.home.service.PopularityService.SoldEvent;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.BroadcastResultRepository;
+import com.deskit.deskit.livehost.service.BroadcastSalesService.SalesEvent;
+import com.deskit.deskit.livehost.service.BroadcastSalesService.SalesLine;
+import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.enums.OrderOutboxEventType;
+import com.deskit.deskit.order.enums.OrderStatus;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SalesOutboxRelayTest {
+
+  private static final Long BROADCAST_ID = 7L;
+
+  private OrderOutboxRepository orderOutboxRepository;
+  private OrderItemRepository orderItemRepository;
+  private BroadcastRepository broadcastRepository;
+  private BroadcastProductRepository broadcastProductRepository;
+  private BroadcastResultRepository broadcastResultRepository;
+  private BroadcastSalesService broadcastSalesService;
+  private PopularityService popularityService;
+  private SchedulerFenceService schedulerFenceService;
+  private SalesOutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    orderOutboxRepository = mock(OrderOutboxRepository.class);
+    orderItemRepository = mock(OrderItemRepository.class);
+    broadcastRepository = mock(BroadcastRepository.class);
+    broadcastProductRepository = mock(BroadcastProductRepository.class);
+    broadcastResultRepository = mock(BroadcastResultRepository.class);
+    broadcastSalesService = mock(BroadcastSalesService.class);
+    popularityService = mock(PopularityService.class);
+    schedulerFenceService = mock(SchedulerFenceService.class);
+    when(broadcastProductRepository.addSales(anyLong(), anyLong(), anyInt(), anyLong())).thenReturn(1);
+    relay = new SalesOutboxRelay(
+      orderOutboxRepository,
+      orderItemRepository,
+      broadcastRepository,
+      broadcastProductRepository,
+      broadcastResultRepository,
+      broadcastSalesService,
+      popularityService,
+      schedulerFenceService
+    );
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void foldsPaidAndCancelledOrdersIntoBroadcastCounters() {
+    Order paid = order(1L, BROADCAST_ID);
+    Order cancelled = order(2L, BROADCAST_ID);
+    Order offline = order(3L, null);
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of(
+      outbox(11L, paid, OrderOutboxEventType.ORDER_PAID),
+      outbox(12L, cancelled, OrderOutboxEventType.ORDER_CANCELLED),
+      outbox(13L, offline, OrderOutboxEventType.ORDER_PAID)
+    ));
+    when(orderItemRepository.findByOrder_IdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+      item(paid, 10L, 2, 20000),
+      item(paid, 11L, 1, 5000),
+      item(cancelled, 10L, 1, 10000),
+      item(offline, 12L, 3, 3000)
+    ));
+
+    assertEquals(3, relay.relay(100));
+
+    ArgumentCaptor<List<SalesEvent>> events = ArgumentCaptor.forClass(List.class);
+    verify(broadcastSalesService).apply(eq(BROADCAST_ID), events.capture());
+    assertEquals(List.of(
+      new SalesEvent(11L, 1, List.of(new SalesLine(10L, 2, 20000), new SalesLine(11L, 1, 5000))),
+      new SalesEvent(12L, -1, List.of(new SalesLine(10L, 1, 10000)))
+    ), events.getValue());
+
+    verify(broadcastProductRepository).addSales(BROADCAST_ID, 10L, 1, 10000L);
+    verify(broadcastProductRepository).addSales(BROADCAST_ID, 11L, 1, 5000L);
+    verify(broadcastResultRepository).addSales(BROADCAST_ID, BigDecimal.valueOf(15000));
+    verify(orderOutboxRepository).markPublished(eq(List.of(11L, 12L, 13L)), any());
+  }
+
+  @Test
+  void locksTheBroadcastBeforeTouchingItsCheckpoint() {
+    Order paid = order(1L, BROADCAST_ID);
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of(
+      outbox(11L, paid, OrderOutboxEventType.ORDER_PAID)
+    ));
+    when(orderItemRepository.findByOrder_IdIn(List.of(1L))).thenReturn(List.of(item(paid, 10L, 2, 20000)));
+
+    relay.relay(100);
+
+    // 결과 생성과 같은 방송 행 잠금을 먼저 잡아야 결과 생성 중의 증분이 누락되지 않는다
+    InOrder order = inOrder(broadcastRepository, broadcastProductRepository, broadcastResultRepository);
+    order.verify(broadcastRepository).lockForSales(BROADCAST_ID);
+    order.verify(broadcastProductRepository).addSales(BROADCAST_ID, 10L, 2, 20000L);
+    order.verify(broadcastResultRepository).addSales(BROADCAST_ID, BigDecimal.valueOf(20000));
+  }
+
+  @Test
+  void locksBroadcastsInIdOrder() {
+    Order later = order(1L, 9L);
+    Order earlier = order(2L, 3L);
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of(
+      outbox(11L, later, OrderOutboxEventType.ORDER_PAID),
+      outbox(12L, earlier, OrderOutboxEventType.ORDER_PAID)
+    ));
+    when(orderItemRepository.findByOrder_IdIn(List.of(1L, 2L))).thenReturn(List.of(
+      item(later, 10L, 1, 1000),
+      item(earlier, 10L, 1, 1000)
+    ));
+
+    relay.relay(100);
+
+    InOrder order = inOrder(broadcastRepository);
+    order.verify(broadcastRepository).lockForSales(3L);
+    order.verify(broadcastRepository).lockForSales(9L);
+  }
+
+  @Test
+  void resultOnlyCountsSalesThatReachedABroadcastProduct() {
+    Order paid = order(1L, BROADCAST_ID);
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of(
+      outbox(11L, paid, OrderOutboxEventType.ORDER_PAID)
+    ));
+    when(orderItemRepository.findByOrder_IdIn(List.of(1L))).thenReturn(List.of(
+      item(paid, 10L, 2, 20000),
+      item(paid, 99L, 1, 7000)
+    ));
+    when(broadcastProductRepository.addSales(BROADCAST_ID, 99L, 1, 7000L)).thenReturn(0);
+
+    relay.relay(100);
+
+    verify(broadcastResultRepository).addSales(BROADCAST_ID, BigDecimal.valueOf(20000));
+  }
+
+  @Test
+  void purgesPublishedEventsOlderThanTheCutoff() {
+    LocalDateTime before = LocalDateTime.of(2026, 10, 12, 4, 30);
+    when(orderOutboxRepository.findPublishedBefore(eq(before), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+    when(orderOutboxRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+    LeaseFence fence = new LeaseFence("order-outbox-purge", 3L);
+
+    assertEquals(2, relay.purgePublished(before, 100, fence));
+    InOrder order = inOrder(schedulerFenceService, orderOutboxRepository);
+    order.verify(schedulerFenceService).validate(fence);
+    order.verify(orderOutboxRepository).deleteByIds(List.of(1L, 2L));
+  }
+
+  @Test
+  void purgeSkipsDeleteWhenNothingExpired() {
+    when(orderOutboxRepository.findPublishedBefore(any(), any(Pageable.class))).thenReturn(List.of());
+
+    assertEquals(0, relay.purgePublished(LocalDateTime.now(), 100, new LeaseFence("order-outbox-purge", 1L)));
+
+    verify(orderOutboxRepository, never()).deleteByIds(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void recordsEveryOrderIntoPopularityRanking() {
+    Order live = order(1L, BROADCAST_ID);
+    Order offline = order(3L, null);
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of(
+      outbox(11L, live, OrderOutboxEventType.ORDER_PAID),
+      outbox(13L, offline, OrderOutboxEventType.ORDER_CANCELLED)
+    ));
+    when(orderItemRepository.findByOrder_IdIn(List.of(1L, 3L))).thenReturn(List.of(
+      item(live, 10L, 2, 20000),
+      item(offline, 10L, 1, 10000),
+      item(offline, 10L, 2, 20000),
+      item(offline, 12L, 3, 3000)
+    ));
+
+    relay.relay(100);
+
+    ArgumentCaptor<List<SoldEvent>> events = ArgumentCaptor.forClass(List.class);
+    verify(popularityService).recordSales(events.capture());
+    assertEquals(List.of(
+      new SoldEvent(11L, 1, Map.of(10L, 2)),
+      new SoldEvent(13L, -1, Map.of(10L, 3, 12L, 3))
+    ), events.getValue());
+  }
+
+  @Test
+  void publishesNonLiveOrdersWithoutTouchingCounters() {
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of(
+      outbox(21L, order(5L, null), OrderOutboxEventType.ORDER_PAID)
+    ));
+
+    assertEquals(1, relay.relay(100));
+
+    verifyNoInteractions(broadcastSalesService);
+    verify(broadcastProductRepository, never()).addSales(any(), any(), anyInt(), anyLong());
+    verify(orderOutboxRepository).markPublished(eq(List.of(21L)), any());
+  }
+
+  @Test
+  void doesNothingWhenOutboxIsEmpty() {
+    when(orderOutboxRepository.claimUnpublished(any(Pageable.class))).thenReturn(List.of());
+
+    assertEquals(0, relay.relay(100));
+
+    verify(orderOutboxRepository, never()).markPublished(any(), any());
+    verifyNoInteractions(popularityService);
+  }
+
+  private static Order order(Long id, Long broadcastId) {
+    Order order = Order.create(1L, "ORD-" + id, 0, 0, 0, 0, OrderStatus.PAID, broadcastId);
+    ReflectionTestUtils.setField(order, "id", id);
+    return order;
+  }
+
+  private static OrderOutbox outbox(Long id, Order order, OrderOutboxEventType type) {
+    OrderOutbox outbox = OrderOutbox.create(order, type);
+    ReflectionTestUtils.setField(outbox, "id", id);
+    return outbox;
+  }
+
+  private static OrderItem item(Order order, Long productId, int quantity, int subtotal) {
+    return OrderItem.create(order, productId, 1L, "Product " + productId, subtotal / quantity, quantity, subtotal);
+  }
+}
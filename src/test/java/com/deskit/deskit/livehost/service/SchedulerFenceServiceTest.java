@@ -0,0 +1,57 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseFence;
+import com.deskit.deskit.livehost.common.utils.SchedulerLeaseManager.LeaseLostException;
+import com.deskit.deskit.livehost.repository.SchedulerFenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SchedulerFenceService.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// 같은 슬라이스에 올라오는 jOOQ 리포지토리 구현체용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+class SchedulerFenceServiceTest {
+
+  private static final String JOB = "broadcast-schedule-sync";
+
+  @Autowired
+  private SchedulerFenceService schedulerFenceService;
+
+  @Autowired
+  private SchedulerFenceRepository schedulerFenceRepository;
+
+  @Test
+  void newerRunsAdvanceTheFenceAndStaleRunsAreRejected() {
+    schedulerFenceService.validate(new LeaseFence(JOB, 3L));
+    assertEquals(3L, schedulerFenceRepository.findById(JOB).orElseThrow().getFence());
+
+    // 같은 실행의 다음 쓰기, 그리고 다음 실행
+    schedulerFenceService.validate(new LeaseFence(JOB, 3L));
+    schedulerFenceService.validate(new LeaseFence(JOB, 5L));
+    assertEquals(5L, schedulerFenceRepository.findById(JOB).orElseThrow().getFence());
+
+    // lease를 잃은 옛 실행의 늦은 쓰기
+    assertThrows(LeaseLostException.class, () -> schedulerFenceService.validate(new LeaseFence(JOB, 4L)));
+    assertEquals(5L, schedulerFenceRepository.findById(JOB).orElseThrow().getFence());
+  }
+
+  @Test
+  void fencesAreTrackedPerJob() {
+    schedulerFenceService.validate(new LeaseFence(JOB, 7L));
+
+    schedulerFenceService.validate(new LeaseFence("order-outbox-purge", 1L));
+
+    assertEquals(1L, schedulerFenceRepository.findById("order-outbox-purge").orElseThrow().getFence());
+  }
+}
@@ -0,0 +1,144 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VodChunkCacheTest {
+
+  private static final String VOD_URL = "http://storage.local/vod/seller_1/vods/rec-1.mp4";
+  private static final int MB = 1024 * 1024;
+
+  @TempDir
+  Path cacheDir;
+
+  private byte[] object;
+  private AtomicInteger originCalls;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    object = new byte[3 * MB + 123];
+    for (int i = 0; i < object.length; i++) {
+      object[i] = (byte) (i * 31 + (i >> 11));
+    }
+    originCalls = new AtomicInteger();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void missFillsCacheAndSecondReadIsServedFromDisk() throws IOException {
+    VodChunkCache cache = newCache(64);
+
+    assertArrayEquals(slice(MB - 10, 2 * MB + 10), read(cache, MB - 10, 2 * MB + 10));
+    assertEquals(3, originCalls.get()); // 0, 1, 2번 청크
+
+    assertArrayEquals(slice(MB, 2 * MB + 5), read(cache, MB, 2 * MB + 5));
+    assertEquals(3, originCalls.get());
+    assertEquals(2.0, meterRegistry.get("vod.cache.requests").tag("result", "hit").counter().count());
+    assertEquals(MB + 6.0, meterRegistry.get("vod.cache.bytes.served").tag("source", "cache").counter().count());
+  }
+
+  @Test
+  void lastChunkIsShorterThanChunkSize() throws IOException {
+    VodChunkCache cache = newCache(64);
+
+    assertArrayEquals(slice(3 * MB, object.length - 1), read(cache, 3 * MB, object.length - 1));
+    assertArrayEquals(slice(0, object.length - 1), read(cache, 0, object.length - 1));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedChunksOverBudget() throws IOException {
+    VodChunkCache cache = newCache(2);
+
+    read(cache, 0, 10);          // chunk 0
+    read(cache, MB, MB + 10);    // chunk 1
+    read(cache, 0, 10);          // chunk 0 재사용 → chunk 1이 가장 오래됨
+    read(cache, 2 * MB, 2 * MB); // chunk 2 → chunk 1 제거
+    assertEquals(3, originCalls.get());
+
+    read(cache, 0, 10);
+    assertEquals(3, originCalls.get());
+    read(cache, MB, MB + 10);
+    assertEquals(4, originCalls.get());
+    assertEquals(2 * MB, cachedFileBytes());
+  }
+
+  @Test
+  void failedOriginReadDoesNotLeaveChunk() throws IOException {
+    VodChunkCache cache = newCache(64);
+
+    assertThrows(IOException.class, () -> cache.write(VOD_URL, 0, 10, object.length, new ByteArrayOutputStream(),
+      (start, end) -> new ByteArrayInputStream(Arrays.copyOfRange(object, (int) start, (int) start + 100))));
+
+    assertEquals(0, cachedFileBytes());
+    assertArrayEquals(slice(0, 10), read(cache, 0, 10));
+  }
+
+  @Test
+  void reloadsChunksLeftOnDiskAfterRestart() throws IOException {
+    read(newCache(64), 0, MB - 1);
+    assertEquals(1, originCalls.get());
+
+    VodChunkCache restarted = newCache(64);
+    assertArrayEquals(slice(0, 100), read(restarted, 0, 100));
+    assertEquals(1, originCalls.get());
+  }
+
+  @Test
+  void objectSizeIsLoadedOnce() {
+    VodChunkCache cache = newCache(64);
+    AtomicInteger heads = new AtomicInteger();
+
+    cache.getObjectSize(VOD_URL, () -> {
+      heads.incrementAndGet();
+      return object.length;
+    });
+    long size = cache.getObjectSize(VOD_URL, () -> {
+      heads.incrementAndGet();
+      return object.length;
+    });
+
+    assertEquals(object.length, size);
+    assertEquals(1, heads.get());
+  }
+
+  private VodChunkCache newCache(long maxSizeMb) {
+    return new VodChunkCache(meterRegistry, true, cacheDir.toString(), 1, maxSizeMb);
+  }
+
+  private byte[] read(VodChunkCache cache, long start, long end) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    cache.write(VOD_URL, start, end, object.length, out, this::openOrigin);
+    return out.toByteArray();
+  }
+
+  private InputStream openOrigin(long start, long end) {
+    originCalls.incrementAndGet();
+    return new ByteArrayInputStream(Arrays.copyOfRange(object, (int) start, (int) end + 1));
+  }
+
+  private byte[] slice(long start, long end) {
+    return Arrays.copyOfRange(object, (int) start, (int) end + 1);
+  }
+
+  private long cachedFileBytes() throws IOException {
+    try (Stream<Path> files = Files.walk(cacheDir)) {
+      return files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+    }
+  }
+}
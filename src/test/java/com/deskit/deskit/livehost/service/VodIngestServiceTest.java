@@ -0,0 +1,218 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.enums.VodIngestStatus;
+import com.deskit.deskit.livehost.dto.request.OpenViduRecordingWebhook;
+import com.deskit.deskit.livehost.entity.VodIngestJob;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.VodIngestJobRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class VodIngestServiceTest {
+
+  private static final int MAX_CONCURRENT = 2;
+  private static final String VOD_KEY = "seller_9/vods/rec-1.mp4";
+  private static final String VOD_URL = "http://storage.local/vod/" + VOD_KEY;
+
+  @TempDir
+  Path workDir;
+
+  private VodIngestJobRepository jobRepository;
+  private BroadcastRepository broadcastRepository;
+  private BroadcastService broadcastService;
+  private BroadcastSnapshotCache snapshotCache;
+  private AwsS3Service s3Service;
+  private VodMultipartUploader uploader;
+
+  @BeforeEach
+  void setUp() {
+    jobRepository = mock(VodIngestJobRepository.class);
+    broadcastRepository = mock(BroadcastRepository.class);
+    broadcastService = mock(BroadcastService.class);
+    snapshotCache = mock(BroadcastSnapshotCache.class);
+    s3Service = mock(AwsS3Service.class);
+    uploader = mock(VodMultipartUploader.class);
+    when(broadcastRepository.existsById(1L)).thenReturn(true);
+    when(snapshotCache.get(1L)).thenReturn(new BroadcastSnapshot(1L, BroadcastStatus.VOD, 9L, null, null));
+    when(s3Service.getObjectUrl(VOD_KEY)).thenReturn(VOD_URL);
+  }
+
+  @Test
+  void enqueueRecordsAPendingJobAndIgnoresRedeliveredWebhook() {
+    VodIngestService service = newService(Runnable::run);
+
+    service.enqueue(webhook("rec-1"));
+    when(jobRepository.existsByRecordingId("rec-1")).thenReturn(true);
+    service.enqueue(webhook("rec-1"));
+
+    verify(jobRepository, times(1)).saveAndFlush(argThat((VodIngestJob job) ->
+      job.getBroadcastId().equals(1L)
+        && job.getRecordingId().equals("rec-1")
+        && job.getStatus() == VodIngestStatus.PENDING
+        && job.getAttempts() == 0));
+  }
+
+  @Test
+  void enqueueSwallowsConcurrentDuplicateInsert() {
+    when(jobRepository.saveAndFlush(any(VodIngestJob.class)))
+      .thenThrow(new DataIntegrityViolationException("uk_vod_ingest_recording"));
+    VodIngestService service = newService(Runnable::run);
+
+    service.enqueue(webhook("rec-1"));
+
+    verify(jobRepository).saveAndFlush(any(VodIngestJob.class));
+  }
+
+  @Test
+  void dispatchClaimsOnlyFreeSlotsAndSkipsJobsClaimedElsewhere() {
+    List<Runnable> submitted = new ArrayList<>();
+    VodIngestService service = newService(submitted::add);
+    when(jobRepository.findDueJobIds(eq(VodIngestStatus.PENDING), any(LocalDateTime.class), eq(PageRequest.of(0, 2))))
+      .thenReturn(List.of(1L, 2L));
+    // 1번은 다른 노드가 먼저 선점했다
+    when(jobRepository.claim(eq(1L), any(LocalDateTime.class), eq(VodIngestStatus.PENDING), eq(VodIngestStatus.RUNNING)))
+      .thenReturn(0);
+    when(jobRepository.claim(eq(2L), any(LocalDateTime.class), eq(VodIngestStatus.PENDING), eq(VodIngestStatus.RUNNING)))
+      .thenReturn(1);
+
+    service.dispatchDueJobs();
+    assertEquals(1, submitted.size());
+
+    // 실행 중인 작업이 한 슬롯을 차지하므로 남은 한 건만 조회한다
+    service.dispatchDueJobs();
+    verify(jobRepository).findDueJobIds(eq(VodIngestStatus.PENDING), any(LocalDateTime.class), eq(PageRequest.of(0, 1)));
+  }
+
+  @Test
+  void runJobUploadsTheRecordingAndCompletesTheAttempt() throws Exception {
+    givenClaimedJob(1);
+    Path original = givenDownloadedRecording();
+    VodIngestService service = newService(Runnable::run);
+
+    service.dispatchDueJobs();
+
+    verify(uploader).upload(eq(VOD_KEY), any(), any());
+    verify(broadcastService).completeVodIngest(1L, 1, VOD_URL, false);
+    verify(jobRepository, never()).scheduleRetry(anyLong(), anyInt(), anyString(), any(), any(), any());
+    assertFalse(Files.exists(original));
+  }
+
+  @Test
+  void failedUploadSchedulesRetryWithBackoff() throws Exception {
+    givenClaimedJob(1);
+    givenDownloadedRecording();
+    when(uploader.upload(eq(VOD_KEY), any(), any())).thenThrow(new IOException("s3 timeout"));
+    VodIngestService service = newService(Runnable::run);
+
+    LocalDateTime before = LocalDateTime.now();
+    service.dispatchDueJobs();
+
+    verify(jobRepository).scheduleRetry(eq(1L), eq(1), eq("IOException: s3 timeout"),
+      argThat(next -> !next.isBefore(before.plusSeconds(10))),
+      eq(VodIngestStatus.PENDING), eq(VodIngestStatus.RUNNING));
+    verify(broadcastService, never()).completeVodIngest(anyLong(), anyInt(), anyString(), anyBoolean());
+  }
+
+  @Test
+  void rejectedExecutionReturnsTheJobToPendingAndFreesTheSlot() {
+    givenClaimedJob(1);
+    VodIngestService service = newService(command -> {
+      throw new RejectedExecutionException("pool full");
+    });
+
+    service.dispatchDueJobs();
+    service.dispatchDueJobs();
+
+    verify(jobRepository, times(2)).scheduleRetry(eq(1L), eq(1), eq("executor rejected"), any(LocalDateTime.class),
+      eq(VodIngestStatus.PENDING), eq(VodIngestStatus.RUNNING));
+    // 거절된 작업이 슬롯을 잡고 있지 않다
+    verify(jobRepository, times(2)).findDueJobIds(eq(VodIngestStatus.PENDING), any(LocalDateTime.class), eq(PageRequest.of(0, 2)));
+  }
+
+  @Test
+  void backoffGrowsExponentiallyWithJitter() {
+    assertBetween(VodIngestService.backoffSeconds(1), 10, 12);
+    assertBetween(VodIngestService.backoffSeconds(2), 20, 24);
+    assertBetween(VodIngestService.backoffSeconds(3), 40, 48);
+  }
+
+  @Test
+  void backoffIsCappedAtTenMinutes() {
+    for (int attempts = 7; attempts < 100; attempts++) {
+      assertBetween(VodIngestService.backoffSeconds(attempts), 600, 720);
+    }
+  }
+
+  private VodIngestService newService(Executor executor) {
+    VodIngestService service = new VodIngestService(jobRepository, broadcastRepository, broadcastService, snapshotCache,
+      s3Service, uploader, executor, MAX_CONCURRENT, workDir.toString());
+    ReflectionTestUtils.setField(service, "openViduUrl", "http://openvidu.local");
+    ReflectionTestUtils.setField(service, "openViduSecret", "secret");
+    return service;
+  }
+
+  // 선점(claim)으로 attempts가 올라간 RUNNING 작업
+  private void givenClaimedJob(int attempts) {
+    when(jobRepository.findDueJobIds(eq(VodIngestStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
+      .thenReturn(List.of(1L));
+    when(jobRepository.claim(eq(1L), any(LocalDateTime.class), eq(VodIngestStatus.PENDING), eq(VodIngestStatus.RUNNING)))
+      .thenReturn(1);
+    when(jobRepository.findById(1L)).thenReturn(Optional.of(VodIngestJob.builder()
+      .jobId(1L)
+      .broadcastId(1L)
+      .recordingId("rec-1")
+      .status(VodIngestStatus.RUNNING)
+      .attempts(attempts)
+      .nextAttemptAt(LocalDateTime.now())
+      .fallbackUrl("http://openvidu.local/recordings/rec-1.mp4")
+      .build()));
+  }
+
+  // 이전 시도에서 이미 받아 둔 원본 (MP4가 아니라 faststart 변환 없이 그대로 올린다)
+  private Path givenDownloadedRecording() throws IOException {
+    return Files.write(workDir.resolve("rec-1.mp4"), "not-an-mp4".getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static OpenViduRecordingWebhook webhook(String recordingId) {
+    OpenViduRecordingWebhook payload = new OpenViduRecordingWebhook();
+    ReflectionTestUtils.setField(payload, "id", recordingId);
+    ReflectionTestUtils.setField(payload, "sessionId", "broadcast-1");
+    ReflectionTestUtils.setField(payload, "size", 10L);
+    return payload;
+  }
+
+  private void assertBetween(long actual, long min, long max) {
+    assertTrue(actual >= min && actual <= max, "expected " + min + ".." + max + " but was " + actual);
+  }
+}
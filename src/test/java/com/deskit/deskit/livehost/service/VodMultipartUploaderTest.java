@@ -0,0 +1,353 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ListPartsRequest;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class VodMultipartUploaderTest {
+
+  private static final int MB = 1024 * 1024;
+  private static final String BUCKET = "vod";
+  private static final String KEY = "seller_1/vods/rec-1.mp4";
+
+  private LocalS3StandIn s3;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    s3 = new LocalS3StandIn(0);
+  }
+
+  @Test
+  void uploadsAllPartsWithVerifiedChecksums() throws Exception {
+    long size = 17L * MB + 123;
+    VodMultipartUploader uploader = new VodMultipartUploader(s3.client(), BUCKET, 5, 3, 3);
+
+    VodMultipartUploader.Result result = uploader.upload(KEY, offset -> new PatternStream(offset, size), new MemoryCheckpoint());
+
+    assertEquals(4, result.totalParts());
+    assertEquals(size, result.bytesUploaded());
+    assertEquals(size, s3.completedSize(KEY));
+    assertEquals(expectedPartMd5s(size, 5 * MB), s3.completedPartMd5s(KEY));
+  }
+
+  @Test
+  void resumesFromFirstMissingPartAfterFailure() throws Exception {
+    long size = 26L * MB;
+    int partSize = 5 * MB;
+    MemoryCheckpoint checkpoint = new MemoryCheckpoint();
+    List<Long> openedOffsets = new CopyOnWriteArrayList<>();
+    VodMultipartUploader.RangeSource source = offset -> {
+      openedOffsets.add(offset);
+      return new PatternStream(offset, size);
+    };
+
+    s3.failAlways.add(4);
+    VodMultipartUploader uploader = new VodMultipartUploader(s3.client(), BUCKET, 5, 2, 2);
+    assertThrows(IOException.class, () -> uploader.upload(KEY, source, checkpoint));
+    String uploadId = checkpoint.uploadId;
+    assertTrue(s3.uploads.containsKey(uploadId));
+
+    // 재시작: 같은 uploadId로 이어서 올린다.
+    s3.failAlways.clear();
+    int callsBefore = s3.uploadPartCalls.get();
+    VodMultipartUploader restarted = new VodMultipartUploader(s3.client(), BUCKET, 5, 2, 2);
+    VodMultipartUploader.Result result = restarted.upload(KEY, source, checkpoint);
+
+    assertEquals(uploadId, result.uploadId());
+    assertEquals(6, result.totalParts());
+    assertTrue(result.resumedParts() >= 3);
+    assertEquals(3L * partSize, openedOffsets.get(1));
+    assertEquals(6 - result.resumedParts(), s3.uploadPartCalls.get() - callsBefore);
+    assertEquals(expectedPartMd5s(size, partSize), s3.completedPartMd5s(KEY));
+  }
+
+  @Test
+  void retriesPartWhenStoredChecksumDoesNotMatch() throws Exception {
+    long size = 12L * MB;
+    s3.corruptOnce.add(2);
+    VodMultipartUploader uploader = new VodMultipartUploader(s3.client(), BUCKET, 5, 2, 3);
+
+    VodMultipartUploader.Result result = uploader.upload(KEY, offset -> new PatternStream(offset, size), new MemoryCheckpoint());
+
+    assertEquals(3, result.totalParts());
+    assertEquals(4, s3.uploadPartCalls.get());
+    assertEquals(expectedPartMd5s(size, 5 * MB), s3.completedPartMd5s(KEY));
+  }
+
+  @Test
+  void restartsWhenPreviousUploadIsGone() throws Exception {
+    long size = 6L * MB;
+    MemoryCheckpoint checkpoint = new MemoryCheckpoint();
+    checkpoint.uploadId = "expired-upload";
+    VodMultipartUploader uploader = new VodMultipartUploader(s3.client(), BUCKET, 5, 2, 2);
+
+    VodMultipartUploader.Result result = uploader.upload(KEY, offset -> new PatternStream(offset, size), checkpoint);
+
+    assertEquals(0, result.resumedParts());
+    assertEquals(result.uploadId(), checkpoint.uploadId);
+    assertEquals(size, s3.completedSize(KEY));
+  }
+
+  /**
+   * 연결당 대역폭을 제한한 로컬 S3 스탠드인에서 단일 PUT과 병렬 멀티파트의 처리량(GB/min)을 비교한다.
+   */
+  @Test
+  void benchmarkMultipartAgainstSinglePut() throws Exception {
+    long size = 64L * MB;
+    LocalS3StandIn throttled = new LocalS3StandIn(100L * MB / 1000); // 연결당 100MB/s
+
+    AwsS3Service single = new AwsS3Service(throttled.client(), mock(ImageVariantService.class));
+    ReflectionTestUtils.setField(single, "bucket", BUCKET);
+    ReflectionTestUtils.setField(single, "endpoint", "http://localhost:9000");
+    long singleStart = System.nanoTime();
+    single.uploadVodStream(new PatternStream(0, size), KEY, size);
+    double singleGbPerMin = gbPerMinute(size, System.nanoTime() - singleStart);
+
+    VodMultipartUploader multipart = new VodMultipartUploader(throttled.client(), BUCKET, 8, 4, 3);
+    long multipartStart = System.nanoTime();
+    multipart.upload(KEY, offset -> new PatternStream(offset, size), new MemoryCheckpoint());
+    double multipartGbPerMin = gbPerMinute(size, System.nanoTime() - multipartStart);
+
+    assertEquals(size, throttled.completedSize(KEY));
+    assertTrue(multipartGbPerMin > singleGbPerMin * 1.5,
+      "multipart " + multipartGbPerMin + " GB/min vs single " + singleGbPerMin + " GB/min");
+  }
+
+  private static double gbPerMinute(long bytes, long nanos) {
+    return (bytes / (1024.0 * 1024 * 1024)) / (nanos / 60_000_000_000.0);
+  }
+
+  private static List<String> expectedPartMd5s(long size, int partSize) throws Exception {
+    List<String> md5s = new ArrayList<>();
+    for (long offset = 0; offset < size; offset += partSize) {
+      int length = (int) Math.min(partSize, size - offset);
+      byte[] part = new PatternStream(offset, size).readNBytes(length);
+      md5s.add(HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(part)));
+    }
+    return md5s;
+  }
+
+  private static final class MemoryCheckpoint implements VodMultipartUploader.Checkpoint {
+    private volatile String uploadId;
+
+    @Override
+    public String loadUploadId() {
+      return uploadId;
+    }
+
+    @Override
+    public void saveUploadId(String uploadId) {
+      this.uploadId = uploadId;
+    }
+  }
+
+  /**
+   * 위치 기반 결정적 바이트 스트림 (offset부터 다시 열어도 같은 내용)
+   */
+  private static final class PatternStream extends InputStream {
+    private final long size;
+    private long position;
+
+    private PatternStream(long offset, long size) {
+      this.position = offset;
+      this.size = size;
+    }
+
+    private static byte byteAt(long p) {
+      return (byte) (p * 31 + (p >>> 9) * 17 + (p >>> 17));
+    }
+
+    @Override
+    public int read() {
+      if (position >= size) {
+        return -1;
+      }
+      return byteAt(position++) & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (position >= size) {
+        return -1;
+      }
+      int n = (int) Math.min(len, size - position);
+      for (int i = 0; i < n; i++) {
+        b[off + i] = byteAt(position++);
+      }
+      return n;
+    }
+  }
+
+  /**
+   * MinIO 대용 인메모리 S3. 파트는 MD5/크기만 보관하고, 연결당 대역폭은 sleep으로 흉내 낸다.
+   */
+  private static final class LocalS3StandIn {
+    private record StoredPart(String md5Hex, long size) {
+    }
+
+    private final long bytesPerMilli;
+    private final Map<String, ConcurrentSkipListMap<Integer, StoredPart>> uploads = new ConcurrentHashMap<>();
+    private final Map<String, List<StoredPart>> objects = new ConcurrentHashMap<>();
+    private final Set<Integer> failAlways = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> corruptOnce = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger uploadPartCalls = new AtomicInteger();
+    private final AmazonS3 client;
+
+    private LocalS3StandIn(long bytesPerMilli) throws Exception {
+      this.bytesPerMilli = bytesPerMilli;
+      this.client = mock(AmazonS3.class);
+
+      when(client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenAnswer(invocation -> {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new ConcurrentSkipListMap<>());
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setUploadId(uploadId);
+        return result;
+      });
+
+      when(client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+        UploadPartRequest request = invocation.getArgument(0);
+        uploadPartCalls.incrementAndGet();
+        byte[] body = request.getInputStream().readAllBytes();
+        throttle(body.length);
+        if (failAlways.contains(request.getPartNumber())) {
+          throw new AmazonS3Exception("simulated network failure");
+        }
+        byte[] md5 = MessageDigest.getInstance("MD5").digest(body);
+        if (!Base64.getEncoder().encodeToString(md5).equals(request.getMd5Digest())) {
+          throw new AmazonS3Exception("BadDigest");
+        }
+        String md5Hex = HexFormat.of().formatHex(md5);
+        uploads.get(request.getUploadId()).put(request.getPartNumber(), new StoredPart(md5Hex, body.length));
+
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setETag(corruptOnce.remove(request.getPartNumber()) ? "0".repeat(32) : "\"" + md5Hex + "\"");
+        return result;
+      });
+
+      when(client.listParts(any(ListPartsRequest.class))).thenAnswer(invocation -> {
+        ListPartsRequest request = invocation.getArgument(0);
+        Map<Integer, StoredPart> parts = uploads.get(request.getUploadId());
+        if (parts == null) {
+          AmazonS3Exception e = new AmazonS3Exception("The specified upload does not exist");
+          e.setErrorCode("NoSuchUpload");
+          e.setStatusCode(404);
+          throw e;
+        }
+        PartListing listing = new PartListing();
+        List<PartSummary> summaries = new ArrayList<>();
+        parts.forEach((number, part) -> {
+          PartSummary summary = new PartSummary();
+          summary.setPartNumber(number);
+          summary.setETag(part.md5Hex());
+          summary.setSize(part.size());
+          summaries.add(summary);
+        });
+        listing.setParts(summaries);
+        listing.setTruncated(false);
+        return listing;
+      });
+
+      when(client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenAnswer(invocation -> {
+        CompleteMultipartUploadRequest request = invocation.getArgument(0);
+        Map<Integer, StoredPart> stored = uploads.remove(request.getUploadId());
+        MessageDigest composite = MessageDigest.getInstance("MD5");
+        List<StoredPart> parts = new ArrayList<>();
+        for (PartETag tag : request.getPartETags()) {
+          StoredPart part = stored.get(tag.getPartNumber());
+          if (part == null || !part.md5Hex().equals(tag.getETag())) {
+            throw new AmazonS3Exception("InvalidPart");
+          }
+          composite.update(HexFormat.of().parseHex(part.md5Hex()));
+          parts.add(part);
+        }
+        objects.put(request.getKey(), parts);
+        CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+        result.setETag(HexFormat.of().formatHex(composite.digest()) + "-" + parts.size());
+        return result;
+      });
+
+      doAnswer(invocation -> {
+        AbortMultipartUploadRequest request = invocation.getArgument(0);
+        uploads.remove(request.getUploadId());
+        return null;
+      }).when(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+
+      when(client.putObject(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+        PutObjectRequest request = invocation.getArgument(0);
+        byte[] chunk = new byte[MB];
+        long total = 0;
+        int n;
+        try (InputStream in = request.getInputStream()) {
+          while ((n = in.read(chunk)) > 0) {
+            total += n;
+            throttle(n);
+          }
+        }
+        objects.put(request.getKey(), List.of(new StoredPart("", total)));
+        return new PutObjectResult();
+      });
+
+      when(client.getUrl(anyString(), anyString())).thenAnswer(invocation ->
+        new URL("http://localhost:9000/" + invocation.getArgument(0) + "/" + invocation.getArgument(1)));
+    }
+
+    private AmazonS3 client() {
+      return client;
+    }
+
+    private long completedSize(String key) {
+      return objects.get(key).stream().mapToLong(StoredPart::size).sum();
+    }
+
+    private List<String> completedPartMd5s(String key) {
+      return objects.get(key).stream().map(StoredPart::md5Hex).toList();
+    }
+
+    private void throttle(long bytes) throws InterruptedException {
+      if (bytesPerMilli > 0) {
+        Thread.sleep(bytes / bytesPerMilli);
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.deskit.deskit.livehost.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.livehost.common.enums.VodStatus;
+import com.deskit.deskit.livehost.common.exception.BusinessException;
+import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.dto.response.VodPlaybackResponse;
+import com.deskit.deskit.livehost.entity.Vod;
+import com.deskit.deskit.livehost.repository.VodRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class VodServiceTest {
+
+  private static final String VOD_URL = "http://storage.local/vod/seller_1/vods/rec-1.mp4";
+  private static final String PRESIGNED = "http://storage.local/vod/seller_1/vods/rec-1.mp4?X-Amz-Signature=abc";
+
+  private VodRepository vodRepository;
+  private AwsS3Service s3Service;
+
+  @BeforeEach
+  void setUp() {
+    vodRepository = mock(VodRepository.class);
+    s3Service = mock(AwsS3Service.class);
+  }
+
+  @Test
+  void redirectModeReturnsPresignedLocationWithoutTouchingStorage() {
+    givenVod(VodStatus.PUBLIC);
+    when(s3Service.generatePresignedGetUrl(eq(VOD_URL), eq("video/mp4"), any(Instant.class))).thenReturn(PRESIGNED);
+    VodService service = newService("redirect", 300);
+
+    ResponseEntity<StreamingResponseBody> response = service.streamVod(1L, "bytes=100-", null);
+
+    assertEquals(HttpStatus.FOUND, response.getStatusCode());
+    assertEquals(PRESIGNED, response.getHeaders().getLocation().toString());
+    assertTrue(response.getHeaders().getCacheControl().contains("private"));
+    verify(s3Service, never()).getObjectSize(anyString());
+    verify(s3Service, never()).getObjectStream(anyString(), any(), any());
+  }
+
+  @Test
+  void fallsBackToProxyWhenPresignFails() throws Exception {
+    givenVod(VodStatus.PUBLIC);
+    when(s3Service.generatePresignedGetUrl(anyString(), anyString(), any(Instant.class)))
+      .thenThrow(new IllegalStateException("no credentials"));
+    when(s3Service.getObjectSize(VOD_URL)).thenReturn(1000L);
+    when(s3Service.getObjectStream(VOD_URL, 100L, 999L)).thenReturn(new ByteArrayInputStream(new byte[900]));
+    VodService service = newService("redirect", 300);
+
+    ResponseEntity<StreamingResponseBody> response = service.streamVod(1L, "bytes=100-", null);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    assertEquals("bytes 100-999/1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    assertEquals(900, out.size());
+  }
+
+  @Test
+  void proxyModeRequestedByClientStreamsThroughServer() {
+    givenVod(VodStatus.PUBLIC);
+    when(s3Service.getObjectSize(VOD_URL)).thenReturn(1000L);
+    when(s3Service.getObjectStream(VOD_URL, null, null)).thenReturn(new ByteArrayInputStream(new byte[1000]));
+    VodService service = newService("redirect", 300);
+
+    ResponseEntity<StreamingResponseBody> response = service.streamVod(1L, null, "proxy");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    verify(s3Service, never()).generatePresignedGetUrl(anyString(), anyString(), any(Instant.class));
+  }
+
+  @Test
+  void privateVodIsRejectedBeforeSigning() {
+    givenVod(VodStatus.PRIVATE);
+    VodService service = newService("redirect", 300);
+
+    BusinessException e = assertThrows(BusinessException.class, () -> service.streamVod(1L, null, null));
+
+    assertEquals(ErrorCode.FORBIDDEN_ACCESS, e.getErrorCode());
+    verify(s3Service, never()).generatePresignedGetUrl(anyString(), anyString(), any(Instant.class));
+  }
+
+  @Test
+  void playbackUrlFallsBackToProxyPathInProxyMode() {
+    givenVod(VodStatus.PUBLIC);
+    VodService service = newService("proxy", 300);
+
+    VodPlaybackResponse response = service.getPlaybackUrl(1L);
+
+    assertFalse(response.isPresigned());
+    assertEquals("/api/vods/1/stream?mode=proxy", response.getPlaybackUrl());
+  }
+
+  private VodService newService(String mode, long presignTtlSeconds) {
+    VodChunkCache cache = new VodChunkCache(new SimpleMeterRegistry(), false, "unused", 4, 16);
+    return new VodService(vodRepository, s3Service, cache, mode, presignTtlSeconds);
+  }
+
+  private void givenVod(VodStatus status) {
+    Vod vod = Vod.builder()
+      .vodId(1L)
+      .vodUrl(VOD_URL)
+      .vodSize(1000L)
+      .status(status)
+      .build();
+    when(vodRepository.findById(1L)).thenReturn(Optional.of(vod));
+  }
+}
@@ -0,0 +1,62 @@
+package com.deskit.deskit.order.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.enums.OrderOutboxEventType;
+import com.deskit.deskit.order.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// 같은 슬라이스에 올라오는 jOOQ 리포지토리 구현체용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+class OrderOutboxRepositoryTest {
+
+  @Autowired
+  private OrderOutboxRepository orderOutboxRepository;
+
+  @Test
+  void purgesOnlyPublishedEventsPastRetention() {
+    LocalDateTime now = LocalDateTime.now();
+    Long expired = publish(save(1L), now.minusDays(10));
+    Long expiredLater = publish(save(2L), now.minusDays(8));
+    Long recent = publish(save(3L), now.minusDays(1));
+    Long unpublished = save(4L);
+
+    List<Long> candidates = orderOutboxRepository.findPublishedBefore(now.minusDays(7), PageRequest.of(0, 10));
+    assertEquals(List.of(expired, expiredLater), candidates);
+    // 배치 크기만큼만 고른다
+    assertEquals(List.of(expired), orderOutboxRepository.findPublishedBefore(now.minusDays(7), PageRequest.of(0, 1)));
+
+    assertEquals(2, orderOutboxRepository.deleteByIds(candidates));
+
+    assertEquals(List.of(recent, unpublished), orderOutboxRepository.findAll().stream()
+      .map(OrderOutbox::getId)
+      .sorted()
+      .toList());
+  }
+
+  private Long save(Long orderId) {
+    Order order = Order.create(1L, "ORD-" + orderId, 0, 0, 0, 0, OrderStatus.PAID, 7L);
+    ReflectionTestUtils.setField(order, "id", orderId);
+    return orderOutboxRepository.saveAndFlush(OrderOutbox.create(order, OrderOutboxEventType.ORDER_PAID)).getId();
+  }
+
+  private Long publish(Long outboxId, LocalDateTime publishedAt) {
+    orderOutboxRepository.markPublished(List.of(outboxId), publishedAt);
+    return outboxId;
+  }
+}
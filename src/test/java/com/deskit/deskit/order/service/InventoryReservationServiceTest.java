@@ -0,0 +1,317 @@
+package com.deskit.deskit.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.livehost.entity.BroadcastProduct;
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.order.service.InventoryReservationService.CommitResult;
+import com.deskit.deskit.order.service.InventoryReservationService.StockItem;
+import com.deskit.deskit.product.entity.Product;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.support.RedisContainerSupport;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+class InventoryReservationServiceTest extends RedisContainerSupport {
+
+  private ProductRepository productRepository;
+  private BroadcastProductRepository broadcastProductRepository;
+  private InventoryReservationService service;
+
+  @BeforeEach
+  void setUp() {
+    productRepository = mock(ProductRepository.class);
+    broadcastProductRepository = mock(BroadcastProductRepository.class);
+    service = new InventoryReservationService(
+      redisTemplate, productRepository, broadcastProductRepository, mock(PlatformTransactionManager.class), 15);
+  }
+
+  @Test
+  void reservesAllItemsOrNothing() {
+    givenProduct(1L, 5);
+    givenProduct(2L, 1);
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> service.reserve("ORD-1", List.of(StockItem.product(1L, 2), StockItem.product(2L, 2))));
+
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    assertTrue(e.getReason().contains("product_id=2"));
+    assertEquals("5", counter("product:1"));
+    assertEquals("1", counter("product:2"));
+    assertTrue(service.findExpired(Instant.now().plusSeconds(3600), 10).isEmpty());
+  }
+
+  @Test
+  void mergesDuplicateItemsAndIgnoresRepeatedReserve() {
+    givenProduct(1L, 5);
+
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2), StockItem.product(1L, 1)));
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 3)));
+
+    assertEquals("2", counter("product:1"));
+  }
+
+  @Test
+  void reservesBroadcastStockTogetherWithProductStock() {
+    givenProduct(1L, 10);
+    givenBroadcastProduct(5L, 2);
+
+    service.reserve("ORD-1", List.of(new StockItem(1L, 5L, 2)));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> service.reserve("ORD-2", List.of(new StockItem(1L, 5L, 1))));
+
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    assertTrue(e.getReason().contains("bp_id=5"));
+    assertEquals("8", counter("product:1"));
+    assertEquals(Map.of(5L, 0), service.getBroadcastStocks(List.of(5L, 6L)));
+
+    service.release("ORD-1", false);
+    assertEquals(Map.of(5L, 2), service.getBroadcastStocks(List.of(5L)));
+    // 예약 후 취소되어 DB에 반영할 증감분이 없다.
+    assertEquals(Map.of(), service.drainDeltas());
+  }
+
+  @Test
+  void expiredReservationReturnsStockAndRejectsCommit() {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+    service.reserve("ORD-2", List.of(StockItem.product(1L, 1)));
+
+    assertEquals(List.of(), service.findExpired(Instant.now(), 10));
+    assertEquals(List.of("ORD-1", "ORD-2"), service.findExpired(Instant.now().plusSeconds(16 * 60), 10));
+
+    assertEquals(CommitResult.COMMITTED, service.commit("ORD-2"));
+    assertTrue(service.release("ORD-1", true));
+    assertFalse(service.release("ORD-1", true));
+    assertFalse(service.release("ORD-2", false));
+
+    assertEquals("4", counter("product:1"));
+    assertEquals(CommitResult.EXPIRED, service.commit("ORD-1"));
+    assertEquals(CommitResult.NOT_RESERVED, service.commit("ORD-LEGACY"));
+    assertEquals(List.of(), service.findExpired(Instant.now().plusSeconds(16 * 60), 10));
+  }
+
+  @Test
+  void commitInsideTransactionIsHeldUntilCompletionAndUndoneOnRollback() {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      assertEquals(CommitResult.COMMITTED, service.commit("ORD-1"));
+      // 커밋 전: 만료/취소로 해제되지 않는다
+      assertTrue(service.findExpired(Instant.now().plusSeconds(16 * 60), 10).isEmpty());
+      assertFalse(service.release("ORD-1", true));
+      completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // 롤백: 원래 만료 시각으로 되돌아가서 다시 만료될 수 있다
+    assertEquals(List.of(), service.findExpired(Instant.now(), 10));
+    assertEquals(List.of("ORD-1"), service.findExpired(Instant.now().plusSeconds(16 * 60), 10));
+    assertTrue(service.release("ORD-1", true));
+    assertEquals("5", counter("product:1"));
+  }
+
+  @Test
+  void commitInsideTransactionIsFinishedAfterCommit() {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.commit("ORD-1");
+      completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertFalse(redisTemplate.hasKey(InventoryReservationService.KEY_PREFIX + "reservation:ORD-1"));
+    assertTrue(service.findStuckCommits(Instant.now().plusSeconds(16 * 60), 10).isEmpty());
+    assertFalse(service.release("ORD-1", true));
+    assertEquals("3", counter("product:1"));
+  }
+
+  @Test
+  void stuckCommitCanBeHandedBackToExpiry() {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // 결제 트랜잭션 도중 노드가 죽어 완료 콜백이 오지 않은 상황
+      service.commit("ORD-1");
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(List.of(), service.findStuckCommits(Instant.now(), 10));
+    assertEquals(List.of("ORD-1"), service.findStuckCommits(Instant.now().plusSeconds(16 * 60), 10));
+
+    Instant now = Instant.now();
+    service.abortCommit("ORD-1", now);
+    assertEquals(List.of("ORD-1"), service.findExpired(now, 10));
+    assertTrue(service.release("ORD-1", true));
+    assertEquals("5", counter("product:1"));
+  }
+
+  @Test
+  void drainsNetDeltasUntilAcknowledged() {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+    service.reserve("ORD-2", List.of(StockItem.product(1L, 1)));
+    service.release("ORD-2", false);
+
+    assertEquals(Map.of("product:1", -2L), service.drainDeltas());
+    // ack 전에 다시 꺼내면 같은 묶음을 돌려줘야 한다. (반영 실패 후 재시도)
+    service.reserve("ORD-3", List.of(StockItem.product(1L, 1)));
+    assertEquals(Map.of("product:1", -2L), service.drainDeltas());
+
+    service.ackDeltas();
+    assertEquals(Map.of("product:1", -1L), service.drainDeltas());
+  }
+
+  @Test
+  void reloadsCounterWithPendingDeltas() {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+    // DB에는 아직 5가 남아 있는 상태에서 카운터 유실
+    redisTemplate.delete(InventoryReservationService.KEY_PREFIX + "product:1");
+
+    service.reserve("ORD-2", List.of(StockItem.product(1L, 1)));
+
+    assertEquals("2", counter("product:1"));
+  }
+
+  @Test
+  void reloadWaitsUntilReconcileHasAcknowledgedItsDeltas() throws Exception {
+    givenProduct(1L, 5);
+    service.reserve("ORD-1", List.of(StockItem.product(1L, 2)));
+
+    // reconcile: 락을 잡고 inflight(-2)를 DB에 커밋했지만 아직 ack 전
+    String token = service.tryLockStock();
+    assertEquals(Map.of("product:1", -2L), service.drainDeltas());
+    givenProduct(1L, 3);
+    redisTemplate.delete(InventoryReservationService.KEY_PREFIX + "product:1");
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> reload = executor.submit(() -> service.reserve("ORD-2", List.of(StockItem.product(1L, 1))));
+      assertThrows(TimeoutException.class, () -> reload.get(300, TimeUnit.MILLISECONDS));
+
+      service.ackDeltas();
+      service.unlockStock(token);
+      reload.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // DB 3 (이미 -2 반영) - 1. 락이 없으면 inflight를 한 번 더 빼서 0이 된다.
+    assertEquals("2", counter("product:1"));
+  }
+
+  @Test
+  void reloadGivesUpWhileTheStockLockIsHeld() {
+    givenProduct(1L, 5);
+    service.tryLockStock();
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> service.reserve("ORD-1", List.of(StockItem.product(1L, 1))));
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    assertNull(counter("product:1"));
+  }
+
+  @Test
+  void stockLockIsReleasedOnlyByItsOwner() {
+    String token = service.tryLockStock();
+    assertNull(service.tryLockStock());
+
+    service.unlockStock("someone-else");
+    assertNull(service.tryLockStock());
+
+    service.unlockStock(token);
+    assertNotNull(service.tryLockStock());
+  }
+
+  @Test
+  void concurrentBuyersNeverOversell() throws Exception {
+    int buyers = 200;
+    int stock = 50;
+    givenProduct(1L, stock);
+
+    ExecutorService executor = Executors.newFixedThreadPool(32);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger succeeded = new AtomicInteger();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < buyers; i++) {
+        String orderNumber = "ORD-" + i;
+        futures.add(executor.submit(() -> {
+          start.await();
+          try {
+            service.reserve(orderNumber, List.of(StockItem.product(1L, 1)));
+            succeeded.incrementAndGet();
+          } catch (ResponseStatusException e) {
+            assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(stock, succeeded.get());
+    assertEquals("0", counter("product:1"));
+    assertEquals(Map.of("product:1", (long) -stock), service.drainDeltas());
+  }
+
+  private static void completeTransaction(int status) {
+    for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCompletion(status);
+    }
+  }
+
+  private static String counter(String field) {
+    return redisTemplate.opsForValue().get(InventoryReservationService.KEY_PREFIX + field);
+  }
+
+  private void givenProduct(Long id, int stockQty) {
+    Product product = new Product(1L, "p" + id, null, null, 1000, 500, Product.Status.ON_SALE, stockQty, 0);
+    when(productRepository.findByIdAndDeletedAtIsNull(id)).thenReturn(Optional.of(product));
+  }
+
+  private void givenBroadcastProduct(Long bpId, int quantity) {
+    BroadcastProduct bp = BroadcastProduct.builder().bpId(bpId).bpQuantity(quantity).build();
+    when(broadcastProductRepository.findById(bpId)).thenReturn(Optional.of(bp));
+  }
+}
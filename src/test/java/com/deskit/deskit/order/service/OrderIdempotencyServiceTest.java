@@ -0,0 +1,240 @@
+package com.deskit.deskit.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.deskit.deskit.order.dto.CreateOrderItemRequest;
+import com.deskit.deskit.order.dto.CreateOrderRequest;
+import com.deskit.deskit.order.dto.CreateOrderResponse;
+import com.deskit.deskit.order.enums.OrderStatus;
+import com.deskit.deskit.support.RedisContainerSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.server.ResponseStatusException;
+
+class OrderIdempotencyServiceTest extends RedisContainerSupport {
+
+  private static final CreateOrderRequest REQUEST = new CreateOrderRequest(List.of(new CreateOrderItemRequest(10L, 2)));
+  private static final CreateOrderResponse RESPONSE =
+    new CreateOrderResponse(1L, "ORD-1", OrderStatus.CREATED, 20000, List.of(100L));
+  private static final String KEY = "idempotency:order:1:key-1";
+
+  private OrderService orderService;
+  private ThreadPoolTaskScheduler leaseScheduler;
+  private OrderIdempotencyService service;
+
+  @BeforeEach
+  void setUp() {
+    orderService = mock(OrderService.class);
+    leaseScheduler = new ThreadPoolTaskScheduler();
+    leaseScheduler.initialize();
+    service = new OrderIdempotencyService(orderService, redisTemplate, new ObjectMapper(), leaseScheduler, 24, 30, 5000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    leaseScheduler.shutdown();
+  }
+
+  @Test
+  void withoutKeyCreatesOrderDirectly() {
+    when(orderService.createOrder(1L, REQUEST)).thenReturn(RESPONSE);
+
+    assertEquals(RESPONSE, service.createOrder(1L, null, REQUEST));
+    assertEquals(RESPONSE, service.createOrder(1L, " ", REQUEST));
+
+    verify(orderService, times(2)).createOrder(1L, REQUEST);
+    assertTrue(redisTemplate.keys("idempotency:*").isEmpty());
+  }
+
+  @Test
+  void retryReturnsStoredResponseWithoutCreatingAgain() {
+    whenCreatingOrder().thenReturn(RESPONSE);
+
+    CreateOrderResponse first = service.createOrder(1L, "key-1", REQUEST);
+    CreateOrderResponse retry = service.createOrder(1L, "key-1", REQUEST);
+
+    assertEquals(RESPONSE, first);
+    assertEquals(RESPONSE, retry);
+    verify(orderService, times(1)).createOrder(eq(1L), eq(REQUEST), eq("key-1"), anyString());
+    // 결과는 in-flight TTL이 아니라 결과 TTL로 저장된다
+    assertTrue(redisTemplate.getExpire(KEY, TimeUnit.HOURS) > 1);
+  }
+
+  @Test
+  void concurrentDuplicateWaitsForInFlightResult() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    whenCreatingOrder().thenAnswer(invocation -> {
+      entered.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return RESPONSE;
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<CreateOrderResponse> first = executor.submit(() -> service.createOrder(1L, "key-1", REQUEST));
+      entered.await(5, TimeUnit.SECONDS);
+      Future<CreateOrderResponse> duplicate = executor.submit(() -> service.createOrder(1L, "key-1", REQUEST));
+
+      Thread.sleep(50);
+      assertFalse(duplicate.isDone());
+      release.countDown();
+
+      assertEquals(RESPONSE, first.get(5, TimeUnit.SECONDS));
+      assertEquals(RESPONSE, duplicate.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(orderService, times(1)).createOrder(eq(1L), eq(REQUEST), eq("key-1"), anyString());
+  }
+
+  @Test
+  void slowOrderKeepsItsClaimPastTheInFlightTtl() throws Exception {
+    service = new OrderIdempotencyService(orderService, redisTemplate, new ObjectMapper(), leaseScheduler, 24, 1, 5000);
+    CountDownLatch entered = new CountDownLatch(1);
+    whenCreatingOrder().thenAnswer(invocation -> {
+      entered.countDown();
+      Thread.sleep(2500);
+      return RESPONSE;
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<CreateOrderResponse> first = executor.submit(() -> service.createOrder(1L, "key-1", REQUEST));
+      entered.await(5, TimeUnit.SECONDS);
+
+      // in-flight TTL(1초)이 두 번 지나도 선점이 살아 있어서 중복 요청은 기다린다
+      Thread.sleep(1500);
+      assertTrue(Boolean.TRUE.equals(redisTemplate.hasKey(KEY)));
+      Future<CreateOrderResponse> duplicate = executor.submit(() -> service.createOrder(1L, "key-1", REQUEST));
+
+      assertEquals(RESPONSE, first.get(5, TimeUnit.SECONDS));
+      assertEquals(RESPONSE, duplicate.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(orderService, times(1)).createOrder(eq(1L), eq(REQUEST), eq("key-1"), anyString());
+  }
+
+  @Test
+  void rejectsSameKeyWithDifferentRequest() {
+    when(orderService.createOrder(eq(1L), any(CreateOrderRequest.class), eq("key-1"), anyString())).thenReturn(RESPONSE);
+    service.createOrder(1L, "key-1", REQUEST);
+
+    CreateOrderRequest other = new CreateOrderRequest(List.of(new CreateOrderItemRequest(10L, 3)));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> service.createOrder(1L, "key-1", other));
+
+    assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+  }
+
+  @Test
+  void failedRequestReleasesKeyForRetry() {
+    whenCreatingOrder()
+      .thenThrow(new ResponseStatusException(HttpStatus.CONFLICT, "insufficient stock: product_id=10"))
+      .thenReturn(RESPONSE);
+
+    assertThrows(ResponseStatusException.class, () -> service.createOrder(1L, "key-1", REQUEST));
+    assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(KEY)));
+
+    assertEquals(RESPONSE, service.createOrder(1L, "key-1", REQUEST));
+    verify(orderService, times(2)).createOrder(eq(1L), eq(REQUEST), eq("key-1"), anyString());
+  }
+
+  @Test
+  void failedRequestLeavesAnotherRequestsClaimAlone() {
+    // 내 선점이 만료된 사이 다른 요청이 키를 가져간 상황
+    whenCreatingOrder().thenAnswer(invocation -> {
+      redisTemplate.opsForValue().set(KEY, "other-claim");
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "insufficient stock: product_id=10");
+    });
+
+    assertThrows(ResponseStatusException.class, () -> service.createOrder(1L, "key-1", REQUEST));
+
+    assertEquals("other-claim", redisTemplate.opsForValue().get(KEY));
+  }
+
+  @Test
+  void resultIsNotStoredOverAnotherRequestsClaim() {
+    whenCreatingOrder().thenAnswer(invocation -> {
+      redisTemplate.opsForValue().set(KEY, "other-claim");
+      return RESPONSE;
+    });
+
+    assertEquals(RESPONSE, service.createOrder(1L, "key-1", REQUEST));
+
+    assertEquals("other-claim", redisTemplate.opsForValue().get(KEY));
+  }
+
+  @Test
+  void keysAreScopedPerMember() {
+    when(orderService.createOrder(any(), any(CreateOrderRequest.class), any(), any())).thenReturn(RESPONSE);
+
+    service.createOrder(1L, "key-1", REQUEST);
+    service.createOrder(2L, "key-1", REQUEST);
+
+    verify(orderService).createOrder(eq(1L), eq(REQUEST), eq("key-1"), anyString());
+    verify(orderService).createOrder(eq(2L), eq(REQUEST), eq("key-1"), anyString());
+  }
+
+  @Test
+  void retryAfterALostResultReturnsTheCommittedOrder() {
+    // 첫 요청이 주문을 커밋했지만 결과 저장 전에 끝났고, in-flight 키도 만료됐다
+    when(orderService.findIdempotentOrder(eq(1L), eq("key-1"), anyString())).thenReturn(Optional.of(RESPONSE));
+
+    assertEquals(RESPONSE, service.createOrder(1L, "key-1", REQUEST));
+
+    verify(orderService, never()).createOrder(any(), any(CreateOrderRequest.class), any(), any());
+    // 찾은 주문을 결과로 저장해서 다음 재시도는 Redis에서 끝난다
+    assertTrue(redisTemplate.getExpire(KEY, TimeUnit.HOURS) > 1);
+  }
+
+  @Test
+  void concurrentCommitWithTheSameKeyReturnsTheWinningOrder() {
+    // 선점을 잃은 사이 다른 요청이 같은 키로 먼저 커밋해서 유니크 제약에 걸렸다
+    when(orderService.findIdempotentOrder(eq(1L), eq("key-1"), anyString()))
+      .thenReturn(Optional.empty())
+      .thenReturn(Optional.of(RESPONSE));
+    whenCreatingOrder().thenThrow(new DataIntegrityViolationException("uk_order_member_idempotency"));
+
+    assertEquals(RESPONSE, service.createOrder(1L, "key-1", REQUEST));
+  }
+
+  private OngoingStubbing<CreateOrderResponse> whenCreatingOrder() {
+    return when(orderService.createOrder(eq(1L), eq(REQUEST), eq("key-1"), anyString()));
+  }
+
+  @Test
+  void rejectsTooLongKey() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> service.createOrder(1L, "k".repeat(101), REQUEST));
+
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    verifyNoInteractions(orderService);
+  }
+}
@@ -0,0 +1,394 @@
+package com.deskit.deskit.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.deskit.deskit.account.entity.Member;
+import com.deskit.deskit.account.entity.Seller;
+import com.deskit.deskit.account.enums.JobCategory;
+import com.deskit.deskit.account.enums.MBTI;
+import com.deskit.deskit.account.enums.MemberStatus;
+import com.deskit.deskit.account.enums.SellerRole;
+import com.deskit.deskit.account.enums.SellerStatus;
+import com.deskit.deskit.common.util.SnowflakeIdGenerator;
+import com.deskit.deskit.livehost.common.enums.BroadcastLayout;
+import com.deskit.deskit.livehost.common.enums.BroadcastProductStatus;
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.livehost.entity.BroadcastProduct;
+import com.deskit.deskit.order.dto.CreateOrderItemRequest;
+import com.deskit.deskit.order.dto.CreateOrderRequest;
+import com.deskit.deskit.order.dto.CreateOrderResponse;
+import com.deskit.deskit.order.dto.OrderStatusUpdateRequest;
+import com.deskit.deskit.order.enums.OrderStatus;
+import com.deskit.deskit.order.event.BroadcastProductRestockedEvent;
+import com.deskit.deskit.order.event.BroadcastProductSoldOutEvent;
+import com.deskit.deskit.order.repository.OrderRepository;
+import com.deskit.deskit.product.entity.Product;
+import com.deskit.deskit.support.RedisContainerSupport;
+import com.deskit.deskit.tag.entity.TagCategory;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Redis 재고 예약 경로로 주문 생성/상태 변경을 검증한다. (OrderServiceTest는 예약 엔진이 없는 기존 경로)
+ * 예약 확정/해제는 커밋 이후에 일어나므로 테스트 트랜잭션 없이 실제로 커밋한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, SnowflakeIdGenerator.class, InventoryReservationService.class,
+  InventoryReconciliationService.class, OrderServiceReservationTest.RedisTestConfig.class,
+  OrderServiceReservationTest.AfterCommitListener.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// OrderItemRepository의 다중 행 INSERT(jOOQ)용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceReservationTest extends RedisContainerSupport {
+
+  private static final AtomicLong IDS = new AtomicLong(1000);
+
+  @TestConfiguration
+  static class RedisTestConfig {
+
+    @Bean
+    RedisTemplate<String, String> redisTemplate() {
+      return RedisContainerSupport.redisTemplate;
+    }
+  }
+
+  /**
+   * 방송 알림 리스너(BroadcastService)와 같은 AFTER_COMMIT 단계에서 이벤트를 받는다.
+   */
+  static class AfterCommitListener {
+
+    final List<Object> received = new CopyOnWriteArrayList<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onSoldOut(BroadcastProductSoldOutEvent event) {
+      received.add(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onRestocked(BroadcastProductRestockedEvent event) {
+      received.add(event);
+    }
+  }
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private InventoryReconciliationService inventoryReconciliationService;
+
+  @Autowired
+  private AfterCommitListener listener;
+
+  @Autowired
+  private InventoryReservationService inventoryReservationService;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate tx;
+  private Long memberId;
+  private Long sellerId;
+
+  @BeforeEach
+  void setUp() {
+    listener.received.clear();
+    tx = new TransactionTemplate(transactionManager);
+    memberId = tx.execute(status -> persistMember());
+    sellerId = tx.execute(status -> persistSeller());
+  }
+
+  @Test
+  void createOrderReservesStockInRedisAndLeavesDbStockForReconcile() {
+    Long productId = insertProduct(10);
+
+    CreateOrderResponse response = createOrder(productId, 3);
+
+    assertEquals(OrderStatus.CREATED, response.status());
+    assertEquals("7", counter(productId));
+    assertEquals(List.of(response.orderNumber()), inventoryReservationService.findExpired(Instant.now().plusSeconds(3600), 10));
+    // DB 재고는 reconcile에서 반영한다
+    assertEquals(10, dbStock(productId));
+  }
+
+  @Test
+  void rolledBackOrderReleasesItsReservation() {
+    Long productId = insertProduct(10);
+
+    tx.executeWithoutResult(status -> {
+      createOrder(productId, 4);
+      status.setRollbackOnly();
+    });
+
+    assertEquals("10", counter(productId));
+    assertTrue(inventoryReservationService.findExpired(Instant.now().plusSeconds(3600), 10).isEmpty());
+    assertEquals(Map.of(), inventoryReservationService.drainDeltas());
+  }
+
+  @Test
+  void insufficientStockIsRejectedWithoutSavingTheOrder() {
+    Long productId = insertProduct(1);
+    long before = orderRepository.count();
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> createOrder(productId, 2));
+
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    assertEquals("1", counter(productId));
+    assertEquals(before, orderRepository.count());
+  }
+
+  @Test
+  void paymentCommitsTheReservation() {
+    Long productId = insertProduct(10);
+    CreateOrderResponse response = createOrder(productId, 2);
+
+    orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.PAID));
+
+    assertEquals(OrderStatus.PAID, orderRepository.findById(response.orderId()).orElseThrow().getStatus());
+    assertTrue(inventoryReservationService.findExpired(Instant.now().plusSeconds(3600), 10).isEmpty());
+    // 확정된 예약은 만료/취소로 재고를 되돌리지 않는다
+    assertFalse(inventoryReservationService.release(response.orderNumber(), true));
+    assertEquals("8", counter(productId));
+  }
+
+  @Test
+  void rolledBackPaymentLeavesTheReservationExpirable() {
+    Long productId = insertProduct(10);
+    CreateOrderResponse response = createOrder(productId, 2);
+
+    tx.executeWithoutResult(status -> {
+      orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.PAID));
+      status.setRollbackOnly();
+    });
+
+    assertEquals(OrderStatus.CREATED, orderRepository.findById(response.orderId()).orElseThrow().getStatus());
+    assertEquals(List.of(response.orderNumber()), inventoryReservationService.findExpired(Instant.now().plusSeconds(3600), 10));
+    assertTrue(inventoryReservationService.release(response.orderNumber(), true));
+    assertEquals("10", counter(productId));
+  }
+
+  @Test
+  void cancellingAnUnpaidOrderReturnsStock() {
+    Long productId = insertProduct(10);
+    CreateOrderResponse response = createOrder(productId, 2);
+
+    orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.CANCELLED));
+
+    assertEquals("10", counter(productId));
+    assertEquals(Map.of(), inventoryReservationService.drainDeltas());
+  }
+
+  @Test
+  void expiredReservationRejectsPayment() {
+    Long productId = insertProduct(10);
+    CreateOrderResponse response = createOrder(productId, 2);
+    inventoryReservationService.release(response.orderNumber(), true);
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.PAID)));
+
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    assertEquals(OrderStatus.CREATED, orderRepository.findById(response.orderId()).orElseThrow().getStatus());
+    assertEquals("10", counter(productId));
+  }
+
+  @Test
+  void cancelledOrderCannotBePaidAfterItsStockWasReturned() {
+    Long productId = insertProduct(10);
+    CreateOrderResponse response = createOrder(productId, 2);
+    orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.CANCELLED));
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.PAID)));
+
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    assertEquals(OrderStatus.CANCELLED, orderRepository.findById(response.orderId()).orElseThrow().getStatus());
+    assertEquals("10", counter(productId));
+  }
+
+  @Test
+  void paymentIsRejectedOnceTheExpiredMarkerIsGone() {
+    Long productId = insertProduct(10);
+    CreateOrderResponse response = createOrder(productId, 2);
+    inventoryReservationService.release(response.orderNumber(), true);
+    // 만료 표시 TTL이 지난 뒤: commit()은 EXPIRED가 아니라 NOT_RESERVED를 돌려준다
+    redisTemplate.delete(InventoryReservationService.KEY_PREFIX + "expired:" + response.orderNumber());
+
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+      () -> orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.PAID)));
+
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    assertEquals(OrderStatus.CREATED, orderRepository.findById(response.orderId()).orElseThrow().getStatus());
+    assertEquals("10", counter(productId));
+  }
+
+  @Test
+  void soldOutIsAnnouncedOnlyAfterTheOrderCommits() {
+    Long productId = insertProduct(10);
+    BroadcastProduct bp = persistLiveProduct(productId, 2);
+    Long broadcastId = bp.getBroadcast().getBroadcastId();
+
+    tx.executeWithoutResult(status -> {
+      createLiveOrder(broadcastId, productId, 2);
+      status.setRollbackOnly();
+    });
+    assertTrue(listener.received.isEmpty());
+
+    createLiveOrder(broadcastId, productId, 2);
+    assertEquals(List.of(new BroadcastProductSoldOutEvent(broadcastId, bp.getBpId(), productId)), listener.received);
+  }
+
+  @Test
+  void reconcileMarksSoldOutAndAnnouncesRestockWhenStockReturns() {
+    Long productId = insertProduct(10);
+    BroadcastProduct bp = persistLiveProduct(productId, 2);
+    Long broadcastId = bp.getBroadcast().getBroadcastId();
+    CreateOrderResponse response = createLiveOrder(broadcastId, productId, 2);
+
+    inventoryReconciliationService.reconcileStock();
+    assertEquals(BroadcastProductStatus.SOLDOUT, broadcastProductStatus(bp.getBpId()));
+    assertEquals(8, dbStock(productId));
+    listener.received.clear();
+
+    orderService.updateOrderStatus(memberId, response.orderId(), new OrderStatusUpdateRequest(OrderStatus.CANCELLED));
+    inventoryReconciliationService.reconcileStock();
+
+    assertEquals(BroadcastProductStatus.SELLING, broadcastProductStatus(bp.getBpId()));
+    assertEquals(10, dbStock(productId));
+    assertEquals(List.of(new BroadcastProductRestockedEvent(broadcastId, bp.getBpId(), productId)), listener.received);
+
+    // 이미 판매 중이면 다시 알리지 않는다
+    inventoryReconciliationService.reconcileStock();
+    assertEquals(1, listener.received.size());
+  }
+
+  private CreateOrderResponse createLiveOrder(Long broadcastId, Long productId, int quantity) {
+    return orderService.createOrder(memberId, new CreateOrderRequest(
+      List.of(new CreateOrderItemRequest(productId, quantity)), broadcastId));
+  }
+
+  private BroadcastProduct persistLiveProduct(Long productId, int quantity) {
+    return tx.execute(status -> {
+      TagCategory category = new TagCategory(TagCategory.TagCode.SPACE, "Test Category");
+      entityManager.persist(category);
+      Broadcast broadcast = Broadcast.builder()
+        .seller(entityManager.find(Seller.class, sellerId))
+        .tagCategory(category)
+        .broadcastTitle("live")
+        .status(BroadcastStatus.ON_AIR)
+        .scheduledAt(LocalDateTime.now())
+        .broadcastThumbUrl("thumb.png")
+        .broadcastLayout(BroadcastLayout.FULL)
+        .build();
+      entityManager.persist(broadcast);
+      BroadcastProduct bp = BroadcastProduct.builder()
+        .broadcast(broadcast)
+        .product(entityManager.find(Product.class, productId))
+        .displayOrder(1)
+        .bpQuantity(quantity)
+        .status(BroadcastProductStatus.SELLING)
+        .build();
+      entityManager.persist(bp);
+      return bp;
+    });
+  }
+
+  private BroadcastProductStatus broadcastProductStatus(Long bpId) {
+    return BroadcastProductStatus.valueOf((String) entityManager
+      .createNativeQuery("SELECT status FROM broadcast_product WHERE bp_id = :bpId")
+      .setParameter("bpId", bpId)
+      .getSingleResult());
+  }
+
+  private CreateOrderResponse createOrder(Long productId, int quantity) {
+    return orderService.createOrder(memberId, new CreateOrderRequest(List.of(new CreateOrderItemRequest(productId, quantity))));
+  }
+
+  private static String counter(Long productId) {
+    return redisTemplate.opsForValue().get(InventoryReservationService.KEY_PREFIX + "product:" + productId);
+  }
+
+  private int dbStock(Long productId) {
+    return ((Number) entityManager.createNativeQuery("SELECT stock_qty FROM product WHERE product_id = :productId")
+      .setParameter("productId", productId)
+      .getSingleResult()).intValue();
+  }
+
+  private Long persistMember() {
+    Member member = Member.builder()
+      .name("Test Member")
+      .loginId("member-" + IDS.incrementAndGet() + "@test.com")
+      .phone("010-0000-0000")
+      .isAgreed(true)
+      .status(MemberStatus.ACTIVE)
+      .role("ROLE_MEMBER")
+      .mbti(MBTI.NONE)
+      .jobCategory(JobCategory.NONE)
+      .build();
+    entityManager.persist(member);
+    return member.getMemberId();
+  }
+
+  private Long persistSeller() {
+    Seller seller = Seller.builder()
+      .status(SellerStatus.ACTIVE)
+      .name("Test Seller")
+      .loginId("seller-" + IDS.incrementAndGet() + "@test.com")
+      .phone("010-1000-1000")
+      .role(SellerRole.ROLE_SELLER_OWNER)
+      .isAgreed(true)
+      .build();
+    entityManager.persist(seller);
+    return seller.getSellerId();
+  }
+
+  private Long insertProduct(int stockQty) {
+    Long productId = IDS.incrementAndGet();
+    tx.executeWithoutResult(status -> entityManager.createNativeQuery(
+      "INSERT INTO product (product_id, seller_id, product_name, short_desc, detail_html, " +
+      "price, cost_price, status, stock_qty, safety_stock, created_at, updated_at) " +
+      "VALUES (:productId, :sellerId, 'Test Product', 'Short', '<p>Detail</p>', " +
+      "10000, 12000, 'ON_SALE', :stockQty, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"
+    ).setParameter("productId", productId)
+      .setParameter("sellerId", sellerId)
+      .setParameter("stockQty", stockQty)
+      .executeUpdate());
+    return productId;
+  }
+}
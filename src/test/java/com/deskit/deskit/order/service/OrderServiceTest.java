@@ -1,8 +1,11 @@
 package com.deskit.deskit.order.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.deskit.deskit.account.entity.Member;
 import com.deskit.deskit.account.entity.Seller;
@@ -11,28 +14,56 @@ import com.deskit.deskit.account.enums.MBTI;
 import com.deskit.deskit.account.enums.MemberStatus;
 import com.deskit.deskit.account.enums.SellerRole;
 import com.deskit.deskit.account.enums.SellerStatus;
+import com.deskit.deskit.common.util.SnowflakeIdGenerator;
+import com.deskit.deskit.livehost.common.enums.BroadcastLayout;
+import com.deskit.deskit.livehost.common.enums.BroadcastProductStatus;
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.livehost.entity.BroadcastProduct;
 import com.deskit.deskit.order.dto.CreateOrderItemRequest;
 import com.deskit.deskit.order.dto.CreateOrderRequest;
 import com.deskit.deskit.order.dto.CreateOrderResponse;
+import com.deskit.deskit.order.dto.OrderStatusUpdateRequest;
+import com.deskit.deskit.order.dto.OrderSummaryPageResponse;
+import com.deskit.deskit.order.dto.OrderSummaryResponse;
 import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.entity.OrderOutbox;
+import com.deskit.deskit.order.enums.OrderOutboxEventType;
 import com.deskit.deskit.order.enums.OrderStatus;
+import com.deskit.deskit.order.event.BroadcastProductSoldOutEvent;
 import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
 import com.deskit.deskit.order.repository.OrderRepository;
+import com.deskit.deskit.product.entity.Product;
+import com.deskit.deskit.tag.entity.TagCategory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 @DataJpaTest
 @ActiveProfiles("test")
-@Import(OrderService.class)
+@Import({OrderService.class, SnowflakeIdGenerator.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// OrderItemRepository의 다중 행 INSERT(jOOQ)용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+@RecordApplicationEvents
 class OrderServiceTest {
 
   @Autowired
@@ -44,9 +75,15 @@ class OrderServiceTest {
   @Autowired
   private OrderItemRepository orderItemRepository;
 
+  @Autowired
+  private OrderOutboxRepository orderOutboxRepository;
+
   @Autowired
   private TestEntityManager entityManager;
 
+  @Autowired
+  private ApplicationEvents events;
+
   @Test
   void createOrderPersistsOrderAndItems() {
     Member member = persistMember();
@@ -79,6 +116,35 @@ class OrderServiceTest {
     assertEquals(9, stockB);
   }
 
+  @Test
+  void createOrderInsertsAllItemsAndReturnsGeneratedIds() {
+    Member member = persistMember();
+    Seller seller = persistSeller();
+    insertProduct(40L, seller.getSellerId(), "Test Product E", 10);
+    insertProduct(41L, seller.getSellerId(), "Test Product F", 10);
+    insertProduct(42L, seller.getSellerId(), "Test Product G", 10);
+
+    CreateOrderRequest request = new CreateOrderRequest(List.of(
+      new CreateOrderItemRequest(40L, 1),
+      new CreateOrderItemRequest(41L, 2),
+      new CreateOrderItemRequest(42L, 3)
+    ));
+
+    CreateOrderResponse response = orderService.createOrder(member.getMemberId(), request);
+
+    List<OrderItem> saved = orderItemRepository.findByOrder_Id(response.orderId());
+    assertEquals(3, response.orderItemIds().size());
+    assertEquals(
+      response.orderItemIds(),
+      saved.stream().sorted(Comparator.comparing(OrderItem::getId)).map(OrderItem::getId).collect(Collectors.toList())
+    );
+    OrderItem second = saved.stream().filter(item -> item.getId().equals(response.orderItemIds().get(1))).findFirst().orElseThrow();
+    assertEquals(41L, second.getProductId());
+    assertEquals(2, second.getQuantity());
+    assertEquals(20000, second.getSubtotalPrice());
+    assertNotNull(second.getCreatedAt());
+  }
+
   @Test
   void createOrderRejectsInvalidQuantity() {
     Member member = persistMember();
@@ -119,6 +185,203 @@ class OrderServiceTest {
     assertEquals(1, stock);
   }
 
+  @Test
+  void liveOrderUsesBroadcastPriceAndStock() {
+    Member member = persistMember();
+    Seller seller = persistSeller();
+    insertProduct(50L, seller.getSellerId(), "Live Product", 10);
+    BroadcastProduct bp = persistBroadcastProduct(seller, 50L, BroadcastStatus.ON_AIR, 7000, 5);
+
+    CreateOrderResponse response = orderService.createOrder(member.getMemberId(), new CreateOrderRequest(
+      List.of(new CreateOrderItemRequest(50L, 2)), bp.getBroadcast().getBroadcastId()));
+
+    assertEquals(14000, response.orderAmount());
+    OrderItem item = orderItemRepository.findByOrder_Id(response.orderId()).get(0);
+    assertEquals(7000, item.getUnitPrice());
+    assertEquals(3, broadcastQuantity(bp.getBpId()));
+    assertTrue(events.stream(BroadcastProductSoldOutEvent.class).findAny().isEmpty());
+  }
+
+  @Test
+  void liveOrderRequiresBroadcastOnAir() {
+    Member member = persistMember();
+    Seller seller = persistSeller();
+    insertProduct(51L, seller.getSellerId(), "Live Product", 10);
+    BroadcastProduct bp = persistBroadcastProduct(seller, 51L, BroadcastStatus.READY, 7000, 5);
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+      () -> orderService.createOrder(member.getMemberId(), new CreateOrderRequest(
+        List.of(new CreateOrderItemRequest(51L, 1)), bp.getBroadcast().getBroadcastId())));
+
+    assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    assertEquals("broadcast not on air", ex.getReason());
+    assertEquals(5, broadcastQuantity(bp.getBpId()));
+  }
+
+  @Test
+  void liveOrderIsRejectedWhenBroadcastStockRunsOutBeforeProductStock() {
+    Member member = persistMember();
+    Seller seller = persistSeller();
+    insertProduct(52L, seller.getSellerId(), "Live Product", 10);
+    BroadcastProduct bp = persistBroadcastProduct(seller, 52L, BroadcastStatus.ON_AIR, null, 1);
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+      () -> orderService.createOrder(member.getMemberId(), new CreateOrderRequest(
+        List.of(new CreateOrderItemRequest(52L, 2)), bp.getBroadcast().getBroadcastId())));
+
+    // 상품 재고는 충분해도 방송 재고 조건부 UPDATE가 0건이면 거절
+    assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    assertEquals("insufficient stock: bp_id=" + bp.getBpId(), ex.getReason());
+    assertEquals(1, broadcastQuantity(bp.getBpId()));
+  }
+
+  @Test
+  void liveOrderTakingLastBroadcastStockMarksSoldOutOnce() {
+    Member member = persistMember();
+    Seller seller = persistSeller();
+    insertProduct(53L, seller.getSellerId(), "Live Product", 10);
+    BroadcastProduct bp = persistBroadcastProduct(seller, 53L, BroadcastStatus.ON_AIR, null, 2);
+    Long broadcastId = bp.getBroadcast().getBroadcastId();
+
+    CreateOrderResponse response = orderService.createOrder(member.getMemberId(), new CreateOrderRequest(
+      List.of(new CreateOrderItemRequest(53L, 2)), broadcastId));
+
+    // 특가가 없으면 정가
+    assertEquals(20000, response.orderAmount());
+    assertEquals(0, broadcastQuantity(bp.getBpId()));
+    entityManager.clear();
+    assertEquals(BroadcastProductStatus.SOLDOUT, entityManager.find(BroadcastProduct.class, bp.getBpId()).getStatus());
+    assertEquals(
+      List.of(new BroadcastProductSoldOutEvent(broadcastId, bp.getBpId(), 53L)),
+      events.stream(BroadcastProductSoldOutEvent.class).collect(Collectors.toList())
+    );
+  }
+
+  @Test
+  void getMyOrdersPagesByCreatedAtAndOrderId() {
+    Member member = persistMember();
+    LocalDateTime now = LocalDateTime.of(2026, 10, 19, 12, 0);
+    // 같은 시각 주문 3건 + 1시간 전 주문 2건 → 같은 시각끼리는 order_id 내림차순으로 이어져야 한다.
+    List<Long> older = List.of(
+      persistOrder(member.getMemberId(), "ORD-P1", now.minusHours(1)),
+      persistOrder(member.getMemberId(), "ORD-P2", now.minusHours(1))
+    );
+    List<Long> newer = List.of(
+      persistOrder(member.getMemberId(), "ORD-P3", now),
+      persistOrder(member.getMemberId(), "ORD-P4", now),
+      persistOrder(member.getMemberId(), "ORD-P5", now)
+    );
+    persistOrder(member.getMemberId() + 1, "ORD-OTHER", now);
+
+    List<Long> expected = List.of(newer.get(2), newer.get(1), newer.get(0), older.get(1), older.get(0));
+
+    List<Long> visited = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      OrderSummaryPageResponse page = orderService.getMyOrders(member.getMemberId(), cursor, 2);
+      page.items().stream().map(OrderSummaryResponse::orderId).forEach(visited::add);
+      cursor = page.nextCursor();
+      assertEquals(page.hasNext(), cursor != null);
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(expected, visited);
+    assertEquals(3, pages);
+  }
+
+  @Test
+  void getMyOrdersReturnsSingleLastPage() {
+    Member member = persistMember();
+    persistOrder(member.getMemberId(), "ORD-S1", LocalDateTime.of(2026, 10, 19, 12, 0));
+
+    OrderSummaryPageResponse page = orderService.getMyOrders(member.getMemberId(), null, null);
+
+    assertEquals(1, page.items().size());
+    assertEquals("ORD-S1", page.items().get(0).orderNumber());
+    assertEquals(20000, page.items().get(0).orderAmount());
+    assertFalse(page.hasNext());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void getMyOrdersRejectsInvalidCursorAndSize() {
+    ResponseStatusException badCursor = assertThrows(ResponseStatusException.class,
+      () -> orderService.getMyOrders(1L, "not-a-cursor", 20));
+    ResponseStatusException badSize = assertThrows(ResponseStatusException.class,
+      () -> orderService.getMyOrders(1L, null, 101));
+
+    assertEquals(HttpStatus.BAD_REQUEST, badCursor.getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, badSize.getStatusCode());
+  }
+
+  @Test
+  void updateOrderStatusWritesSalesOutboxOnlyForSalesTransitions() {
+    Member member = persistMember();
+    Long paidThenCancelled = persistOrder(member.getMemberId(), "ORD-O1", LocalDateTime.of(2026, 10, 19, 12, 0));
+    Long cancelledUnpaid = persistOrder(member.getMemberId(), "ORD-O2", LocalDateTime.of(2026, 10, 19, 12, 1));
+
+    orderService.updateOrderStatus(member.getMemberId(), paidThenCancelled, new OrderStatusUpdateRequest(OrderStatus.PAID));
+    orderService.updateOrderStatus(member.getMemberId(), paidThenCancelled, new OrderStatusUpdateRequest(OrderStatus.CANCELLED));
+    // 결제 전 취소는 매출 변화가 없으므로 이벤트를 남기지 않는다.
+    orderService.updateOrderStatus(member.getMemberId(), cancelledUnpaid, new OrderStatusUpdateRequest(OrderStatus.CANCELLED));
+
+    List<OrderOutbox> events = orderOutboxRepository.findAll().stream()
+      .sorted(Comparator.comparing(OrderOutbox::getId))
+      .collect(Collectors.toList());
+    assertEquals(
+      List.of(OrderOutboxEventType.ORDER_PAID, OrderOutboxEventType.ORDER_CANCELLED),
+      events.stream().map(OrderOutbox::getEventType).collect(Collectors.toList())
+    );
+    assertEquals(paidThenCancelled, events.get(0).getOrderId());
+    assertNull(events.get(0).getPublishedAt());
+  }
+
+  @Test
+  void updateOrderStatusRejectsTransitionsOutsideTheOrderFlow() {
+    Member member = persistMember();
+    Long cancelled = persistOrder(member.getMemberId(), "ORD-T1", LocalDateTime.of(2026, 10, 19, 12, 0));
+    Long created = persistOrder(member.getMemberId(), "ORD-T2", LocalDateTime.of(2026, 10, 19, 12, 1));
+    orderService.updateOrderStatus(member.getMemberId(), cancelled, new OrderStatusUpdateRequest(OrderStatus.CANCELLED));
+
+    // 취소된 주문은 다시 결제할 수 없고, 결제 전 주문은 바로 완료될 수 없다.
+    ResponseStatusException payCancelled = assertThrows(ResponseStatusException.class,
+      () -> orderService.updateOrderStatus(member.getMemberId(), cancelled, new OrderStatusUpdateRequest(OrderStatus.PAID)));
+    ResponseStatusException completeUnpaid = assertThrows(ResponseStatusException.class,
+      () -> orderService.updateOrderStatus(member.getMemberId(), created, new OrderStatusUpdateRequest(OrderStatus.COMPLETED)));
+
+    assertEquals(HttpStatus.CONFLICT, payCancelled.getStatusCode());
+    assertEquals(HttpStatus.CONFLICT, completeUnpaid.getStatusCode());
+    assertEquals(OrderStatus.CANCELLED, orderRepository.findById(cancelled).orElseThrow().getStatus());
+    assertEquals(OrderStatus.CREATED, orderRepository.findById(created).orElseThrow().getStatus());
+    assertTrue(orderOutboxRepository.findAll().isEmpty());
+
+    orderService.updateOrderStatus(member.getMemberId(), created, new OrderStatusUpdateRequest(OrderStatus.PAID));
+    orderService.updateOrderStatus(member.getMemberId(), created, new OrderStatusUpdateRequest(OrderStatus.COMPLETED));
+    assertEquals(OrderStatus.COMPLETED, orderRepository.findById(created).orElseThrow().getStatus());
+  }
+
+  @Test
+  void idempotencyKeyIsCommittedWithTheOrderAndAllowsOnlyOneOrder() {
+    Member member = persistMember();
+    Seller seller = persistSeller();
+    insertProduct(50L, seller.getSellerId(), "Test Product H", 10);
+    CreateOrderRequest request = new CreateOrderRequest(List.of(new CreateOrderItemRequest(50L, 1)));
+
+    assertTrue(orderService.findIdempotentOrder(member.getMemberId(), "key-1", "hash-1").isEmpty());
+    CreateOrderResponse created = orderService.createOrder(member.getMemberId(), request, "key-1", "hash-1");
+
+    // 결과 저장 없이 끝난 첫 요청의 주문을 재시도가 찾는다
+    assertEquals(created, orderService.findIdempotentOrder(member.getMemberId(), "key-1", "hash-1").orElseThrow());
+    ResponseStatusException reused = assertThrows(ResponseStatusException.class,
+      () -> orderService.findIdempotentOrder(member.getMemberId(), "key-1", "hash-2"));
+    assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+
+    // 같은 키로 두 번째 주문은 커밋되지 않는다
+    assertThrows(DataIntegrityViolationException.class,
+      () -> orderService.createOrder(member.getMemberId(), request, "key-1", "hash-1"));
+  }
+
   private Member persistMember() {
     Member member = Member.builder()
       .name("Test Member")
@@ -149,6 +412,53 @@ class OrderServiceTest {
     return seller;
   }
 
+  private BroadcastProduct persistBroadcastProduct(Seller seller, Long productId, BroadcastStatus status,
+                                                   Integer bpPrice, int quantity) {
+    TagCategory category = new TagCategory(TagCategory.TagCode.SPACE, "Test Category");
+    entityManager.persist(category);
+    Broadcast broadcast = Broadcast.builder()
+      .seller(seller)
+      .tagCategory(category)
+      .broadcastTitle("live")
+      .status(status)
+      .scheduledAt(LocalDateTime.now())
+      .broadcastThumbUrl("thumb.png")
+      .broadcastLayout(BroadcastLayout.FULL)
+      .build();
+    entityManager.persist(broadcast);
+    BroadcastProduct bp = BroadcastProduct.builder()
+      .broadcast(broadcast)
+      .product(entityManager.find(Product.class, productId))
+      .displayOrder(1)
+      .bpPrice(bpPrice)
+      .bpQuantity(quantity)
+      .status(BroadcastProductStatus.SELLING)
+      .build();
+    entityManager.persist(bp);
+    entityManager.flush();
+    return bp;
+  }
+
+  private int broadcastQuantity(Long bpId) {
+    return ((Number) entityManager.getEntityManager()
+      .createNativeQuery("SELECT bp_quantity FROM broadcast_product WHERE bp_id = :bpId")
+      .setParameter("bpId", bpId)
+      .getSingleResult()).intValue();
+  }
+
+  private Long persistOrder(Long memberId, String orderNumber, LocalDateTime createdAt) {
+    Order order = orderRepository.saveAndFlush(
+      Order.create(memberId, orderNumber, 20000, 0, 0, 20000, OrderStatus.CREATED)
+    );
+    entityManager.getEntityManager()
+      .createNativeQuery("UPDATE `order` SET created_at = :createdAt WHERE order_id = :orderId")
+      .setParameter("createdAt", createdAt)
+      .setParameter("orderId", order.getId())
+      .executeUpdate();
+    entityManager.clear();
+    return order.getId();
+  }
+
   private void insertProduct(Long productId, Long sellerId, String productName, int stockQty) {
     entityManager.getEntityManager().createNativeQuery(
       "INSERT INTO product (product_id, seller_id, product_name, short_desc, detail_html, " +
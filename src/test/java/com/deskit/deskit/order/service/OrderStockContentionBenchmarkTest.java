@@ -0,0 +1,270 @@
+package com.deskit.deskit.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.deskit.deskit.account.entity.Member;
+import com.deskit.deskit.account.entity.Seller;
+import com.deskit.deskit.account.enums.JobCategory;
+import com.deskit.deskit.account.enums.MBTI;
+import com.deskit.deskit.account.enums.MemberStatus;
+import com.deskit.deskit.account.enums.SellerRole;
+import com.deskit.deskit.account.enums.SellerStatus;
+import com.deskit.deskit.account.repository.MemberRepository;
+import com.deskit.deskit.common.util.SnowflakeIdGenerator;
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.order.dto.CreateOrderItemRequest;
+import com.deskit.deskit.order.dto.CreateOrderRequest;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.order.repository.OrderOutboxRepository;
+import com.deskit.deskit.order.repository.OrderRepository;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.support.RedisContainerSupport;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 1,000명이 동시에 같은 상품(재고 500)을 1개씩 주문할 때 두 재고 경로를 실제 MySQL/Redis에서 비교한다.
+ * - 기존 경로: 커넥션을 잡은 채 상품 행 락(SELECT ... FOR UPDATE)을 기다린다.
+ * - 예약 경로: 행 락 없이 조회 후 Redis 예약, 주문 INSERT만 한다.
+ * 커넥션 풀은 Hikari 기본값(10)으로 같다.
+ *
+ * 느리고 Docker가 필요하므로 기본 test에서는 빠지고 ./gradlew benchmark로 실행한다.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, SnowflakeIdGenerator.class, InventoryReservationService.class,
+  OrderStockContentionBenchmarkTest.RedisTestConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// OrderItemRepository의 다중 행 INSERT(jOOQ)용
+@ImportAutoConfiguration(JooqAutoConfiguration.class)
+@TestPropertySource(properties = {
+  "spring.datasource.hikari.maximum-pool-size=10",
+  // 1,000개 요청이 풀 10개를 나눠 쓰므로 커넥션 대기가 기본 30초를 넘길 수 있다
+  "spring.datasource.hikari.connection-timeout=120000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStockContentionBenchmarkTest extends RedisContainerSupport {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderStockContentionBenchmarkTest.class);
+  private static final AtomicLong IDS = new AtomicLong(1000);
+  private static final int BUYERS = 1000;
+  private static final int STOCK = 500;
+
+  @Container
+  static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+  @DynamicPropertySource
+  static void mysqlProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+    registry.add("spring.datasource.username", MYSQL::getUsername);
+    registry.add("spring.datasource.password", MYSQL::getPassword);
+    registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+    registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+  }
+
+  @TestConfiguration
+  static class RedisTestConfig {
+
+    @Bean
+    RedisTemplate<String, String> redisTemplate() {
+      return RedisContainerSupport.redisTemplate;
+    }
+  }
+
+  // 예약 엔진이 붙은 빈
+  @Autowired
+  private OrderService reservationOrderService;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private OrderItemRepository orderItemRepository;
+
+  @Autowired
+  private OrderOutboxRepository orderOutboxRepository;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private MemberRepository memberRepository;
+
+  @Autowired
+  private BroadcastProductRepository broadcastProductRepository;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private SnowflakeIdGenerator idGenerator;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate tx;
+  private OrderService rowLockOrderService;
+  private Long memberId;
+  private Long sellerId;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    tx = new TransactionTemplate(transactionManager);
+    memberId = tx.execute(status -> persistMember());
+    sellerId = tx.execute(status -> persistSeller());
+    // 예약 엔진 빈이 없을 때의 기존 경로. 프록시가 아니므로 트랜잭션은 호출하는 쪽에서 연다.
+    rowLockOrderService = new OrderService(orderRepository, orderItemRepository, orderOutboxRepository,
+      productRepository, memberRepository, broadcastProductRepository, eventPublisher, idGenerator,
+      mock(ObjectProvider.class));
+  }
+
+  @Test
+  void reservationPathOutrunsRowLockPathUnderContention() throws Exception {
+    Long rowLockProduct = insertProduct(STOCK);
+    BenchmarkResult rowLock = runBuyers(() -> tx.execute(status ->
+      rowLockOrderService.createOrder(memberId, orderOf(rowLockProduct))));
+
+    Long reservedProduct = insertProduct(STOCK);
+    BenchmarkResult reservation = runBuyers(() -> reservationOrderService.createOrder(memberId, orderOf(reservedProduct)));
+
+    log.info("buyers={} stock={} row-lock: {} ms ({} ok) / reservation: {} ms ({} ok)",
+      BUYERS, STOCK, rowLock.elapsedMillis(), rowLock.succeeded(), reservation.elapsedMillis(), reservation.succeeded());
+
+    // 두 경로 모두 초과 판매 없이 재고만큼만 팔린다
+    assertEquals(STOCK, rowLock.succeeded());
+    assertEquals(0, dbStock(rowLockProduct));
+    assertEquals(STOCK, reservation.succeeded());
+    assertEquals("0", redisTemplate.opsForValue().get(InventoryReservationService.KEY_PREFIX + "product:" + reservedProduct));
+    assertTrue(reservation.elapsedMillis() < rowLock.elapsedMillis(),
+      "reservation path should finish before the row-lock path: reservation=" + reservation.elapsedMillis()
+        + "ms, row-lock=" + rowLock.elapsedMillis() + "ms");
+  }
+
+  private static CreateOrderRequest orderOf(Long productId) {
+    return new CreateOrderRequest(List.of(new CreateOrderItemRequest(productId, 1)));
+  }
+
+  private static BenchmarkResult runBuyers(Runnable order) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+    CountDownLatch ready = new CountDownLatch(BUYERS);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(BUYERS);
+    AtomicInteger succeeded = new AtomicInteger();
+    for (int i = 0; i < BUYERS; i++) {
+      executor.execute(() -> {
+        ready.countDown();
+        try {
+          start.await();
+          order.run();
+          succeeded.incrementAndGet();
+        } catch (ResponseStatusException e) {
+          // 재고 부족(409)
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    ready.await();
+    long startedAt = System.nanoTime();
+    start.countDown();
+    assertTrue(done.await(5, TimeUnit.MINUTES), "buyers did not finish");
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    executor.shutdownNow();
+    return new BenchmarkResult(elapsed, succeeded.get());
+  }
+
+  private record BenchmarkResult(long elapsedMillis, int succeeded) {
+  }
+
+  private int dbStock(Long productId) {
+    return tx.execute(status -> ((Number) entityManager
+      .createNativeQuery("SELECT stock_qty FROM product WHERE product_id = :productId")
+      .setParameter("productId", productId)
+      .getSingleResult()).intValue());
+  }
+
+  private Long persistMember() {
+    Member member = Member.builder()
+      .name("Test Member")
+      .loginId("member-" + IDS.incrementAndGet() + "@test.com")
+      .phone("010-0000-0000")
+      .isAgreed(true)
+      .status(MemberStatus.ACTIVE)
+      .role("ROLE_MEMBER")
+      .mbti(MBTI.NONE)
+      .jobCategory(JobCategory.NONE)
+      .build();
+    entityManager.persist(member);
+    return member.getMemberId();
+  }
+
+  private Long persistSeller() {
+    Seller seller = Seller.builder()
+      .status(SellerStatus.ACTIVE)
+      .name("Test Seller")
+      .loginId("seller-" + IDS.incrementAndGet() + "@test.com")
+      .phone("010-1000-1000")
+      .role(SellerRole.ROLE_SELLER_OWNER)
+      .isAgreed(true)
+      .build();
+    entityManager.persist(seller);
+    return seller.getSellerId();
+  }
+
+  private Long insertProduct(int stockQty) {
+    Long productId = IDS.incrementAndGet();
+    tx.executeWithoutResult(status -> entityManager.createNativeQuery(
+      "INSERT INTO product (product_id, seller_id, product_name, short_desc, detail_html, " +
+      "price, cost_price, status, stock_qty, safety_stock, created_at, updated_at) " +
+      "VALUES (:productId, :sellerId, 'Test Product', 'Short', '<p>Detail</p>', " +
+      "10000, 12000, 'ON_SALE', :stockQty, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"
+    ).setParameter("productId", productId)
+      .setParameter("sellerId", sellerId)
+      .setParameter("stockQty", stockQty)
+      .executeUpdate());
+    return productId;
+  }
+}
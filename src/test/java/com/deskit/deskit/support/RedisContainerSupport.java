@@ -0,0 +1,58 @@
+package com.deskit.deskit.support;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 실제 Redis에서 Lua 스크립트를 검증하는 테스트의 공통 설정.
+ * - RedisConfig와 같은 String 직렬화 템플릿을 쓴다.
+ * - 테스트마다 FLUSHDB로 비운다.
+ * - Docker가 없으면 테스트 클래스 전체를 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class RedisContainerSupport {
+
+  @Container
+  protected static final GenericContainer<?> REDIS =
+      new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+  private static LettuceConnectionFactory connectionFactory;
+  protected static RedisTemplate<String, String> redisTemplate;
+
+  @BeforeAll
+  static void connectRedis() {
+    connectionFactory = new LettuceConnectionFactory(
+        new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+    connectionFactory.afterPropertiesSet();
+
+    redisTemplate = new RedisTemplate<>();
+    redisTemplate.setConnectionFactory(connectionFactory);
+    redisTemplate.setKeySerializer(new StringRedisSerializer());
+    redisTemplate.setValueSerializer(new StringRedisSerializer());
+    redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+    redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+    redisTemplate.afterPropertiesSet();
+  }
+
+  @AfterAll
+  static void disconnectRedis() {
+    connectionFactory.destroy();
+  }
+
+  @BeforeEach
+  void flushRedis() {
+    redisTemplate.execute(connection -> {
+      connection.serverCommands().flushDb();
+      return null;
+    }, true);
+  }
+}